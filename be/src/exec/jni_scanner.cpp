@@ -56,9 +56,41 @@ Status JniScanner::do_open(RuntimeState* state) {
     return Status::OK();
 }
 
+void JniScanner::do_update_counter(HdfsScanProfile* profile) {
+    if (_jni_scanner_obj == nullptr || _jni_scanner_get_allocated_bytes == nullptr ||
+        _jni_scanner_get_reused_bytes == nullptr) {
+        return;
+    }
+    JNIEnv* env = JVMFunctionHelper::getInstance().getEnv();
+    jlong allocated_bytes = env->CallLongMethod(_jni_scanner_obj, _jni_scanner_get_allocated_bytes);
+    jlong reused_bytes = env->CallLongMethod(_jni_scanner_obj, _jni_scanner_get_reused_bytes);
+    Status st = _check_jni_exception(env, "Failed to get the off-heap bytes of off-heap table scanner.");
+    if (!st.ok()) {
+        LOG(WARNING) << st;
+        return;
+    }
+
+    const std::string jni_profile_section_prefix = "JNI";
+    RuntimeProfile* root_profile = profile->runtime_profile;
+    ADD_COUNTER(root_profile, jni_profile_section_prefix, TUnit::NONE);
+    RuntimeProfile::Counter* allocated_bytes_counter = root_profile->add_child_counter(
+            "OffHeapAllocatedBytes", TUnit::BYTES,
+            RuntimeProfile::Counter::create_strategy(TCounterAggregateType::SUM), jni_profile_section_prefix);
+    RuntimeProfile::Counter* reused_bytes_counter = root_profile->add_child_counter(
+            "OffHeapReusedBytes", TUnit::BYTES, RuntimeProfile::Counter::create_strategy(TCounterAggregateType::SUM),
+            jni_profile_section_prefix);
+    COUNTER_UPDATE(allocated_bytes_counter, allocated_bytes);
+    COUNTER_UPDATE(reused_bytes_counter, reused_bytes);
+}
+
 void JniScanner::do_close(RuntimeState* runtime_state) noexcept {
     JNIEnv* env = JVMFunctionHelper::getInstance().getEnv();
     if (_jni_scanner_obj != nullptr) {
+        if (_jni_scanner_release_buffers != nullptr) {
+            env->CallVoidMethod(_jni_scanner_obj, _jni_scanner_release_buffers);
+            Status st = _check_jni_exception(env, "Failed to release the off-heap buffers of off-heap table scanner.");
+            LOG_IF(WARNING, !st.ok()) << st;
+        }
         if (_jni_scanner_close != nullptr) {
             env->CallVoidMethod(_jni_scanner_obj, _jni_scanner_close);
         }
@@ -87,6 +119,15 @@ Status JniScanner::_init_jni_method(JNIEnv* env) {
 
     _jni_scanner_release_table = env->GetMethodID(_jni_scanner_cls, "releaseOffHeapTable", "()V");
     RETURN_IF_ERROR(_check_jni_exception(env, "Failed to get `releaseOffHeapTable` jni method"));
+
+    _jni_scanner_release_buffers = env->GetMethodID(_jni_scanner_cls, "releaseOffHeapBuffers", "()V");
+    RETURN_IF_ERROR(_check_jni_exception(env, "Failed to get `releaseOffHeapBuffers` jni method"));
+
+    _jni_scanner_get_allocated_bytes = env->GetMethodID(_jni_scanner_cls, "getOffHeapAllocatedBytes", "()J");
+    RETURN_IF_ERROR(_check_jni_exception(env, "Failed to get `getOffHeapAllocatedBytes` jni method"));
+
+    _jni_scanner_get_reused_bytes = env->GetMethodID(_jni_scanner_cls, "getOffHeapReusedBytes", "()J");
+    RETURN_IF_ERROR(_check_jni_exception(env, "Failed to get `getOffHeapReusedBytes` jni method"));
     return Status::OK();
 }
 
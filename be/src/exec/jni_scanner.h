@@ -38,7 +38,7 @@ public:
     ~JniScanner() override { close(); }
 
     Status do_open(RuntimeState* runtime_state) override;
-    void do_update_counter(HdfsScanProfile* profile) override {}
+    void do_update_counter(HdfsScanProfile* profile) override;
     void do_close(RuntimeState* runtime_state) noexcept override;
     Status do_get_next(RuntimeState* runtime_state, ChunkPtr* chunk) override;
     Status do_init(RuntimeState* runtime_state, const HdfsScannerParams& scanner_params) override;
@@ -93,6 +93,9 @@ private:
     jmethodID _jni_scanner_close = nullptr;
     jmethodID _jni_scanner_release_column = nullptr;
     jmethodID _jni_scanner_release_table = nullptr;
+    jmethodID _jni_scanner_release_buffers = nullptr;
+    jmethodID _jni_scanner_get_allocated_bytes = nullptr;
+    jmethodID _jni_scanner_get_reused_bytes = nullptr;
 
     std::map<std::string, std::string> _jni_scanner_params;
     std::string _jni_scanner_factory_class;
@@ -965,6 +965,7 @@ public class AlterJobMgr {
                 if (partitionInfo.getType() == PartitionType.UNPARTITIONED) {
                     olapTable.setReplicationNum(newReplicationNum);
                 }
+                GlobalStateMgr.getCurrentState().getTabletChecker().requestFullCheck();
             }
             // 3. in memory
             boolean oldInMemory = partitionInfo.getIsInMemory(partition.getId());
@@ -221,6 +221,7 @@ public abstract class AlterJobV2 implements Writable {
         // create connectcontext
         createConnectContextIfNeeded();
 
+        JobState initialState = jobState;
         try {
             while (true) {
                 JobState prevState = jobState;
@@ -247,6 +248,10 @@ public abstract class AlterJobV2 implements Writable {
         } catch (AlterCancelException e) {
             cancelImpl(e.getMessage());
         }
+        if (initialState != JobState.FINISHED && jobState == JobState.FINISHED) {
+            // the tablets of the new indexes become visible, and they are not tracked by the tablet checker
+            GlobalStateMgr.getCurrentState().getTabletChecker().requestFullCheck();
+        }
     }
 
     public boolean cancel(String errMsg) {
@@ -23,7 +23,6 @@ import com.starrocks.analysis.Expr;
 import com.starrocks.analysis.FunctionCallExpr;
 import com.starrocks.analysis.SlotRef;
 import com.starrocks.common.io.Text;
-import com.starrocks.common.util.RangeUtils;
 import com.starrocks.persist.ColumnIdExpr;
 import com.starrocks.persist.gson.GsonPostProcessable;
 import com.starrocks.persist.gson.GsonPreProcessable;
@@ -165,8 +164,7 @@ public class ExpressionRangePartitionInfoV2 extends RangePartitionInfo
         if (!automaticPartition) {
             sb.append(")\n(");
             // sort range
-            List<Map.Entry<Long, Range<PartitionKey>>> entries = new ArrayList<>(this.idToRange.entrySet());
-            entries.sort(RangeUtils.RANGE_MAP_ENTRY_COMPARATOR);
+            List<Map.Entry<Long, Range<PartitionKey>>> entries = this.idToRange.getSortedEntries();
 
             int idx = 0;
             PartitionInfo tblPartitionInfo = table.getPartitionInfo();
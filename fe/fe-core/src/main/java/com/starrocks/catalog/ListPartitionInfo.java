@@ -74,6 +74,19 @@ public class ListPartitionInfo extends PartitionInfo {
     @SerializedName(value = "automaticPartition")
     private Boolean automaticPartition = false;
 
+    // index from the values of formal partitions to partition ids for partition pruning, built lazily.
+    // The holder is shared with the clones for query until this or the clone modifies the partition values,
+    // so that the index built by a query on a clone is also visible to the later queries.
+    private ValueIndexHolder valueIndexHolder = new ValueIndexHolder(null);
+
+    private static class ValueIndexHolder {
+        private volatile ListPartitionValueIndex index;
+
+        ValueIndexHolder(ListPartitionValueIndex index) {
+            this.index = index;
+        }
+    }
+
     public ListPartitionInfo(PartitionType partitionType,
                              List<Column> partitionColumns) {
         super(partitionType);
@@ -105,10 +118,17 @@ public class ListPartitionInfo extends PartitionInfo {
 
     public void setIdToIsTempPartition(long partitionId, boolean isTemp) {
         this.idToIsTempPartition.put(partitionId, isTemp);
+        updateValueIndex(partitionId);
     }
 
     public void setLiteralExprValues(Map<ColumnId, Column> idToColumn, long partitionId, List<String> values)
             throws AnalysisException {
+        putLiteralExprValues(idToColumn, partitionId, values);
+        updateValueIndex(partitionId);
+    }
+
+    private void putLiteralExprValues(Map<ColumnId, Column> idToColumn, long partitionId, List<String> values)
+            throws AnalysisException {
         List<LiteralExpr> partitionValues = new ArrayList<>(values.size());
         for (String value : values) {
             //there only one partition column for single partition list
@@ -121,6 +141,7 @@ public class ListPartitionInfo extends PartitionInfo {
 
     public void setDirectLiteralExprValues(long partitionId, List<LiteralExpr> values) {
         this.idToLiteralExprValues.put(partitionId, values);
+        updateValueIndex(partitionId);
     }
 
     public List<Long> getPartitionIds(boolean isTemp) {
@@ -138,8 +159,9 @@ public class ListPartitionInfo extends PartitionInfo {
         for (Map.Entry<Long, List<String>> entry : batchValues.entrySet()) {
             long partitionId = entry.getKey();
             List<String> values = entry.getValue();
-            this.setLiteralExprValues(idToColumn, partitionId, values);
+            this.putLiteralExprValues(idToColumn, partitionId, values);
         }
+        invalidateValueIndex();
     }
 
     public Map<Long, List<LiteralExpr>> getLiteralExprValues() {
@@ -161,6 +183,12 @@ public class ListPartitionInfo extends PartitionInfo {
 
     public void setMultiLiteralExprValues(Map<ColumnId, Column> idToColumn, long partitionId,
                                           List<List<String>> multiValues) throws AnalysisException {
+        putMultiLiteralExprValues(idToColumn, partitionId, multiValues);
+        updateValueIndex(partitionId);
+    }
+
+    private void putMultiLiteralExprValues(Map<ColumnId, Column> idToColumn, long partitionId,
+                                           List<List<String>> multiValues) throws AnalysisException {
         List<List<LiteralExpr>> multiPartitionValues = new ArrayList<>(multiValues.size());
         List<Column> partitionColumns = MetaUtils.getColumnsByColumnIds(idToColumn, this.partitionColumnIds);
         for (List<String> values : multiValues) {
@@ -178,6 +206,7 @@ public class ListPartitionInfo extends PartitionInfo {
 
     public void setDirectMultiLiteralExprValues(long partitionId, List<List<LiteralExpr>> multiValues) {
         this.idToMultiLiteralExprValues.put(partitionId, multiValues);
+        updateValueIndex(partitionId);
     }
 
     public void setBatchMultiLiteralExprValues(Map<ColumnId, Column> idToColumn,
@@ -186,14 +215,50 @@ public class ListPartitionInfo extends PartitionInfo {
         for (Map.Entry<Long, List<List<String>>> entry : batchMultiValues.entrySet()) {
             long partitionId = entry.getKey();
             List<List<String>> multiValues = entry.getValue();
-            this.setMultiLiteralExprValues(idToColumn, partitionId, multiValues);
+            this.putMultiLiteralExprValues(idToColumn, partitionId, multiValues);
         }
+        invalidateValueIndex();
     }
 
     public Map<Long, List<List<LiteralExpr>>> getMultiLiteralExprValues() {
         return this.idToMultiLiteralExprValues;
     }
 
+    /**
+     * Get the index from the values of formal partitions to partition ids, which is built on the first call
+     * and then maintained incrementally when adding or dropping partitions.
+     */
+    public ListPartitionValueIndex getValueIndex() {
+        // get the holder before reading the values, an index built from the values modified concurrently
+        // is only put into the stale holder
+        ValueIndexHolder holder = valueIndexHolder;
+        ListPartitionValueIndex index = holder.index;
+        if (index == null) {
+            index = ListPartitionValueIndex.build(partitionColumnIds.size(), idToLiteralExprValues,
+                    idToMultiLiteralExprValues, getPartitionIds(false));
+            holder.index = index;
+        }
+        return index;
+    }
+
+    private void updateValueIndex(long partitionId) {
+        ListPartitionValueIndex index = valueIndexHolder.index;
+        if (index != null) {
+            if (Boolean.FALSE.equals(idToIsTempPartition.get(partitionId))) {
+                index = index.withPartition(partitionId, idToLiteralExprValues.get(partitionId),
+                        idToMultiLiteralExprValues.get(partitionId));
+            } else {
+                index = index.withPartition(partitionId, null, null);
+            }
+        }
+        // never modify the holder which may be shared with clones
+        valueIndexHolder = new ValueIndexHolder(index);
+    }
+
+    private void invalidateValueIndex() {
+        valueIndexHolder = new ValueIndexHolder(null);
+    }
+
     private void setIsMultiColumnPartition() {
         super.isMultiColumnPartition = this.partitionColumnIds.size() > 1;
     }
@@ -229,15 +294,16 @@ public class ListPartitionInfo extends PartitionInfo {
         try {
             Map<Long, List<String>> idToValuesMap = this.getIdToValues();
             for (Map.Entry<Long, List<String>> entry : idToValuesMap.entrySet()) {
-                this.setLiteralExprValues(idToColumn, entry.getKey(), entry.getValue());
+                this.putLiteralExprValues(idToColumn, entry.getKey(), entry.getValue());
             }
             Map<Long, List<List<String>>> idToMultiValuesMap = this.getIdToMultiValues();
             for (Map.Entry<Long, List<List<String>>> entry : idToMultiValuesMap.entrySet()) {
-                this.setMultiLiteralExprValues(idToColumn, entry.getKey(), entry.getValue());
+                this.putMultiLiteralExprValues(idToColumn, entry.getKey(), entry.getValue());
             }
         } catch (AnalysisException e) {
             LOG.error("deserialize PartitionInfo error", e);
         }
+        invalidateValueIndex();
     }
 
     @Override
@@ -377,19 +443,20 @@ public class ListPartitionInfo extends PartitionInfo {
                         MultiItemListPartitionDesc multiItemListPartitionDesc =
                                 (MultiItemListPartitionDesc) partitionDesc;
                         this.idToMultiValues.put(partitionId, multiItemListPartitionDesc.getMultiValues());
-                        this.setMultiLiteralExprValues(idToColumn, partitionId,
+                        this.putMultiLiteralExprValues(idToColumn, partitionId,
                                 multiItemListPartitionDesc.getMultiValues());
                     } else if (partitionDesc instanceof SingleItemListPartitionDesc) {
                         SingleItemListPartitionDesc singleItemListPartitionDesc =
                                 (SingleItemListPartitionDesc) partitionDesc;
                         this.idToValues.put(partitionId, singleItemListPartitionDesc.getValues());
-                        this.setLiteralExprValues(idToColumn, partitionId, singleItemListPartitionDesc.getValues());
+                        this.putLiteralExprValues(idToColumn, partitionId, singleItemListPartitionDesc.getValues());
                     } else {
                         throw new DdlException(
                                 "add list partition only support single item or multi item list partition now");
                     }
                     this.idToIsTempPartition.put(partitionId, isTempPartition);
                     this.idToStorageCacheInfo.put(partitionId, partitionDesc.getDataCacheInfo());
+                    updateValueIndex(partitionId);
                 }
             }
         } catch (Exception e) {
@@ -411,14 +478,15 @@ public class ListPartitionInfo extends PartitionInfo {
         List<List<String>> multiValues = partitionPersistInfo.getMultiValues();
         if (multiValues != null && multiValues.size() > 0) {
             this.idToMultiValues.put(partitionId, multiValues);
-            this.setMultiLiteralExprValues(idToColumn, partitionId, multiValues);
+            this.putMultiLiteralExprValues(idToColumn, partitionId, multiValues);
         }
 
         List<String> values = partitionPersistInfo.getValues();
         if (values != null && values.size() > 0) {
             this.idToValues.put(partitionId, values);
-            this.setLiteralExprValues(idToColumn, partitionId, values);
+            this.putLiteralExprValues(idToColumn, partitionId, values);
         }
+        updateValueIndex(partitionId);
     }
 
     @Override
@@ -430,12 +498,14 @@ public class ListPartitionInfo extends PartitionInfo {
         idToMultiLiteralExprValues.remove(partitionId);
         idToIsTempPartition.remove(partitionId);
         idToStorageCacheInfo.remove(partitionId);
+        updateValueIndex(partitionId);
     }
 
     @Override
     public void moveRangeFromTempToFormal(long tempPartitionId) {
         super.moveRangeFromTempToFormal(tempPartitionId);
         idToIsTempPartition.computeIfPresent(tempPartitionId, (k, v) -> false);
+        updateValueIndex(tempPartitionId);
     }
 
     public void addPartition(Map<ColumnId, Column> idToColumn, long partitionId, DataProperty dataProperty,
@@ -444,14 +514,15 @@ public class ListPartitionInfo extends PartitionInfo {
         super.addPartition(partitionId, dataProperty, replicationNum, isInMemory, dataCacheInfo);
         if (multiValues != null && multiValues.size() > 0) {
             this.idToMultiValues.put(partitionId, multiValues);
-            this.setMultiLiteralExprValues(idToColumn, partitionId, multiValues);
+            this.putMultiLiteralExprValues(idToColumn, partitionId, multiValues);
         }
         if (values != null && values.size() > 0) {
             this.idToValues.put(partitionId, values);
-            this.setLiteralExprValues(idToColumn, partitionId, values);
+            this.putLiteralExprValues(idToColumn, partitionId, values);
         }
         this.idToStorageCacheInfo.put(partitionId, dataCacheInfo);
         idToIsTempPartition.put(partitionId, false);
+        updateValueIndex(partitionId);
     }
 
     @Override
@@ -491,6 +562,7 @@ public class ListPartitionInfo extends PartitionInfo {
         info.idToLiteralExprValues = Maps.newHashMap(this.idToLiteralExprValues);
         info.idToIsTempPartition = Maps.newHashMap(this.idToIsTempPartition);
         info.automaticPartition = this.automaticPartition;
+        // the value index holder is shared with the clone, see valueIndexHolder
         return info;
     }
 
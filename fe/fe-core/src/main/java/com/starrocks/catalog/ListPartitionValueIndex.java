@@ -0,0 +1,183 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.catalog;
+
+import com.google.common.collect.ImmutableSet;
+import com.starrocks.analysis.LiteralExpr;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+
+/**
+ * Index from the partition values of the formal partitions of a {@link ListPartitionInfo} to the partition ids,
+ * which is used by list partition pruning.
+ * <p>
+ * The index is immutable once built. Adding or dropping a partition creates a new index by copying this one and
+ * only updating the values of that partition, so an index got by a query never changes and can be shared by all
+ * the queries on the same version of the partition info. The maps returned must not be modified.
+ */
+public class ListPartitionValueIndex {
+
+    private final int columnSize;
+    private final Map<Long, List<LiteralExpr>> idToValues;
+    private final Map<Long, List<List<LiteralExpr>>> idToMultiValues;
+    // value -> ids of single item list partitions
+    private final ConcurrentSkipListMap<LiteralExpr, Set<Long>> valueToIds;
+    // the i-th map is the value of the i-th partition column -> ids of multi item list partitions
+    private final List<ConcurrentSkipListMap<LiteralExpr, Set<Long>>> multiValueToIds;
+
+    private ListPartitionValueIndex(int columnSize,
+                                    Map<Long, List<LiteralExpr>> idToValues,
+                                    Map<Long, List<List<LiteralExpr>>> idToMultiValues,
+                                    ConcurrentSkipListMap<LiteralExpr, Set<Long>> valueToIds,
+                                    List<ConcurrentSkipListMap<LiteralExpr, Set<Long>>> multiValueToIds) {
+        this.columnSize = columnSize;
+        this.idToValues = idToValues;
+        this.idToMultiValues = idToMultiValues;
+        this.valueToIds = valueToIds;
+        this.multiValueToIds = multiValueToIds;
+    }
+
+    public static ListPartitionValueIndex build(int columnSize,
+                                                Map<Long, List<LiteralExpr>> literalExprValues,
+                                                Map<Long, List<List<LiteralExpr>>> multiLiteralExprValues,
+                                                Collection<Long> partitionIds) {
+        Map<Long, List<LiteralExpr>> idToValues = new HashMap<>();
+        Map<Long, List<List<LiteralExpr>>> idToMultiValues = new HashMap<>();
+        Map<LiteralExpr, Set<Long>> valueToIds = new HashMap<>();
+        List<Map<LiteralExpr, Set<Long>>> multiValueToIds = new ArrayList<>(columnSize);
+        for (int i = 0; i < columnSize; i++) {
+            multiValueToIds.add(new HashMap<>());
+        }
+
+        for (Long partitionId : partitionIds) {
+            List<LiteralExpr> values = literalExprValues.get(partitionId);
+            if (values != null && !values.isEmpty()) {
+                idToValues.put(partitionId, values);
+                for (LiteralExpr value : values) {
+                    valueToIds.computeIfAbsent(value, k -> new HashSet<>()).add(partitionId);
+                }
+            }
+            List<List<LiteralExpr>> multiValues = multiLiteralExprValues.get(partitionId);
+            if (multiValues != null && !multiValues.isEmpty()) {
+                idToMultiValues.put(partitionId, multiValues);
+                for (List<LiteralExpr> items : multiValues) {
+                    for (int i = 0; i < columnSize; i++) {
+                        multiValueToIds.get(i).computeIfAbsent(items.get(i), k -> new HashSet<>()).add(partitionId);
+                    }
+                }
+            }
+        }
+
+        List<ConcurrentSkipListMap<LiteralExpr, Set<Long>>> immutableMultiValueToIds = new ArrayList<>(columnSize);
+        multiValueToIds.forEach(map -> immutableMultiValueToIds.add(toImmutableValueMap(map)));
+        return new ListPartitionValueIndex(columnSize, idToValues, idToMultiValues,
+                toImmutableValueMap(valueToIds), immutableMultiValueToIds);
+    }
+
+    /**
+     * Returns a new index in which the values of the partition are replaced by the given values,
+     * the partition is removed from the index if both of the values are null or empty.
+     */
+    public ListPartitionValueIndex withPartition(long partitionId, List<LiteralExpr> values,
+                                                 List<List<LiteralExpr>> multiValues) {
+        Map<Long, List<LiteralExpr>> newIdToValues = new HashMap<>(idToValues);
+        Map<Long, List<List<LiteralExpr>>> newIdToMultiValues = new HashMap<>(idToMultiValues);
+        ConcurrentSkipListMap<LiteralExpr, Set<Long>> newValueToIds = valueToIds.clone();
+        List<ConcurrentSkipListMap<LiteralExpr, Set<Long>>> newMultiValueToIds = new ArrayList<>(columnSize);
+        multiValueToIds.forEach(map -> newMultiValueToIds.add(map.clone()));
+
+        List<LiteralExpr> oldValues = newIdToValues.remove(partitionId);
+        if (oldValues != null) {
+            oldValues.forEach(value -> removeItem(newValueToIds, value, partitionId));
+        }
+        List<List<LiteralExpr>> oldMultiValues = newIdToMultiValues.remove(partitionId);
+        if (oldMultiValues != null) {
+            for (List<LiteralExpr> items : oldMultiValues) {
+                for (int i = 0; i < columnSize; i++) {
+                    removeItem(newMultiValueToIds.get(i), items.get(i), partitionId);
+                }
+            }
+        }
+
+        if (values != null && !values.isEmpty()) {
+            newIdToValues.put(partitionId, values);
+            values.forEach(value -> addItem(newValueToIds, value, partitionId));
+        }
+        if (multiValues != null && !multiValues.isEmpty()) {
+            newIdToMultiValues.put(partitionId, multiValues);
+            for (List<LiteralExpr> items : multiValues) {
+                for (int i = 0; i < columnSize; i++) {
+                    addItem(newMultiValueToIds.get(i), items.get(i), partitionId);
+                }
+            }
+        }
+        return new ListPartitionValueIndex(columnSize, newIdToValues, newIdToMultiValues,
+                newValueToIds, newMultiValueToIds);
+    }
+
+    /**
+     * @return value -> partition ids of the single item list partitions
+     */
+    public ConcurrentNavigableMap<LiteralExpr, Set<Long>> getValueToPartitionIds() {
+        return valueToIds;
+    }
+
+    /**
+     * @return value of the column at columnIdx -> partition ids of the multi item list partitions
+     */
+    public ConcurrentNavigableMap<LiteralExpr, Set<Long>> getMultiValueToPartitionIds(int columnIdx) {
+        return multiValueToIds.get(columnIdx);
+    }
+
+    public int getPartitionNum() {
+        Set<Long> partitionIds = new HashSet<>(idToValues.keySet());
+        partitionIds.addAll(idToMultiValues.keySet());
+        return partitionIds.size();
+    }
+
+    private static ConcurrentSkipListMap<LiteralExpr, Set<Long>> toImmutableValueMap(Map<LiteralExpr, Set<Long>> map) {
+        ConcurrentSkipListMap<LiteralExpr, Set<Long>> result = new ConcurrentSkipListMap<>();
+        map.forEach((value, ids) -> result.put(value, Collections.unmodifiableSet(ids)));
+        return result;
+    }
+
+    private static void addItem(ConcurrentSkipListMap<LiteralExpr, Set<Long>> valueToIds, LiteralExpr value,
+                                long partitionId) {
+        valueToIds.compute(value, (k, ids) -> ids == null ? ImmutableSet.of(partitionId) :
+                ImmutableSet.<Long>builder().addAll(ids).add(partitionId).build());
+    }
+
+    private static void removeItem(ConcurrentSkipListMap<LiteralExpr, Set<Long>> valueToIds, LiteralExpr value,
+                                   long partitionId) {
+        valueToIds.computeIfPresent(value, (k, ids) -> {
+            if (!ids.contains(partitionId)) {
+                return ids;
+            }
+            ImmutableSet.Builder<Long> builder = ImmutableSet.builder();
+            ids.stream().filter(id -> id != partitionId).forEach(builder::add);
+            Set<Long> newIds = builder.build();
+            return newIds.isEmpty() ? null : newIds;
+        });
+    }
+}
@@ -260,6 +260,10 @@ public class OlapTable extends Table {
     // Record the alter, schema change, MV update time
     public AtomicLong lastSchemaUpdateTime = new AtomicLong(-1);
 
+    // Increased when partitions are added, dropped or replaced, so that callers caching the partitions of
+    // the table, such as the plan cache of prepared statements, can find it changed in O(1)
+    private AtomicLong partitionChangeVersion = new AtomicLong(0);
+
     private Map<String, Lock> createPartitionLocks = Maps.newHashMap();
 
     protected Map<Long, Long> doubleWritePartitions = new HashMap<>();
@@ -1232,6 +1236,11 @@ public class OlapTable extends Table {
         for (PhysicalPartition physicalPartition : partition.getSubPartitions()) {
             physicalPartitionIdToPartitionId.put(physicalPartition.getId(), partition.getId());
         }
+        partitionChangeVersion.incrementAndGet();
+    }
+
+    public long getPartitionChangeVersion() {
+        return partitionChangeVersion.get();
     }
 
     // This is a private method.
@@ -1254,6 +1263,7 @@ public class OlapTable extends Table {
         physicalPartitionIdToPartitionId.keySet().removeAll(partition.getSubPartitions()
                 .stream().map(PhysicalPartition::getId)
                 .collect(Collectors.toList()));
+        partitionChangeVersion.incrementAndGet();
     }
 
     protected RecyclePartitionInfo buildRecyclePartitionInfo(long dbId, Partition partition) {
@@ -1858,6 +1868,7 @@ public class OlapTable extends Table {
         }
 
         lastSchemaUpdateTime = new AtomicLong(-1);
+        partitionChangeVersion = new AtomicLong(0);
     }
 
     public OlapTable selectiveCopy(Collection<String> reservedPartitions, boolean resetState, IndexExtState extState) {
@@ -1937,6 +1948,7 @@ public class OlapTable extends Table {
         newPartition.getSubPartitions().forEach(physicalPartition -> {
             physicalPartitionIdToPartitionId.put(physicalPartition.getId(), newPartition.getId());
         });
+        partitionChangeVersion.incrementAndGet();
 
         nameToPartition.put(newPartition.getName(), newPartition);
 
@@ -2581,6 +2593,7 @@ public class OlapTable extends Table {
             idToPartition.remove(srcPartition.getId());
             nameToPartition.remove(sourcePartitionName);
             partitionInfo.dropPartition(srcPartition.getId());
+            partitionChangeVersion.incrementAndGet();
             GlobalStateMgr.getCurrentState().getLocalMetastore().onErasePartition(srcPartition);
         }
 
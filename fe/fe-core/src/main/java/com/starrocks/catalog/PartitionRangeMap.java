@@ -0,0 +1,190 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.catalog;
+
+import com.google.common.collect.ForwardingConcurrentMap;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.google.common.collect.Range;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ConcurrentSkipListSet;
+
+/**
+ * Partition id to partition range map of {@link RangePartitionInfo}, which also keeps an index of the
+ * ranges sorted by lower endpoint (then by partition id, e.g. for the empty shadow partition range).
+ * The index is maintained on every modification in O(log n), so that getting the sorted ranges does not
+ * need to sort all the ranges, and the neighbours of a key can be found without scanning all the ranges.
+ * <p>
+ * Modifications are serialized by the map itself, lookups are lock free and the index is weakly consistent
+ * with the map during a concurrent modification, like the iterators of {@link ConcurrentHashMap}.
+ * The key set, values and entry set are read only, modify the map by its own methods.
+ */
+public class PartitionRangeMap extends ForwardingConcurrentMap<Long, Range<PartitionKey>> {
+
+    // ranges without lower bound go first
+    private static final Comparator<Map.Entry<Long, Range<PartitionKey>>> SORTED_ENTRY_COMPARATOR = (e1, e2) -> {
+        Range<PartitionKey> r1 = e1.getValue();
+        Range<PartitionKey> r2 = e2.getValue();
+        if (r1.hasLowerBound() != r2.hasLowerBound()) {
+            return r1.hasLowerBound() ? 1 : -1;
+        }
+        int ret = r1.hasLowerBound() ? r1.lowerEndpoint().compareTo(r2.lowerEndpoint()) : 0;
+        return ret != 0 ? ret : Long.compare(e1.getKey(), e2.getKey());
+    };
+
+    private final ConcurrentHashMap<Long, Range<PartitionKey>> idToRange = new ConcurrentHashMap<>();
+    private final Map<Long, Range<PartitionKey>> readOnlyView = Collections.unmodifiableMap(idToRange);
+    private final ConcurrentSkipListSet<Map.Entry<Long, Range<PartitionKey>>> sortedEntries =
+            new ConcurrentSkipListSet<>(SORTED_ENTRY_COMPARATOR);
+
+    public PartitionRangeMap() {
+    }
+
+    public PartitionRangeMap(Map<Long, Range<PartitionKey>> other) {
+        putAll(other);
+    }
+
+    @Override
+    protected ConcurrentMap<Long, Range<PartitionKey>> delegate() {
+        return idToRange;
+    }
+
+    @Override
+    public synchronized Range<PartitionKey> put(Long partitionId, Range<PartitionKey> range) {
+        Range<PartitionKey> old = idToRange.put(partitionId, range);
+        if (old != null) {
+            sortedEntries.remove(Maps.immutableEntry(partitionId, old));
+        }
+        sortedEntries.add(Maps.immutableEntry(partitionId, range));
+        return old;
+    }
+
+    @Override
+    public synchronized void putAll(Map<? extends Long, ? extends Range<PartitionKey>> map) {
+        for (Map.Entry<? extends Long, ? extends Range<PartitionKey>> entry : map.entrySet()) {
+            put(entry.getKey(), entry.getValue());
+        }
+    }
+
+    @Override
+    public synchronized Range<PartitionKey> putIfAbsent(Long partitionId, Range<PartitionKey> range) {
+        Range<PartitionKey> old = idToRange.get(partitionId);
+        if (old == null) {
+            put(partitionId, range);
+        }
+        return old;
+    }
+
+    @Override
+    public synchronized Range<PartitionKey> remove(Object partitionId) {
+        Range<PartitionKey> old = idToRange.remove(partitionId);
+        if (old != null) {
+            sortedEntries.remove(Maps.immutableEntry((Long) partitionId, old));
+        }
+        return old;
+    }
+
+    @Override
+    public synchronized boolean remove(Object partitionId, Object range) {
+        if (range == null || !range.equals(idToRange.get(partitionId))) {
+            return false;
+        }
+        remove(partitionId);
+        return true;
+    }
+
+    @Override
+    public synchronized Range<PartitionKey> replace(Long partitionId, Range<PartitionKey> range) {
+        if (!idToRange.containsKey(partitionId)) {
+            return null;
+        }
+        return put(partitionId, range);
+    }
+
+    @Override
+    public synchronized boolean replace(Long partitionId, Range<PartitionKey> oldRange, Range<PartitionKey> newRange) {
+        if (oldRange == null || !oldRange.equals(idToRange.get(partitionId))) {
+            return false;
+        }
+        put(partitionId, newRange);
+        return true;
+    }
+
+    @Override
+    public synchronized void clear() {
+        idToRange.clear();
+        sortedEntries.clear();
+    }
+
+    @Override
+    public Set<Long> keySet() {
+        return readOnlyView.keySet();
+    }
+
+    @Override
+    public Collection<Range<PartitionKey>> values() {
+        return readOnlyView.values();
+    }
+
+    @Override
+    public Set<Map.Entry<Long, Range<PartitionKey>>> entrySet() {
+        return readOnlyView.entrySet();
+    }
+
+    /**
+     * @return all the entries sorted by the lower endpoint of ranges
+     */
+    public List<Map.Entry<Long, Range<PartitionKey>>> getSortedEntries() {
+        return Lists.newArrayList(sortedEntries);
+    }
+
+    /**
+     * @return the entry with the greatest lower endpoint strictly less than the key, or null if there is no such entry
+     */
+    public Map.Entry<Long, Range<PartitionKey>> lowerEntry(PartitionKey key) {
+        return sortedEntries.lower(Maps.immutableEntry(Long.MIN_VALUE, Range.singleton(key)));
+    }
+
+    /**
+     * @return the entry right before the given entry in the sorted order, or null if it is the first one
+     */
+    public Map.Entry<Long, Range<PartitionKey>> lowerEntry(Map.Entry<Long, Range<PartitionKey>> entry) {
+        return sortedEntries.lower(entry);
+    }
+
+    /**
+     * @return the entry right after the given entry in the sorted order, or null if it is the last one
+     */
+    public Map.Entry<Long, Range<PartitionKey>> higherEntry(Map.Entry<Long, Range<PartitionKey>> entry) {
+        return sortedEntries.higher(entry);
+    }
+
+    /**
+     * @return the entry with the least lower endpoint, or null if the map is empty
+     */
+    public Map.Entry<Long, Range<PartitionKey>> firstEntry() {
+        Iterator<Map.Entry<Long, Range<PartitionKey>>> iterator = sortedEntries.iterator();
+        return iterator.hasNext() ? iterator.next() : null;
+    }
+}
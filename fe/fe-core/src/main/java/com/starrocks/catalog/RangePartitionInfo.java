@@ -62,13 +62,11 @@ import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.ArrayList;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
-import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 public class RangePartitionInfo extends PartitionInfo {
@@ -82,9 +80,9 @@ public class RangePartitionInfo extends PartitionInfo {
     protected List<ColumnId> partitionColumnIds = Lists.newArrayList();
 
     // formal partition id -> partition range
-    protected Map<Long, Range<PartitionKey>> idToRange = Maps.newConcurrentMap();
+    protected PartitionRangeMap idToRange = new PartitionRangeMap();
     // temp partition id -> partition range
-    private Map<Long, Range<PartitionKey>> idToTempRange = Maps.newConcurrentMap();
+    private PartitionRangeMap idToTempRange = new PartitionRangeMap();
 
     // partitionId -> serialized Range<PartitionKey>
     // because Range<PartitionKey> and PartitionKey can not be serialized by gson
@@ -166,8 +164,7 @@ public class RangePartitionInfo extends PartitionInfo {
     private Range<PartitionKey> createAndCheckNewRange(Map<ColumnId, Column> schema, PartitionKeyDesc partKeyDesc, boolean isTemp)
             throws AnalysisException, DdlException {
         Range<PartitionKey> newRange = null;
-        // generate and sort the existing ranges
-        List<Map.Entry<Long, Range<PartitionKey>>> sortedRanges = getSortedRangeMap(isTemp);
+        PartitionRangeMap rangeMap = isTemp ? idToTempRange : idToRange;
 
         List<Column> partitionColumns = getPartitionColumns(schema);
         // create upper values for new range
@@ -181,23 +178,26 @@ public class RangePartitionInfo extends PartitionInfo {
             throw new DdlException("Partition's upper value should not be MIN VALUE: " + partKeyDesc);
         }
 
+        // Find the first existing range whose upper value is not less than the new range's upper value, and the one
+        // before it. As existing ranges are not overlapped, it's either the last range whose lower value is less than
+        // the new range's upper value, or the one after it.
         Range<PartitionKey> lastRange = null;
         Range<PartitionKey> currentRange = null;
-        for (Map.Entry<Long, Range<PartitionKey>> entry : sortedRanges) {
-            currentRange = entry.getValue();
-            // check if equals to upper bound
-            PartitionKey upperKey = currentRange.upperEndpoint();
-            if (upperKey.compareTo(newRangeUpper) >= 0) {
-                newRange = checkNewRange(partitionColumns, partKeyDesc, newRangeUpper, lastRange, currentRange);
-                break;
-            } else {
-                lastRange = currentRange;
-            }
-        } // end for ranges
-
-        if (newRange == null) /* the new range's upper value is larger than any existing ranges */ {
-            newRange = checkNewRange(partitionColumns, partKeyDesc, newRangeUpper, lastRange, currentRange);
+        Map.Entry<Long, Range<PartitionKey>> lowerEntry = rangeMap.lowerEntry(newRangeUpper);
+        if (lowerEntry == null) {
+            Map.Entry<Long, Range<PartitionKey>> firstEntry = rangeMap.firstEntry();
+            currentRange = firstEntry == null ? null : firstEntry.getValue();
+        } else if (lowerEntry.getValue().upperEndpoint().compareTo(newRangeUpper) >= 0) {
+            Map.Entry<Long, Range<PartitionKey>> prevEntry = rangeMap.lowerEntry(lowerEntry);
+            lastRange = prevEntry == null ? null : prevEntry.getValue();
+            currentRange = lowerEntry.getValue();
+        } else {
+            Map.Entry<Long, Range<PartitionKey>> nextEntry = rangeMap.higherEntry(lowerEntry);
+            lastRange = lowerEntry.getValue();
+            // the new range's upper value is larger than any existing ranges if there is no next range
+            currentRange = nextEntry == null ? lowerEntry.getValue() : nextEntry.getValue();
         }
+        newRange = checkNewRange(partitionColumns, partKeyDesc, newRangeUpper, lastRange, currentRange);
         return newRange;
     }
 
@@ -366,17 +366,28 @@ public class RangePartitionInfo extends PartitionInfo {
     }
 
     public List<Map.Entry<Long, Range<PartitionKey>>> getSortedRangeMap(boolean isTemp) {
-        Map<Long, Range<PartitionKey>> tmpMap = idToRange;
+        PartitionRangeMap tmpMap = idToRange;
         if (isTemp) {
             tmpMap = idToTempRange;
         }
-        List<Map.Entry<Long, Range<PartitionKey>>> sortedList = Lists.newArrayList(tmpMap.entrySet());
-        Collections.sort(sortedList, RangeUtils.RANGE_MAP_ENTRY_COMPARATOR);
-        return sortedList;
+        return tmpMap.getSortedEntries();
     }
 
     public List<Map.Entry<Long, Range<PartitionKey>>> getSortedRangeMap(Set<Long> partitionIds)
             throws AnalysisException {
+        if (partitionIds.size() > idToRange.size() / 2) {
+            // most of the formal partitions are selected, filter the sorted ranges rather than sort the selected ones
+            List<Map.Entry<Long, Range<PartitionKey>>> sortedList = Lists.newArrayListWithCapacity(partitionIds.size());
+            for (Map.Entry<Long, Range<PartitionKey>> entry : idToRange.getSortedEntries()) {
+                if (partitionIds.contains(entry.getKey())) {
+                    sortedList.add(entry);
+                }
+            }
+            if (sortedList.size() == partitionIds.size()) {
+                return sortedList;
+            }
+            // some of them are temp partitions or do not exist
+        }
         Map<Long, Range<PartitionKey>> tmpMap = Maps.newHashMap();
         for (long partitionId : partitionIds) {
             Range<PartitionKey> range = getRange(partitionId);
@@ -479,14 +490,14 @@ public class RangePartitionInfo extends PartitionInfo {
     @Override
     public void gsonPostProcess() throws IOException {
         super.gsonPostProcess();
-        idToRange = Maps.newConcurrentMap();
+        idToRange = new PartitionRangeMap();
         if (serializedIdToRange != null && !serializedIdToRange.isEmpty()) {
             for (Map.Entry<Long, byte[]> entry : serializedIdToRange.entrySet()) {
                 idToRange.put(entry.getKey(), deserializeRange(entry.getValue()));
             }
             serializedIdToRange = null;
         }
-        idToTempRange = Maps.newConcurrentMap();
+        idToTempRange = new PartitionRangeMap();
         if (serializedIdToTempRange != null && !serializedIdToTempRange.isEmpty()) {
             for (Map.Entry<Long, byte[]> entry : serializedIdToTempRange.entrySet()) {
                 idToTempRange.put(entry.getKey(), deserializeRange(entry.getValue()));
@@ -513,9 +524,7 @@ public class RangePartitionInfo extends PartitionInfo {
         sb.append(")\n(");
 
         // sort range
-        List<Map.Entry<Long, Range<PartitionKey>>> entries =
-                new ArrayList<Map.Entry<Long, Range<PartitionKey>>>(this.idToRange.entrySet());
-        Collections.sort(entries, RangeUtils.RANGE_MAP_ENTRY_COMPARATOR);
+        List<Map.Entry<Long, Range<PartitionKey>>> entries = this.idToRange.getSortedEntries();
 
         idx = 0;
         PartitionInfo tblPartitionInfo = table.getPartitionInfo();
@@ -568,8 +577,8 @@ public class RangePartitionInfo extends PartitionInfo {
         RangePartitionInfo info = (RangePartitionInfo) super.clone();
         info.deprecatedColumns = Lists.newArrayList(this.deprecatedColumns);
         info.partitionColumnIds = Lists.newArrayList(this.partitionColumnIds);
-        info.idToRange = new ConcurrentHashMap<>(this.idToRange);
-        info.idToTempRange = new ConcurrentHashMap<>(this.idToTempRange);
+        info.idToRange = new PartitionRangeMap(this.idToRange);
+        info.idToTempRange = new PartitionRangeMap(this.idToTempRange);
         info.isMultiColumnPartition = partitionColumnIds.size() > 1;
         return info;
     }
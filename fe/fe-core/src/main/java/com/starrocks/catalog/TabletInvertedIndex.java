@@ -66,12 +66,13 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.locks.ReentrantLock;
 import java.util.stream.Collectors;
 
 /*
@@ -88,40 +89,42 @@ public class TabletInvertedIndex implements MemoryTrackable {
     public static final TabletMeta NOT_EXIST_TABLET_META = new TabletMeta(NOT_EXIST_VALUE, NOT_EXIST_VALUE,
             NOT_EXIST_VALUE, NOT_EXIST_VALUE, NOT_EXIST_VALUE, TStorageMedium.HDD);
 
-    private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+    private static final int LOCK_STRIPE_NUM = 256;
+
+    // Modifications of the same tablet are serialized by the lock striped by tablet id, modifications of different
+    // tablets run in parallel. All the maps are concurrent, so reads are lock free and see the effect of each
+    // modification either entirely or not at all for a single tablet.
+    private final ReentrantLock[] stripedLocks = new ReentrantLock[LOCK_STRIPE_NUM];
 
     // tablet id -> tablet meta
     private final Map<Long, TabletMeta> tabletMetaMap = Maps.newConcurrentMap();
 
     // replica id -> tablet id
-    private final Map<Long, Long> replicaToTabletMap = Maps.newHashMap();
+    private final Map<Long, Long> replicaToTabletMap = Maps.newConcurrentMap();
 
     // tablet id -> backend set
-    private final Map<Long, Set<Long>> forceDeleteTablets = Maps.newHashMap();
+    private final Map<Long, Set<Long>> forceDeleteTablets = Maps.newConcurrentMap();
 
     // tablet id -> (backend id -> replica)
-    private final Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
-    // backing replica table, for visiting backend replicas faster.
+    // The replica map of a tablet is small and immutable, it is replaced on modification.
+    private final Map<Long, ImmutableMap<Long, Replica>> replicaMetaMap = Maps.newConcurrentMap();
+    // backing replica map, for visiting backend replicas faster.
     // backend id -> (tablet id -> replica)
-    private final Table<Long, Long, Replica> backingReplicaMetaTable = HashBasedTable.create();
+    private final Map<Long, Map<Long, Replica>> backingReplicaMetaMap = Maps.newConcurrentMap();
 
     public TabletInvertedIndex() {
+        for (int i = 0; i < LOCK_STRIPE_NUM; i++) {
+            stripedLocks[i] = new ReentrantLock();
+        }
     }
 
-    private void readLock() {
-        this.lock.readLock().lock();
-    }
-
-    private void readUnlock() {
-        this.lock.readLock().unlock();
-    }
-
-    private void writeLock() {
-        this.lock.writeLock().lock();
+    private ReentrantLock getLock(long tabletId) {
+        return stripedLocks[Math.floorMod(Long.hashCode(tabletId), LOCK_STRIPE_NUM)];
     }
 
-    private void writeUnlock() {
-        this.lock.writeLock().unlock();
+    private Map<Long, Replica> getReplicasOnBackend(long backendId) {
+        Map<Long, Replica> replicas = backingReplicaMetaMap.get(backendId);
+        return replicas == null ? Collections.emptyMap() : replicas;
     }
 
     public void tabletReport(long backendId, Map<Long, TTablet> backendTablets,
@@ -151,158 +154,151 @@ public class TabletInvertedIndex implements MemoryTrackable {
             backendStorageTypeCnt = be.getAvailableBackendStorageTypeCnt();
         }
 
-        readLock();
         long start = System.currentTimeMillis();
-        try {
-            LOG.debug("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
-            // backingReplicaMetaTable.row(backendId) won't return null
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            // traverse replicas in meta with this backend
-            for (Map.Entry<Long, Replica> entry : replicaMetaWithBackend.entrySet()) {
-                long tabletId = entry.getKey();
-                Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-                TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
-
-                if (tabletMeta.isLakeTablet()) {
-                    continue;
-                }
+        LOG.debug("begin to do tablet diff with backend[{}]. num: {}", backendId, backendTablets.size());
+        Map<Long, Replica> replicaMetaWithBackend = getReplicasOnBackend(backendId);
+        // traverse replicas in meta with this backend
+        for (Map.Entry<Long, Replica> entry : replicaMetaWithBackend.entrySet()) {
+            long tabletId = entry.getKey();
+            TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
+            // the tablet is dropped during the diff
+            if (tabletMeta == null || tabletMeta.isLakeTablet()) {
+                continue;
+            }
+
+            if (backendTablets.containsKey(tabletId)) {
+                TTablet backendTablet = backendTablets.get(tabletId);
+                Replica replica = entry.getValue();
+                for (TTabletInfo backendTabletInfo : backendTablet.getTablet_infos()) {
+                    if (backendTabletInfo.isSetIs_error_state()) {
+                        replica.setIsErrorState(backendTabletInfo.is_error_state);
+                    }
+                    if (backendTabletInfo.isSetMax_rowset_creation_time()) {
+                        replica.setMaxRowsetCreationTime(backendTabletInfo.max_rowset_creation_time);
+                    }
+                    if (tabletMeta.containsSchemaHash(backendTabletInfo.getSchema_hash())) {
+                        foundTabletsWithValidSchema.add(tabletId);
+                        // 1. (intersection)
+                        if (needSync(replica, backendTabletInfo)) {
+                            // need sync
+                            tabletSyncMap.put(tabletMeta.getDbId(), tabletId);
+                        }
 
-                if (backendTablets.containsKey(tabletId)) {
-                    TTablet backendTablet = backendTablets.get(tabletId);
-                    Replica replica = entry.getValue();
-                    for (TTabletInfo backendTabletInfo : backendTablet.getTablet_infos()) {
-                        if (backendTabletInfo.isSetIs_error_state()) {
-                            replica.setIsErrorState(backendTabletInfo.is_error_state);
+                        // check and set path,
+                        // path info of replica is only saved in Leader FE
+                        if (backendTabletInfo.isSetPath_hash() &&
+                                replica.getPathHash() != backendTabletInfo.getPath_hash()) {
+                            replica.setPathHash(backendTabletInfo.getPath_hash());
                         }
-                        if (backendTabletInfo.isSetMax_rowset_creation_time()) {
-                            replica.setMaxRowsetCreationTime(backendTabletInfo.max_rowset_creation_time);
+
+                        if (backendTabletInfo.isSetSchema_hash() && replica.getState() == ReplicaState.NORMAL
+                                && replica.getSchemaHash() != backendTabletInfo.getSchema_hash()) {
+                            // update the schema hash only when replica is normal
+                            replica.setSchemaHash(backendTabletInfo.getSchema_hash());
                         }
-                        if (tabletMeta.containsSchemaHash(backendTabletInfo.getSchema_hash())) {
-                            foundTabletsWithValidSchema.add(tabletId);
-                            // 1. (intersection)
-                            if (needSync(replica, backendTabletInfo)) {
-                                // need sync
-                                tabletSyncMap.put(tabletMeta.getDbId(), tabletId);
-                            }
 
-                            // check and set path,
-                            // path info of replica is only saved in Leader FE
-                            if (backendTabletInfo.isSetPath_hash() &&
-                                    replica.getPathHash() != backendTabletInfo.getPath_hash()) {
-                                replica.setPathHash(backendTabletInfo.getPath_hash());
-                            }
+                        if (!isRestoreReplica(replica, this.replicaToTabletMap, this.tabletMetaMap) &&
+                                needRecover(replica, tabletMeta.getOldSchemaHash(), backendTabletInfo)) {
+                            LOG.warn("replica {} of tablet {} on backend {} need recovery. "
+                                            + "replica in FE: {}, report version {}, report schema hash: {},"
+                                            + " is bad: {}",
+                                    replica.getId(), tabletId, backendId,
+                                    replica, backendTabletInfo.getVersion(), backendTabletInfo.getSchema_hash(),
+                                    backendTabletInfo.isSetUsed() ? backendTabletInfo.isUsed() : "unknown");
+                            tabletRecoveryMap.put(tabletMeta.getDbId(), tabletId);
+                        }
 
-                            if (backendTabletInfo.isSetSchema_hash() && replica.getState() == ReplicaState.NORMAL
-                                    && replica.getSchemaHash() != backendTabletInfo.getSchema_hash()) {
-                                // update the schema hash only when replica is normal
-                                replica.setSchemaHash(backendTabletInfo.getSchema_hash());
+                        replica.setLastReportVersion(backendTabletInfo.getVersion());
+
+                        // check if tablet needs migration
+                        long partitionId = tabletMeta.getPartitionId();
+                        TStorageMedium storageMedium = storageMediumMap.get(partitionId);
+                        if (storageMedium != null && backendTabletInfo.isSetStorage_medium()) {
+                            if (storageMedium != backendTabletInfo.getStorage_medium()) {
+                                // If storage medium is less than 1, there is no need to send migration tasks to BE.
+                                // Because BE will ignore this request.
+                                if (backendStorageTypeCnt <= 1) {
+                                    LOG.debug("available storage medium type count is less than 1, " +
+                                                    "no need to send migrate task. tabletId={}, backendId={}.",
+                                            tabletMeta, backendId);
+                                } else {
+                                    tabletMigrationMap.put(storageMedium, tabletId);
+                                }
                             }
-
-                            if (!isRestoreReplica(replica, this.replicaToTabletMap, this.tabletMetaMap) &&
-                                    needRecover(replica, tabletMeta.getOldSchemaHash(), backendTabletInfo)) {
-                                LOG.warn("replica {} of tablet {} on backend {} need recovery. "
-                                                + "replica in FE: {}, report version {}, report schema hash: {},"
-                                                + " is bad: {}",
-                                        replica.getId(), tabletId, backendId,
-                                        replica, backendTabletInfo.getVersion(), backendTabletInfo.getSchema_hash(),
-                                        backendTabletInfo.isSetUsed() ? backendTabletInfo.isUsed() : "unknown");
-                                tabletRecoveryMap.put(tabletMeta.getDbId(), tabletId);
+                            if (storageMedium != tabletMeta.getStorageMedium()) {
+                                tabletMeta.setStorageMedium(storageMedium);
                             }
-
-                            replica.setLastReportVersion(backendTabletInfo.getVersion());
-
-                            // check if tablet needs migration
-                            long partitionId = tabletMeta.getPartitionId();
-                            TStorageMedium storageMedium = storageMediumMap.get(partitionId);
-                            if (storageMedium != null && backendTabletInfo.isSetStorage_medium()) {
-                                if (storageMedium != backendTabletInfo.getStorage_medium()) {
-                                    // If storage medium is less than 1, there is no need to send migration tasks to BE.
-                                    // Because BE will ignore this request.
-                                    if (backendStorageTypeCnt <= 1) {
-                                        LOG.debug("available storage medium type count is less than 1, " +
-                                                        "no need to send migrate task. tabletId={}, backendId={}.",
-                                                tabletMeta, backendId);
+                        }
+                        // check if we should clear transactions
+                        if (backendTabletInfo.isSetTransaction_ids()) {
+                            List<Long> transactionIds = backendTabletInfo.getTransaction_ids();
+                            GlobalTransactionMgr transactionMgr =
+                                    GlobalStateMgr.getCurrentState().getGlobalTransactionMgr();
+                            for (Long transactionId : transactionIds) {
+                                TransactionState transactionState =
+                                        transactionMgr.getTransactionState(tabletMeta.getDbId(), transactionId);
+                                if (transactionState == null ||
+                                        transactionState.getTransactionStatus() == TransactionStatus.ABORTED) {
+                                    transactionsToClear.put(transactionId, tabletMeta.getPartitionId());
+                                    LOG.debug("transaction id [{}] is not valid any more, "
+                                            + "clear it from backend [{}]", transactionId, backendId);
+                                } else if (transactionState.getTransactionStatus() ==
+                                        TransactionStatus.VISIBLE) {
+                                    TableCommitInfo tableCommitInfo =
+                                            transactionState.getTableCommitInfo(tabletMeta.getTableId());
+                                    PartitionCommitInfo partitionCommitInfo =
+                                            tableCommitInfo.getPartitionCommitInfo(partitionId);
+                                    if (partitionCommitInfo == null) {
+                                        /*
+                                         * This may happen as follows:
+                                         * 1. txn is committed on BE, and report commit info to FE
+                                         * 2. FE received report and begin to assemble partitionCommitInfos.
+                                         * 3. At the same time, some partitions have been dropped, so
+                                         *    partitionCommitInfos does not contain these partitions.
+                                         * 4. So we will not able to get partitionCommitInfo here.
+                                         *
+                                         * Just print a log to observe
+                                         */
+                                        LOG.info(
+                                                "failed to find partition commit info. table: {}, " +
+                                                        "partition: {}, tablet: {}, txn_id: {}",
+                                                tabletMeta.getTableId(), partitionId, tabletId,
+                                                transactionState.getTransactionId());
                                     } else {
-                                        tabletMigrationMap.put(storageMedium, tabletId);
+                                        TPartitionVersionInfo versionInfo =
+                                                new TPartitionVersionInfo(tabletMeta.getPartitionId(),
+                                                        partitionCommitInfo.getVersion(), 0);
+                                        versionInfo.setGtid(transactionState.getGlobalTransactionId());
+                                        Map<Long, Map<Long, TPartitionVersionInfo>> txnMap =
+                                                transactionsToPublish.computeIfAbsent(
+                                                        transactionState.getDbId(), k -> Maps.newHashMap());
+                                        Map<Long, TPartitionVersionInfo> partitionMap =
+                                                txnMap.computeIfAbsent(transactionId, k -> Maps.newHashMap());
+                                        partitionMap.put(versionInfo.getPartition_id(), versionInfo);
+                                        transactionsToCommitTime.put(transactionId,
+                                                transactionState.getCommitTime());
                                     }
                                 }
-                                if (storageMedium != tabletMeta.getStorageMedium()) {
-                                    tabletMeta.setStorageMedium(storageMedium);
-                                }
                             }
-                            // check if we should clear transactions
-                            if (backendTabletInfo.isSetTransaction_ids()) {
-                                List<Long> transactionIds = backendTabletInfo.getTransaction_ids();
-                                GlobalTransactionMgr transactionMgr =
-                                        GlobalStateMgr.getCurrentState().getGlobalTransactionMgr();
-                                for (Long transactionId : transactionIds) {
-                                    TransactionState transactionState =
-                                            transactionMgr.getTransactionState(tabletMeta.getDbId(), transactionId);
-                                    if (transactionState == null ||
-                                            transactionState.getTransactionStatus() == TransactionStatus.ABORTED) {
-                                        transactionsToClear.put(transactionId, tabletMeta.getPartitionId());
-                                        LOG.debug("transaction id [{}] is not valid any more, "
-                                                + "clear it from backend [{}]", transactionId, backendId);
-                                    } else if (transactionState.getTransactionStatus() ==
-                                            TransactionStatus.VISIBLE) {
-                                        TableCommitInfo tableCommitInfo =
-                                                transactionState.getTableCommitInfo(tabletMeta.getTableId());
-                                        PartitionCommitInfo partitionCommitInfo =
-                                                tableCommitInfo.getPartitionCommitInfo(partitionId);
-                                        if (partitionCommitInfo == null) {
-                                            /*
-                                             * This may happen as follows:
-                                             * 1. txn is committed on BE, and report commit info to FE
-                                             * 2. FE received report and begin to assemble partitionCommitInfos.
-                                             * 3. At the same time, some partitions have been dropped, so
-                                             *    partitionCommitInfos does not contain these partitions.
-                                             * 4. So we will not able to get partitionCommitInfo here.
-                                             *
-                                             * Just print a log to observe
-                                             */
-                                            LOG.info(
-                                                    "failed to find partition commit info. table: {}, " +
-                                                            "partition: {}, tablet: {}, txn_id: {}",
-                                                    tabletMeta.getTableId(), partitionId, tabletId,
-                                                    transactionState.getTransactionId());
-                                        } else {
-                                            TPartitionVersionInfo versionInfo =
-                                                    new TPartitionVersionInfo(tabletMeta.getPartitionId(),
-                                                            partitionCommitInfo.getVersion(), 0);
-                                            versionInfo.setGtid(transactionState.getGlobalTransactionId());
-                                            Map<Long, Map<Long, TPartitionVersionInfo>> txnMap =
-                                                    transactionsToPublish.computeIfAbsent(
-                                                            transactionState.getDbId(), k -> Maps.newHashMap());
-                                            Map<Long, TPartitionVersionInfo> partitionMap =
-                                                    txnMap.computeIfAbsent(transactionId, k -> Maps.newHashMap());
-                                            partitionMap.put(versionInfo.getPartition_id(), versionInfo);
-                                            transactionsToCommitTime.put(transactionId,
-                                                    transactionState.getCommitTime());
-                                        }
-                                    }
-                                }
-                            } // end for txn id
+                        } // end for txn id
 
-                            // update replica's version count
-                            // no need to write log, and no need to get db lock.
-                            if (backendTabletInfo.isSetVersion_count()) {
-                                replica.setVersionCount(backendTabletInfo.getVersion_count());
-                            }
-                        } else {
-                            // tablet with invalid schema hash
-                            foundTabletsWithInvalidSchema.put(tabletId, backendTabletInfo);
-                        } // end for be tablet info
-                    }
-                } else {
-                    // 2. (meta - be)
-                    // may need delete from meta
-                    LOG.debug("backend[{}] does not report tablet[{}-{}]", backendId, tabletId, tabletMeta);
-                    tabletDeleteFromMeta.put(tabletMeta.getDbId(), tabletId);
+                        // update replica's version count
+                        // no need to write log, and no need to get db lock.
+                        if (backendTabletInfo.isSetVersion_count()) {
+                            replica.setVersionCount(backendTabletInfo.getVersion_count());
+                        }
+                    } else {
+                        // tablet with invalid schema hash
+                        foundTabletsWithInvalidSchema.put(tabletId, backendTabletInfo);
+                    } // end for be tablet info
                 }
-            } // end for replicaMetaWithBackend
-        } finally {
-            readUnlock();
-        }
+            } else {
+                // 2. (meta - be)
+                // may need delete from meta
+                LOG.debug("backend[{}] does not report tablet[{}-{}]", backendId, tabletId, tabletMeta);
+                tabletDeleteFromMeta.put(tabletMeta.getDbId(), tabletId);
+            }
+        } // end for replicaMetaWithBackend
 
         long end = System.currentTimeMillis();
         LOG.info("finished to do tablet diff with backend[{}]. sync: {}. metaDel: {}. foundValid: {}. foundInvalid: {}."
@@ -476,34 +472,19 @@ public class TabletInvertedIndex implements MemoryTrackable {
     }
 
     public Long getTabletIdByReplica(long replicaId) {
-        readLock();
-        try {
-            return replicaToTabletMap.get(replicaId);
-        } finally {
-            readUnlock();
-        }
+        return replicaToTabletMap.get(replicaId);
     }
 
     public TabletMeta getTabletMeta(long tabletId) {
-        readLock();
-        try {
-            return tabletMetaMap.get(tabletId);
-        } finally {
-            readUnlock();
-        }
+        return tabletMetaMap.get(tabletId);
     }
 
     public List<TabletMeta> getTabletMetaList(List<Long> tabletIdList) {
         List<TabletMeta> tabletMetaList = new ArrayList<>(tabletIdList.size());
-        readLock();
-        try {
-            for (Long tabletId : tabletIdList) {
-                tabletMetaList.add(tabletMetaMap.getOrDefault(tabletId, NOT_EXIST_TABLET_META));
-            }
-            return tabletMetaList;
-        } finally {
-            readUnlock();
+        for (Long tabletId : tabletIdList) {
+            tabletMetaList.add(tabletMetaMap.getOrDefault(tabletId, NOT_EXIST_TABLET_META));
         }
+        return tabletMetaList;
     }
 
     private boolean needSync(Replica replicaInFe, TTabletInfo backendTabletInfo) {
@@ -592,57 +573,41 @@ public class TabletInvertedIndex implements MemoryTrackable {
         if (GlobalStateMgr.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        ReentrantLock lock = getLock(tabletId);
+        lock.lock();
         try {
             tabletMetaMap.putIfAbsent(tabletId, tabletMeta);
             LOG.debug("add tablet: {} tabletMeta: {}", tabletId, tabletMeta);
         } finally {
-            writeUnlock();
+            lock.unlock();
         }
     }
 
     @VisibleForTesting
     public Map<Long, Set<Long>> getForceDeleteTablets() {
-        readLock();
-        try {
-            return forceDeleteTablets;
-        } finally {
-            readUnlock();
-        }
+        return forceDeleteTablets;
     }
 
     public boolean tabletForceDelete(long tabletId, long backendId) {
-        readLock();
-        try {
-            if (forceDeleteTablets.containsKey(tabletId)) {
-                return forceDeleteTablets.get(tabletId).contains(backendId);
-            }
-            return false;
-        } finally {
-            readUnlock();
-        }
+        Set<Long> backendIds = forceDeleteTablets.get(tabletId);
+        return backendIds != null && backendIds.contains(backendId);
     }
 
     public void markTabletForceDelete(long tabletId, long backendId) {
-        writeLock();
-        try {
-            if (forceDeleteTablets.containsKey(tabletId)) {
-                forceDeleteTablets.get(tabletId).add(backendId);
-            } else {
-                forceDeleteTablets.put(tabletId, Sets.newHashSet(backendId));
+        forceDeleteTablets.compute(tabletId, (k, backendIds) -> {
+            if (backendIds == null) {
+                backendIds = Sets.newConcurrentHashSet();
             }
-        } finally {
-            writeUnlock();
-        }
+            backendIds.add(backendId);
+            return backendIds;
+        });
     }
 
     public void markTabletForceDelete(long tabletId, Set<Long> backendIds) {
         if (backendIds.isEmpty()) {
             return;
         }
-        writeLock();
-        forceDeleteTablets.put(tabletId, backendIds);
-        writeUnlock();
+        forceDeleteTablets.put(tabletId, Sets.newConcurrentHashSet(backendIds));
     }
 
     public void markTabletForceDelete(Tablet tablet) {
@@ -654,44 +619,44 @@ public class TabletInvertedIndex implements MemoryTrackable {
     }
 
     public void eraseTabletForceDelete(long tabletId, long backendId) {
-        writeLock();
-        try {
-            if (forceDeleteTablets.containsKey(tabletId)) {
-                forceDeleteTablets.get(tabletId).remove(backendId);
-                if (forceDeleteTablets.get(tabletId).isEmpty()) {
-                    forceDeleteTablets.remove(tabletId);
-                }
-            }
-        } finally {
-            writeUnlock();
-        }
+        forceDeleteTablets.computeIfPresent(tabletId, (k, backendIds) -> {
+            backendIds.remove(backendId);
+            return backendIds.isEmpty() ? null : backendIds;
+        });
     }
 
     public void deleteTablet(long tabletId) {
         if (GlobalStateMgr.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        ReentrantLock lock = getLock(tabletId);
+        lock.lock();
         try {
-            Map<Long, Replica> replicas = replicaMetaTable.rowMap().remove(tabletId);
+            Map<Long, Replica> replicas = replicaMetaMap.remove(tabletId);
             if (replicas != null) {
                 for (Replica replica : replicas.values()) {
                     replicaToTabletMap.remove(replica.getId());
                 }
 
                 for (long backendId : replicas.keySet()) {
-                    backingReplicaMetaTable.remove(backendId, tabletId);
+                    getReplicasOnBackend(backendId).remove(tabletId);
                 }
             }
             tabletMetaMap.remove(tabletId);
 
             LOG.debug("delete tablet: {}", tabletId);
         } finally {
-            writeUnlock();
+            lock.unlock();
         }
     }
 
+    /**
+     * @return a snapshot of tablet id -> (backend id -> replica)
+     */
     public Table<Long, Long, Replica> getReplicaMetaTable() {
+        Table<Long, Long, Replica> replicaMetaTable = HashBasedTable.create();
+        replicaMetaMap.forEach((tabletId, replicas) -> replicas.forEach(
+                (backendId, replica) -> replicaMetaTable.put(tabletId, backendId, replica)));
         return replicaMetaTable;
     }
 
@@ -699,16 +664,27 @@ public class TabletInvertedIndex implements MemoryTrackable {
         if (GlobalStateMgr.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        ReentrantLock lock = getLock(tabletId);
+        lock.lock();
         try {
             Preconditions.checkState(tabletMetaMap.containsKey(tabletId));
-            replicaMetaTable.put(tabletId, replica.getBackendId(), replica);
+            long backendId = replica.getBackendId();
+            ImmutableMap.Builder<Long, Replica> builder = ImmutableMap.builder();
+            Map<Long, Replica> replicas = replicaMetaMap.get(tabletId);
+            if (replicas != null) {
+                replicas.forEach((id, r) -> {
+                    if (id != backendId) {
+                        builder.put(id, r);
+                    }
+                });
+            }
+            replicaMetaMap.put(tabletId, builder.put(backendId, replica).build());
             replicaToTabletMap.put(replica.getId(), tabletId);
-            backingReplicaMetaTable.put(replica.getBackendId(), tabletId, replica);
+            backingReplicaMetaMap.computeIfAbsent(backendId, k -> Maps.newConcurrentMap()).put(tabletId, replica);
             LOG.debug("add replica {} of tablet {} in backend {}",
-                    replica.getId(), tabletId, replica.getBackendId());
+                    replica.getId(), tabletId, backendId);
         } finally {
-            writeUnlock();
+            lock.unlock();
         }
     }
 
@@ -716,17 +692,25 @@ public class TabletInvertedIndex implements MemoryTrackable {
         if (GlobalStateMgr.isCheckpointThread()) {
             return;
         }
-        writeLock();
+        ReentrantLock lock = getLock(tabletId);
+        lock.lock();
         try {
             if (!tabletMetaMap.containsKey(tabletId)) {
                 return;
             }
-            if (replicaMetaTable.containsRow(tabletId)) {
-                Replica replica = replicaMetaTable.remove(tabletId, backendId);
+            Map<Long, Replica> replicas = replicaMetaMap.get(tabletId);
+            if (replicas != null) {
+                Replica replica = replicas.get(backendId);
                 assert replica != null;
                 replicaToTabletMap.remove(replica.getId());
-                replicaMetaTable.remove(tabletId, backendId);
-                backingReplicaMetaTable.remove(backendId, tabletId);
+                ImmutableMap<Long, Replica> newReplicas = ImmutableMap.copyOf(
+                        Maps.filterKeys(replicas, id -> id != backendId));
+                if (newReplicas.isEmpty()) {
+                    replicaMetaMap.remove(tabletId);
+                } else {
+                    replicaMetaMap.put(tabletId, newReplicas);
+                }
+                getReplicasOnBackend(backendId).remove(tabletId);
                 LOG.debug("delete replica {} of tablet {} in backend {}",
                         replica.getId(), tabletId, backendId);
             } else {
@@ -735,29 +719,21 @@ public class TabletInvertedIndex implements MemoryTrackable {
                 LOG.error("tablet[{}] contains no replica in inverted index", tabletId);
             }
         } finally {
-            writeUnlock();
+            lock.unlock();
         }
     }
 
     public Replica getReplica(long tabletId, long backendId) {
-        readLock();
-        try {
-            return replicaMetaTable.get(tabletId, backendId);
-        } finally {
-            readUnlock();
-        }
+        Map<Long, Replica> replicas = replicaMetaMap.get(tabletId);
+        return replicas == null ? null : replicas.get(backendId);
     }
 
     public List<Replica> getReplicasByTabletId(long tabletId) {
-        readLock();
-        try {
-            if (replicaMetaTable.containsRow(tabletId)) {
-                return Lists.newArrayList(replicaMetaTable.row(tabletId).values());
-            }
-            return Lists.newArrayList();
-        } finally {
-            readUnlock();
+        Map<Long, Replica> replicas = replicaMetaMap.get(tabletId);
+        if (replicas != null) {
+            return Lists.newArrayList(replicas.values());
         }
+        return Lists.newArrayList();
     }
 
     /**
@@ -768,83 +744,50 @@ public class TabletInvertedIndex implements MemoryTrackable {
      * @return list of replica or null if backend not found
      */
     public List<Replica> getReplicasOnBackendByTabletIds(List<Long> tabletIds, long backendId) {
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            if (!replicaMetaWithBackend.isEmpty()) {
-                List<Replica> replicas = Lists.newArrayList();
-                for (long tabletId : tabletIds) {
-                    replicas.add(replicaMetaWithBackend.get(tabletId));
-                }
-                return replicas;
+        Map<Long, Replica> replicaMetaWithBackend = getReplicasOnBackend(backendId);
+        if (!replicaMetaWithBackend.isEmpty()) {
+            List<Replica> replicas = Lists.newArrayList();
+            for (long tabletId : tabletIds) {
+                replicas.add(replicaMetaWithBackend.get(tabletId));
             }
-            return null;
-        } finally {
-            readUnlock();
+            return replicas;
         }
+        return null;
     }
 
     public List<Long> getTabletIdsByBackendId(long backendId) {
-        List<Long> tabletIds = Lists.newArrayList();
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            tabletIds.addAll(replicaMetaWithBackend.keySet());
-        } finally {
-            readUnlock();
-        }
-        return tabletIds;
+        return Lists.newArrayList(getReplicasOnBackend(backendId).keySet());
     }
 
     public List<Long> getTabletIdsByBackendIdAndStorageMedium(long backendId, TStorageMedium storageMedium) {
-        List<Long> tabletIds;
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            tabletIds = replicaMetaWithBackend.keySet().stream().filter(
-                    id -> tabletMetaMap.get(id).getStorageMedium() == storageMedium).collect(Collectors.toList());
-        } finally {
-            readUnlock();
-        }
-        return tabletIds;
+        return getReplicasOnBackend(backendId).keySet().stream().filter(id -> {
+            TabletMeta tabletMeta = tabletMetaMap.get(id);
+            return tabletMeta != null && tabletMeta.getStorageMedium() == storageMedium;
+        }).collect(Collectors.toList());
     }
 
     public long getTabletNumByBackendId(long backendId) {
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            return replicaMetaWithBackend.size();
-        } finally {
-            readUnlock();
-        }
+        return getReplicasOnBackend(backendId).size();
     }
 
     public long getTabletNumByBackendIdAndPathHash(long backendId, long pathHash) {
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            return replicaMetaWithBackend.values().stream().filter(r -> r.getPathHash() == pathHash).count();
-        } finally {
-            readUnlock();
-        }
+        return getReplicasOnBackend(backendId).values().stream().filter(r -> r.getPathHash() == pathHash).count();
     }
 
     public Map<TStorageMedium, Long> getReplicaNumByBeIdAndStorageMedium(long backendId) {
         Map<TStorageMedium, Long> replicaNumMap = Maps.newHashMap();
         long hddNum = 0;
         long ssdNum = 0;
-        readLock();
-        try {
-            Map<Long, Replica> replicaMetaWithBackend = backingReplicaMetaTable.row(backendId);
-            for (long tabletId : replicaMetaWithBackend.keySet()) {
-                if (tabletMetaMap.get(tabletId).getStorageMedium() == TStorageMedium.HDD) {
-                    hddNum++;
-                } else {
-                    ssdNum++;
-                }
+        for (long tabletId : getReplicasOnBackend(backendId).keySet()) {
+            TabletMeta tabletMeta = tabletMetaMap.get(tabletId);
+            if (tabletMeta == null) {
+                continue;
+            }
+            if (tabletMeta.getStorageMedium() == TStorageMedium.HDD) {
+                hddNum++;
+            } else {
+                ssdNum++;
             }
-        } finally {
-            readUnlock();
         }
         replicaNumMap.put(TStorageMedium.HDD, hddNum);
         replicaNumMap.put(TStorageMedium.SSD, ssdNum);
@@ -856,25 +799,19 @@ public class TabletInvertedIndex implements MemoryTrackable {
     }
 
     public long getReplicaCount() {
-        readLock();
-        try {
-            return this.replicaMetaTable.size();
-        } finally {
-            readUnlock();
+        long count = 0;
+        for (Map<Long, Replica> replicas : backingReplicaMetaMap.values()) {
+            count += replicas.size();
         }
+        return count;
     }
 
     // just for test
     public void clear() {
-        writeLock();
-        try {
-            tabletMetaMap.clear();
-            replicaToTabletMap.clear();
-            replicaMetaTable.clear();
-            backingReplicaMetaTable.clear();
-        } finally {
-            writeUnlock();
-        }
+        tabletMetaMap.clear();
+        replicaToTabletMap.clear();
+        replicaMetaMap.clear();
+        backingReplicaMetaMap.clear();
     }
 
     @Override
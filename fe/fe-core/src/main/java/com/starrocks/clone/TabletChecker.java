@@ -34,13 +34,16 @@
 
 package com.starrocks.clone;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Table.Cell;
 import com.starrocks.catalog.Database;
+import com.starrocks.catalog.DiskInfo;
 import com.starrocks.catalog.LocalTablet;
 import com.starrocks.catalog.LocalTablet.TabletHealthStatus;
 import com.starrocks.catalog.MaterializedIndex;
@@ -53,6 +56,8 @@ import com.starrocks.catalog.Replica;
 import com.starrocks.catalog.Table;
 import com.starrocks.catalog.Table.TableType;
 import com.starrocks.catalog.Tablet;
+import com.starrocks.catalog.TabletInvertedIndex;
+import com.starrocks.catalog.TabletMeta;
 import com.starrocks.common.CloseableLock;
 import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
@@ -61,6 +66,7 @@ import com.starrocks.common.util.FrontendDaemon;
 import com.starrocks.common.util.concurrent.lock.LockType;
 import com.starrocks.common.util.concurrent.lock.Locker;
 import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.server.LocalMetastore;
 import com.starrocks.server.RunMode;
 import com.starrocks.sql.analyzer.AdminStmtAnalyzer;
 import com.starrocks.sql.ast.AdminCancelRepairTableStmt;
@@ -73,12 +79,14 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.stream.Collectors;
 
 /*
@@ -125,6 +133,38 @@ public class TabletChecker extends FrontendDaemon {
         }
     }
 
+    // the state of a backend which affects the health of the replicas on it
+    private static class BackendState {
+        private final boolean dead;
+        private final boolean decommissioned;
+        private final Map<String, String> location;
+        // root path -> state
+        private final Map<String, DiskInfo.DiskState> diskStates;
+
+        BackendState(Backend backend) {
+            this.dead = isReplicaBackendDead(backend);
+            this.decommissioned = backend.isDecommissioned();
+            this.location = backend.getLocation() == null ? null : Maps.newHashMap(backend.getLocation());
+            this.diskStates = Maps.newHashMap();
+            backend.getDisks().forEach((rootPath, disk) -> diskStates.put(rootPath, disk.getState()));
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof BackendState)) {
+                return false;
+            }
+            BackendState other = (BackendState) obj;
+            return dead == other.dead && decommissioned == other.decommissioned
+                    && Objects.equals(location, other.location) && diskStates.equals(other.diskStates);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(dead, decommissioned, location, diskStates);
+        }
+    }
+
     public static class RepairTabletInfo {
         public long dbId;
         public long tblId;
@@ -137,6 +177,15 @@ public class TabletChecker extends FrontendDaemon {
         }
     }
 
+    // tablets whose replica states have changed since they were checked last time
+    private final Set<Long> dirtyTabletIds = ConcurrentHashMap.newKeySet();
+    // set when some changes can not be tracked by tablets, such as dropping a backend
+    private volatile boolean fullCheckRequested = false;
+    private long lastFullCheckTimeMs = 0;
+    // backend id -> the state of the backend which affects the health of the replicas on it,
+    // only accessed by the checker thread
+    private final Map<Long, BackendState> backendStates = Maps.newHashMap();
+
     public TabletChecker(TabletScheduler tabletScheduler, TabletSchedulerStat stat) {
         super("tablet checker", Config.tablet_sched_checker_interval_seconds * 1000L);
         this.tabletScheduler = tabletScheduler;
@@ -195,8 +244,49 @@ public class TabletChecker extends FrontendDaemon {
 
     }
 
+    /**
+     * Mark the tablet dirty when the states of its replicas change, so it will be checked in the next round.
+     * The states of replicas also change when replaying the journal on the followers, where the tablet checker
+     * does not run, so the tablets are only tracked on the leader. A new leader starts with a full check.
+     */
+    public void markTabletDirty(long tabletId) {
+        if (isTrackingDirtyTablets()) {
+            dirtyTabletIds.add(tabletId);
+        }
+    }
+
+    public void markTabletsDirty(Collection<Long> tabletIds) {
+        if (isTrackingDirtyTablets()) {
+            dirtyTabletIds.addAll(tabletIds);
+        }
+    }
+
+    private static boolean isTrackingDirtyTablets() {
+        return Config.tablet_checker_enable_dirty_tablet_check && !GlobalStateMgr.isCheckpointThread()
+                && GlobalStateMgr.getCurrentState().isLeader();
+    }
+
+    /**
+     * Mark all the tablets with replicas on the backend dirty.
+     */
+    public void markBackendDirty(long backendId) {
+        markTabletsDirty(GlobalStateMgr.getCurrentState().getTabletInvertedIndex().getTabletIdsByBackendId(backendId));
+    }
+
+    /**
+     * Check all the tablets in the next round, for the changes which affect too many tablets to track one by one.
+     */
+    public void requestFullCheck() {
+        fullCheckRequested = true;
+    }
+
+    @VisibleForTesting
+    public Set<Long> getDirtyTabletIds() {
+        return dirtyTabletIds;
+    }
+
     /*
-     * For each cycle, TabletChecker will check all OlapTable's tablet.
+     * For each cycle, TabletChecker will check the dirty tablets, and check all OlapTable's tablet periodically.
      * If a tablet is not healthy, a TabletInfo will be created and sent to TabletScheduler for repairing.
      */
     @Override
@@ -213,7 +303,20 @@ public class TabletChecker extends FrontendDaemon {
             return;
         }
 
-        checkAllTablets();
+        markTabletsOfChangedBackendsDirty();
+
+        checkUrgentTablets();
+        long currentTimeMs = System.currentTimeMillis();
+        if (!Config.tablet_checker_enable_dirty_tablet_check || fullCheckRequested
+                || currentTimeMs - lastFullCheckTimeMs >= Config.tablet_checker_full_check_interval_second * 1000L) {
+            // the tablets marked dirty from now on are checked in the next round
+            fullCheckRequested = false;
+            dirtyTabletIds.clear();
+            lastFullCheckTimeMs = currentTimeMs;
+            checkNonUrgentTablets();
+        } else {
+            checkDirtyTablets();
+        }
 
         cleanInvalidUrgentTable();
 
@@ -225,12 +328,10 @@ public class TabletChecker extends FrontendDaemon {
      * Check the manually repaired table/partition first,
      * so that they can be scheduled for repair at first place.
      */
-    private void checkAllTablets() {
-        checkUrgentTablets();
-        checkNonUrgentTablets();
-    }
-
     private void checkUrgentTablets() {
+        if (getPrioPartitionNum() == 0) {
+            return;
+        }
         doCheck(true);
     }
 
@@ -238,6 +339,142 @@ public class TabletChecker extends FrontendDaemon {
         doCheck(false);
     }
 
+    /**
+     * Mark the tablets on the backends dirty, if the states of the backends which affect the health of their
+     * replicas have changed since the last round, such as a backend has been down for longer than
+     * tablet_sched_be_down_tolerate_time_s, is decommissioned or comes back.
+     */
+    private void markTabletsOfChangedBackendsDirty() {
+        Map<Long, Backend> idToBackend = GlobalStateMgr.getCurrentState().getNodeMgr().getClusterInfo().getIdToBackend();
+        for (Backend backend : idToBackend.values()) {
+            BackendState state = new BackendState(backend);
+            BackendState lastState = backendStates.put(backend.getId(), state);
+            if (lastState != null && !lastState.equals(state)) {
+                LOG.info("state of backend {} has changed, mark the tablets on it dirty", backend.getId());
+                markBackendDirty(backend.getId());
+            }
+        }
+        if (backendStates.keySet().retainAll(idToBackend.keySet())) {
+            // the tablets on the dropped backends can not be found by backend any more
+            requestFullCheck();
+        }
+    }
+
+    /**
+     * Check the tablets marked dirty since the last round, grouped by database.
+     */
+    private void checkDirtyTablets() {
+        if (dirtyTabletIds.isEmpty()) {
+            return;
+        }
+        long start = System.nanoTime();
+        TabletInvertedIndex invertedIndex = GlobalStateMgr.getCurrentState().getTabletInvertedIndex();
+        Map<Long, List<Long>> dbIdToTabletIds = Maps.newHashMap();
+        Iterator<Long> iterator = dirtyTabletIds.iterator();
+        while (iterator.hasNext()) {
+            long tabletId = iterator.next();
+            iterator.remove();
+            TabletMeta tabletMeta = invertedIndex.getTabletMeta(tabletId);
+            if (tabletMeta == null || tabletMeta.isLakeTablet()) {
+                continue;
+            }
+            dbIdToTabletIds.computeIfAbsent(tabletMeta.getDbId(), k -> Lists.newArrayList()).add(tabletId);
+        }
+
+        TabletCheckerStat totStat = new TabletCheckerStat();
+        List<Long> tabletIdsToRecheck = Lists.newArrayList();
+        for (Map.Entry<Long, List<Long>> entry : dbIdToTabletIds.entrySet()) {
+            Database db = GlobalStateMgr.getCurrentState().getLocalMetastore().getDbIncludeRecycleBin(entry.getKey());
+            if (db == null || db.isSystemDatabase()) {
+                continue;
+            }
+            Locker locker = new Locker();
+            locker.lockDatabase(db, LockType.READ);
+            try {
+                List<Long> aliveBeIdsInCluster =
+                        GlobalStateMgr.getCurrentState().getNodeMgr().getClusterInfo().getBackendIds(true);
+                int tabletChecked = 0;
+                for (long tabletId : entry.getValue()) {
+                    if (++tabletChecked % Config.tablet_checker_partition_batch_num == 0) {
+                        // release lock, so that lock can be acquired by other threads.
+                        // the metadata of each tablet is looked up again under the lock.
+                        locker.unLockDatabase(db, LockType.READ);
+                        locker.lockDatabase(db, LockType.READ);
+                    }
+                    if (doCheckDirtyTablet(db, invertedIndex.getTabletMeta(tabletId), tabletId,
+                            aliveBeIdsInCluster, totStat)) {
+                        tabletIdsToRecheck.add(tabletId);
+                    }
+                }
+            } finally {
+                locker.unLockDatabase(db, LockType.READ);
+            }
+        }
+        markTabletsDirty(tabletIdsToRecheck);
+
+        long cost = (System.nanoTime() - start) / 1000000;
+        stat.counterTabletCheckCostMs.addAndGet(cost);
+        stat.counterTabletChecked.addAndGet(totStat.totalTabletNum);
+        stat.counterUnhealthyTabletNum.addAndGet(totStat.unhealthyTabletNum);
+        stat.counterTabletAddToBeScheduled.addAndGet(totStat.addToSchedulerTabletNum);
+        LOG.info("finished to check dirty tablets. unhealthy/total/added/in_sched/not_ready: {}/{}/{}/{}/{}, " +
+                        "recheck: {}, cost: {} ms",
+                totStat.unhealthyTabletNum, totStat.totalTabletNum, totStat.addToSchedulerTabletNum,
+                totStat.tabletInScheduler, totStat.tabletNotReady, tabletIdsToRecheck.size(), cost);
+    }
+
+    /**
+     * The same checks as {@link #doCheck} for one tablet, under the read lock of the database.
+     *
+     * @return true if the tablet needs to be checked again in the next round
+     */
+    private boolean doCheckDirtyTablet(Database db, TabletMeta tabletMeta, long tabletId,
+                                       List<Long> aliveBeIdsInCluster, TabletCheckerStat totStat) {
+        if (tabletMeta == null) {
+            return false;
+        }
+        LocalMetastore localMetastore = GlobalStateMgr.getCurrentState().getLocalMetastore();
+        Table table = localMetastore.getTableIncludeRecycleBin(db, tabletMeta.getTableId());
+        if (table == null || !table.needSchedule(false) || table.isCloudNativeTableOrMaterializedView()) {
+            return false;
+        }
+        OlapTable olapTbl = (OlapTable) table;
+        Partition partition = localMetastore.getPartitionIncludeRecycleBin(olapTbl, tabletMeta.getPartitionId());
+        if (partition == null) {
+            return false;
+        }
+        if (isPartitionUrgent(db.getId(), olapTbl.getId(), partition.getId())) {
+            // checked with urgent tablets
+            return false;
+        }
+        if (partition.getState() != PartitionState.NORMAL) {
+            // keep the tablet dirty until the alter job on the partition finishes or is cancelled
+            return true;
+        }
+        PhysicalPartition physicalPartition = partition.getSubPartition(tabletMeta.getPhysicalPartitionId());
+        if (physicalPartition == null) {
+            return false;
+        }
+        // Tablet in SHADOW index can not be repaired or balanced
+        MaterializedIndex idx = physicalPartition.getMaterializedIndices(IndexExtState.VISIBLE).stream()
+                .filter(index -> index.getId() == tabletMeta.getIndexId())
+                .findFirst().orElse(null);
+        if (idx == null) {
+            return false;
+        }
+        Tablet tablet = idx.getTablet(tabletId);
+        if (tablet == null) {
+            return false;
+        }
+        short replicaNum = localMetastore.getReplicationNumIncludeRecycleBin(olapTbl.getPartitionInfo(),
+                partition.getId());
+        if (replicaNum == (short) -1) {
+            return false;
+        }
+        return doCheckOneTablet(db, olapTbl, partition, physicalPartition, idx, (LocalTablet) tablet, replicaNum,
+                aliveBeIdsInCluster, false, totStat);
+    }
+
     /**
      * In order to avoid meaningless repair schedule, for task that need to
      * choose a source replica to clone from, we check that whether we can
@@ -411,72 +648,86 @@ public class TabletChecker extends FrontendDaemon {
             for (MaterializedIndex idx : physicalPartition.getMaterializedIndices(
                     IndexExtState.VISIBLE)) {
                 for (Tablet tablet : idx.getTablets()) {
-                    LocalTablet localTablet = (LocalTablet) tablet;
-                    partitionTabletCheckerStat.totalTabletNum++;
+                    doCheckOneTablet(db, olapTbl, partition, physicalPartition, idx, (LocalTablet) tablet,
+                            replicaNum, aliveBeIdsInCluster, isPartitionUrgent, partitionTabletCheckerStat);
+                }
+            } // indices
+        }
 
-                    if (tabletScheduler.containsTablet(tablet.getId())) {
-                        partitionTabletCheckerStat.tabletInScheduler++;
-                        continue;
-                    }
+        return partitionTabletCheckerStat;
+    }
 
-                    SystemInfoService systemInfoService = GlobalStateMgr.getCurrentState().getNodeMgr().getClusterInfo();
-                    Pair<TabletHealthStatus, TabletSchedCtx.Priority> statusWithPrio =
-                            TabletChecker.getTabletHealthStatusWithPriority(
-                                    localTablet,
-                                    systemInfoService,
-                                    physicalPartition.getVisibleVersion(),
-                                    replicaNum,
-                                    aliveBeIdsInCluster,
-                                    olapTbl.getLocation());
-
-                    if (statusWithPrio.first == TabletHealthStatus.HEALTHY) {
-                        // Only set last status check time when status is healthy.
-                        localTablet.setLastStatusCheckTime(System.currentTimeMillis());
-                        continue;
-                    } else if (isPartitionUrgent) {
-                        statusWithPrio.second = TabletSchedCtx.Priority.VERY_HIGH;
-                        partitionTabletCheckerStat.isUrgentPartitionHealthy = false;
-                    }
+    /**
+     * Check the health of one tablet and add it to the tablet scheduler if it is unhealthy.
+     *
+     * @return true if the tablet is unhealthy but not added to the tablet scheduler, so it needs to be checked again
+     */
+    private boolean doCheckOneTablet(Database db, OlapTable olapTbl, Partition partition,
+                                     PhysicalPartition physicalPartition, MaterializedIndex idx,
+                                     LocalTablet localTablet, int replicaNum, List<Long> aliveBeIdsInCluster,
+                                     boolean isPartitionUrgent, TabletCheckerStat partitionTabletCheckerStat) {
+        partitionTabletCheckerStat.totalTabletNum++;
+
+        if (tabletScheduler.containsTablet(localTablet.getId())) {
+            partitionTabletCheckerStat.tabletInScheduler++;
+            return false;
+        }
 
-                    partitionTabletCheckerStat.unhealthyTabletNum++;
+        SystemInfoService systemInfoService = GlobalStateMgr.getCurrentState().getNodeMgr().getClusterInfo();
+        Pair<TabletHealthStatus, TabletSchedCtx.Priority> statusWithPrio =
+                TabletChecker.getTabletHealthStatusWithPriority(
+                        localTablet,
+                        systemInfoService,
+                        physicalPartition.getVisibleVersion(),
+                        replicaNum,
+                        aliveBeIdsInCluster,
+                        olapTbl.getLocation());
+
+        if (statusWithPrio.first == TabletHealthStatus.HEALTHY) {
+            // Only set last status check time when status is healthy.
+            localTablet.setLastStatusCheckTime(System.currentTimeMillis());
+            return false;
+        } else if (isPartitionUrgent) {
+            statusWithPrio.second = TabletSchedCtx.Priority.VERY_HIGH;
+            partitionTabletCheckerStat.isUrgentPartitionHealthy = false;
+        }
 
-                    if (!localTablet.readyToBeRepaired(statusWithPrio.first, statusWithPrio.second)) {
-                        partitionTabletCheckerStat.tabletNotReady++;
-                        continue;
-                    }
+        partitionTabletCheckerStat.unhealthyTabletNum++;
 
-                    if (statusWithPrio.first == TabletHealthStatus.LOCATION_MISMATCH &&
-                            !preCheckEnoughLocationMatchedBackends(olapTbl.getLocation(), replicaNum)) {
-                        continue;
-                    }
+        if (!localTablet.readyToBeRepaired(statusWithPrio.first, statusWithPrio.second)) {
+            partitionTabletCheckerStat.tabletNotReady++;
+            return true;
+        }
 
-                    TabletSchedCtx tabletSchedCtx = new TabletSchedCtx(
-                            TabletSchedCtx.Type.REPAIR,
-                            db.getId(), olapTbl.getId(), partition.getId(),
-                            physicalPartition.getId(), idx.getId(), tablet.getId(),
-                            System.currentTimeMillis());
-                    // the tablet status will be set again when being scheduled
-                    tabletSchedCtx.setTabletStatus(statusWithPrio.first);
-                    tabletSchedCtx.setOrigPriority(statusWithPrio.second);
-                    tabletSchedCtx.setTablet(localTablet);
-                    tabletSchedCtx.setRequiredLocation(olapTbl.getLocation());
-                    tabletSchedCtx.setReplicaNum(replicaNum);
-                    if (!tryChooseSrcBeforeSchedule(tabletSchedCtx)) {
-                        continue;
-                    }
+        if (statusWithPrio.first == TabletHealthStatus.LOCATION_MISMATCH &&
+                !preCheckEnoughLocationMatchedBackends(olapTbl.getLocation(), replicaNum)) {
+            return true;
+        }
 
-                    Pair<Boolean, Long> result =
-                            tabletScheduler.blockingAddTabletCtxToScheduler(db, tabletSchedCtx,
-                                    isPartitionUrgent);
-                    partitionTabletCheckerStat.waitTotalTime += result.second;
-                    if (result.first) {
-                        partitionTabletCheckerStat.addToSchedulerTabletNum++;
-                    }
-                }
-            } // indices
+        TabletSchedCtx tabletSchedCtx = new TabletSchedCtx(
+                TabletSchedCtx.Type.REPAIR,
+                db.getId(), olapTbl.getId(), partition.getId(),
+                physicalPartition.getId(), idx.getId(), localTablet.getId(),
+                System.currentTimeMillis());
+        // the tablet status will be set again when being scheduled
+        tabletSchedCtx.setTabletStatus(statusWithPrio.first);
+        tabletSchedCtx.setOrigPriority(statusWithPrio.second);
+        tabletSchedCtx.setTablet(localTablet);
+        tabletSchedCtx.setRequiredLocation(olapTbl.getLocation());
+        tabletSchedCtx.setReplicaNum(replicaNum);
+        if (!tryChooseSrcBeforeSchedule(tabletSchedCtx)) {
+            return true;
         }
 
-        return partitionTabletCheckerStat;
+        Pair<Boolean, Long> result =
+                tabletScheduler.blockingAddTabletCtxToScheduler(db, tabletSchedCtx,
+                        isPartitionUrgent);
+        partitionTabletCheckerStat.waitTotalTime += result.second;
+        if (result.first) {
+            partitionTabletCheckerStat.addToSchedulerTabletNum++;
+            return false;
+        }
+        return true;
     }
 
     public boolean isUrgentTable(long dbId, long tblId) {
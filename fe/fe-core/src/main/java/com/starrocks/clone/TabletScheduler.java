@@ -1740,6 +1740,8 @@ public class TabletScheduler extends FrontendDaemon {
         removeTabletCtx(tabletCtx, reason);
         // release resources taken by tablet ctx
         releaseTabletCtx(tabletCtx, state);
+        // the tablet may still be unhealthy, check it again in the next round
+        GlobalStateMgr.getCurrentState().getTabletChecker().markTabletDirty(tabletCtx.getTabletId());
     }
 
     private void releaseTabletCtx(TabletSchedCtx tabletCtx, TabletSchedCtx.State state) {
@@ -1187,6 +1187,13 @@ public class Config extends ConfigBase {
     @ConfField
     public static int max_connection_scheduler_threads_num = 4096;
 
+    /**
+     * Whether to fetch the next result batch from BE while the current batch is being sent to the client,
+     * so that the result fetching and sending are overlapped.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_result_prefetch = true;
+
     /**
      * Used to limit element num of InPredicate in delete statement.
      */
@@ -1313,6 +1320,15 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int max_query_retry_time = 2;
 
+    /**
+     * Number of threads shared by all the queries to serialize the fragment instances and send them to
+     * different workers concurrently, when the session variable enable_plan_serialize_concurrently is on.
+     * The requests to the first worker of a query are always sent by the query itself, so a busy pool only
+     * slows queries down instead of blocking them.
+     */
+    @ConfField(mutable = true)
+    public static int deploy_concurrency_threads_num = Math.max(16, Runtime.getRuntime().availableProcessors() * 2);
+
     /**
      * In order not to wait too long for create table(index), set a max timeout.
      */
@@ -1582,10 +1598,33 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int tablet_checker_partition_batch_num = 500;
 
+    /**
+     * If true, tablet checker only checks the tablets marked dirty by replica state changes, such as tablet
+     * report, clone finish, failed publish, replica status change, backend down or decommission, in each round,
+     * and checks all the tablets when an alter job finishes and every
+     * tablet_checker_full_check_interval_second.
+     * If false, tablet checker checks all the tablets in each round.
+     */
+    @ConfField(mutable = true)
+    public static boolean tablet_checker_enable_dirty_tablet_check = true;
+
+    /**
+     * The interval of checking all the tablets when tablet_checker_enable_dirty_tablet_check is true
+     */
+    @ConfField(mutable = true)
+    public static long tablet_checker_full_check_interval_second = 300;
+
     @Deprecated
     @ConfField(mutable = true)
     public static int report_queue_size = 100;
 
+    /**
+     * The number of threads to handle the reports from backends.
+     * The reports of the same backend are always handled by the same thread in order.
+     */
+    @ConfField
+    public static int report_handler_thread_num = 4;
+
     /**
      * If set to true, metric collector will be run as a daemon timer to collect metrics at fix interval
      */
@@ -1921,6 +1960,16 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long statistic_update_interval_sec = 24L * 60L * 60L;
 
+    /**
+     * The interval to save the loaded statistics to local disk, which are restored after FE restarts
+     * to avoid querying all of them from the statistics tables again. Set to 0 to disable it.
+     */
+    @ConfField(mutable = true)
+    public static long statistic_cache_snapshot_interval_sec = 600;
+
+    @ConfField
+    public static String statistic_cache_snapshot_dir = StarRocksFE.STARROCKS_HOME_DIR + "/temp_dir/statistic_cache";
+
     @ConfField(mutable = true)
     public static long statistic_collect_too_many_version_sleep = 600000; // 10min
     /**
@@ -2073,6 +2122,17 @@ public class Config extends ConfigBase {
     @ConfField
     public static long hive_meta_cache_ttl_s = 3600L * 24L;
 
+    /**
+     * The maximum estimated memory of each partition level hive metastore cache (partition names, partitions and
+     * partition statistics) of a catalog. Entries are evicted by their estimated bytes instead of their count.
+     * The bound applies to each of the three caches, so a catalog may use up to three times this value.
+     * It can be overridden by the catalog property `metastore_partition_cache_max_memory_mb`.
+     * If it is less than or equal to 0, which is the default, these caches are bounded by `metastore_cache_max_num`
+     * of the catalog.
+     */
+    @ConfField
+    public static long hive_meta_partition_cache_max_memory_mb = 0;
+
     /**
      * Remote file's metadata from hdfs or s3 cache ttl
      */
@@ -2242,6 +2302,12 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long iceberg_metadata_cache_max_entry_size = 8388608L;
 
+    /**
+     * number of iceberg file scan tasks planned and turned into scan ranges at a time by iceberg scan node
+     */
+    @ConfField(mutable = true)
+    public static int iceberg_scan_task_batch_size = 1024;
+
     /**
      * fe will call es api to get es index shard info every es_state_sync_interval_secs
      */
@@ -2494,6 +2560,14 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static int metadata_journal_max_batch_cnt = 100;
 
+    /**
+     * How long in microseconds the journal writer may wait for more journals to arrive before committing
+     * a batch when the journal queue runs empty. A small value groups high-frequency operations, such as
+     * transaction commits and publish versions, into fewer commits. 0 means commit as soon as the queue is empty.
+     **/
+    @ConfField(mutable = true)
+    public static long metadata_journal_commit_linger_us = 0;
+
     /**
      * jaeger tracing endpoint, empty thing disables tracing
      */
@@ -2623,6 +2697,34 @@ public class Config extends ConfigBase {
     @ConfField
     public static boolean metadata_enable_recovery_mode = false;
 
+    /**
+     * Ids of the image meta blocks (see SRMetaBlockID) that are written in the compact binary format
+     * instead of json strings, e.g. 2,10,13. Both formats can always be loaded, so this only affects
+     * new images. Don't enable it before all FEs are upgraded to a version that can read binary blocks.
+     */
+    @ConfField(mutable = true)
+    public static int[] image_binary_meta_block_ids = {};
+
+    /**
+     * Number of threads used to parse the json of image meta blocks when loading an image.
+     * Meta blocks are still applied in order on one thread, set it to 1 to parse on that thread as well.
+     */
+    @ConfField(mutable = true)
+    public static int image_load_parallelism = 4;
+
+    /**
+     * If true, checkpoint copies the image meta blocks that are not modified by the replayed journals
+     * from the previous image instead of serializing them again.
+     */
+    @ConfField(mutable = true)
+    public static boolean enable_incremental_checkpoint = true;
+
+    /**
+     * Checkpoint writes a full image after this many incremental images.
+     */
+    @ConfField(mutable = true)
+    public static int checkpoint_full_image_interval = 10;
+
     /**
      * Number of profile infos reserved by `ProfileManager` for recently executed query.
      * Default value: 500
@@ -2644,6 +2746,25 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static String profile_info_format = "default";
 
+    /**
+     * Whether to spill the profiles evicted by `ProfileManager` to local disk instead of dropping them,
+     * so that the profiles of more queries can be kept.
+     */
+    @ConfField
+    public static boolean enable_profile_spill = false;
+
+    /**
+     * The directory of the spilled profiles, they are reloaded when FE restarts.
+     */
+    @ConfField
+    public static String profile_spill_dir = StarRocksFE.STARROCKS_HOME_DIR + "/temp_dir/profile";
+
+    /**
+     * The max size in MB of the spilled profiles, the oldest ones are deleted when exceeded.
+     */
+    @ConfField
+    public static long profile_spill_max_size_mb = 1024;
+
     /**
      * When the session variable `enable_profile` is set to `false` and `big_query_profile_threshold` is set to 0,
      * the amount of time taken by a load exceeds the default_big_load_profile_threshold_second,
@@ -2892,6 +3013,10 @@ public class Config extends ConfigBase {
     @ConfField(mutable = true)
     public static long mv_plan_cache_max_size = 1000;
 
+    @ConfField(comment = "The number of threads to build materialized view plans concurrently when " +
+            "enable_materialized_view_plan_parallel_load is set")
+    public static int mv_plan_cache_load_thread_num = 8;
+
     @ConfField(mutable = true, comment = "Max materialized view rewrite cache size during one query's lifecycle " +
             "so can avoid repeating compute to reduce optimizer time in materialized view rewrite, " +
             "but may occupy some extra FE's memory. It's well-done when there are many relative " +
@@ -2944,6 +3069,13 @@ public class Config extends ConfigBase {
     @ConfField
     public static boolean lock_manager_enable_using_fine_granularity_lock = true;
 
+    /**
+     * Whether to read the metadata without lock during analysis, the read is retried holding the lock
+     * if the metadata is modified concurrently
+     */
+    @ConfField(mutable = true)
+    public static boolean lock_manager_enable_optimistic_read = true;
+
     @ConfField(mutable = true)
     public static long routine_load_unstable_threshold_second = 3600;
     /**
@@ -119,6 +119,8 @@ public class ProfileManager implements MemoryTrackable {
 
     private final LinkedHashMap<String, ProfileElement> profileMap; // from QueryId to RuntimeProfile
     private final LinkedHashMap<String, ProfileElement> loadProfileMap; // from LoadId to RuntimeProfile
+    // keeps the profiles evicted from the maps above, null if spill is disabled
+    private final ProfileSpillStore spillStore;
 
     public static ProfileManager getInstance() {
         if (INSTANCE == null) {
@@ -133,6 +135,21 @@ public class ProfileManager implements MemoryTrackable {
         writeLock = lock.writeLock();
         profileMap = new LinkedHashMap<>();
         loadProfileMap = new LinkedHashMap<>();
+        spillStore = createSpillStore();
+    }
+
+    private static ProfileSpillStore createSpillStore() {
+        if (!Config.enable_profile_spill) {
+            return null;
+        }
+        long maxBytes = Config.profile_spill_max_size_mb * 1024L * 1024L;
+        try {
+            return new ProfileSpillStore(Config.profile_spill_dir, maxBytes, Math.max(maxBytes / 16, 1024L * 1024L));
+        } catch (IOException e) {
+            LOG.warn("failed to open profile spill store in {}, evicted profiles will be dropped",
+                    Config.profile_spill_dir, e);
+            return null;
+        }
     }
 
     public ProfileElement createElement(RuntimeProfile summaryProfile, String profileString) {
@@ -183,37 +200,58 @@ public class ProfileManager implements MemoryTrackable {
                     + "may be forget to insert 'QUERY_ID' column into infoStrings");
         }
 
+        Map.Entry<String, ProfileElement> evicted = null;
         writeLock.lock();
         try {
             if (queryType != null && queryType.equals("Load")) {
                 loadProfileMap.put(queryId, element);
                 if (loadProfileMap.size() > Config.load_profile_info_reserved_num) {
-                    loadProfileMap.remove(loadProfileMap.keySet().iterator().next());
+                    evicted = loadProfileMap.entrySet().iterator().next();
+                    loadProfileMap.remove(evicted.getKey());
                 }
             } else {
                 profileMap.put(queryId, element);
                 if (profileMap.size() > Config.profile_info_reserved_num) {
-                    profileMap.remove(profileMap.keySet().iterator().next());
+                    evicted = profileMap.entrySet().iterator().next();
+                    profileMap.remove(evicted.getKey());
                 }
             }
         } finally {
             writeLock.unlock();
         }
 
+        // queue the profile to spill, it is written to disk by the spill executor
+        if (evicted != null && spillStore != null) {
+            spillStore.put(evicted.getKey(), evicted.getValue().infoStrings, evicted.getValue().profileContent);
+        }
+
         return profileString;
     }
 
     public boolean hasProfile(String queryId) {
         readLock.lock();
         try {
-            return profileMap.containsKey(queryId) || loadProfileMap.containsKey(queryId);
+            if (profileMap.containsKey(queryId) || loadProfileMap.containsKey(queryId)) {
+                return true;
+            }
         } finally {
             readLock.unlock();
         }
+        return spillStore != null && spillStore.contains(queryId);
     }
 
     public List<List<String>> getAllQueries() {
         List<List<String>> result = Lists.newLinkedList();
+        // the spilled profiles are older than the ones in memory
+        if (spillStore != null) {
+            for (Map<String, String> infoStrings : spillStore.getAllInfoStrings()) {
+                List<String> row = Lists.newArrayList();
+                for (String str : PROFILE_HEADERS) {
+                    row.add(infoStrings.get(str));
+                }
+                result.add(0, row);
+            }
+        }
         readLock.lock();
         try {
             for (ProfileElement element : profileMap.values()) {
@@ -246,6 +284,9 @@ public class ProfileManager implements MemoryTrackable {
         } finally {
             writeLock.unlock();
         }
+        if (spillStore != null) {
+            spillStore.remove(queryId);
+        }
     }
 
     public void clearProfiles() {
@@ -256,38 +297,69 @@ public class ProfileManager implements MemoryTrackable {
         } finally {
             writeLock.unlock();
         }
+        if (spillStore != null) {
+            spillStore.clear();
+        }
     }
 
     public String getProfile(String queryId) {
-        ProfileElement element = new ProfileElement();
-        readLock.lock();
+        ProfileElement element = getProfileElement(queryId);
+        if (element == null || element.profileContent == null) {
+            return null;
+        }
         try {
-            element = profileMap.get(queryId) == null ? loadProfileMap.get(queryId) : profileMap.get(queryId);
-            if (element == null) {
-                return null;
-            }
-
             return CompressionUtils.gzipDecompressString(element.profileContent);
         } catch (IOException e) {
             LOG.warn("Decompress profile content failed, length: {}, reason: {}",
                     element.profileContent.length, e.getMessage());
             return null;
-        } finally {
-            readLock.unlock();
         }
     }
 
+    /**
+     * Returns the profile element of the query, the plan of a spilled profile is not kept and is always null.
+     */
     public ProfileElement getProfileElement(String queryId) {
         readLock.lock();
         try {
-            return profileMap.get(queryId) == null ? loadProfileMap.get(queryId) : profileMap.get(queryId);
+            ProfileElement element = profileMap.get(queryId) == null ? loadProfileMap.get(queryId) : profileMap.get(queryId);
+            if (element != null) {
+                return element;
+            }
         } finally {
             readLock.unlock();
         }
+        return getSpilledElement(queryId);
     }
 
+    private ProfileElement getSpilledElement(String queryId) {
+        if (spillStore == null) {
+            return null;
+        }
+        Map<String, String> infoStrings = spillStore.getInfoStrings(queryId);
+        byte[] profileContent = spillStore.getProfileContent(queryId);
+        if (infoStrings == null || profileContent == null) {
+            return null;
+        }
+        ProfileElement element = new ProfileElement();
+        element.infoStrings = infoStrings;
+        element.profileContent = profileContent;
+        return element;
+    }
+
+    /**
+     * Returns the spilled profile elements followed by the ones in memory, the profile content and plan of the
+     * spilled elements are not loaded, use {@link #getProfileElement(String)} to get them.
+     */
     public List<ProfileElement> getAllProfileElements() {
         List<ProfileElement> result = Lists.newArrayList();
+        if (spillStore != null) {
+            for (Map<String, String> infoStrings : spillStore.getAllInfoStrings()) {
+                ProfileElement element = new ProfileElement();
+                element.infoStrings = infoStrings;
+                result.add(element);
+            }
+        }
         readLock.lock();
         try {
             result.addAll(profileMap.values());
@@ -0,0 +1,471 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.common.util;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.common.ThreadPoolManager;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.BufferedInputStream;
+import java.io.DataInputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Executor;
+
+/**
+ * A bounded local disk store for the profiles evicted from the memory of {@link ProfileManager}.
+ * <p>
+ * Profiles are appended to segment files, and the oldest segment is deleted once the total size exceeds the limit,
+ * so the store works like a ring. Only the info strings and the location of each profile are kept in heap, the
+ * compressed profile content is read from disk on demand. The index is rebuilt by scanning the segments when the
+ * store is opened, so the spilled profiles survive FE restart.
+ * <p>
+ * {@link #put} only queues the profile, which is written to disk by the spill executor, so that the thread finishing
+ * the query never waits for disk. The queued profiles are served from heap until they are written. The info strings
+ * kept in heap are trimmed, the complete ones are kept on disk only.
+ */
+public class ProfileSpillStore {
+    private static final Logger LOG = LogManager.getLogger(ProfileSpillStore.class);
+
+    private static final String SEGMENT_PREFIX = "profile_";
+    private static final String SEGMENT_SUFFIX = ".seg";
+    private static final int RECORD_MAGIC = 0x50524F46;
+    // same as the length of the statement shown by SHOW PROFILELIST
+    private static final int MAX_INFO_STRING_LENGTH = 128;
+    // the profiles beyond are dropped if the spill executor can't catch up
+    private static final int MAX_PENDING_PROFILES = 64;
+
+    private static class Location {
+        private final long segmentId;
+        private final long contentOffset;
+        private final int contentLength;
+        private final Map<String, String> infoStrings;
+
+        Location(long segmentId, long contentOffset, int contentLength, Map<String, String> infoStrings) {
+            this.segmentId = segmentId;
+            this.contentOffset = contentOffset;
+            this.contentLength = contentLength;
+            this.infoStrings = infoStrings;
+        }
+    }
+
+    private static class PendingProfile {
+        private final Map<String, String> infoStrings;
+        private final byte[] profileContent;
+
+        PendingProfile(Map<String, String> infoStrings, byte[] profileContent) {
+            this.infoStrings = infoStrings;
+            this.profileContent = profileContent;
+        }
+    }
+
+    private final File dir;
+    private final long maxBytes;
+    private final long segmentBytes;
+    private final Executor spillExecutor;
+
+    // guards the segment files and the fields below, acquired before the monitor of the store if both are needed
+    private final Object ioLock = new Object();
+    // segment id -> segment size, the oldest first
+    private final TreeMap<Long, Long> segments = new TreeMap<>();
+    private long totalBytes = 0;
+    private FileChannel writer = null;
+    private long writingSegmentId = -1;
+
+    // guarded by the monitor of the store
+    // query id -> location, in the order of spilling
+    private final LinkedHashMap<String, Location> index = new LinkedHashMap<>();
+    // query id -> profile not written yet, in the order of putting, all of them are newer than the ones in index
+    private final LinkedHashMap<String, PendingProfile> pending = new LinkedHashMap<>();
+    private boolean spillScheduled = false;
+
+    public ProfileSpillStore(String dir, long maxBytes, long segmentBytes) throws IOException {
+        // at most one spill task is scheduled at any time
+        this(dir, maxBytes, segmentBytes, ThreadPoolManager.newDaemonFixedThreadPool(1, 1, "profile-spill", true));
+    }
+
+    public ProfileSpillStore(String dir, long maxBytes, long segmentBytes, Executor spillExecutor) throws IOException {
+        this.dir = new File(dir);
+        this.maxBytes = maxBytes;
+        this.segmentBytes = segmentBytes;
+        this.spillExecutor = spillExecutor;
+        if (!this.dir.exists() && !this.dir.mkdirs()) {
+            throw new IOException("failed to create profile spill dir " + dir);
+        }
+        load();
+    }
+
+    private File segmentFile(long segmentId) {
+        return new File(dir, SEGMENT_PREFIX + segmentId + SEGMENT_SUFFIX);
+    }
+
+    private void load() {
+        File[] files = dir.listFiles((d, name) -> name.startsWith(SEGMENT_PREFIX) && name.endsWith(SEGMENT_SUFFIX));
+        if (files == null) {
+            return;
+        }
+        for (File file : files) {
+            String name = file.getName();
+            try {
+                long segmentId = Long.parseLong(
+                        name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+                segments.put(segmentId, file.length());
+            } catch (NumberFormatException e) {
+                LOG.warn("ignore unknown file {} in profile spill dir", file);
+            }
+        }
+        for (Map.Entry<Long, Long> entry : segments.entrySet()) {
+            totalBytes += entry.getValue();
+            loadSegment(entry.getKey());
+        }
+        // new profiles are always written to a new segment, the tail of the last segment may be broken
+        writingSegmentId = segments.isEmpty() ? 0 : segments.lastKey() + 1;
+        evictIfNeeded();
+    }
+
+    private void loadSegment(long segmentId) {
+        File file = segmentFile(segmentId);
+        long offset = 0;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)))) {
+            while (true) {
+                int magic;
+                try {
+                    magic = in.readInt();
+                } catch (EOFException e) {
+                    break;
+                }
+                if (magic != RECORD_MAGIC) {
+                    LOG.warn("profile spill segment {} is broken at offset {}", file, offset);
+                    break;
+                }
+                offset += Integer.BYTES;
+                String queryId = readString(in);
+                offset += Integer.BYTES + queryId.getBytes(StandardCharsets.UTF_8).length;
+                int infoNum = in.readInt();
+                offset += Integer.BYTES;
+                Map<String, String> infoStrings = Maps.newHashMap();
+                for (int i = 0; i < infoNum; i++) {
+                    String key = readString(in);
+                    String value = readString(in);
+                    offset += 2 * Integer.BYTES + key.getBytes(StandardCharsets.UTF_8).length
+                            + value.getBytes(StandardCharsets.UTF_8).length;
+                    infoStrings.put(key, trimInfoString(value));
+                }
+                int contentLength = in.readInt();
+                offset += Integer.BYTES;
+                skipFully(in, contentLength);
+                index.remove(queryId);
+                index.put(queryId, new Location(segmentId, offset, contentLength, infoStrings));
+                offset += contentLength;
+            }
+        } catch (IOException e) {
+            LOG.warn("failed to load profile spill segment {} at offset {}", file, offset, e);
+        }
+    }
+
+    private static String readString(DataInputStream in) throws IOException {
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    private static void skipFully(DataInputStream in, int length) throws IOException {
+        int remaining = length;
+        while (remaining > 0) {
+            int skipped = in.skipBytes(remaining);
+            if (skipped <= 0) {
+                throw new EOFException();
+            }
+            remaining -= skipped;
+        }
+    }
+
+    private static String trimInfoString(String value) {
+        if (value == null || value.length() <= MAX_INFO_STRING_LENGTH) {
+            return value;
+        }
+        return value.substring(0, MAX_INFO_STRING_LENGTH - 4) + " ...";
+    }
+
+    private static Map<String, String> trimInfoStrings(Map<String, String> infoStrings) {
+        Map<String, String> result = Maps.newHashMapWithExpectedSize(infoStrings.size());
+        infoStrings.forEach((key, value) -> result.put(key, trimInfoString(value)));
+        return result;
+    }
+
+    private static void putString(List<byte[]> parts, String value) {
+        byte[] bytes = value == null ? new byte[0] : value.getBytes(StandardCharsets.UTF_8);
+        parts.add(ByteBuffer.allocate(Integer.BYTES).putInt(bytes.length).array());
+        parts.add(bytes);
+    }
+
+    /**
+     * Queues the profile to be written by the spill executor.
+     */
+    public void put(String queryId, Map<String, String> infoStrings, byte[] profileContent) {
+        if (queryId == null || profileContent == null) {
+            return;
+        }
+        synchronized (this) {
+            if (pending.size() >= MAX_PENDING_PROFILES) {
+                LOG.warn("too many profiles are waiting to spill, drop the profile of query {}", queryId);
+                return;
+            }
+            pending.remove(queryId);
+            pending.put(queryId, new PendingProfile(Maps.newHashMap(infoStrings), profileContent));
+            if (spillScheduled) {
+                return;
+            }
+            spillScheduled = true;
+        }
+        spillExecutor.execute(this::spillPending);
+    }
+
+    private void spillPending() {
+        String queryId = null;
+        PendingProfile profile = null;
+        boolean drained = false;
+        try {
+            while (true) {
+                synchronized (this) {
+                    Iterator<Map.Entry<String, PendingProfile>> iterator = pending.entrySet().iterator();
+                    if (!iterator.hasNext()) {
+                        // reset under the same lock as the check, so that a concurrent put schedules a new spill
+                        spillScheduled = false;
+                        drained = true;
+                        return;
+                    }
+                    Map.Entry<String, PendingProfile> entry = iterator.next();
+                    queryId = entry.getKey();
+                    profile = entry.getValue();
+                }
+                synchronized (ioLock) {
+                    write(queryId, profile);
+                    evictIfNeeded();
+                }
+            }
+        } finally {
+            if (!drained) {
+                // an unexpected exception, drop the profile being spilled so that it's not retried forever,
+                // the remaining ones are spilled by the spill scheduled by the next put
+                synchronized (this) {
+                    if (queryId != null) {
+                        pending.remove(queryId, profile);
+                    }
+                    spillScheduled = false;
+                }
+            }
+        }
+    }
+
+    private void write(String queryId, PendingProfile profile) {
+        Map<String, String> infoStrings = profile.infoStrings;
+        byte[] profileContent = profile.profileContent;
+        List<byte[]> parts = Lists.newArrayList();
+        parts.add(ByteBuffer.allocate(Integer.BYTES).putInt(RECORD_MAGIC).array());
+        putString(parts, queryId);
+        parts.add(ByteBuffer.allocate(Integer.BYTES).putInt(infoStrings.size()).array());
+        for (Map.Entry<String, String> entry : infoStrings.entrySet()) {
+            putString(parts, entry.getKey());
+            putString(parts, entry.getValue());
+        }
+        parts.add(ByteBuffer.allocate(Integer.BYTES).putInt(profileContent.length).array());
+        long headerLength = parts.stream().mapToLong(part -> part.length).sum();
+        parts.add(profileContent);
+
+        try {
+            if (writer == null || segments.get(writingSegmentId) >= segmentBytes) {
+                rollSegment();
+            }
+            long offset = segments.get(writingSegmentId);
+            ByteBuffer[] buffers = parts.stream().map(ByteBuffer::wrap).toArray(ByteBuffer[]::new);
+            long written = 0;
+            long recordLength = headerLength + profileContent.length;
+            while (written < recordLength) {
+                written += writer.write(buffers);
+            }
+            segments.put(writingSegmentId, offset + recordLength);
+            totalBytes += recordLength;
+            Location location = new Location(writingSegmentId, offset + headerLength, profileContent.length,
+                    trimInfoStrings(infoStrings));
+            synchronized (this) {
+                // the profile may have been removed or put again while it was written
+                if (pending.remove(queryId, profile)) {
+                    index.remove(queryId);
+                    index.put(queryId, location);
+                }
+            }
+        } catch (IOException e) {
+            LOG.warn("failed to spill profile of query {}", queryId, e);
+            closeWriter();
+            synchronized (this) {
+                pending.remove(queryId, profile);
+            }
+        }
+    }
+
+    private void rollSegment() throws IOException {
+        closeWriter();
+        if (segments.containsKey(writingSegmentId)) {
+            writingSegmentId++;
+        }
+        writer = FileChannel.open(segmentFile(writingSegmentId).toPath(),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.TRUNCATE_EXISTING);
+        segments.put(writingSegmentId, 0L);
+    }
+
+    private void closeWriter() {
+        if (writer != null) {
+            try {
+                writer.close();
+            } catch (IOException e) {
+                LOG.warn("failed to close profile spill segment {}", writingSegmentId, e);
+            }
+            writer = null;
+        }
+    }
+
+    private void evictIfNeeded() {
+        while (totalBytes > maxBytes && !segments.isEmpty()) {
+            Map.Entry<Long, Long> oldest = segments.pollFirstEntry();
+            if (oldest.getKey() == writingSegmentId) {
+                closeWriter();
+            }
+            totalBytes -= oldest.getValue();
+            File file = segmentFile(oldest.getKey());
+            if (!file.delete()) {
+                LOG.warn("failed to delete profile spill segment {}", file);
+            }
+            // profiles are spilled in order, so the profiles in the oldest segment are at the head of index
+            synchronized (this) {
+                Iterator<Location> iterator = index.values().iterator();
+                while (iterator.hasNext()) {
+                    if (iterator.next().segmentId <= oldest.getKey()) {
+                        iterator.remove();
+                    } else {
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    public synchronized boolean contains(String queryId) {
+        return index.containsKey(queryId) || pending.containsKey(queryId);
+    }
+
+    /**
+     * @return the info strings of the spilled profiles, in the order of spilling
+     */
+    public synchronized List<Map<String, String>> getAllInfoStrings() {
+        List<Map<String, String>> result = Lists.newArrayListWithCapacity(index.size() + pending.size());
+        index.values().forEach(location -> result.add(location.infoStrings));
+        pending.values().forEach(profile -> result.add(profile.infoStrings));
+        return result;
+    }
+
+    public synchronized Map<String, String> getInfoStrings(String queryId) {
+        PendingProfile profile = pending.get(queryId);
+        if (profile != null) {
+            return profile.infoStrings;
+        }
+        Location location = index.get(queryId);
+        return location == null ? null : location.infoStrings;
+    }
+
+    /**
+     * @return the compressed profile content, or null if the profile does not exist or fails to read
+     */
+    public byte[] getProfileContent(String queryId) {
+        Location location;
+        synchronized (this) {
+            PendingProfile profile = pending.get(queryId);
+            if (profile != null) {
+                return profile.profileContent;
+            }
+            location = index.get(queryId);
+        }
+        if (location == null) {
+            return null;
+        }
+        // the segment may be evicted meanwhile, then the read fails
+        try (RandomAccessFile file = new RandomAccessFile(segmentFile(location.segmentId), "r")) {
+            byte[] content = new byte[location.contentLength];
+            file.seek(location.contentOffset);
+            file.readFully(content);
+            return content;
+        } catch (IOException e) {
+            LOG.warn("failed to read spilled profile of query {}", queryId, e);
+            return null;
+        }
+    }
+
+    public synchronized void remove(String queryId) {
+        // the content is deleted with the segment
+        index.remove(queryId);
+        pending.remove(queryId);
+    }
+
+    public void clear() {
+        synchronized (ioLock) {
+            closeWriter();
+            for (Long segmentId : segments.keySet()) {
+                File file = segmentFile(segmentId);
+                if (!file.delete()) {
+                    LOG.warn("failed to delete profile spill segment {}", file);
+                }
+            }
+            segments.clear();
+            totalBytes = 0;
+            synchronized (this) {
+                index.clear();
+                pending.clear();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return index.size() + pending.size();
+    }
+
+    /**
+     * @return the bytes of the segment files, not including the profiles waiting to spill
+     */
+    public long getTotalBytes() {
+        synchronized (ioLock) {
+            return totalBytes;
+        }
+    }
+
+    public void close() {
+        synchronized (ioLock) {
+            closeWriter();
+        }
+    }
+}
@@ -17,15 +17,19 @@ import com.google.gson.JsonArray;
 import com.google.gson.JsonObject;
 import com.starrocks.common.Config;
 import com.starrocks.common.util.LogUtil;
+import com.starrocks.metric.MetricRepo;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.lang.invoke.VarHandle;
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
 
 public class LockManager {
     private static final Logger LOG = LogManager.getLogger(LockManager.class);
@@ -34,6 +38,15 @@ public class LockManager {
     private final Object[] lockTableMutexes;
     private final Map<Long, Lock>[] lockTables;
 
+    /*
+     * Versions used by the optimistic read, striped by rid. The version of a stripe is increased when a WRITE lock
+     * on any rid of the stripe is acquired or released, and writerNums counts the WRITE locks currently held.
+     * A reader that sees no writer and the same version before and after reading has read a consistent state.
+     */
+    private static final int OPTIMISTIC_READ_STRIPES = 1024;
+    private final AtomicLongArray versions = new AtomicLongArray(OPTIMISTIC_READ_STRIPES);
+    private final AtomicIntegerArray writerNums = new AtomicIntegerArray(OPTIMISTIC_READ_STRIPES);
+
     public LockManager() {
         lockTablesSize = Config.lock_manager_lock_table_num;
         lockTableMutexes = new Object[lockTablesSize];
@@ -61,6 +74,25 @@ public class LockManager {
         final long startTime = System.currentTimeMillis();
         locker.setLockRequestTimeMs(startTime);
 
+        boolean grantedWithoutWait = lockInternal(rid, locker, lockType, timeout, startTime);
+
+        if (lockType.isWriteLock()) {
+            int stripe = getStripe(rid);
+            writerNums.incrementAndGet(stripe);
+            versions.incrementAndGet(stripe);
+        }
+        // only the locks which have been waited for are recorded, to keep the histogram off the uncontended path
+        if (!grantedWithoutWait && MetricRepo.hasInit) {
+            MetricRepo.getLockWaitLatency(lockType).update(System.currentTimeMillis() - startTime);
+        }
+    }
+
+    /**
+     * @return true if the lock is granted without waiting
+     */
+    private boolean lockInternal(long rid, Locker locker, LockType lockType, long timeout, long startTime)
+            throws LockInterruptException, LockTimeoutException, DeadlockException {
+
         synchronized (locker) {
             int lockTableIdx = getLockTableIndex(rid);
             synchronized (lockTableMutexes[lockTableIdx]) {
@@ -80,7 +112,7 @@ public class LockManager {
 
                 LockGrantType lockGrantType = lock.lock(locker, lockType);
                 if (lockGrantType == LockGrantType.NEW || lockGrantType == LockGrantType.EXISTING) {
-                    return;
+                    return true;
                 }
             }
 
@@ -111,7 +143,7 @@ public class LockManager {
 
                 if (isOwner(rid, locker, lockType)) {
                     locker.clearWaitingFor();
-                    return;
+                    return false;
                 }
             }
 
@@ -193,7 +225,7 @@ public class LockManager {
 
             if (victim == null) {
                 /* Locker owns the lock and no deadlock was detected. */
-                return;
+                return false;
             } else {
                 /*
                  * A deadlock is detected and this locker is not the victim.
@@ -204,7 +236,7 @@ public class LockManager {
                     synchronized (locker) {
                         locker.clearWaitingFor();
                     }
-                    return;
+                    return false;
                 }
 
                 /*
@@ -280,6 +312,12 @@ public class LockManager {
             }
         }
 
+        if (lockType.isWriteLock()) {
+            int stripe = getStripe(rid);
+            versions.incrementAndGet(stripe);
+            writerNums.decrementAndGet(stripe);
+        }
+
         if (newOwners != null && newOwners.size() > 0) {
             for (Locker notifyLocker : newOwners) {
                 synchronized (notifyLocker) {
@@ -302,6 +340,32 @@ public class LockManager {
         return lock != null && lock.isOwner(locker, lockType);
     }
 
+    /**
+     * Start an optimistic read on rid without acquiring any lock.
+     *
+     * @return a stamp to be validated by {@link #validate} after reading, or -1 if a WRITE lock may be held on rid,
+     * in which case the caller should acquire the lock instead
+     */
+    public long tryOptimisticRead(long rid) {
+        int stripe = getStripe(rid);
+        long stamp = versions.get(stripe);
+        return writerNums.get(stripe) == 0 ? stamp : -1;
+    }
+
+    /**
+     * @return true if no WRITE lock on rid has been acquired since the stamp was returned by {@link #tryOptimisticRead}
+     */
+    public boolean validate(long rid, long stamp) {
+        // like StampedLock.validate, keep the reads of the caller from being reordered after the validation
+        VarHandle.acquireFence();
+        int stripe = getStripe(rid);
+        return stamp >= 0 && writerNums.get(stripe) == 0 && versions.get(stripe) == stamp;
+    }
+
+    private static int getStripe(long rid) {
+        return Long.hashCode(rid) & (OPTIMISTIC_READ_STRIPES - 1);
+    }
+
     private int getLockTableIndex(long rid) {
         return (((int) rid) & 0x7fffffff) % lockTablesSize;
     }
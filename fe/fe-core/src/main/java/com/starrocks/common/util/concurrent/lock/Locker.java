@@ -36,6 +36,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
 
 public class Locker {
     private static final Logger LOG = LogManager.getLogger(Locker.class);
@@ -366,6 +367,50 @@ public class Locker {
         }
     }
 
+    /**
+     * Run the reader without acquiring any lock, and run it again holding the READ locks of the tables with intensive
+     * db lock if a WRITE lock on the database or the tables is held during the read. So the reader must not have side
+     * effects, and must tolerate the inconsistent metadata it may see in the first run.
+     */
+    public <T> T readWithOptimisticLock(Database database, List<Long> tableList, Supplier<T> reader) {
+        if (Config.lock_manager_enabled && Config.lock_manager_enable_optimistic_read) {
+            LockManager lockManager = GlobalStateMgr.getCurrentState().getLockManager();
+            List<Long> ridList = new ArrayList<>(tableList.size() + 1);
+            ridList.add(database.getId());
+            ridList.addAll(tableList);
+            long[] stamps = new long[ridList.size()];
+            boolean valid = true;
+            for (int i = 0; i < ridList.size() && valid; i++) {
+                stamps[i] = lockManager.tryOptimisticRead(ridList.get(i));
+                valid = stamps[i] >= 0;
+            }
+
+            if (valid) {
+                T result = null;
+                try {
+                    result = reader.get();
+                } catch (RuntimeException e) {
+                    // may be caused by concurrent modification, the error will be thrown again in the locked read
+                    LOG.debug("optimistic read of database {} failed", database.getId(), e);
+                    valid = false;
+                }
+                for (int i = 0; i < ridList.size() && valid; i++) {
+                    valid = lockManager.validate(ridList.get(i), stamps[i]);
+                }
+                if (valid) {
+                    return result;
+                }
+            }
+        }
+
+        lockTablesWithIntensiveDbLock(database, tableList, LockType.READ);
+        try {
+            return reader.get();
+        } finally {
+            unLockTablesWithIntensiveDbLock(database, tableList, LockType.READ);
+        }
+    }
+
     /**
      * Lock database and table with intensive db lock.
      * @param database database for intensive db lock
@@ -65,6 +65,10 @@ public class CatalogConnector implements Connector {
         return normalConnector.estimateCount();
     }
 
+    public Connector getNormalConnector() {
+        return normalConnector;
+    }
+
     public String normalConnectorClassName() {
         return normalConnector.getClass().getSimpleName();
     }
@@ -152,6 +152,12 @@ public class CatalogConnectorMetadata implements ConnectorMetadata {
         return normal.getRemoteFileInfos(table, partitionKeys, snapshotId, predicate, fieldNames, limit);
     }
 
+    @Override
+    public RemoteFileInfoSource getRemoteFileInfoSource(Table table, List<PartitionKey> partitionKeys, long snapshotId,
+                                                        ScalarOperator predicate, List<String> fieldNames, long limit) {
+        return normal.getRemoteFileInfoSource(table, partitionKeys, snapshotId, predicate, fieldNames, limit);
+    }
+
     @Override
     public boolean prepareMetadata(MetaPreparationItem item, Tracers tracers, ConnectContext connectContext) {
         return normal.prepareMetadata(item, tracers, connectContext);
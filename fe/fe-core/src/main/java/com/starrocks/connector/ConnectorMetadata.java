@@ -160,6 +160,17 @@ public interface ConnectorMetadata {
         return Lists.newArrayList();
     }
 
+    /**
+     * The same as {@link #getRemoteFileInfos(Table, List, long, ScalarOperator, List, long)}, but the files are
+     * produced in batches, so that the connector can plan the files incrementally.
+     */
+    default RemoteFileInfoSource getRemoteFileInfoSource(Table table, List<PartitionKey> partitionKeys,
+                                                         long snapshotId, ScalarOperator predicate,
+                                                         List<String> fieldNames, long limit) {
+        return new RemoteFileInfoDefaultSource(
+                getRemoteFileInfos(table, partitionKeys, snapshotId, predicate, fieldNames, limit));
+    }
+
     default List<RemoteFileInfo> getRemoteFileInfos(Table table, List<String> partitionNames) {
         return Lists.newArrayList();
     }
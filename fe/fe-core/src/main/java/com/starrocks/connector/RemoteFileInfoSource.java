@@ -0,0 +1,33 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.connector;
+
+/**
+ * A source of the remote files to scan, which produces the files in batches, so that the connector can plan the
+ * files incrementally and the scan node does not need to hold all of them at the same time.
+ */
+public interface RemoteFileInfoSource extends AutoCloseable {
+    boolean hasMoreOutput();
+
+    RemoteFileInfo getOutput();
+
+    /**
+     * Release the resources held by the source, such as the iterator of the files being planned,
+     * if it is not exhausted.
+     */
+    @Override
+    default void close() {
+    }
+}
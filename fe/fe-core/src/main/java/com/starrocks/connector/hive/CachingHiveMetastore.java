@@ -15,8 +15,10 @@
 package com.starrocks.connector.hive;
 
 import com.google.common.base.Preconditions;
+import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.Weigher;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Lists;
@@ -34,6 +36,7 @@ import com.starrocks.connector.exception.StarRocksConnectorException;
 import com.starrocks.connector.hive.events.MetastoreNotificationFetchException;
 import com.starrocks.connector.metastore.CachingMetastore;
 import com.starrocks.connector.metastore.MetastoreTable;
+import com.starrocks.memory.MemoryTrackable;
 import org.apache.hadoop.hive.metastore.api.NoSuchObjectException;
 import org.apache.hadoop.hive.metastore.api.NotificationEventResponse;
 import org.apache.logging.log4j.LogManager;
@@ -44,6 +47,8 @@ import java.lang.reflect.InvocationTargetException;
 import java.time.Instant;
 import java.time.LocalDateTime;
 import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -60,7 +65,7 @@ import static com.google.common.cache.CacheLoader.asyncReloading;
 import static com.google.common.collect.ImmutableMap.toImmutableMap;
 import static com.google.common.util.concurrent.MoreExecutors.newDirectExecutorService;
 
-public class CachingHiveMetastore extends CachingMetastore implements IHiveMetastore {
+public class CachingHiveMetastore extends CachingMetastore implements IHiveMetastore, MemoryTrackable {
     private static final Logger LOG = LogManager.getLogger(CachingHiveMetastore.class);
 
     private final boolean enableListNameCache;
@@ -89,11 +94,30 @@ public class CachingHiveMetastore extends CachingMetastore implements IHiveMetas
     public static CachingHiveMetastore createCatalogLevelInstance(IHiveMetastore metastore, Executor executor,
                                                                   long expireAfterWrite, long refreshInterval,
                                                                   long maxSize, boolean enableListNamesCache) {
-        return new CachingHiveMetastore(metastore, executor, expireAfterWrite, refreshInterval, maxSize, enableListNamesCache);
+        return createCatalogLevelInstance(metastore, executor, expireAfterWrite, refreshInterval, maxSize,
+                NEVER_EVICT, enableListNamesCache);
+    }
+
+    public static CachingHiveMetastore createCatalogLevelInstance(IHiveMetastore metastore, Executor executor,
+                                                                  long expireAfterWrite, long refreshInterval,
+                                                                  long maxSize, long partitionCacheMaxMemoryBytes,
+                                                                  boolean enableListNamesCache) {
+        return new CachingHiveMetastore(metastore, executor, expireAfterWrite, refreshInterval, maxSize,
+                partitionCacheMaxMemoryBytes, enableListNamesCache);
     }
 
     protected CachingHiveMetastore(IHiveMetastore metastore, Executor executor, long expireAfterWriteSec,
                                    long refreshIntervalSec, long maxSize, boolean enableListNamesCache) {
+        this(metastore, executor, expireAfterWriteSec, refreshIntervalSec, maxSize, NEVER_EVICT, enableListNamesCache);
+    }
+
+    /**
+     * @param partitionCacheMaxMemoryBytes the maximum estimated bytes of each partition level cache, the partition
+     *                                     level caches are bounded by maxSize if it is not positive
+     */
+    protected CachingHiveMetastore(IHiveMetastore metastore, Executor executor, long expireAfterWriteSec,
+                                   long refreshIntervalSec, long maxSize, long partitionCacheMaxMemoryBytes,
+                                   boolean enableListNamesCache) {
         super(executor, expireAfterWriteSec, refreshIntervalSec, maxSize);
         this.metastore = metastore;
         this.enableListNameCache = enableListNamesCache;
@@ -101,14 +125,16 @@ public class CachingHiveMetastore extends CachingMetastore implements IHiveMetas
 
         // The list names interface of hive metastore latency is very low, so we default to pull the latest every time.
         if (enableListNamesCache) {
-            partitionKeysCache = newCacheBuilder(expireAfterWriteSec, refreshIntervalSec, maxSize)
+            partitionKeysCache = newPartitionCacheBuilder(expireAfterWriteSec, refreshIntervalSec, maxSize,
+                    partitionCacheMaxMemoryBytes, HiveMetastoreCacheWeigher::weighPartitionKeys)
                     .build(asyncReloading(CacheLoader.from(this::loadPartitionKeys), executor));
         } else {
             partitionKeysCache = newCacheBuilder(NEVER_CACHE, NEVER_CACHE, NEVER_CACHE)
                     .build(asyncReloading(CacheLoader.from(this::loadPartitionKeys), executor));
         }
 
-        partitionCache = newCacheBuilder(expireAfterWriteSec, NEVER_REFRESH, maxSize)
+        partitionCache = newPartitionCacheBuilder(expireAfterWriteSec, NEVER_REFRESH, maxSize,
+                partitionCacheMaxMemoryBytes, HiveMetastoreCacheWeigher::weighPartition)
                 .build(asyncReloading(new CacheLoader<HivePartitionName, Partition>() {
                     @Override
                     public Partition load(@NotNull HivePartitionName key) {
@@ -125,7 +151,8 @@ public class CachingHiveMetastore extends CachingMetastore implements IHiveMetas
         tableStatsCache = newCacheBuilder(expireAfterWriteSec, refreshIntervalSec, maxSize)
                 .build(asyncReloading(CacheLoader.from(this::loadTableStatistics), executor));
 
-        partitionStatsCache = newCacheBuilder(expireAfterWriteSec, NEVER_REFRESH, maxSize)
+        partitionStatsCache = newPartitionCacheBuilder(expireAfterWriteSec, NEVER_REFRESH, maxSize,
+                partitionCacheMaxMemoryBytes, HiveMetastoreCacheWeigher::weighPartitionStats)
                 .build(asyncReloading(new CacheLoader<HivePartitionName, HivePartitionStats>() {
                     @Override
                     public HivePartitionStats load(@NotNull HivePartitionName key) {
@@ -140,6 +167,16 @@ public class CachingHiveMetastore extends CachingMetastore implements IHiveMetas
                 }, executor));
     }
 
+    private static <K, V> CacheBuilder<K, V> newPartitionCacheBuilder(long expiresAfterWriteSec, long refreshSec,
+                                                                     long maxSize, long maxMemoryBytes,
+                                                                     Weigher<K, V> weigher) {
+        if (maxMemoryBytes > 0) {
+            return newWeightedCacheBuilder(expiresAfterWriteSec, refreshSec, maxMemoryBytes, weigher).recordStats();
+        }
+        // every entry weighs 1, so that the cache is bounded by the number of entries
+        return newWeightedCacheBuilder(expiresAfterWriteSec, refreshSec, maxSize, (K key, V value) -> 1).recordStats();
+    }
+
     public List<String> getAllDatabaseNames() {
         return get(databaseNamesCache, "");
     }
@@ -701,6 +738,53 @@ public class CachingHiveMetastore extends CachingMetastore implements IHiveMetas
         return new HivePartitionStats(commonStats, columnStats);
     }
 
+    @Override
+    public long estimateSize() {
+        return estimatePartitionCacheSizes().values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    /**
+     * Estimated bytes of each partition level cache, exported as a metric of the catalog, see MetricRepo.
+     */
+    public Map<String, Long> estimatePartitionCacheSizes() {
+        Map<String, Long> sizes = new LinkedHashMap<>();
+        sizes.put("partition_keys", estimateSize(partitionKeysCache, HiveMetastoreCacheWeigher::weighPartitionKeys));
+        sizes.put("partition", estimateSize(partitionCache, HiveMetastoreCacheWeigher::weighPartition));
+        sizes.put("partition_stats", estimateSize(partitionStatsCache, HiveMetastoreCacheWeigher::weighPartitionStats));
+        return sizes;
+    }
+
+    /**
+     * Hit rate of each partition level cache, exported as a metric of the catalog, see MetricRepo.
+     */
+    public Map<String, Double> getPartitionCacheHitRates() {
+        Map<String, Double> hitRates = new LinkedHashMap<>();
+        hitRates.put("partition_keys", partitionKeysCache.stats().hitRate());
+        hitRates.put("partition", partitionCache.stats().hitRate());
+        hitRates.put("partition_stats", partitionStatsCache.stats().hitRate());
+        return hitRates;
+    }
+
+    private static <K, V> long estimateSize(LoadingCache<K, V> cache, Weigher<K, V> weigher) {
+        long size = 0;
+        for (Map.Entry<K, V> entry : cache.asMap().entrySet()) {
+            size += weigher.weigh(entry.getKey(), entry.getValue());
+        }
+        return size;
+    }
+
+    @Override
+    public Map<String, Long> estimateCount() {
+        Map<String, Long> counter = new HashMap<>();
+        counter.put("Database", databaseCache.size());
+        counter.put("Table", tableCache.size());
+        counter.put("TableStats", tableStatsCache.size());
+        counter.put("PartitionKeys", partitionKeysCache.size());
+        counter.put("Partition", partitionCache.size());
+        counter.put("PartitionStats", partitionStatsCache.size());
+        return counter;
+    }
+
     public long getCurrentEventId() {
         return metastore.getCurrentEventId();
     }
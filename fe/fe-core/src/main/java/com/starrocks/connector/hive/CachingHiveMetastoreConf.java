@@ -23,6 +23,7 @@ public class CachingHiveMetastoreConf {
     private final long cacheTtlSec;
     private final long cacheRefreshIntervalSec;
     private long cacheMaxNum = 1000000;
+    private final long partitionCacheMaxMemoryBytes;
     private final int perQueryCacheMaxNum = 10000;
     private final int cacheRefreshThreadMaxNum = 20;
 
@@ -37,6 +38,8 @@ public class CachingHiveMetastoreConf {
         this.enableListNamesCache = Boolean.parseBoolean(conf.getOrDefault("enable_cache_list_names",
                 enableListNamesCacheDefaultValue));
         this.cacheMaxNum = Long.parseLong(conf.getOrDefault("metastore_cache_max_num", String.valueOf(cacheMaxNum)));
+        this.partitionCacheMaxMemoryBytes = Long.parseLong(conf.getOrDefault("metastore_partition_cache_max_memory_mb",
+                String.valueOf(Config.hive_meta_partition_cache_max_memory_mb))) * 1024L * 1024L;
     }
 
     public long getCacheTtlSec() {
@@ -51,6 +54,10 @@ public class CachingHiveMetastoreConf {
         return cacheMaxNum;
     }
 
+    public long getPartitionCacheMaxMemoryBytes() {
+        return partitionCacheMaxMemoryBytes;
+    }
+
     public int getCacheRefreshThreadMaxNum() {
         return cacheRefreshThreadMaxNum;
     }
@@ -34,6 +34,7 @@ public class HiveConnector implements Connector {
     private final Map<String, String> properties;
     private final String catalogName;
     private final HiveConnectorInternalMgr internalMgr;
+    private final IHiveMetastore metastore;
     private final HiveMetadataFactory metadataFactory;
 
     public HiveConnector(ConnectorContext context) {
@@ -42,6 +43,7 @@ public class HiveConnector implements Connector {
         CloudConfiguration cloudConfiguration = CloudConfigurationFactory.buildCloudConfigurationForStorage(properties);
         HdfsEnvironment hdfsEnvironment = new HdfsEnvironment(cloudConfiguration);
         this.internalMgr = new HiveConnectorInternalMgr(catalogName, properties, hdfsEnvironment);
+        this.metastore = internalMgr.createHiveMetastore();
         this.metadataFactory = createMetadataFactory(hdfsEnvironment);
         onCreate();
     }
@@ -52,7 +54,6 @@ public class HiveConnector implements Connector {
     }
 
     private HiveMetadataFactory createMetadataFactory(HdfsEnvironment hdfsEnvironment) {
-        IHiveMetastore metastore = internalMgr.createHiveMetastore();
         RemoteFileIO remoteFileIO = internalMgr.createRemoteFileIO();
         return new HiveMetadataFactory(
                 catalogName,
@@ -93,4 +94,27 @@ public class HiveConnector implements Connector {
         GlobalStateMgr.getCurrentState().getMetastoreEventsProcessor().unRegisterCacheUpdateProcessor(catalogName);
         GlobalStateMgr.getCurrentState().getConnectorTableMetadataProcessor().unRegisterCacheUpdateProcessor(catalogName);
     }
+
+    public String getCatalogName() {
+        return catalogName;
+    }
+
+    public IHiveMetastore getMetastore() {
+        return metastore;
+    }
+
+    @Override
+    public boolean supportMemoryTrack() {
+        return metastore instanceof CachingHiveMetastore;
+    }
+
+    @Override
+    public long estimateSize() {
+        return ((CachingHiveMetastore) metastore).estimateSize();
+    }
+
+    @Override
+    public Map<String, Long> estimateCount() {
+        return ((CachingHiveMetastore) metastore).estimateCount();
+    }
 }
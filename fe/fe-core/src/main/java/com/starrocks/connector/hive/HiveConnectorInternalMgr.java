@@ -124,6 +124,7 @@ public class HiveConnectorInternalMgr {
                     hmsConf.getCacheTtlSec(),
                     enableHmsEventsIncrementalSync ? NEVER_REFRESH : hmsConf.getCacheRefreshIntervalSec(),
                     hmsConf.getCacheMaxNum(),
+                    hmsConf.getPartitionCacheMaxMemoryBytes(),
                     hmsConf.enableListNamesCache());
         }
 
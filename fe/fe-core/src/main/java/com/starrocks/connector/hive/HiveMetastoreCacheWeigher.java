@@ -0,0 +1,115 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.connector.hive;
+
+import com.starrocks.connector.DatabaseTableName;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Estimates the bytes of the entries in the partition level caches of {@link CachingHiveMetastore}.
+ * The estimation is cheap and approximate, it counts the objects owned by an entry and skips the objects
+ * shared across partitions, such as the interned parameter keys and {@link TextFileFormatDesc}.
+ */
+public class HiveMetastoreCacheWeigher {
+    private static final int OBJECT_SIZE = 16;
+    private static final int REFERENCE_SIZE = 8;
+    // String object and the header of its byte array
+    private static final int STRING_SIZE = 40;
+    private static final int LIST_SIZE = 32;
+    private static final int MAP_SIZE = 48;
+    private static final int MAP_ENTRY_SIZE = 32;
+    private static final int COLUMN_STATS_SIZE = 64;
+
+    private HiveMetastoreCacheWeigher() {
+    }
+
+    public static int weighPartitionKeys(HivePartitionValue key, List<String> partitionNames) {
+        return toWeight(estimate(key) + estimateStrings(partitionNames));
+    }
+
+    public static int weighPartition(HivePartitionName key, Partition partition) {
+        return toWeight(estimate(key) + estimate(partition));
+    }
+
+    public static int weighPartitionStats(HivePartitionName key, HivePartitionStats stats) {
+        return toWeight(estimate(key) + estimate(stats));
+    }
+
+    static long estimate(HivePartitionName name) {
+        long size = OBJECT_SIZE + 4 * REFERENCE_SIZE +
+                estimate(name.getDatabaseName()) + estimate(name.getTableName()) +
+                estimateStrings(name.getPartitionValues());
+        Optional<String> partitionNames = name.getPartitionNames();
+        if (partitionNames.isPresent()) {
+            size += OBJECT_SIZE + estimate(partitionNames.get());
+        }
+        return size;
+    }
+
+    static long estimate(HivePartitionValue value) {
+        DatabaseTableName tableName = value.getHiveTableName();
+        long size = 2 * OBJECT_SIZE + 4 * REFERENCE_SIZE +
+                estimate(tableName.getDatabaseName()) + estimate(tableName.getTableName()) + LIST_SIZE;
+        for (Optional<String> partitionValue : value.getPartitionValues()) {
+            size += REFERENCE_SIZE + OBJECT_SIZE + partitionValue.map(HiveMetastoreCacheWeigher::estimate).orElse(0L);
+        }
+        return size;
+    }
+
+    static long estimate(Partition partition) {
+        long size = OBJECT_SIZE + 5 * REFERENCE_SIZE + estimate(partition.getFullPath());
+        Map<String, String> parameters = partition.getParameters();
+        if (parameters != null) {
+            // keys are interned, only the values are owned by the partition
+            size += MAP_SIZE;
+            for (String value : parameters.values()) {
+                size += MAP_ENTRY_SIZE + estimate(value);
+            }
+        }
+        return size;
+    }
+
+    static long estimate(HivePartitionStats stats) {
+        long size = 2 * OBJECT_SIZE + 4 * REFERENCE_SIZE + MAP_SIZE;
+        if (stats.getColumnStats() != null) {
+            for (String column : stats.getColumnStats().keySet()) {
+                size += MAP_ENTRY_SIZE + estimate(column) + COLUMN_STATS_SIZE;
+            }
+        }
+        return size;
+    }
+
+    private static long estimateStrings(List<String> strings) {
+        if (strings == null) {
+            return 0;
+        }
+        long size = LIST_SIZE;
+        for (String str : strings) {
+            size += REFERENCE_SIZE + estimate(str);
+        }
+        return size;
+    }
+
+    private static long estimate(String str) {
+        return str == null ? 0 : STRING_SIZE + str.length();
+    }
+
+    private static int toWeight(long size) {
+        return (int) Math.min(size, Integer.MAX_VALUE);
+    }
+}
@@ -15,9 +15,13 @@
 
 package com.starrocks.connector.hive;
 
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Interner;
+import com.google.common.collect.Interners;
 import com.google.gson.JsonObject;
 import com.starrocks.connector.PartitionInfo;
 import com.starrocks.persist.gson.GsonUtils;
+import org.apache.commons.lang3.StringUtils;
 
 import java.util.Map;
 import java.util.Objects;
@@ -36,18 +40,44 @@ public class Partition implements PartitionInfo {
 
     public static final String TRANSIENT_LAST_DDL_TIME = "transient_lastDdlTime";
 
+    // Partitions of a table usually have the same parameter keys, storage format and many of the same parameter
+    // values, share them across partitions to reduce the memory of caching millions of partitions.
+    private static final Interner<String> STRING_INTERNER = Interners.newWeakInterner();
+    private static final Interner<TextFileFormatDesc> TEXT_FILE_FORMAT_DESC_INTERNER = Interners.newWeakInterner();
+    // numeric values longer than it, such as the ddl time and the total size, are rarely shared
+    private static final int MAX_INTERNED_NUMERIC_VALUE_LENGTH = 4;
+
     public Partition(Map<String, String> parameters,
                      RemoteFileInputFormat inputFormat,
                      TextFileFormatDesc textFileFormatDesc,
                      String fullPath,
                      boolean isSplittable) {
-        this.parameters = parameters;
+        this.parameters = internParameters(parameters);
         this.inputFormat = inputFormat;
-        this.textFileFormatDesc = textFileFormatDesc;
+        this.textFileFormatDesc = textFileFormatDesc == null ? null : TEXT_FILE_FORMAT_DESC_INTERNER.intern(textFileFormatDesc);
         this.fullPath = fullPath;
         this.isSplittable = isSplittable;
     }
 
+    private static Map<String, String> internParameters(Map<String, String> parameters) {
+        if (parameters == null) {
+            return null;
+        }
+        ImmutableMap.Builder<String, String> builder = ImmutableMap.builderWithExpectedSize(parameters.size());
+        for (Map.Entry<String, String> entry : parameters.entrySet()) {
+            String key = entry.getKey();
+            String value = entry.getValue();
+            if (key == null || value == null) {
+                return parameters;
+            }
+            if (value.length() <= MAX_INTERNED_NUMERIC_VALUE_LENGTH || !StringUtils.isNumeric(value)) {
+                value = STRING_INTERNER.intern(value);
+            }
+            builder.put(STRING_INTERNER.intern(key), value);
+        }
+        return builder.build();
+    }
+
     public Map<String, String> getParameters() {
         return parameters;
     }
@@ -17,6 +17,8 @@ package com.starrocks.connector.hive;
 
 import com.starrocks.thrift.TTextFileDesc;
 
+import java.util.Objects;
+
 public class TextFileFormatDesc {
 
     private final String fieldDelim;
@@ -83,6 +85,27 @@ public class TextFileFormatDesc {
         return desc;
     }
 
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        TextFileFormatDesc that = (TextFileFormatDesc) o;
+        return skipHeaderLineCount == that.skipHeaderLineCount &&
+                Objects.equals(fieldDelim, that.fieldDelim) &&
+                Objects.equals(lineDelim, that.lineDelim) &&
+                Objects.equals(collectionDelim, that.collectionDelim) &&
+                Objects.equals(mapkeyDelim, that.mapkeyDelim);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(fieldDelim, lineDelim, collectionDelim, mapkeyDelim, skipHeaderLineCount);
+    }
+
     @Override
     public String toString() {
         final StringBuffer sb = new StringBuffer("TextFileFormatDesc{");
@@ -118,6 +118,7 @@ public class HudiConnectorInternalMgr {
                     hmsConf.getCacheTtlSec(),
                     hmsConf.getCacheRefreshIntervalSec(),
                     hmsConf.getCacheMaxNum(),
+                    hmsConf.getPartitionCacheMaxMemoryBytes(),
                     hmsConf.enableListNamesCache());
         }
 
@@ -14,6 +14,7 @@
 
 package com.starrocks.connector.iceberg;
 
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
 import com.google.common.base.Strings;
 import com.google.common.collect.ImmutableList;
@@ -27,6 +28,7 @@ import com.starrocks.catalog.IcebergTable;
 import com.starrocks.catalog.PartitionKey;
 import com.starrocks.catalog.Table;
 import com.starrocks.common.AlreadyExistsException;
+import com.starrocks.common.Config;
 import com.starrocks.common.DdlException;
 import com.starrocks.common.ErrorCode;
 import com.starrocks.common.ErrorReport;
@@ -45,6 +47,8 @@ import com.starrocks.connector.PlanMode;
 import com.starrocks.connector.PredicateSearchKey;
 import com.starrocks.connector.RemoteFileDesc;
 import com.starrocks.connector.RemoteFileInfo;
+import com.starrocks.connector.RemoteFileInfoDefaultSource;
+import com.starrocks.connector.RemoteFileInfoSource;
 import com.starrocks.connector.RemoteMetaSplit;
 import com.starrocks.connector.SerializedMetaSpec;
 import com.starrocks.connector.exception.StarRocksConnectorException;
@@ -120,9 +124,11 @@ import java.nio.ByteBuffer;
 import java.nio.charset.StandardCharsets;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
@@ -163,7 +169,9 @@ public class IcebergMetadata implements ConnectorMetadata {
 
     private final Map<TableIdentifier, Table> tables = new ConcurrentHashMap<>();
     private final Map<String, Database> databases = new ConcurrentHashMap<>();
+    // only the tasks which are listed by getRemoteFileInfos or pruned by the limit are cached
     private final Map<PredicateSearchKey, List<FileScanTask>> splitTasks = new ConcurrentHashMap<>();
+    private final Map<PredicateSearchKey, ScanSummary> scanSummaries = new ConcurrentHashMap<>();
     private final Set<PredicateSearchKey> scannedTables = new HashSet<>();
     private final Set<PredicateSearchKey> preparedTables = ConcurrentHashMap.newKeySet();
 
@@ -396,7 +404,7 @@ public class IcebergMetadata implements ConnectorMetadata {
         String tableName = table.getRemoteTableName();
 
         PredicateSearchKey key = PredicateSearchKey.of(dbName, tableName, snapshotId, predicate);
-        triggerIcebergPlanFilesIfNeeded(key, table, predicate, limit);
+        triggerIcebergPlanFilesIfNeeded(key, table, predicate, limit, null, ConnectContext.get(), true);
 
         List<FileScanTask> icebergScanTasks = splitTasks.get(key);
         if (icebergScanTasks == null) {
@@ -411,6 +419,41 @@ public class IcebergMetadata implements ConnectorMetadata {
         return Lists.newArrayList(remoteFileInfo);
     }
 
+    /**
+     * Produce the file scan tasks in batches. The statistics and the partition pruning of the optimizer only keep a
+     * summary of the planned files, so unless the tasks are cached because they are listed by getRemoteFileInfos or
+     * pruned by the limit, they are planned again from the manifests while the batches are consumed, and not cached.
+     */
+    @Override
+    public RemoteFileInfoSource getRemoteFileInfoSource(Table table, List<PartitionKey> partitionKeys, long snapshotId,
+                                                        ScalarOperator predicate, List<String> fieldNames, long limit) {
+        IcebergTable icebergTable = (IcebergTable) table;
+        PredicateSearchKey key = PredicateSearchKey.of(
+                icebergTable.getRemoteDbName(), icebergTable.getRemoteTableName(), snapshotId, predicate);
+        int batchSize = Config.iceberg_scan_task_batch_size;
+        List<FileScanTask> icebergScanTasks = splitTasks.get(key);
+        if (icebergScanTasks != null) {
+            return IcebergRemoteFileInfoSource.of(icebergScanTasks, batchSize);
+        }
+        if (limit != -1) {
+            // the files may be pruned by the limit when planned eagerly
+            return new RemoteFileInfoDefaultSource(getRemoteFileInfos(icebergTable, snapshotId, predicate, limit));
+        }
+
+        org.apache.iceberg.Table nativeTbl = icebergTable.getNativeTable();
+        traceIcebergMetricsConfig(nativeTbl);
+        ScalarOperatorToIcebergExpr.IcebergContext icebergContext =
+                new ScalarOperatorToIcebergExpr.IcebergContext(nativeTbl.schema().asStruct());
+        Expression icebergPredicate = new ScalarOperatorToIcebergExpr().convert(
+                Utils.extractConjuncts(predicate), icebergContext);
+        TableScan scan = buildTableScan(icebergTable, snapshotId, icebergPredicate, false, ConnectContext.get());
+        CloseableIterable<FileScanTask> tasks = TableScanUtil.splitFiles(scan.planFiles(), scan.targetSplitSize());
+        // the scan metrics are reported when the planning finishes, that is when the source is closed
+        Tracers tracers = Tracers.get();
+        return IcebergRemoteFileInfoSource.of(tasks, batchSize, () -> traceScan(
+                scan, icebergTable, snapshotId, icebergPredicate, tracers));
+    }
+
     @Override
     public List<PartitionInfo> getPartitions(Table table, List<String> partitionNames) {
         Map<String, Partition> partitionMap = Maps.newHashMap();
@@ -524,7 +567,8 @@ public class IcebergMetadata implements ConnectorMetadata {
             connectContext = ConnectContext.get();
         }
 
-        triggerIcebergPlanFilesIfNeeded(key, icebergTable, item.getPredicate(), item.getLimit(), tracers, connectContext);
+        triggerIcebergPlanFilesIfNeeded(key, icebergTable, item.getPredicate(), item.getLimit(), tracers, connectContext,
+                false);
         return true;
     }
 
@@ -569,15 +613,21 @@ public class IcebergMetadata implements ConnectorMetadata {
 
     private void triggerIcebergPlanFilesIfNeeded(PredicateSearchKey key, IcebergTable table,
                                                  ScalarOperator predicate, long limit) {
-        triggerIcebergPlanFilesIfNeeded(key, table, predicate, limit, null, ConnectContext.get());
+        triggerIcebergPlanFilesIfNeeded(key, table, predicate, limit, null, ConnectContext.get(), false);
     }
 
+    /**
+     * Plan the files of the scan if they have not been planned, which is recorded in scannedTables.
+     * @param cacheTasks whether the file scan tasks are required in splitTasks, or the summary of them is enough
+     */
     private void triggerIcebergPlanFilesIfNeeded(PredicateSearchKey key, IcebergTable table, ScalarOperator predicate,
-                                                 long limit, Tracers tracers, ConnectContext connectContext) {
-        if (!scannedTables.contains(key)) {
+                                                 long limit, Tracers tracers, ConnectContext connectContext,
+                                                 boolean cacheTasks) {
+        if (!scannedTables.contains(key) || (cacheTasks && !splitTasks.containsKey(key))) {
             tracers = tracers == null ? Tracers.get() : tracers;
             try (Timer ignored = Tracers.watchScope(tracers, EXTERNAL, "ICEBERG.processSplit." + key)) {
-                collectTableStatisticsAndCacheIcebergSplit(key, table, predicate, limit, tracers, connectContext);
+                collectTableStatisticsAndCacheIcebergSplit(key, table, predicate, limit, tracers, connectContext,
+                        cacheTasks);
             }
         }
     }
@@ -595,30 +645,20 @@ public class IcebergMetadata implements ConnectorMetadata {
         triggerIcebergPlanFilesIfNeeded(key, icebergTable, predicate, limit);
 
         List<PartitionKey> partitionKeys = new ArrayList<>();
-        List<FileScanTask> icebergSplitTasks = splitTasks.get(key);
-        if (icebergSplitTasks == null) {
+        ScanSummary scanSummary = scanSummaries.get(key);
+        if (scanSummary == null) {
             throw new StarRocksConnectorException("Missing iceberg split task for table:[{}.{}]. predicate:[{}]",
                     dbName, tableName, predicate);
         }
 
-        Set<List<String>> scannedPartitions = new HashSet<>();
         PartitionSpec spec = icebergTable.getNativeTable().spec();
         List<Column> partitionColumns = icebergTable.getPartitionColumnsIncludeTransformed();
-        for (FileScanTask fileScanTask : icebergSplitTasks) {
-            org.apache.iceberg.PartitionData partitionData = (org.apache.iceberg.PartitionData) fileScanTask.file().partition();
-            List<String> values = PartitionUtil.getIcebergPartitionValues(spec, partitionData);
-
+        for (List<String> values : scanSummary.partitionValues) {
             if (values.size() != partitionColumns.size()) {
                 // ban partition evolution and non-identify column.
                 continue;
             }
 
-            if (scannedPartitions.contains(values)) {
-                continue;
-            } else {
-                scannedPartitions.add(values);
-            }
-
             try {
                 List<com.starrocks.catalog.Type> srTypes = new ArrayList<>();
                 for (PartitionField partitionField : spec.fields()) {
@@ -658,7 +698,7 @@ public class IcebergMetadata implements ConnectorMetadata {
 
     private void collectTableStatisticsAndCacheIcebergSplit(PredicateSearchKey key, Table table,
                                                             ScalarOperator predicate, long limit, Tracers tracers,
-                                                            ConnectContext connectContext) {
+                                                            ConnectContext connectContext, boolean cacheTasks) {
         IcebergTable icebergTable = (IcebergTable) table;
         Optional<Snapshot> snapshot = icebergTable.getSnapshot();
         // empty table
@@ -678,19 +718,8 @@ public class IcebergMetadata implements ConnectorMetadata {
         ScalarOperatorToIcebergExpr.IcebergContext icebergContext = new ScalarOperatorToIcebergExpr.IcebergContext(schema);
         Expression icebergPredicate = new ScalarOperatorToIcebergExpr().convert(scalarOperators, icebergContext);
 
-        TableScan scan = icebergCatalog.getTableScan(nativeTbl, new StarRocksIcebergTableScanContext(
-                catalogName, dbName, tableName, planMode(connectContext), connectContext))
-                .useSnapshot(snapshotId)
-                .metricsReporter(metricsReporter)
-                .planWith(jobPlanningExecutor);
-
-        if (enableCollectColumnStatistics(connectContext)) {
-            scan = scan.includeColumnStats();
-        }
-
-        if (icebergPredicate.op() != Expression.Operation.TRUE) {
-            scan = scan.filter(icebergPredicate);
-        }
+        TableScan scan = buildTableScan(icebergTable, snapshotId, icebergPredicate,
+                enableCollectColumnStatistics(connectContext), connectContext);
 
         CloseableIterable<FileScanTask> fileScanTaskIterable = TableScanUtil.splitFiles(
                 scan.planFiles(), scan.targetSplitSize());
@@ -709,18 +738,24 @@ public class IcebergMetadata implements ConnectorMetadata {
             fileScanTasks = fileScanTaskIterator;
         }
 
+        // the tasks pruned by the limit are few, and the scan node has to reuse them to keep the pruning
+        cacheTasks = cacheTasks || canPruneManifests;
         List<FileScanTask> icebergScanTasks = Lists.newArrayList();
-        long totalReadCount = 0;
+        ScanSummary scanSummary = new ScanSummary();
+        PartitionSpec spec = nativeTbl.spec();
 
-        // FileScanTask are splits of file. Avoid calculating statistics for a file multiple times.
-        Set<String> filePaths = new HashSet<>();
+        // FileScanTask are splits of file, and the splits of a file are planned one after another.
+        // Avoid calculating statistics for a file multiple times.
+        String lastFilePath = null;
         while (fileScanTasks.hasNext()) {
             FileScanTask scanTask = fileScanTasks.next();
 
             FileScanTask icebergSplitScanTask = scanTask;
             if (enableCollectColumnStatistics(connectContext)) {
-                try (Timer ignored = Tracers.watchScope(EXTERNAL, "ICEBERG.buildSplitScanTask")) {
-                    icebergSplitScanTask = buildIcebergSplitScanTask(scanTask, icebergPredicate, key);
+                if (cacheTasks) {
+                    try (Timer ignored = Tracers.watchScope(EXTERNAL, "ICEBERG.buildSplitScanTask")) {
+                        icebergSplitScanTask = buildIcebergSplitScanTask(scanTask, icebergPredicate, key);
+                    }
                 }
 
                 List<Types.NestedField> fullColumns = nativeTbl.schema().columns();
@@ -744,17 +779,19 @@ public class IcebergMetadata implements ConnectorMetadata {
                 }
             }
 
-            icebergScanTasks.add(icebergSplitScanTask);
+            if (cacheTasks) {
+                icebergScanTasks.add(icebergSplitScanTask);
+            }
 
-            if (canPruneManifests) {
-                String filePath = icebergSplitScanTask.file().path().toString();
-                if (!filePaths.contains(filePath)) {
-                    filePaths.add(filePath);
-                    totalReadCount += scanTask.file().recordCount();
-                }
-                if (totalReadCount >= limit) {
-                    break;
-                }
+            String filePath = scanTask.file().path().toString();
+            if (!filePath.equals(lastFilePath)) {
+                lastFilePath = filePath;
+                scanSummary.cardinality += scanTask.file().recordCount();
+                scanSummary.partitionValues.add(spec.isUnpartitioned() ? Collections.emptyList() :
+                        PartitionUtil.getIcebergPartitionValues(spec, scanTask.file().partition()));
+            }
+            if (canPruneManifests && scanSummary.cardinality >= limit) {
+                break;
             }
         }
 
@@ -765,8 +802,24 @@ public class IcebergMetadata implements ConnectorMetadata {
             // Ignored
         }
 
+        traceScan(scan, icebergTable, snapshotId, icebergPredicate, tracers);
+
+        if (cacheTasks) {
+            splitTasks.put(key, icebergScanTasks);
+        }
+        scanSummaries.put(key, scanSummary);
+        scannedTables.add(key);
+    }
+
+    /**
+     * Record the scan metrics of the planning, and whether the files are planned remotely.
+     */
+    private void traceScan(TableScan scan, IcebergTable icebergTable, long snapshotId, Expression icebergPredicate,
+                           Tracers tracers) {
+        String dbName = icebergTable.getRemoteDbName();
+        String tableName = icebergTable.getRemoteTableName();
         Optional<ScanReport> metrics = metricsReporter.getReporter(
-                catalogName, dbName, tableName, snapshotId, icebergPredicate, nativeTbl);
+                catalogName, dbName, tableName, snapshotId, icebergPredicate, icebergTable.getNativeTable());
 
         Tracers.Module module = Tracers.Module.EXTERNAL;
         if (metrics.isPresent()) {
@@ -791,9 +844,25 @@ public class IcebergMetadata implements ConnectorMetadata {
                 }
             }
         }
+    }
 
-        splitTasks.put(key, icebergScanTasks);
-        scannedTables.add(key);
+    private TableScan buildTableScan(IcebergTable icebergTable, long snapshotId, Expression icebergPredicate,
+                                     boolean includeColumnStats, ConnectContext connectContext) {
+        TableScan scan = icebergCatalog.getTableScan(icebergTable.getNativeTable(), new StarRocksIcebergTableScanContext(
+                catalogName, icebergTable.getRemoteDbName(), icebergTable.getRemoteTableName(),
+                planMode(connectContext), connectContext))
+                .useSnapshot(snapshotId)
+                .metricsReporter(metricsReporter)
+                .planWith(jobPlanningExecutor);
+
+        if (includeColumnStats) {
+            scan = scan.includeColumnStats();
+        }
+
+        if (icebergPredicate.op() != Expression.Operation.TRUE) {
+            scan = scan.filter(icebergPredicate);
+        }
+        return scan;
     }
 
     /**
@@ -869,13 +938,13 @@ public class IcebergMetadata implements ConnectorMetadata {
         triggerIcebergPlanFilesIfNeeded(key, icebergTable, predicate, limit);
 
         if (!session.getSessionVariable().enableIcebergColumnStatistics()) {
-            List<FileScanTask> icebergScanTasks = splitTasks.get(key);
-            if (icebergScanTasks == null) {
+            ScanSummary scanSummary = scanSummaries.get(key);
+            if (scanSummary == null) {
                 throw new StarRocksConnectorException("Missing iceberg split task for table:[{}.{}]. predicate:[{}]",
                         icebergTable.getRemoteDbName(), icebergTable.getRemoteTableName(), predicate);
             }
             try (Timer ignored = Tracers.watchScope(EXTERNAL, "ICEBERG.calculateCardinality" + key)) {
-                return statisticProvider.getCardinalityStats(columns, icebergScanTasks);
+                return statisticProvider.getCardinalityStats(columns, scanSummary.cardinality);
             }
         } else {
             return statisticProvider.getTableStatistics(icebergTable, columns, session, predicate);
@@ -1130,9 +1199,15 @@ public class IcebergMetadata implements ConnectorMetadata {
         return connectContext.getSessionVariable().enableIcebergColumnStatistics();
     }
 
+    @VisibleForTesting
+    boolean isSplitTasksCached(PredicateSearchKey key) {
+        return splitTasks.containsKey(key);
+    }
+
     @Override
     public void clear() {
         splitTasks.clear();
+        scanSummaries.clear();
         databases.clear();
         tables.clear();
         scannedTables.clear();
@@ -1234,6 +1309,17 @@ public class IcebergMetadata implements ConnectorMetadata {
         return hdfsEnvironment.getCloudConfiguration();
     }
 
+    /**
+     * What the optimizer needs from the planned files of a scan. It is kept instead of the file scan tasks, so
+     * the scan node plans the tasks again in batches rather than holding all of them.
+     */
+    private static class ScanSummary {
+        // the record count of the distinct data files
+        private long cardinality;
+        // the distinct partition values of the data files, in the order they are planned
+        private final Set<List<String>> partitionValues = new LinkedHashSet<>();
+    }
+
     private static class FileScanTaskSchema {
         private final String dbName;
         private final String tableName;
@@ -0,0 +1,102 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.connector.iceberg;
+
+import com.google.common.base.Preconditions;
+import com.google.common.collect.Lists;
+import com.starrocks.connector.RemoteFileInfo;
+import com.starrocks.connector.RemoteFileInfoSource;
+import org.apache.iceberg.FileScanTask;
+import org.apache.iceberg.io.CloseableIterable;
+import org.apache.iceberg.io.CloseableIterator;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Produces the iceberg file scan tasks in batches. The tasks are either the ones planned and cached before, or
+ * planned from the manifests lazily while the batches are consumed, so that not all the tasks of a scan are held
+ * in memory at the same time.
+ */
+public class IcebergRemoteFileInfoSource implements RemoteFileInfoSource {
+    private final Iterator<FileScanTask> iterator;
+    private final int batchSize;
+    // not null if the tasks are planned lazily
+    private CloseableIterable<FileScanTask> closeableIterable;
+    // run once after the lazily planned tasks are closed, may be null
+    private final Runnable onClose;
+
+    private IcebergRemoteFileInfoSource(Iterator<FileScanTask> iterator, CloseableIterable<FileScanTask> closeableIterable,
+                                        int batchSize, Runnable onClose) {
+        Preconditions.checkArgument(batchSize > 0, "batch size must be positive");
+        this.iterator = iterator;
+        this.closeableIterable = closeableIterable;
+        this.batchSize = batchSize;
+        this.onClose = onClose;
+    }
+
+    public static IcebergRemoteFileInfoSource of(List<FileScanTask> tasks, int batchSize) {
+        return new IcebergRemoteFileInfoSource(tasks.iterator(), null, batchSize, null);
+    }
+
+    public static IcebergRemoteFileInfoSource of(CloseableIterable<FileScanTask> tasks, int batchSize) {
+        return of(tasks, batchSize, null);
+    }
+
+    public static IcebergRemoteFileInfoSource of(CloseableIterable<FileScanTask> tasks, int batchSize, Runnable onClose) {
+        return new IcebergRemoteFileInfoSource(tasks.iterator(), tasks, batchSize, onClose);
+    }
+
+    @Override
+    public boolean hasMoreOutput() {
+        boolean hasNext = iterator.hasNext();
+        if (!hasNext) {
+            close();
+        }
+        return hasNext;
+    }
+
+    @Override
+    public RemoteFileInfo getOutput() {
+        List<FileScanTask> tasks = new ArrayList<>(batchSize);
+        while (tasks.size() < batchSize && iterator.hasNext()) {
+            tasks.add(iterator.next());
+        }
+        RemoteFileInfo remoteFileInfo = new RemoteFileInfo();
+        remoteFileInfo.setFiles(Lists.newArrayList(IcebergRemoteFileDesc.createIcebergRemoteFileDesc(tasks)));
+        return remoteFileInfo;
+    }
+
+    @Override
+    public void close() {
+        if (closeableIterable == null) {
+            return;
+        }
+        try {
+            if (iterator instanceof CloseableIterator) {
+                ((CloseableIterator<FileScanTask>) iterator).close();
+            }
+            closeableIterable.close();
+        } catch (IOException e) {
+            // Ignored
+        }
+        closeableIterable = null;
+        if (onClose != null) {
+            onClose.run();
+        }
+    }
+}
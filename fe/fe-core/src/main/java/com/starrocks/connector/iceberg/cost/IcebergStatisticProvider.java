@@ -76,7 +76,6 @@ public class IcebergStatisticProvider {
 
     public Statistics getCardinalityStats(
             Map<ColumnRefOperator, Column> colRefToColumnMetaMap, List<FileScanTask> fileScanTasks) {
-        Statistics.Builder statisticsBuilder = Statistics.builder();
         long cardinality = 0;
         Set<String> currentFiles = new HashSet<>();
         for (FileScanTask scanTask : fileScanTasks) {
@@ -90,6 +89,11 @@ public class IcebergStatisticProvider {
             cardinality += dataFile.recordCount();
         }
 
+        return getCardinalityStats(colRefToColumnMetaMap, cardinality);
+    }
+
+    public Statistics getCardinalityStats(Map<ColumnRefOperator, Column> colRefToColumnMetaMap, long cardinality) {
+        Statistics.Builder statisticsBuilder = Statistics.builder();
         statisticsBuilder.setOutputRowCount(cardinality);
         statisticsBuilder.addColumnStatistics(buildUnknownColumnStatistics(colRefToColumnMetaMap.keySet()));
         return statisticsBuilder.build();
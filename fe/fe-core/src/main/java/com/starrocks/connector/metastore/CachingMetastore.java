@@ -17,6 +17,7 @@ package com.starrocks.connector.metastore;
 import com.google.common.cache.CacheBuilder;
 import com.google.common.cache.CacheLoader;
 import com.google.common.cache.LoadingCache;
+import com.google.common.cache.Weigher;
 import com.google.common.collect.Maps;
 import com.google.common.util.concurrent.UncheckedExecutionException;
 import com.starrocks.catalog.Database;
@@ -62,6 +63,18 @@ public abstract class CachingMetastore {
     }
 
     protected static CacheBuilder<Object, Object> newCacheBuilder(long expiresAfterWriteSec, long refreshSec, long maximumSize) {
+        CacheBuilder<Object, Object> cacheBuilder = newCacheBuilder(expiresAfterWriteSec, refreshSec);
+        cacheBuilder.maximumSize(maximumSize);
+        return cacheBuilder;
+    }
+
+    // the cache is bounded by the total weight of entries instead of the number of entries
+    protected static <K, V> CacheBuilder<K, V> newWeightedCacheBuilder(long expiresAfterWriteSec, long refreshSec,
+                                                                      long maximumWeight, Weigher<K, V> weigher) {
+        return newCacheBuilder(expiresAfterWriteSec, refreshSec).maximumWeight(maximumWeight).weigher(weigher);
+    }
+
+    private static CacheBuilder<Object, Object> newCacheBuilder(long expiresAfterWriteSec, long refreshSec) {
         CacheBuilder<Object, Object> cacheBuilder = CacheBuilder.newBuilder();
         if (expiresAfterWriteSec >= 0) {
             cacheBuilder.expireAfterWrite(expiresAfterWriteSec, SECONDS);
@@ -70,8 +83,6 @@ public abstract class CachingMetastore {
         if (refreshSec > 0 && expiresAfterWriteSec > refreshSec) {
             cacheBuilder.refreshAfterWrite(refreshSec, SECONDS);
         }
-
-        cacheBuilder.maximumSize(maximumSize);
         return cacheBuilder;
     }
 
@@ -26,6 +26,7 @@ import com.starrocks.connector.ConnectorMetadata;
 import com.starrocks.connector.MetaPreparationItem;
 import com.starrocks.connector.PartitionInfo;
 import com.starrocks.connector.RemoteFileInfo;
+import com.starrocks.connector.RemoteFileInfoSource;
 import com.starrocks.connector.SerializedMetaSpec;
 import com.starrocks.connector.hive.HiveMetadata;
 import com.starrocks.credential.CloudConfiguration;
@@ -161,6 +162,13 @@ public class UnifiedMetadata implements ConnectorMetadata {
         return metadata.getRemoteFileInfos(table, partitionKeys, snapshotId, predicate, fieldNames, limit);
     }
 
+    @Override
+    public RemoteFileInfoSource getRemoteFileInfoSource(Table table, List<PartitionKey> partitionKeys, long snapshotId,
+                                                        ScalarOperator predicate, List<String> fieldNames, long limit) {
+        ConnectorMetadata metadata = metadataOfTable(table);
+        return metadata.getRemoteFileInfoSource(table, partitionKeys, snapshotId, predicate, fieldNames, limit);
+    }
+
     @Override
     public SerializedMetaSpec getSerializedMetaSpec(String dbName, String tableName,
                                              long snapshotId, String serializedPredicate) {
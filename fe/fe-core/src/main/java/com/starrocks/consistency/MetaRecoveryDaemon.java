@@ -229,6 +229,7 @@ public class MetaRecoveryDaemon extends FrontendDaemon {
                         for (Replica replica : localTablet.getAllReplicas()) {
                             if (replica.getVersion() > version.getVersion() && localTablet.getAllReplicas().size() > 1) {
                                 replica.setBad(true);
+                                GlobalStateMgr.getCurrentState().getTabletChecker().markTabletDirty(tablet.getId());
                                 LOG.warn("set tablet: {} on backend: {} to bad, " +
                                         "because its version: {} is higher than recovery version: {}",
                                         tablet.getId(), replica.getBackendId(), replica.getVersion(), version.getVersion());
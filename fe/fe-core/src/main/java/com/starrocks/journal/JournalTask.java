@@ -16,6 +16,7 @@
 package com.starrocks.journal;
 
 import com.starrocks.common.io.DataOutputBuffer;
+import com.starrocks.persist.OperationType;
 import org.jetbrains.annotations.NotNull;
 
 import java.util.concurrent.CountDownLatch;
@@ -35,8 +36,15 @@ public class JournalTask implements Future<Boolean> {
     // JournalWrite will commit immediately if received a log with betterCommitBeforeTime > now
     protected long betterCommitBeforeTimeInNano;
     private final long startTimeNano;
+    // operation type of the serialized JournalEntity, OP_INVALID if unknown
+    private final short opCode;
 
     public JournalTask(long startTimeNano, DataOutputBuffer buffer, long maxWaitIntervalMs) {
+        this(OperationType.OP_INVALID, startTimeNano, buffer, maxWaitIntervalMs);
+    }
+
+    public JournalTask(short opCode, long startTimeNano, DataOutputBuffer buffer, long maxWaitIntervalMs) {
+        this.opCode = opCode;
         this.startTimeNano = startTimeNano;
         this.buffer = buffer;
         this.latch = new CountDownLatch(1);
@@ -51,6 +59,10 @@ public class JournalTask implements Future<Boolean> {
         return startTimeNano;
     }
 
+    public short getOpCode() {
+        return opCode;
+    }
+
     public void markSucceed() {
         isSucceed = true;
         latch.countDown();
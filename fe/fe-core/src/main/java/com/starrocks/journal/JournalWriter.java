@@ -25,6 +25,7 @@ import org.apache.logging.log4j.Logger;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
 
 /**
  * An independent thread to write journals by batch asynchronously.
@@ -49,6 +50,8 @@ public class JournalWriter {
     protected List<JournalTask> currentBatchTasks = new ArrayList<>();
     // current journal task
     private JournalTask currentJournal;
+    // journal task taken from queue while lingering for more journals, will be appended next
+    private JournalTask lingeredJournal;
     // batch start time
     private long startTimeNano;
     // batch size in bytes
@@ -117,7 +120,12 @@ public class JournalWriter {
                     break;
                 }
 
-                currentJournal = journalQueue.take();
+                if (lingeredJournal != null) {
+                    currentJournal = lingeredJournal;
+                    lingeredJournal = null;
+                } else {
+                    currentJournal = journalQueue.take();
+                }
             }
         } catch (JournalException e) {
             // abort current task
@@ -178,7 +186,7 @@ public class JournalWriter {
         System.exit(-1);
     }
 
-    private boolean shouldCommitNow() {
+    private boolean shouldCommitNow() throws InterruptedException {
         // 1. check if is an emergency journal
         if (currentJournal.getBetterCommitBeforeTimeInNano() > 0) {
             long delayNanos = System.nanoTime() - currentJournal.getBetterCommitBeforeTimeInNano();
@@ -210,7 +218,21 @@ public class JournalWriter {
         }
 
         // 4. no more journal in queue
-        return journalQueue.peek() == null;
+        return journalQueue.peek() == null && !lingerForMoreJournals();
+    }
+
+    /**
+     * Wait for at most metadata_journal_commit_linger_us since the batch began for another journal,
+     * so that journals arriving right behind each other are grouped into one commit.
+     * Return true if a journal is taken from the queue.
+     */
+    private boolean lingerForMoreJournals() throws InterruptedException {
+        long lingerNanos = Config.metadata_journal_commit_linger_us * 1000L - (System.nanoTime() - startTimeNano);
+        if (lingerNanos <= 0) {
+            return false;
+        }
+        lingeredJournal = journalQueue.poll(lingerNanos, TimeUnit.NANOSECONDS);
+        return lingeredJournal != null;
     }
 
     /**
@@ -55,6 +55,8 @@ public class CompactionMgr implements MemoryTrackable {
 
     private Selector selector;
     private Sorter sorter;
+    // replaces the selector and sorter when they are ScoreSelector and ScoreSorter
+    private PartitionScoreIndex scoreIndex;
     private CompactionScheduler compactionScheduler;
 
     public CompactionMgr() {
@@ -73,6 +75,19 @@ public class CompactionMgr implements MemoryTrackable {
 
         Class<?> sorterClazz = Class.forName(packageName + "." + Config.lake_compaction_sorter);
         sorter = (Sorter) sorterClazz.getConstructor().newInstance();
+
+        if (selector instanceof ScoreSelector && sorter instanceof ScoreSorter) {
+            scoreIndex = new PartitionScoreIndex(Config.lake_compaction_score_selector_min_score);
+            scoreIndex.rebuild(partitionStatisticsHashMap.values());
+        } else {
+            scoreIndex = null;
+        }
+    }
+
+    private void updateScoreIndex(PartitionStatistics statistics) {
+        if (scoreIndex != null) {
+            scoreIndex.update(statistics);
+        }
     }
 
     public void setCompactionScheduler(CompactionScheduler compactionScheduler) {
@@ -103,6 +118,7 @@ public class CompactionMgr implements MemoryTrackable {
             if (v.getCompactionVersion() == null) {
                 v.setCompactionVersion(new PartitionVersion(0, versionTime));
             }
+            updateScoreIndex(v);
             return v;
         });
         if (LOG.isDebugEnabled()) {
@@ -120,6 +136,7 @@ public class CompactionMgr implements MemoryTrackable {
             v.setCurrentVersion(compactionVersion);
             v.setCompactionVersion(compactionVersion);
             v.setCompactionScore(compactionScore);
+            updateScoreIndex(v);
             return v;
         });
         if (LOG.isDebugEnabled()) {
@@ -135,6 +152,10 @@ public class CompactionMgr implements MemoryTrackable {
 
     @NotNull
     List<PartitionIdentifier> choosePartitionsToCompact(Set<Long> excludeTables) {
+        if (scoreIndex != null) {
+            return scoreIndex.select(Config.lake_compaction_score_selector_min_score, System.currentTimeMillis(),
+                    excludeTables);
+        }
         List<PartitionStatistics> selection = sorter.sort(selector.select(partitionStatisticsHashMap.values(), excludeTables));
         return selection.stream().map(PartitionStatistics::getPartition).collect(Collectors.toList());
     }
@@ -163,6 +184,7 @@ public class CompactionMgr implements MemoryTrackable {
         PartitionStatistics statistics = partitionStatisticsHashMap.computeIfPresent(partition, (k, v) -> {
             // FE's follower nodes may have a different timestamp with the leader node.
             v.setNextCompactionTime(System.currentTimeMillis() + delayMs);
+            updateScoreIndex(v);
             return v;
         });
         if (statistics != null && LOG.isDebugEnabled()) {
@@ -170,13 +192,29 @@ public class CompactionMgr implements MemoryTrackable {
         }
     }
 
+    void resetPriority(PartitionIdentifier partition) {
+        partitionStatisticsHashMap.computeIfPresent(partition, (k, v) -> {
+            v.resetPriority();
+            updateScoreIndex(v);
+            return v;
+        });
+    }
+
     void removePartition(PartitionIdentifier partition) {
-        partitionStatisticsHashMap.remove(partition);
+        partitionStatisticsHashMap.computeIfPresent(partition, (k, v) -> {
+            if (scoreIndex != null) {
+                scoreIndex.remove(partition);
+            }
+            return null;
+        });
     }
 
     @VisibleForTesting
     public void clearPartitions() {
         partitionStatisticsHashMap.clear();
+        if (scoreIndex != null) {
+            scoreIndex.clear();
+        }
     }
 
     public long saveCompactionManager(DataOutput out, long checksum) throws IOException {
@@ -227,6 +265,9 @@ public class CompactionMgr implements MemoryTrackable {
     public void load(SRMetaBlockReader reader) throws IOException, SRMetaBlockException, SRMetaBlockEOFException {
         CompactionMgr compactionManager = reader.readJson(CompactionMgr.class);
         partitionStatisticsHashMap = compactionManager.partitionStatisticsHashMap;
+        if (scoreIndex != null) {
+            scoreIndex.rebuild(partitionStatisticsHashMap.values());
+        }
     }
 
     public long getPartitionStatsCount() {
@@ -239,6 +280,7 @@ public class CompactionMgr implements MemoryTrackable {
                 v = new PartitionStatistics(partition);
             }
             v.setPriority(PartitionStatistics.CompactionPriority.MANUAL_COMPACT);
+            updateScoreIndex(v);
             return v;
         });
         LOG.info("Trigger manual compaction, {}", statistics);
@@ -142,7 +142,7 @@ public class CompactionScheduler extends Daemon {
             // Make sure all running compactions' priority is reset
             PartitionStatistics statistics = compactionManager.getStatistics(partition);
             if (statistics != null && statistics.getPriority() != PartitionStatistics.CompactionPriority.DEFAULT) {
-                statistics.resetPriority();
+                compactionManager.resetPriority(partition);
             }
 
             CompactionJob job = entry.getValue();
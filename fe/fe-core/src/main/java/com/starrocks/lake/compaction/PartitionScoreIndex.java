@@ -0,0 +1,165 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.lake.compaction;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import javax.validation.constraints.NotNull;
+
+/**
+ * Partitions indexed by the same rules as {@link ScoreSelector} and {@link ScoreSorter}, updated when the statistics
+ * of a partition change, so that choosing the partitions to compact does not need to scan and sort the statistics of
+ * all the partitions.
+ * <p>
+ * The partitions allowed to compact are kept in a set sorted by priority and compaction score. The partitions which
+ * are waiting for their next compaction time are kept in another set sorted by the time, and moved into the first
+ * set when they are due.
+ */
+public class PartitionScoreIndex {
+
+    private static final Comparator<PartitionIdentifier> PARTITION_COMPARATOR =
+            Comparator.comparingLong(PartitionIdentifier::getDbId)
+                    .thenComparingLong(PartitionIdentifier::getTableId)
+                    .thenComparingLong(PartitionIdentifier::getPartitionId);
+
+    // the same order as ScoreSorter
+    private static final Comparator<Entry> SCORE_COMPARATOR =
+            Comparator.comparingInt((Entry entry) -> entry.priority.getValue()).reversed()
+                    .thenComparing(Comparator.comparing((Entry entry) -> entry.score).reversed())
+                    .thenComparing(entry -> entry.partition, PARTITION_COMPARATOR);
+
+    private static final Comparator<Entry> TIME_COMPARATOR =
+            Comparator.comparingLong((Entry entry) -> entry.nextCompactionTime)
+                    .thenComparing(entry -> entry.partition, PARTITION_COMPARATOR);
+
+    // the values used to order the partition, copied from the statistics since they are mutable
+    private static class Entry {
+        private final PartitionIdentifier partition;
+        private final PartitionStatistics.CompactionPriority priority;
+        private final Quantiles score;
+        private final long nextCompactionTime;
+
+        private Entry(PartitionStatistics statistics) {
+            this.partition = statistics.getPartition();
+            this.priority = statistics.getPriority();
+            this.score = statistics.getCompactionScore();
+            this.nextCompactionTime = statistics.getNextCompactionTime();
+        }
+    }
+
+    private final Map<PartitionIdentifier, Entry> entries = new HashMap<>();
+    private final TreeSet<Entry> candidates = new TreeSet<>(SCORE_COMPARATOR);
+    private final TreeSet<Entry> waiting = new TreeSet<>(TIME_COMPARATOR);
+    // partitions with a lower score are not candidates unless they are compacted manually
+    private double minScore;
+
+    public PartitionScoreIndex(double minScore) {
+        this.minScore = minScore;
+    }
+
+    public synchronized void update(@NotNull PartitionStatistics statistics) {
+        removeEntry(statistics.getPartition());
+        if (statistics.getCompactionScore() == null) {
+            return;
+        }
+        Entry entry = new Entry(statistics);
+        entries.put(entry.partition, entry);
+        addEntry(entry, System.currentTimeMillis());
+    }
+
+    public synchronized void remove(@NotNull PartitionIdentifier partition) {
+        removeEntry(partition);
+    }
+
+    public synchronized void rebuild(@NotNull Collection<PartitionStatistics> statistics) {
+        clear();
+        long now = System.currentTimeMillis();
+        for (PartitionStatistics stat : statistics) {
+            if (stat.getCompactionScore() != null) {
+                Entry entry = new Entry(stat);
+                entries.put(entry.partition, entry);
+                addEntry(entry, now);
+            }
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+        candidates.clear();
+        waiting.clear();
+    }
+
+    /**
+     * @return the partitions chosen by {@link ScoreSelector}, in the order of {@link ScoreSorter}
+     */
+    @NotNull
+    public synchronized List<PartitionIdentifier> select(double minScore, long now, @NotNull Set<Long> excludeTables) {
+        if (minScore != this.minScore) {
+            this.minScore = minScore;
+            candidates.clear();
+            waiting.clear();
+            for (Entry entry : entries.values()) {
+                addEntry(entry, now);
+            }
+        }
+
+        for (Iterator<Entry> iterator = waiting.iterator(); iterator.hasNext(); ) {
+            Entry entry = iterator.next();
+            if (entry.nextCompactionTime > now) {
+                break;
+            }
+            iterator.remove();
+            addEntry(entry, now);
+        }
+
+        List<PartitionIdentifier> selection = new ArrayList<>();
+        for (Entry entry : candidates) {
+            if (!excludeTables.contains(entry.partition.getTableId())) {
+                selection.add(entry.partition);
+            }
+        }
+        return selection;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    private void addEntry(Entry entry, long now) {
+        // When manual compaction is triggered, we just skip min score and time check
+        if (entry.priority != PartitionStatistics.CompactionPriority.DEFAULT) {
+            candidates.add(entry);
+        } else if (entry.nextCompactionTime > now) {
+            waiting.add(entry);
+        } else if (entry.score.getMax() >= minScore) {
+            candidates.add(entry);
+        }
+    }
+
+    private void removeEntry(PartitionIdentifier partition) {
+        Entry entry = entries.remove(partition);
+        if (entry != null) {
+            candidates.remove(entry);
+            waiting.remove(entry);
+        }
+    }
+}
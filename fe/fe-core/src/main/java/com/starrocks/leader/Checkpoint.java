@@ -74,6 +74,8 @@ public class Checkpoint extends FrontendDaemon {
     private final boolean belongToGlobalStateMgr;
 
     private final Set<String> nodesToPushImage;
+    // number of incremental images created since the last full image
+    private int numIncrementalImages = 0;
 
     public Checkpoint(Journal journal) {
         this("leaderCheckpointer", journal, "" /* subDir */, true /* belongToGlobalStateMgr */);
@@ -205,6 +207,11 @@ public class Checkpoint extends FrontendDaemon {
         globalStateMgr = GlobalStateMgr.getCurrentState();
         globalStateMgr.setEditLog(new EditLog(null));
         globalStateMgr.setJournal(journal);
+        // rewrite the whole image periodically, so that blocks copied from previous images are
+        // eventually serialized again by the current version
+        boolean incremental = Config.enable_incremental_checkpoint
+                && numIncrementalImages < Config.checkpoint_full_image_interval;
+        globalStateMgr.setTrackImageDirtyBlocks(incremental);
         try {
             globalStateMgr.loadImage(imageDir);
             globalStateMgr.replayJournal(logVersion);
@@ -215,7 +222,9 @@ public class Checkpoint extends FrontendDaemon {
                 MetricRepo.COUNTER_IMAGE_WRITE.increase(1L);
             }
             GlobalStateMgr.getServingState().setImageJournalId(logVersion);
-            LOG.info("checkpoint finished save image.{}", replayedJournalId);
+            numIncrementalImages = incremental ? numIncrementalImages + 1 : 0;
+            LOG.info("checkpoint finished save image.{}, incremental: {}, reused meta blocks: {}",
+                    replayedJournalId, incremental, globalStateMgr.getNumReusedImageBlocks());
             return true;
         } catch (Exception e) {
             LOG.error("Exception when generate new image file", e);
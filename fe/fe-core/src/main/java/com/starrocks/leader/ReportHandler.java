@@ -45,6 +45,7 @@ import com.google.common.collect.Maps;
 import com.google.common.collect.Queues;
 import com.google.common.collect.Sets;
 import com.google.common.collect.Table;
+import com.google.common.collect.Tables;
 import com.starrocks.binlog.BinlogConfig;
 import com.starrocks.catalog.ColocateTableIndex;
 import com.starrocks.catalog.Column;
@@ -143,7 +144,7 @@ import java.util.stream.Collectors;
 public class ReportHandler extends Daemon implements MemoryTrackable {
     @Override
     public long estimateSize() {
-        return SizeEstimator.estimate(reportQueue) + SizeEstimator.estimate(pendingTaskMap);
+        return SizeEstimator.estimate(reportQueues) + SizeEstimator.estimate(pendingTaskMap);
     }
 
     @Override
@@ -153,7 +154,7 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
             count += taskMap.size();
         }
         return ImmutableMap.of("PendingTask", count,
-                                "ReportQueue", (long) reportQueue.size());
+                                "ReportQueue", getReportQueueSize());
     }
 
     public enum ReportType {
@@ -173,7 +174,12 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
 
     private static final Logger LOG = LogManager.getLogger(ReportHandler.class);
 
-    private BlockingQueue<Pair<Long, ReportType>> reportQueue = Queues.newLinkedBlockingQueue();
+    // The reports of a backend are always put into the same queue and handled by the same thread in order,
+    // and the reports of different backends are handled in parallel. The first queue is handled by this daemon,
+    // others are handled by the reportWorkers.
+    private final List<BlockingQueue<Pair<Long, ReportType>>> reportQueues;
+
+    private final List<Daemon> reportWorkers;
 
     private Map<ReportType, Map<Long, ReportTask>> pendingTaskMap = Maps.newHashMap();
 
@@ -182,21 +188,36 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
      * We will delay the drop of tablet based on configuration `tablet_report_drop_tablet_delay_sec`
      * if we don't find the meta of the tablet in FE.
      * <p>
-     * There's no concurrency here since it will only be used by a single thread of ReportHandler, so
-     * we don't need lock protection.
+     * The reports of different backends are handled in parallel, but a <tablet id, backend id> pair
+     * is only accessed by the thread which handles the reports of that backend.
      * <p>
      * And because the tablet drop only relies on some runtime state, if the map is lost after restart,
      * the drop can retry. So we don't need to persist this map either.
      */
-    private static final Table<Long, Long, Long> TABLET_TO_DROP_TIME = HashBasedTable.create();
+    private static final Table<Long, Long, Long> TABLET_TO_DROP_TIME = Tables.synchronizedTable(HashBasedTable.create());
 
     public ReportHandler() {
         super("ReportHandler");
+        int threadNum = Math.max(1, Config.report_handler_thread_num);
+        reportQueues = new ArrayList<>(threadNum);
+        reportWorkers = new ArrayList<>(threadNum - 1);
+        for (int i = 0; i < threadNum; i++) {
+            BlockingQueue<Pair<Long, ReportType>> queue = Queues.newLinkedBlockingQueue();
+            reportQueues.add(queue);
+            if (i > 0) {
+                reportWorkers.add(new Daemon("ReportHandler-" + i) {
+                    @Override
+                    protected void runOneCycle() {
+                        handleReports(queue);
+                    }
+                });
+            }
+        }
         GaugeMetric<Long> gaugeQueueSize = new GaugeMetric<Long>(
                 "report_queue_size", MetricUnit.NOUNIT, "report queue size") {
             @Override
             public Long getValue() {
-                return (long) reportQueue.size();
+                return getReportQueueSize();
             }
         };
         MetricRepo.addMetric(gaugeQueueSize);
@@ -335,7 +356,7 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
         } catch (Exception e) {
             tStatus.setStatus_code(TStatusCode.INTERNAL_ERROR);
             List<String> errorMsgs = Lists.newArrayList();
-            errorMsgs.add("failed to put report task to queue. queue size: " + reportQueue.size());
+            errorMsgs.add("failed to put report task to queue. queue size: " + getReportQueueSize());
             errorMsgs.add("err: " + e.getMessage());
             tStatus.setError_msgs(errorMsgs);
 
@@ -344,10 +365,23 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
         }
 
         LOG.debug("report received from be/computeNode {}. type: {}, current queue size: {}",
-                beId, reportType, reportQueue.size());
+                beId, reportType, getReportQueueSize());
         return result;
     }
 
+    @VisibleForTesting
+    long getReportQueueSize() {
+        long size = 0;
+        for (BlockingQueue<Pair<Long, ReportType>> queue : reportQueues) {
+            size += queue.size();
+        }
+        return size;
+    }
+
+    private BlockingQueue<Pair<Long, ReportType>> getReportQueue(long beId) {
+        return reportQueues.get(Math.floorMod(beId, reportQueues.size()));
+    }
+
     private void buildErrorResult(TStatus tStatus, String msg) {
         tStatus.setStatus_code(TStatusCode.INTERNAL_ERROR);
         List<String> errorMsgs = Lists.newArrayList();
@@ -363,7 +397,7 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
             }
             ReportTask oldTask = pendingTaskMap.get(reportTask.type).get(reportTask.beId);
             if (oldTask == null) {
-                reportQueue.put(Pair.create(reportTask.beId, reportTask.type));
+                getReportQueue(reportTask.beId).put(Pair.create(reportTask.beId, reportTask.type));
             } else {
                 LOG.info("update be {} report task, type: {}", oldTask.beId, oldTask.type);
             }
@@ -394,6 +428,7 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
         private List<TWorkGroup> activeWorkGroups;
         private TResourceUsage resourceUsage;
         private TDataCacheMetrics dataCacheMetrics;
+        private final long createTimeMs;
 
         public ReportTask(long beId, ReportType type, Map<TTaskType, Set<Long>> tasks,
                           Map<String, TDisk> disks,
@@ -409,6 +444,7 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
             this.activeWorkGroups = activeWorkGroups;
             this.resourceUsage = resourceUsage;
             this.dataCacheMetrics = dataCacheMetrics;
+            this.createTimeMs = System.currentTimeMillis();
         }
 
         @Override
@@ -420,6 +456,9 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
                 ReportHandler.diskReport(beId, disks);
             }
             if (tablets != null) {
+                if (MetricRepo.hasInit) {
+                    MetricRepo.HISTO_TABLET_REPORT_LAG.update(System.currentTimeMillis() - createTimeMs);
+                }
                 ReportHandler.tabletReport(beId, tablets, reportVersion);
             }
             if (activeWorkGroups != null) {
@@ -481,6 +520,13 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
                 tabletRecoveryMap,
                 tabletWithoutPartitionId);
 
+        // number of tablets whose meta in FE is different from the backend
+        int diffSize = tabletSyncMap.size() + tabletDeleteFromMeta.size() + tabletRecoveryMap.size()
+                + backendTablets.size() - foundTabletsWithValidSchema.size();
+        if (MetricRepo.hasInit) {
+            MetricRepo.HISTO_TABLET_REPORT_DIFF_SIZE.update(diffSize);
+        }
+
         // 2. sync
         sync(backendTablets, tabletSyncMap, backendId, backendReportVersion);
 
@@ -521,6 +567,14 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
         // 14. send update tablet schema to be
         handleUpdateTableSchema(backendId, backendTablets);
 
+        // 15. the replicas of the tablets different from the backend may become unhealthy, check them in
+        // the next round of tablet checker
+        TabletChecker tabletChecker = GlobalStateMgr.getCurrentState().getTabletChecker();
+        tabletChecker.markTabletsDirty(tabletSyncMap.values());
+        tabletChecker.markTabletsDirty(tabletDeleteFromMeta.values());
+        tabletChecker.markTabletsDirty(tabletRecoveryMap.values());
+        tabletChecker.markTabletsDirty(foundTabletsWithInvalidSchema.keySet());
+
         final SystemInfoService currentSystemInfo = GlobalStateMgr.getCurrentState().getNodeMgr().getClusterInfo();
         Backend reportBackend = currentSystemInfo.getBackend(backendId);
         if (reportBackend != null) {
@@ -529,8 +583,11 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
         }
 
         long cost = System.currentTimeMillis() - start;
+        if (MetricRepo.hasInit) {
+            MetricRepo.HISTO_TABLET_REPORT_LATENCY.update(cost);
+        }
         if (cost > MAX_REPORT_HANDLING_TIME_LOGGING_THRESHOLD_MS) {
-            LOG.info("tablet report from backend[{}] cost: {} ms", backendId, cost);
+            LOG.info("tablet report from backend[{}] cost: {} ms, diff size: {}", backendId, cost, diffSize);
         }
     }
 
@@ -1891,8 +1948,20 @@ public class ReportHandler extends Daemon implements MemoryTrackable {
         }
     }
 
+    @Override
+    public synchronized void start() {
+        if (!isRunning()) {
+            reportWorkers.forEach(Daemon::start);
+        }
+        super.start();
+    }
+
     @Override
     protected void runOneCycle() {
+        handleReports(reportQueues.get(0));
+    }
+
+    private void handleReports(BlockingQueue<Pair<Long, ReportType>> reportQueue) {
         while (true) {
             try {
                 Pair<Long, ReportType> pair = reportQueue.take();
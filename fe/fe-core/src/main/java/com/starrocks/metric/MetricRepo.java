@@ -53,6 +53,11 @@ import com.starrocks.common.ThreadPoolManager;
 import com.starrocks.common.UserException;
 import com.starrocks.common.util.KafkaUtil;
 import com.starrocks.common.util.NetUtils;
+import com.starrocks.common.util.concurrent.lock.LockType;
+import com.starrocks.connector.CatalogConnector;
+import com.starrocks.connector.Connector;
+import com.starrocks.connector.hive.CachingHiveMetastore;
+import com.starrocks.connector.hive.HiveConnector;
 import com.starrocks.http.HttpMetricRegistry;
 import com.starrocks.http.rest.MetricsAction;
 import com.starrocks.load.EtlJobType;
@@ -67,6 +72,7 @@ import com.starrocks.metric.Metric.MetricType;
 import com.starrocks.metric.Metric.MetricUnit;
 import com.starrocks.monitor.jvm.JvmStatCollector;
 import com.starrocks.monitor.jvm.JvmStats;
+import com.starrocks.persist.OperationType;
 import com.starrocks.proto.PKafkaOffsetProxyRequest;
 import com.starrocks.proto.PKafkaOffsetProxyResult;
 import com.starrocks.server.GlobalStateMgr;
@@ -74,6 +80,7 @@ import com.starrocks.service.ExecuteEnv;
 import com.starrocks.staros.StarMgrServer;
 import com.starrocks.system.Backend;
 import com.starrocks.system.SystemInfoService;
+import com.starrocks.task.AgentTaskQueue;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
@@ -81,6 +88,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.SortedMap;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ScheduledThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -131,6 +139,8 @@ public final class MetricRepo {
     public static LongCounterMetric COUNTER_ROUTINE_LOAD_PAUSED;
     public static LongCounterMetric COUNTER_SHORTCIRCUIT_QUERY;
     public static LongCounterMetric COUNTER_SHORTCIRCUIT_RPC;
+    public static LongCounterMetric COUNTER_PREPARED_PLAN_CACHE_HIT;
+    public static LongCounterMetric COUNTER_PREPARED_PLAN_CACHE_MISS;
 
     public static Histogram HISTO_QUERY_LATENCY;
     public static Histogram HISTO_EDIT_LOG_WRITE_LATENCY;
@@ -138,6 +148,13 @@ public final class MetricRepo {
     public static Histogram HISTO_JOURNAL_WRITE_BATCH;
     public static Histogram HISTO_JOURNAL_WRITE_BYTES;
     public static Histogram HISTO_SHORTCIRCUIT_RPC_LATENCY;
+    public static Histogram HISTO_TABLET_REPORT_LAG;
+    public static Histogram HISTO_TABLET_REPORT_LATENCY;
+    public static Histogram HISTO_TABLET_REPORT_DIFF_SIZE;
+    // edit log write latency of each operation type, created on first use
+    private static final Map<Short, Histogram> HISTO_EDIT_LOG_OP_WRITE_LATENCY = new ConcurrentHashMap<>();
+    // wait latency of the locks which are not granted right away, of each lock type
+    private static final Map<String, Histogram> HISTO_LOCK_WAIT_LATENCY = new ConcurrentHashMap<>();
 
     // following metrics will be updated by metric calculator
     public static GaugeMetricImpl<Double> GAUGE_QUERY_PER_SECOND;
@@ -279,6 +296,16 @@ public final class MetricRepo {
         };
         STARROCKS_METRIC_REGISTER.addMetric(scheduledTabletNum);
 
+        // agent task num
+        GaugeMetric<Long> agentTaskNum = (GaugeMetric<Long>) new GaugeMetric<Long>(
+                "agent_task_num", MetricUnit.NOUNIT, "number of agent tasks waiting for the report of backends") {
+            @Override
+            public Long getValue() {
+                return (long) AgentTaskQueue.getTaskNum();
+            }
+        };
+        STARROCKS_METRIC_REGISTER.addMetric(agentTaskNum);
+
         // routine load jobs
         RoutineLoadMgr routineLoadManger = GlobalStateMgr.getCurrentState().getRoutineLoadMgr();
         for (RoutineLoadJob.JobState state : RoutineLoadJob.JobState.values()) {
@@ -423,6 +450,12 @@ public final class MetricRepo {
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_SHORTCIRCUIT_QUERY);
         COUNTER_SHORTCIRCUIT_RPC = new LongCounterMetric("shortcircuit_rpc", MetricUnit.REQUESTS, "total shortcircuit rpc");
         STARROCKS_METRIC_REGISTER.addMetric(COUNTER_SHORTCIRCUIT_RPC);
+        COUNTER_PREPARED_PLAN_CACHE_HIT = new LongCounterMetric("prepared_plan_cache_hit", MetricUnit.REQUESTS,
+                "total point queries of prepared statements served by the cached plan");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_PREPARED_PLAN_CACHE_HIT);
+        COUNTER_PREPARED_PLAN_CACHE_MISS = new LongCounterMetric("prepared_plan_cache_miss", MetricUnit.REQUESTS,
+                "total point queries of prepared statements planned from scratch");
+        STARROCKS_METRIC_REGISTER.addMetric(COUNTER_PREPARED_PLAN_CACHE_MISS);
 
         COUNTER_TXN_REJECT =
                 new LongCounterMetric("txn_reject", MetricUnit.REQUESTS, "counter of rejected transactions");
@@ -479,6 +512,12 @@ public final class MetricRepo {
         HISTO_JOURNAL_WRITE_BYTES =
                 METRIC_REGISTER.histogram(MetricRegistry.name("journal", "write", "bytes"));
         HISTO_SHORTCIRCUIT_RPC_LATENCY = METRIC_REGISTER.histogram(MetricRegistry.name("shortcircuit", "latency", "ms"));
+        HISTO_TABLET_REPORT_LAG =
+                METRIC_REGISTER.histogram(MetricRegistry.name("tablet_report", "lag", "ms"));
+        HISTO_TABLET_REPORT_LATENCY =
+                METRIC_REGISTER.histogram(MetricRegistry.name("tablet_report", "latency", "ms"));
+        HISTO_TABLET_REPORT_DIFF_SIZE =
+                METRIC_REGISTER.histogram(MetricRegistry.name("tablet_report", "diff", "size"));
 
         // init system metrics
         initSystemMetrics();
@@ -716,6 +755,16 @@ public final class MetricRepo {
         }
     }
 
+    public static Histogram getEditLogOpWriteLatency(short opCode) {
+        return HISTO_EDIT_LOG_OP_WRITE_LATENCY.computeIfAbsent(opCode, op -> METRIC_REGISTER.histogram(
+                MetricRegistry.name("editlog", "op", OperationType.getOpName(op), "write", "latency", "ms")));
+    }
+
+    public static Histogram getLockWaitLatency(LockType lockType) {
+        return HISTO_LOCK_WAIT_LATENCY.computeIfAbsent(lockType.toString(), type -> METRIC_REGISTER.histogram(
+                MetricRegistry.name("lock", type.toLowerCase(), "wait", "latency", "ms")));
+    }
+
     public static synchronized String getMetric(MetricVisitor visitor, MetricsAction.RequestParams requestParams) {
         if (!hasInit) {
             return "";
@@ -763,6 +812,8 @@ public final class MetricRepo {
             collectMemoryUsageMetrics(visitor);
         }
 
+        collectHiveMetastoreCacheMetrics(visitor);
+
         // collect http metrics
         HttpMetricRegistry.getInstance().visit(visitor);
 
@@ -845,6 +896,39 @@ public final class MetricRepo {
         }
     }
 
+    // hit rate and estimated bytes of the partition level caches of each hive catalog
+    private static void collectHiveMetastoreCacheMetrics(MetricVisitor visitor) {
+        for (CatalogConnector catalogConnector : GlobalStateMgr.getCurrentState().getConnectorMgr().listConnectors()) {
+            Connector connector = catalogConnector.getNormalConnector();
+            if (!(connector instanceof HiveConnector) ||
+                    !(((HiveConnector) connector).getMetastore() instanceof CachingHiveMetastore)) {
+                continue;
+            }
+            String catalogName = ((HiveConnector) connector).getCatalogName();
+            CachingHiveMetastore metastore = (CachingHiveMetastore) ((HiveConnector) connector).getMetastore();
+            metastore.getPartitionCacheHitRates().forEach((cacheName, hitRate) -> {
+                GaugeMetricImpl<Double> metric = new GaugeMetricImpl<>(
+                        "hive_metastore_cache_hit_rate", MetricUnit.PERCENT, "hit rate of hive metastore cache");
+                metric.addLabel(new MetricLabel("catalog", catalogName));
+                metric.addLabel(new MetricLabel("cache", cacheName));
+                metric.setValue(hitRate);
+                visitor.visit(metric);
+            });
+            // estimating the bytes walks through the caches, so it's as costly as the memory tracker
+            if (!Config.memory_tracker_enable) {
+                continue;
+            }
+            metastore.estimatePartitionCacheSizes().forEach((cacheName, bytes) -> {
+                GaugeMetricImpl<Long> metric = new GaugeMetricImpl<>(
+                        "hive_metastore_cache_bytes", MetricUnit.BYTES, "estimated bytes of hive metastore cache");
+                metric.addLabel(new MetricLabel("catalog", catalogName));
+                metric.addLabel(new MetricLabel("cache", cacheName));
+                metric.setValue(bytes);
+                visitor.visit(metric);
+            });
+        }
+    }
+
     public static synchronized List<Metric> getMetricsByName(String name) {
         return STARROCKS_METRIC_REGISTER.getMetricsByName(name);
     }
@@ -43,6 +43,7 @@ import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.List;
 
 /**
  * This class used to read/write MySQL logical packet.
@@ -248,6 +249,29 @@ public class MysqlChannel {
         channel.write(buffer);
     }
 
+    public void realNetSend(ByteBuffer[] buffers) throws IOException {
+        long bufLen = remaining(buffers);
+        long writeLen = 0;
+        // a gathering write may not write all the buffers if there are too many of them
+        while (writeLen < bufLen) {
+            long len = channel.write(buffers);
+            if (len <= 0) {
+                throw new IOException("Write mysql packet failed.[write=" + writeLen
+                        + ", needToWrite=" + bufLen + "]");
+            }
+            writeLen += len;
+        }
+        isSend = true;
+    }
+
+    protected static long remaining(ByteBuffer[] buffers) {
+        long remaining = 0;
+        for (ByteBuffer buffer : buffers) {
+            remaining += buffer.remaining();
+        }
+        return remaining;
+    }
+
     public void flush() throws IOException {
         if (null == sendBuffer || sendBuffer.position() == 0) {
             // Nothing to send
@@ -322,6 +346,36 @@ public class MysqlChannel {
         accSequenceId();
     }
 
+    /**
+     * Send the packets by one gathering write, instead of copying them to the send buffer one by one.
+     * Fall back to {@link #sendOnePacket} for SSL connections and packets need to be split.
+     */
+    public void sendPackets(List<ByteBuffer> packets) throws IOException {
+        if (packets.isEmpty()) {
+            return;
+        }
+        if (sslChannel != null || packets.stream().anyMatch(p -> p.remaining() >= MAX_PHYSICAL_PACKET_LENGTH)) {
+            for (ByteBuffer packet : packets) {
+                sendOnePacket(packet);
+            }
+            return;
+        }
+        // send the buffered packets first to keep the order
+        flush();
+        ByteBuffer headers = ByteBuffer.allocate(PACKET_HEADER_LEN * packets.size());
+        ByteBuffer[] buffers = new ByteBuffer[packets.size() * 2];
+        for (int i = 0; i < packets.size(); i++) {
+            ByteBuffer packet = packets.get(i);
+            int length = packet.remaining();
+            int headerPos = headers.position();
+            headers.put((byte) length).put((byte) (length >> 8)).put((byte) (length >> 16)).put((byte) sequenceId);
+            buffers[2 * i] = headers.duplicate().position(headerPos).limit(headerPos + PACKET_HEADER_LEN).slice();
+            buffers[2 * i + 1] = packet;
+            accSequenceId();
+        }
+        realNetSend(buffers);
+    }
+
     public void sendAndFlush(ByteBuffer packet) throws IOException {
         sendOnePacket(packet);
         flush();
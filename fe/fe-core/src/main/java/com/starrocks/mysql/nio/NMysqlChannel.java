@@ -72,6 +72,18 @@ public class NMysqlChannel extends MysqlChannel {
         isSend = true;
     }
 
+    @Override
+    public void realNetSend(ByteBuffer[] buffers) throws IOException {
+        long bufLen = remaining(buffers);
+        long writeLen = Channels.writeBlocking(conn.getSinkChannel(), buffers, 0, buffers.length);
+        if (bufLen != writeLen) {
+            throw new IOException("Write mysql packet failed.[write=" + writeLen
+                    + ", needToWrite=" + bufLen + "]");
+        }
+        Channels.flushBlocking(conn.getSinkChannel());
+        isSend = true;
+    }
+
     @Override
     public synchronized void close() {
         if (closed) {
@@ -1229,7 +1229,7 @@ public class EditLog {
             // The old implementation swallow exception like this
             LOG.info("failed to serialize, ", e);
         }
-        JournalTask task = new JournalTask(startTimeNano, buffer, maxWaitIntervalMs);
+        JournalTask task = new JournalTask(op, startTimeNano, buffer, maxWaitIntervalMs);
 
         /*
          * for historical reasons, logEdit is not allowed to raise Exception, which is really unreasonable to me.
@@ -1280,7 +1280,11 @@ public class EditLog {
         // for now if journal writer fails, it will exit directly, so this property should always be true.
         assert (result);
         if (MetricRepo.hasInit) {
-            MetricRepo.HISTO_EDIT_LOG_WRITE_LATENCY.update((System.nanoTime() - startTimeNano) / 1000000);
+            long latencyMs = (System.nanoTime() - startTimeNano) / 1000000;
+            MetricRepo.HISTO_EDIT_LOG_WRITE_LATENCY.update(latencyMs);
+            if (task.getOpCode() != OperationType.OP_INVALID) {
+                MetricRepo.getEditLogOpWriteLatency(task.getOpCode()).update(latencyMs);
+            }
         }
     }
 
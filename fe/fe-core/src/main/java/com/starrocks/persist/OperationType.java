@@ -34,13 +34,16 @@
 
 package com.starrocks.persist;
 
+import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.ImmutableSet;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.lang.annotation.Annotation;
 import java.lang.reflect.Field;
+import java.util.HashMap;
 import java.util.HashSet;
+import java.util.Map;
 import java.util.Set;
 
 //NOTICE new added type starts from 10000, to avoid conflicting with community added type
@@ -970,4 +973,30 @@ public class OperationType {
 
         return builder.build();
     }
+
+    private static final ImmutableMap<Short, String> OPERATION_NAMES = buildOperationNames();
+
+    private static ImmutableMap<Short, String> buildOperationNames() {
+        Map<Short, String> names = new HashMap<>();
+        for (Field field : OperationType.class.getFields()) {
+            if (!field.getName().startsWith("OP_") || field.getType() != short.class) {
+                continue;
+            }
+            try {
+                names.putIfAbsent((short) field.get(null), field.getName().substring(3).toLowerCase());
+            } catch (IllegalAccessException e) {
+                LOG.warn("get value from {} failed, ignore it.", field.getName(), e);
+            }
+        }
+        return ImmutableMap.copyOf(names);
+    }
+
+    /**
+     * Return the lower-case name of the operation type without the "OP_" prefix, e.g. "save_nextid",
+     * or the numeric value if the type is unknown.
+     */
+    public static String getOpName(short opType) {
+        String name = OPERATION_NAMES.get(opType);
+        return name != null ? name : String.valueOf(opType);
+    }
 }
@@ -0,0 +1,141 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.starrocks.persist.metablock;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonNull;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.google.gson.internal.LazilyParsedNumber;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.starrocks.persist.metablock.SRMetaBlockBinaryEncoder.TAG_ARRAY;
+import static com.starrocks.persist.metablock.SRMetaBlockBinaryEncoder.TAG_DOUBLE;
+import static com.starrocks.persist.metablock.SRMetaBlockBinaryEncoder.TAG_FALSE;
+import static com.starrocks.persist.metablock.SRMetaBlockBinaryEncoder.TAG_LONG;
+import static com.starrocks.persist.metablock.SRMetaBlockBinaryEncoder.TAG_NULL;
+import static com.starrocks.persist.metablock.SRMetaBlockBinaryEncoder.TAG_NUMBER;
+import static com.starrocks.persist.metablock.SRMetaBlockBinaryEncoder.TAG_OBJECT;
+import static com.starrocks.persist.metablock.SRMetaBlockBinaryEncoder.TAG_STRING;
+import static com.starrocks.persist.metablock.SRMetaBlockBinaryEncoder.TAG_TRUE;
+
+/**
+ * Decode the binary form produced by {@link SRMetaBlockBinaryEncoder} back to a gson json tree.
+ * The string dictionary of an object is rebuilt while decoding it, so objects don't depend on each other.
+ */
+public class SRMetaBlockBinaryDecoder {
+    private final List<String> dictionary = new ArrayList<>();
+    private ByteBuffer buffer;
+
+    public JsonElement decode(byte[] bytes) throws SRMetaBlockException {
+        buffer = ByteBuffer.wrap(bytes);
+        dictionary.clear();
+        try {
+            JsonElement element = readElement();
+            if (buffer.hasRemaining()) {
+                throw new SRMetaBlockException(String.format(
+                        "Invalid binary meta block, %d bytes left after decoding", buffer.remaining()));
+            }
+            return element;
+        } catch (RuntimeException e) {
+            throw new SRMetaBlockException("Invalid binary meta block: " + e.getMessage());
+        } finally {
+            buffer = null;
+        }
+    }
+
+    private JsonElement readElement() throws SRMetaBlockException {
+        byte tag = buffer.get();
+        switch (tag) {
+            case TAG_NULL:
+                return JsonNull.INSTANCE;
+            case TAG_TRUE:
+                return new JsonPrimitive(true);
+            case TAG_FALSE:
+                return new JsonPrimitive(false);
+            case TAG_LONG: {
+                long value = readVarLong();
+                return new JsonPrimitive((value >>> 1) ^ -(value & 1));
+            }
+            case TAG_DOUBLE:
+                return new JsonPrimitive(buffer.getDouble());
+            case TAG_NUMBER:
+                return new JsonPrimitive(new LazilyParsedNumber(readString()));
+            case TAG_STRING:
+                return new JsonPrimitive(readString());
+            case TAG_ARRAY: {
+                int size = readSize();
+                JsonArray array = new JsonArray(size);
+                for (int i = 0; i < size; i++) {
+                    array.add(readElement());
+                }
+                return array;
+            }
+            case TAG_OBJECT: {
+                int size = readSize();
+                JsonObject object = new JsonObject();
+                for (int i = 0; i < size; i++) {
+                    String key = readString();
+                    object.add(key, readElement());
+                }
+                return object;
+            }
+            default:
+                throw new SRMetaBlockException("Invalid binary meta block, unknown tag " + tag);
+        }
+    }
+
+    private String readString() throws SRMetaBlockException {
+        int ref = readSize();
+        if (ref > 0) {
+            if (ref > dictionary.size()) {
+                throw new SRMetaBlockException(String.format(
+                        "Invalid binary meta block, string id %d out of dictionary size %d", ref - 1, dictionary.size()));
+            }
+            return dictionary.get(ref - 1);
+        }
+        int length = readSize();
+        String s = new String(buffer.array(), buffer.arrayOffset() + buffer.position(), length, StandardCharsets.UTF_8);
+        buffer.position(buffer.position() + length);
+        dictionary.add(s);
+        return s;
+    }
+
+    private int readSize() throws SRMetaBlockException {
+        long value = readVarLong();
+        if (value < 0 || value > Integer.MAX_VALUE) {
+            throw new SRMetaBlockException("Invalid binary meta block, bad size " + value);
+        }
+        return (int) value;
+    }
+
+    private long readVarLong() throws SRMetaBlockException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.get();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new SRMetaBlockException("Invalid binary meta block, malformed varint");
+    }
+}
@@ -0,0 +1,137 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.starrocks.persist.metablock;
+
+import com.google.gson.JsonArray;
+import com.google.gson.JsonElement;
+import com.google.gson.JsonObject;
+import com.google.gson.JsonPrimitive;
+import com.starrocks.common.io.DataOutputBuffer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Encode a gson json tree into the compact binary form used by binary meta blocks.
+ * <p>
+ * Every element starts with a one byte tag. Integral numbers are written as zigzag varints, and
+ * strings (object keys as well as string values) are dictionary encoded: the first occurrence of a
+ * string in an object is written inline and assigned the next dictionary id, later occurrences
+ * only write that id. The dictionary is reset for every object, so it never holds more strings than
+ * the object being encoded, and every object can be decoded on its own.
+ */
+public class SRMetaBlockBinaryEncoder {
+    static final byte TAG_NULL = 0;
+    static final byte TAG_TRUE = 1;
+    static final byte TAG_FALSE = 2;
+    static final byte TAG_LONG = 3;
+    static final byte TAG_DOUBLE = 4;
+    static final byte TAG_NUMBER = 5;
+    static final byte TAG_STRING = 6;
+    static final byte TAG_ARRAY = 7;
+    static final byte TAG_OBJECT = 8;
+
+    private final Map<String, Integer> dictionary = new HashMap<>();
+    private final DataOutputBuffer buffer = new DataOutputBuffer(4096);
+
+    /**
+     * Encode one json tree, the returned buffer is only valid until the next call.
+     */
+    public DataOutputBuffer encode(JsonElement element) throws IOException {
+        buffer.reset();
+        dictionary.clear();
+        writeElement(element);
+        return buffer;
+    }
+
+    public int getDictionarySize() {
+        return dictionary.size();
+    }
+
+    private void writeElement(JsonElement element) throws IOException {
+        if (element == null || element.isJsonNull()) {
+            buffer.writeByte(TAG_NULL);
+        } else if (element.isJsonPrimitive()) {
+            writePrimitive(element.getAsJsonPrimitive());
+        } else if (element.isJsonArray()) {
+            JsonArray array = element.getAsJsonArray();
+            buffer.writeByte(TAG_ARRAY);
+            writeVarLong(array.size());
+            for (JsonElement e : array) {
+                writeElement(e);
+            }
+        } else {
+            JsonObject object = element.getAsJsonObject();
+            buffer.writeByte(TAG_OBJECT);
+            writeVarLong(object.size());
+            for (Map.Entry<String, JsonElement> entry : object.entrySet()) {
+                writeString(entry.getKey());
+                writeElement(entry.getValue());
+            }
+        }
+    }
+
+    private void writePrimitive(JsonPrimitive primitive) throws IOException {
+        if (primitive.isBoolean()) {
+            buffer.writeByte(primitive.getAsBoolean() ? TAG_TRUE : TAG_FALSE);
+        } else if (primitive.isString()) {
+            buffer.writeByte(TAG_STRING);
+            writeString(primitive.getAsString());
+        } else {
+            Number number = primitive.getAsNumber();
+            if (number instanceof Long || number instanceof Integer || number instanceof Short
+                    || number instanceof Byte) {
+                buffer.writeByte(TAG_LONG);
+                long value = number.longValue();
+                writeVarLong((value << 1) ^ (value >> 63));
+            } else if (number instanceof Double || number instanceof Float) {
+                buffer.writeByte(TAG_DOUBLE);
+                buffer.writeDouble(number.doubleValue());
+            } else {
+                // BigInteger, BigDecimal or a lazily parsed number, keep its exact text form
+                String text = number instanceof BigDecimal || number instanceof BigInteger ?
+                        number.toString() : primitive.getAsString();
+                buffer.writeByte(TAG_NUMBER);
+                writeString(text);
+            }
+        }
+    }
+
+    private void writeString(String s) throws IOException {
+        Integer id = dictionary.get(s);
+        if (id != null) {
+            writeVarLong(id + 1);
+            return;
+        }
+        dictionary.put(s, dictionary.size());
+        byte[] bytes = s.getBytes(StandardCharsets.UTF_8);
+        writeVarLong(0);
+        writeVarLong(bytes.length);
+        buffer.write(bytes);
+    }
+
+    private void writeVarLong(long value) throws IOException {
+        while ((value & ~0x7FL) != 0) {
+            buffer.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.writeByte((int) value);
+    }
+}
@@ -0,0 +1,223 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.starrocks.persist.metablock;
+
+import com.google.common.annotations.VisibleForTesting;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.ImmutableSet;
+import com.google.common.collect.Sets;
+import com.starrocks.persist.OperationType;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Track which meta blocks of the image loaded by the checkpoint thread are modified before the next image is saved,
+ * so that the unmodified blocks can be copied from the previous image byte by byte instead of being serialized again.
+ * <p>
+ * A block can be reused only if
+ * 1. it was fully loaded from the previous image in the same format as it would be saved now
+ * 2. it's not modified by the checkpoint itself, see ALWAYS_DIRTY_BLOCKS
+ * 3. none of the replayed journals may modify it, see OP_TOUCHED_BLOCKS. Journals of any other
+ * operation type make all blocks dirty, so the mapping only needs to be complete for the listed types.
+ */
+public class SRMetaBlockDirtyTracker {
+    private static final Logger LOG = LogManager.getLogger(SRMetaBlockDirtyTracker.class);
+
+    // blocks modified by GlobalStateMgr.clearExpiredJobs() or after replay, so are always rewritten
+    private static final Set<SRMetaBlockID> ALWAYS_DIRTY_BLOCKS = ImmutableSet.of(
+            SRMetaBlockID.LOAD_MGR,
+            SRMetaBlockID.EXPORT_MGR,
+            SRMetaBlockID.DELETE_MGR,
+            SRMetaBlockID.GLOBAL_TRANSACTION_MGR,
+            SRMetaBlockID.ROUTINE_LOAD_MGR,
+            SRMetaBlockID.BACKUP_MGR,
+            SRMetaBlockID.STREAM_LOAD_MGR,
+            SRMetaBlockID.TASK_MGR);
+
+    // blocks that are never modified by replaying a transaction state.
+    // ANALYZE_MGR is not one of them, a visible transaction updates the load rows of its basic stats meta.
+    private static final Set<SRMetaBlockID> TXN_INDEPENDENT_BLOCKS = ImmutableSet.of(
+            SRMetaBlockID.NODE_MGR,
+            SRMetaBlockID.VARIABLE_MGR,
+            SRMetaBlockID.RESOURCE_MGR,
+            SRMetaBlockID.COLOCATE_TABLE_INDEX,
+            SRMetaBlockID.SMALL_FILE_MGR,
+            SRMetaBlockID.PLUGIN_MGR,
+            SRMetaBlockID.RESOURCE_GROUP_MGR,
+            SRMetaBlockID.AUTHENTICATION_MGR,
+            SRMetaBlockID.AUTHORIZATION_MGR,
+            SRMetaBlockID.CATALOG_MGR,
+            SRMetaBlockID.GLOBAL_FUNCTION_MGR,
+            SRMetaBlockID.STORAGE_VOLUME_MGR);
+
+    private static final Set<SRMetaBlockID> NO_BLOCKS = ImmutableSet.of();
+
+    // operation type -> blocks that may be modified by replaying it.
+    // SRMetaBlockDirtyTrackerReplayTest replays every listed type, add the new ones there as well.
+    private static final Map<Short, Set<SRMetaBlockID>> OP_TOUCHED_BLOCKS;
+    // operation type -> blocks that are not modified by replaying it, all the others may be modified
+    private static final Map<Short, Set<SRMetaBlockID>> OP_UNTOUCHED_BLOCKS;
+
+    static {
+        ImmutableMap.Builder<Short, Set<SRMetaBlockID>> touched = ImmutableMap.builder();
+        // only saved in image header
+        touched.put(OperationType.OP_SAVE_NEXTID, NO_BLOCKS);
+        // not saved in image
+        touched.put(OperationType.OP_TIMESTAMP, NO_BLOCKS);
+        touched.put(OperationType.OP_TIMESTAMP_V2, NO_BLOCKS);
+
+        Set<SRMetaBlockID> nodeMgr = ImmutableSet.of(SRMetaBlockID.NODE_MGR);
+        touched.put(OperationType.OP_LEADER_INFO_CHANGE, nodeMgr);
+        touched.put(OperationType.OP_LEADER_INFO_CHANGE_V2, nodeMgr);
+        touched.put(OperationType.OP_HEARTBEAT, nodeMgr);
+        touched.put(OperationType.OP_HEARTBEAT_V2, nodeMgr);
+
+        touched.put(OperationType.OP_SAVE_TRANSACTION_ID_V2, ImmutableSet.of(SRMetaBlockID.GLOBAL_TRANSACTION_MGR));
+
+        Set<SRMetaBlockID> loadMgr = ImmutableSet.of(SRMetaBlockID.LOAD_MGR);
+        touched.put(OperationType.OP_CREATE_LOAD_JOB, loadMgr);
+        touched.put(OperationType.OP_CREATE_LOAD_JOB_V2, loadMgr);
+        touched.put(OperationType.OP_END_LOAD_JOB, loadMgr);
+        touched.put(OperationType.OP_END_LOAD_JOB_V2, loadMgr);
+        touched.put(OperationType.OP_UPDATE_LOAD_JOB, loadMgr);
+
+        Set<SRMetaBlockID> streamLoadMgr = ImmutableSet.of(SRMetaBlockID.STREAM_LOAD_MGR);
+        touched.put(OperationType.OP_CREATE_STREAM_LOAD_TASK, streamLoadMgr);
+        touched.put(OperationType.OP_CREATE_STREAM_LOAD_TASK_V2, streamLoadMgr);
+
+        Set<SRMetaBlockID> analyzeMgr = ImmutableSet.of(SRMetaBlockID.ANALYZE_MGR);
+        touched.put(OperationType.OP_ADD_ANALYZER_JOB, analyzeMgr);
+        touched.put(OperationType.OP_REMOVE_ANALYZER_JOB, analyzeMgr);
+        touched.put(OperationType.OP_ADD_ANALYZE_STATUS, analyzeMgr);
+        touched.put(OperationType.OP_REMOVE_ANALYZE_STATUS, analyzeMgr);
+        touched.put(OperationType.OP_ADD_BASIC_STATS_META, analyzeMgr);
+        touched.put(OperationType.OP_REMOVE_BASIC_STATS_META, analyzeMgr);
+        touched.put(OperationType.OP_ADD_HISTOGRAM_STATS_META, analyzeMgr);
+        touched.put(OperationType.OP_REMOVE_HISTOGRAM_STATS_META, analyzeMgr);
+        touched.put(OperationType.OP_ADD_EXTERNAL_ANALYZER_JOB, analyzeMgr);
+        touched.put(OperationType.OP_REMOVE_EXTERNAL_ANALYZER_JOB, analyzeMgr);
+        touched.put(OperationType.OP_ADD_EXTERNAL_ANALYZE_STATUS, analyzeMgr);
+        touched.put(OperationType.OP_REMOVE_EXTERNAL_ANALYZE_STATUS, analyzeMgr);
+        touched.put(OperationType.OP_ADD_EXTERNAL_BASIC_STATS_META, analyzeMgr);
+        touched.put(OperationType.OP_REMOVE_EXTERNAL_BASIC_STATS_META, analyzeMgr);
+        touched.put(OperationType.OP_ADD_EXTERNAL_HISTOGRAM_STATS_META, analyzeMgr);
+        touched.put(OperationType.OP_REMOVE_EXTERNAL_HISTOGRAM_STATS_META, analyzeMgr);
+        OP_TOUCHED_BLOCKS = touched.build();
+
+        // transaction state changes update partition versions, and call back load jobs, delete jobs, etc.
+        OP_UNTOUCHED_BLOCKS = ImmutableMap.of(
+                OperationType.OP_UPSERT_TRANSACTION_STATE_V2, TXN_INDEPENDENT_BLOCKS,
+                OperationType.OP_UPSERT_TRANSACTION_STATE_BATCH, TXN_INDEPENDENT_BLOCKS);
+    }
+
+    private static class BlockLocation {
+        private final long offset;
+        private final long length;
+
+        BlockLocation(long offset, long length) {
+            this.offset = offset;
+            this.length = length;
+        }
+    }
+
+    private final File previousImage;
+    private final Map<SRMetaBlockID, BlockLocation> blockLocations = new HashMap<>();
+    private final Set<SRMetaBlockID> reusableBlocks = new HashSet<>();
+
+    public SRMetaBlockDirtyTracker(File previousImage) {
+        this.previousImage = previousImage;
+    }
+
+    /**
+     * Called after a block is loaded from the previous image.
+     * @param fullyLoaded false if the block is skipped or only partially loaded
+     */
+    public void recordBlock(SRMetaBlockHeader header, long offset, long length, boolean fullyLoaded) {
+        SRMetaBlockID id = header.getSrMetaBlockID();
+        boolean sameFormat = header.isBinaryFormat() == SRMetaBlockWriter.isBinaryFormatEnabled(id);
+        if (!fullyLoaded || !sameFormat || ALWAYS_DIRTY_BLOCKS.contains(id) || blockLocations.containsKey(id)) {
+            reusableBlocks.remove(id);
+            return;
+        }
+        blockLocations.put(id, new BlockLocation(offset, length));
+        reusableBlocks.add(id);
+    }
+
+    /**
+     * Called after a journal is replayed.
+     */
+    public void markJournal(short opCode) {
+        Set<SRMetaBlockID> touched = OP_TOUCHED_BLOCKS.get(opCode);
+        if (touched != null) {
+            reusableBlocks.removeAll(touched);
+            return;
+        }
+        Set<SRMetaBlockID> untouched = OP_UNTOUCHED_BLOCKS.get(opCode);
+        if (untouched != null) {
+            reusableBlocks.retainAll(untouched);
+            return;
+        }
+        markAllDirty();
+    }
+
+    public void markAllDirty() {
+        reusableBlocks.clear();
+    }
+
+    public boolean canReuse(SRMetaBlockID id) {
+        return reusableBlocks.contains(id);
+    }
+
+    public Set<SRMetaBlockID> getReusableBlocks() {
+        return reusableBlocks;
+    }
+
+    @VisibleForTesting
+    static Set<Short> getTrackedOpCodes() {
+        return Sets.union(OP_TOUCHED_BLOCKS.keySet(), OP_UNTOUCHED_BLOCKS.keySet());
+    }
+
+    /**
+     * Copy the block from the previous image as it is.
+     */
+    public void copyBlock(SRMetaBlockID id, DataOutputStream dos) throws IOException {
+        BlockLocation location = blockLocations.get(id);
+        if (location == null) {
+            throw new IOException("meta block " + id + " is not found in previous image " + previousImage);
+        }
+        byte[] buffer = new byte[(int) Math.min(location.length, 1024 * 1024)];
+        try (RandomAccessFile file = new RandomAccessFile(previousImage, "r")) {
+            file.seek(location.offset);
+            long remaining = location.length;
+            while (remaining > 0) {
+                int n = (int) Math.min(remaining, buffer.length);
+                file.readFully(buffer, 0, n);
+                dos.write(buffer, 0, n);
+                remaining -= n;
+            }
+        }
+        LOG.info("copied meta block {} of {} bytes from previous image {}", id, location.length, previousImage);
+    }
+}
@@ -18,18 +18,32 @@ package com.starrocks.persist.metablock;
 import com.google.gson.annotations.SerializedName;
 
 public class SRMetaBlockHeader {
+    // each object is a json string
+    public static final int FORMAT_JSON = 0;
+    // each object is a length-prefixed binary json tree, see SRMetaBlockBinaryEncoder
+    public static final int FORMAT_BINARY = 1;
+
     @SerializedName(value = "n")
     private String name;
     @SerializedName(value = "i")
     private SRMetaBlockID srMetaBlockID;
     @SerializedName(value = "nj")
     private int numJson;
+    // absent in images written by old versions, which means FORMAT_JSON
+    @SerializedName(value = "f")
+    private int format = FORMAT_JSON;
 
     public SRMetaBlockHeader(SRMetaBlockID srMetaBlockID, int numJson) {
         this.srMetaBlockID = srMetaBlockID;
         this.numJson = numJson;
     }
 
+    public SRMetaBlockHeader(SRMetaBlockID srMetaBlockID, int numJson, int format) {
+        this.srMetaBlockID = srMetaBlockID;
+        this.numJson = numJson;
+        this.format = format;
+    }
+
     public SRMetaBlockHeader(String name, int numJson) {
         this.name = name;
         this.numJson = numJson;
@@ -39,6 +53,14 @@ public class SRMetaBlockHeader {
         return numJson;
     }
 
+    public int getFormat() {
+        return format;
+    }
+
+    public boolean isBinaryFormat() {
+        return format == FORMAT_BINARY;
+    }
+
     public SRMetaBlockID getSrMetaBlockID() {
         if (srMetaBlockID == null) {
             return SRMetaBlockID.INVALID;
@@ -15,14 +15,23 @@
 
 package com.starrocks.persist.metablock;
 
+import com.google.gson.JsonElement;
+import com.google.gson.JsonParser;
 import com.starrocks.common.io.Text;
 import com.starrocks.persist.gson.GsonUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.DataInputStream;
+import java.io.EOFException;
 import java.io.IOException;
 import java.lang.reflect.Type;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.zip.CRC32;
 import java.util.zip.CheckedInputStream;
 
@@ -43,6 +52,14 @@ import java.util.zip.CheckedInputStream;
  * |      footer      | {"checksum": xxx}
  * +------------------+
  * <p>
+ * Blocks written in SRMetaBlockHeader.FORMAT_BINARY are decoded by {@link SRMetaBlockBinaryDecoder},
+ * the format is recorded in the header so callers don't need to know which one was used.
+ * <p>
+ * If a parse executor is given, the reader reads up to prefetchDepth raw objects ahead of the caller and
+ * parses them into json trees on the executor, so the caller only has to bind the trees to java objects.
+ * Raw bytes are still read and checksummed in order on the caller thread, and objects are still returned
+ * in order, so loaders don't need to know whether prefetching is enabled.
+ * <p>
  * Usage see com.starrocks.persist.metablock.SRMetaBlockTest#testSimple()
  */
 public class SRMetaBlockReader {
@@ -50,33 +67,123 @@ public class SRMetaBlockReader {
     private final CheckedInputStream checkedInputStream;
     private SRMetaBlockHeader header;
     private int numJsonRead;
+    // number of json read from stream, may be larger than numJsonRead if prefetching is enabled
+    private int numJsonFetched;
+    private SRMetaBlockBinaryDecoder binaryDecoder;
+    private final ExecutorService parseExecutor;
+    private final int prefetchDepth;
+    private final Deque<Future<JsonElement>> prefetched = new ArrayDeque<>();
     // For backward compatibility reason
     private final String oldManagerClassName = "com.starrocks.privilege.PrivilegeManager";
 
     public SRMetaBlockReader(DataInputStream dis) throws IOException {
+        this(dis, null, 0);
+    }
+
+    public SRMetaBlockReader(DataInputStream dis, ExecutorService parseExecutor, int prefetchDepth)
+            throws IOException {
         this.checkedInputStream = new CheckedInputStream(dis, new CRC32());
         this.header = null;
         this.numJsonRead = 0;
+        this.numJsonFetched = 0;
+        this.parseExecutor = prefetchDepth > 0 ? parseExecutor : null;
+        this.prefetchDepth = prefetchDepth;
 
         String s = Text.readStringWithChecksum(checkedInputStream);
         header = GsonUtils.GSON.fromJson(s, SRMetaBlockHeader.class);
+        if (header.isBinaryFormat()) {
+            binaryDecoder = new SRMetaBlockBinaryDecoder();
+        }
     }
 
     public SRMetaBlockHeader getHeader() {
         return header;
     }
 
-    private String readJsonText() throws IOException, SRMetaBlockEOFException {
+    private void checkReadMoreThanExpect() throws SRMetaBlockEOFException {
         if (numJsonRead >= header.getNumJson()) {
             throw new SRMetaBlockEOFException(String.format(
                     "Read json more than expect: %d >= %d", numJsonRead, header.getNumJson()));
         }
+    }
+
+    private String readJsonText() throws IOException, SRMetaBlockEOFException {
+        checkReadMoreThanExpect();
         String s = Text.readStringWithChecksum(checkedInputStream);
         numJsonRead += 1;
+        numJsonFetched += 1;
         return s;
     }
 
+    private JsonElement readBinaryJsonTree() throws IOException, SRMetaBlockException, SRMetaBlockEOFException {
+        checkReadMoreThanExpect();
+        JsonElement element = binaryDecoder.decode(readBinaryBytes());
+        numJsonRead += 1;
+        numJsonFetched += 1;
+        return element;
+    }
+
+    private byte[] readBinaryBytes() throws IOException {
+        byte[] bytes = new byte[4];
+        readFully(bytes);
+        bytes = new byte[ByteBuffer.wrap(bytes).getInt()];
+        readFully(bytes);
+        return bytes;
+    }
+
+    private void readFully(byte[] bytes) throws IOException {
+        int offset = 0;
+        while (offset < bytes.length) {
+            int n = checkedInputStream.read(bytes, offset, bytes.length - offset);
+            if (n < 0) {
+                throw new EOFException(String.format("reach EOF: read expect %d actual %d!", bytes.length, offset));
+            }
+            offset += n;
+        }
+    }
+
+    private JsonElement readPrefetchedJsonTree() throws IOException, SRMetaBlockException, SRMetaBlockEOFException {
+        checkReadMoreThanExpect();
+        while (prefetched.size() < prefetchDepth && numJsonFetched < header.getNumJson()) {
+            prefetched.add(submitParse());
+            numJsonFetched += 1;
+        }
+        Future<JsonElement> future = prefetched.poll();
+        numJsonRead += 1;
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("interrupted while parsing meta block " + header.getSrMetaBlockID(), e);
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof SRMetaBlockException) {
+                throw (SRMetaBlockException) cause;
+            } else if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException("failed to parse meta block " + header.getSrMetaBlockID(), cause);
+        }
+    }
+
+    private Future<JsonElement> submitParse() throws IOException {
+        if (binaryDecoder == null) {
+            String s = Text.readStringWithChecksum(checkedInputStream);
+            return parseExecutor.submit(() -> JsonParser.parseString(s));
+        }
+
+        // every binary object has its own string dictionary, so objects are decoded independently,
+        // each by a decoder of its own since a decoder is not thread safe
+        byte[] bytes = readBinaryBytes();
+        return parseExecutor.submit(() -> new SRMetaBlockBinaryDecoder().decode(bytes));
+    }
+
     public <T> T readJson(Class<T> returnClass) throws IOException, SRMetaBlockException, SRMetaBlockEOFException {
+        if (parseExecutor != null) {
+            return GsonUtils.GSON.fromJson(readPrefetchedJsonTree(), returnClass);
+        } else if (binaryDecoder != null) {
+            return GsonUtils.GSON.fromJson(readBinaryJsonTree(), returnClass);
+        }
         return GsonUtils.GSON.fromJson(readJsonText(), returnClass);
     }
 
@@ -85,6 +192,11 @@ public class SRMetaBlockReader {
     }
 
     public Object readJson(Type returnType) throws IOException, SRMetaBlockException, SRMetaBlockEOFException {
+        if (parseExecutor != null) {
+            return GsonUtils.GSON.fromJson(readPrefetchedJsonTree(), returnType);
+        } else if (binaryDecoder != null) {
+            return GsonUtils.GSON.fromJson(readBinaryJsonTree(), returnType);
+        }
         return GsonUtils.GSON.fromJson(readJsonText(), returnType);
     }
 
@@ -99,8 +211,17 @@ public class SRMetaBlockReader {
             int rest = header.getNumJson() - numJsonRead;
             LOG.warn("Meta block for {} read {} json < total {} json, will skip the rest {} json",
                     header.getSrMetaBlockID(), numJsonRead, header.getNumJson(), rest);
-            for (int i = 0; i != rest; ++i) {
-                LOG.warn("skip {}th json: {}", i, Text.readStringWithChecksum(checkedInputStream));
+            // prefetched json have already been read from stream
+            for (Future<JsonElement> future : prefetched) {
+                future.cancel(false);
+            }
+            prefetched.clear();
+            for (int i = numJsonFetched - numJsonRead; i < rest; ++i) {
+                if (binaryDecoder != null) {
+                    LOG.warn("skip {}th binary json of {} bytes", i, readBinaryBytes().length);
+                } else {
+                    LOG.warn("skip {}th json: {}", i, Text.readStringWithChecksum(checkedInputStream));
+                }
             }
         }
 
@@ -116,4 +237,4 @@ public class SRMetaBlockReader {
                     "Invalid meta block, checksum mismatch! expect %d actual %d", footer.getChecksum(), checksum));
         }
     }
-}
\ No newline at end of file
+}
@@ -15,11 +15,14 @@
 
 package com.starrocks.persist.metablock;
 
+import com.starrocks.common.Config;
+import com.starrocks.common.io.DataOutputBuffer;
 import com.starrocks.common.io.Text;
 import com.starrocks.persist.gson.GsonUtils;
 
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.zip.CRC32;
 import java.util.zip.CheckedOutputStream;
 
@@ -40,12 +43,18 @@ import java.util.zip.CheckedOutputStream;
  * |      footer      | {"checksum": xxx}
  * +------------------+
  * <p>
+ * If the block id is listed in Config.image_binary_meta_block_ids, the header is marked with
+ * SRMetaBlockHeader.FORMAT_BINARY and every object is written as a length-prefixed binary json tree
+ * encoded by {@link SRMetaBlockBinaryEncoder} instead of a json string. Header and footer are always json,
+ * so blocks of both formats can be read side by side by {@link SRMetaBlockReader}.
+ * <p>
  * Usage see com.starrocks.persist.metablock.SRMetaBlockTest#testSimple()
  */
 public class SRMetaBlockWriter {
     private final CheckedOutputStream checkedOutputStream;
     private final SRMetaBlockHeader header;
     private int numJsonWritten;
+    private final SRMetaBlockBinaryEncoder binaryEncoder;
 
     @Deprecated
     public SRMetaBlockWriter(DataOutputStream dos, String name, int numJson) throws SRMetaBlockException {
@@ -55,15 +64,35 @@ public class SRMetaBlockWriter {
         this.checkedOutputStream = new CheckedOutputStream(dos, new CRC32());
         this.header = new SRMetaBlockHeader(name, numJson);
         this.numJsonWritten = 0;
+        this.binaryEncoder = null;
     }
 
     public SRMetaBlockWriter(DataOutputStream dos, SRMetaBlockID id, int numJson) throws SRMetaBlockException {
+        this(dos, id, numJson, isBinaryFormatEnabled(id) ?
+                SRMetaBlockHeader.FORMAT_BINARY : SRMetaBlockHeader.FORMAT_JSON);
+    }
+
+    public SRMetaBlockWriter(DataOutputStream dos, SRMetaBlockID id, int numJson, int format)
+            throws SRMetaBlockException {
         if (numJson <= 0) {
             throw new SRMetaBlockException(String.format("invalid numJson: %d", numJson));
         }
+        if (format != SRMetaBlockHeader.FORMAT_JSON && format != SRMetaBlockHeader.FORMAT_BINARY) {
+            throw new SRMetaBlockException(String.format("invalid meta block format: %d", format));
+        }
         this.checkedOutputStream = new CheckedOutputStream(dos, new CRC32());
-        this.header = new SRMetaBlockHeader(id, numJson);
+        this.header = new SRMetaBlockHeader(id, numJson, format);
         this.numJsonWritten = 0;
+        this.binaryEncoder = format == SRMetaBlockHeader.FORMAT_BINARY ? new SRMetaBlockBinaryEncoder() : null;
+    }
+
+    public static boolean isBinaryFormatEnabled(SRMetaBlockID id) {
+        for (int binaryId : Config.image_binary_meta_block_ids) {
+            if (binaryId == id.getId()) {
+                return true;
+            }
+        }
+        return false;
     }
 
     public void writeJson(Object object) throws IOException, SRMetaBlockException {
@@ -76,7 +105,13 @@ public class SRMetaBlockWriter {
             // write header
             Text.writeStringWithChecksum(checkedOutputStream, GsonUtils.GSON.toJson(header));
         }
-        Text.writeStringWithChecksum(checkedOutputStream, GsonUtils.GSON.toJson(object));
+        if (binaryEncoder != null) {
+            DataOutputBuffer buffer = binaryEncoder.encode(GsonUtils.GSON.toJsonTree(object));
+            checkedOutputStream.write(ByteBuffer.allocate(4).putInt(buffer.getLength()).array());
+            checkedOutputStream.write(buffer.getData(), 0, buffer.getLength());
+        } else {
+            Text.writeStringWithChecksum(checkedOutputStream, GsonUtils.GSON.toJson(object));
+        }
         numJsonWritten += 1;
     }
 
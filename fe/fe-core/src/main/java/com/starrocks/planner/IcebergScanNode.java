@@ -34,7 +34,8 @@ import com.starrocks.common.UserException;
 import com.starrocks.common.util.TimeUtils;
 import com.starrocks.connector.CatalogConnector;
 import com.starrocks.connector.PartitionUtil;
-import com.starrocks.connector.RemoteFileInfo;
+import com.starrocks.connector.RemoteFileDesc;
+import com.starrocks.connector.RemoteFileInfoSource;
 import com.starrocks.connector.exception.StarRocksConnectorException;
 import com.starrocks.connector.iceberg.IcebergApiConverter;
 import com.starrocks.connector.iceberg.IcebergRemoteFileDesc;
@@ -89,6 +90,8 @@ public class IcebergScanNode extends ScanNode {
     private ScalarOperator predicate = null;
     private CloudConfiguration cloudConfiguration = null;
     private final List<Integer> deleteColumnSlotIds = new ArrayList<>();
+    // the equality field ids of the equality delete files
+    private List<Integer> equalityIds = new ArrayList<>();
     private final TupleDescriptor equalityDeleteTupleDesc;
 
     public IcebergScanNode(PlanNodeId id, TupleDescriptor desc, String planNodeName, TupleDescriptor equalityDeleteTupleDesc) {
@@ -182,132 +185,133 @@ public class IcebergScanNode extends ScanNode {
         String catalogName = icebergTable.getCatalogName();
         long snapshotId = snapshot.get().snapshotId();
 
-        List<RemoteFileInfo> splits = GlobalStateMgr.getCurrentState().getMetadataMgr().getRemoteFileInfos(
-                catalogName, icebergTable, null, snapshotId, predicate, null, -1);
-
-        if (splits.isEmpty()) {
-            LOG.warn("There is no scan tasks after planFies on {}.{} and predicate: [{}]",
-                    icebergTable.getRemoteDbName(), icebergTable.getRemoteTableName(), predicate);
-            return;
+        Map<StructLike, Long> partitionKeyToId = Maps.newHashMap();
+        Map<Long, List<Integer>> idToPartitionSlots = Maps.newHashMap();
+        // the file scan tasks are turned into scan ranges batch by batch, and dropped after that
+        try (RemoteFileInfoSource source = GlobalStateMgr.getCurrentState().getMetadataMgr().getRemoteFileInfoSource(
+                catalogName, icebergTable, null, snapshotId, predicate, null, -1)) {
+            while (source.hasMoreOutput()) {
+                for (RemoteFileDesc remoteFileDesc : source.getOutput().getFiles()) {
+                    for (FileScanTask task : ((IcebergRemoteFileDesc) remoteFileDesc).getIcebergScanTasks()) {
+                        addScanRangeLocations(task, descTbl, partitionKeyToId, idToPartitionSlots);
+                    }
+                }
+            }
         }
 
-        IcebergRemoteFileDesc remoteFileDesc = (IcebergRemoteFileDesc) splits.get(0).getFiles().get(0);
-        if (remoteFileDesc == null) {
+        if (result.isEmpty()) {
             LOG.warn("There is no scan tasks after planFies on {}.{} and predicate: [{}]",
                     icebergTable.getRemoteDbName(), icebergTable.getRemoteTableName(), predicate);
-            return;
         }
 
-        Map<StructLike, Long> partitionKeyToId = Maps.newHashMap();
-        Map<Long, List<Integer>> idToPartitionSlots = Maps.newHashMap();
-        List<Integer> currentEqualityIds = new ArrayList<>();
-        for (FileScanTask task : remoteFileDesc.getIcebergScanTasks()) {
-            DataFile file = task.file();
-            LOG.debug("Scan with file " + file.path() + ", file record count " + file.recordCount());
-            if (file.fileSizeInBytes() == 0) {
-                continue;
-            }
-
-            StructLike partition = task.file().partition();
-            long partitionId = 0;
-            if (!partitionKeyToId.containsKey(partition)) {
-                partitionId = icebergTable.nextPartitionId();
-                partitionKeyToId.put(partition, partitionId);
-                BiMap<Integer, PartitionField> indexToField = getIdentityPartitions(task.spec());
-                if (!indexToField.isEmpty()) {
-                    List<Integer> partitionSlotIds = task.spec().fields().stream()
-                            .map(x -> desc.getColumnSlot(x.name()))
-                            .filter(Objects::nonNull)
-                            .map(SlotDescriptor::getId)
-                            .map(SlotId::asInt)
-                            .collect(Collectors.toList());
-                    List<Integer> indexes = task.spec().fields().stream()
-                            .filter(x -> desc.getColumnSlot(x.name()) != null)
-                            .map(x -> indexToField.inverse().get(x))
-                            .collect(Collectors.toList());
-                    PartitionKey partitionKey = getPartitionKey(partition, task.spec(), indexes, indexToField);
-
-                    DescriptorTable.ReferencedPartitionInfo partitionInfo =
-                            new DescriptorTable.ReferencedPartitionInfo(partitionId, partitionKey);
-
-                    descTbl.addReferencedPartitions(icebergTable, partitionInfo);
-                    idToPartitionSlots.put(partitionId, partitionSlotIds);
-                }
-            }
+        if (!equalityIds.isEmpty()) {
+            icebergTable.setIdentifierFieldIds(ImmutableSet.copyOf(equalityIds));
+        }
 
-            partitionId = partitionKeyToId.get(partition);
+        scanNodePredicates.setSelectedPartitionIds(partitionKeyToId.values());
+    }
 
-            TScanRangeLocations scanRangeLocations = new TScanRangeLocations();
+    private void addScanRangeLocations(FileScanTask task, DescriptorTable descTbl, Map<StructLike, Long> partitionKeyToId,
+                                       Map<Long, List<Integer>> idToPartitionSlots) {
+        DataFile file = task.file();
+        LOG.debug("Scan with file " + file.path() + ", file record count " + file.recordCount());
+        if (file.fileSizeInBytes() == 0) {
+            return;
+        }
 
-            THdfsScanRange hdfsScanRange = new THdfsScanRange();
-            if (file.path().toString().startsWith(icebergTable.getTableLocation())) {
-                hdfsScanRange.setRelative_path(file.path().toString().substring(icebergTable.getTableLocation().length()));
-            } else {
-                hdfsScanRange.setFull_path(file.path().toString());
+        StructLike partition = task.file().partition();
+        long partitionId = 0;
+        if (!partitionKeyToId.containsKey(partition)) {
+            partitionId = icebergTable.nextPartitionId();
+            partitionKeyToId.put(partition, partitionId);
+            BiMap<Integer, PartitionField> indexToField = getIdentityPartitions(task.spec());
+            if (!indexToField.isEmpty()) {
+                List<Integer> partitionSlotIds = task.spec().fields().stream()
+                        .map(x -> desc.getColumnSlot(x.name()))
+                        .filter(Objects::nonNull)
+                        .map(SlotDescriptor::getId)
+                        .map(SlotId::asInt)
+                        .collect(Collectors.toList());
+                List<Integer> indexes = task.spec().fields().stream()
+                        .filter(x -> desc.getColumnSlot(x.name()) != null)
+                        .map(x -> indexToField.inverse().get(x))
+                        .collect(Collectors.toList());
+                PartitionKey partitionKey = getPartitionKey(partition, task.spec(), indexes, indexToField);
+
+                DescriptorTable.ReferencedPartitionInfo partitionInfo =
+                        new DescriptorTable.ReferencedPartitionInfo(partitionId, partitionKey);
+
+                descTbl.addReferencedPartitions(icebergTable, partitionInfo);
+                idToPartitionSlots.put(partitionId, partitionSlotIds);
             }
-            hdfsScanRange.setOffset(task.start());
-            hdfsScanRange.setLength(task.length());
-            // For iceberg table we do not need partition id
-            if (!idToPartitionSlots.containsKey(partitionId)) {
-                hdfsScanRange.setPartition_id(-1);
-            } else {
-                hdfsScanRange.setPartition_id(partitionId);
-                hdfsScanRange.setIdentity_partition_slot_ids(idToPartitionSlots.get(partitionId));
-            }
-            hdfsScanRange.setFile_length(file.fileSizeInBytes());
-            // Iceberg data file cannot be overwritten
-            hdfsScanRange.setModification_time(0);
-            hdfsScanRange.setFile_format(IcebergApiConverter.getHdfsFileFormat(file.format()).toThrift());
-
-            List<TIcebergDeleteFile> deleteFiles = new ArrayList<>();
-            for (DeleteFile deleteFile : task.deletes()) {
-                FileContent content = deleteFile.content();
-                if (content == FileContent.EQUALITY_DELETES) {
-                    List<Integer> taskEqualityFieldIds = deleteFile.equalityFieldIds();
-                    if (taskEqualityFieldIds.isEmpty()) {
-                        continue;
-                    }
-                    if (!currentEqualityIds.isEmpty() && !currentEqualityIds.equals(taskEqualityFieldIds)) {
-                        throw new StarRocksConnectorException("Schema change of equality columns changed is not supported");
-                    }
+        }
 
-                    if (currentEqualityIds.isEmpty()) {
-                        currentEqualityIds = taskEqualityFieldIds;
-                        prepareRequiredColumnsForDeletes(currentEqualityIds);
-                    }
-                }
+        partitionId = partitionKeyToId.get(partition);
 
-                TIcebergDeleteFile target = new TIcebergDeleteFile();
-                target.setFull_path(deleteFile.path().toString());
-                target.setFile_content(content == FileContent.EQUALITY_DELETES ? TIcebergFileContent.EQUALITY_DELETES :
-                        TIcebergFileContent.POSITION_DELETES);
-                target.setLength(deleteFile.fileSizeInBytes());
-                deleteFiles.add(target);
-            }
+        TScanRangeLocations scanRangeLocations = new TScanRangeLocations();
 
-            if (!deleteFiles.isEmpty()) {
-                hdfsScanRange.setDelete_files(deleteFiles);
-            }
+        THdfsScanRange hdfsScanRange = new THdfsScanRange();
+        if (file.path().toString().startsWith(icebergTable.getTableLocation())) {
+            hdfsScanRange.setRelative_path(file.path().toString().substring(icebergTable.getTableLocation().length()));
+        } else {
+            hdfsScanRange.setFull_path(file.path().toString());
+        }
+        hdfsScanRange.setOffset(task.start());
+        hdfsScanRange.setLength(task.length());
+        // For iceberg table we do not need partition id
+        if (!idToPartitionSlots.containsKey(partitionId)) {
+            hdfsScanRange.setPartition_id(-1);
+        } else {
+            hdfsScanRange.setPartition_id(partitionId);
+            hdfsScanRange.setIdentity_partition_slot_ids(idToPartitionSlots.get(partitionId));
+        }
+        hdfsScanRange.setFile_length(file.fileSizeInBytes());
+        // Iceberg data file cannot be overwritten
+        hdfsScanRange.setModification_time(0);
+        hdfsScanRange.setFile_format(IcebergApiConverter.getHdfsFileFormat(file.format()).toThrift());
+
+        List<TIcebergDeleteFile> deleteFiles = new ArrayList<>();
+        for (DeleteFile deleteFile : task.deletes()) {
+            FileContent content = deleteFile.content();
+            if (content == FileContent.EQUALITY_DELETES) {
+                List<Integer> taskEqualityFieldIds = deleteFile.equalityFieldIds();
+                if (taskEqualityFieldIds.isEmpty()) {
+                    continue;
+                }
+                if (!equalityIds.isEmpty() && !equalityIds.equals(taskEqualityFieldIds)) {
+                    throw new StarRocksConnectorException("Schema change of equality columns changed is not supported");
+                }
 
-            if (!deleteColumnSlotIds.isEmpty()) {
-                hdfsScanRange.setDelete_column_slot_ids(deleteColumnSlotIds);
+                if (equalityIds.isEmpty()) {
+                    equalityIds = taskEqualityFieldIds;
+                    prepareRequiredColumnsForDeletes(equalityIds);
+                }
             }
 
-            TScanRange scanRange = new TScanRange();
-            scanRange.setHdfs_scan_range(hdfsScanRange);
-            scanRangeLocations.setScan_range(scanRange);
-
-            TScanRangeLocation scanRangeLocation = new TScanRangeLocation(new TNetworkAddress("-1", -1));
-            scanRangeLocations.addToLocations(scanRangeLocation);
+            TIcebergDeleteFile target = new TIcebergDeleteFile();
+            target.setFull_path(deleteFile.path().toString());
+            target.setFile_content(content == FileContent.EQUALITY_DELETES ? TIcebergFileContent.EQUALITY_DELETES :
+                    TIcebergFileContent.POSITION_DELETES);
+            target.setLength(deleteFile.fileSizeInBytes());
+            deleteFiles.add(target);
+        }
 
-            result.add(scanRangeLocations);
+        if (!deleteFiles.isEmpty()) {
+            hdfsScanRange.setDelete_files(deleteFiles);
         }
 
-        if (!currentEqualityIds.isEmpty()) {
-            icebergTable.setIdentifierFieldIds(ImmutableSet.copyOf(currentEqualityIds));
+        if (!deleteColumnSlotIds.isEmpty()) {
+            hdfsScanRange.setDelete_column_slot_ids(deleteColumnSlotIds);
         }
 
-        scanNodePredicates.setSelectedPartitionIds(partitionKeyToId.values());
+        TScanRange scanRange = new TScanRange();
+        scanRange.setHdfs_scan_range(hdfsScanRange);
+        scanRangeLocations.setScan_range(scanRange);
+
+        TScanRangeLocation scanRangeLocation = new TScanRangeLocation(new TNetworkAddress("-1", -1));
+        scanRangeLocations.addToLocations(scanRangeLocation);
+
+        result.add(scanRangeLocations);
     }
 
     private void prepareRequiredColumnsForDeletes(List<Integer> equalityIds) {
@@ -14,6 +14,8 @@
 
 package com.starrocks.qe;
 
+import com.google.common.collect.Sets;
+import com.starrocks.catalog.MvId;
 import com.starrocks.catalog.OlapTable;
 import com.starrocks.sql.analyzer.QueryAnalyzer;
 import com.starrocks.sql.ast.PrepareStmt;
@@ -22,6 +24,8 @@ import com.starrocks.sql.ast.SelectRelation;
 import com.starrocks.sql.ast.TableRelation;
 import com.starrocks.sql.plan.ExecPlan;
 
+import java.util.Set;
+
 public class PrepareStmtContext {
     private final PrepareStmt stmt;
     private final ConnectContext connectContext;
@@ -29,6 +33,10 @@ public class PrepareStmtContext {
     private boolean isCached = false;
     private long lastSchemaUpdateTime = -1;
     private long tableId = -1;
+    // the cached plan is pruned against a snapshot of the table, so it is stale once partitions
+    // are added or dropped, or the materialized views which may rewrite the query change
+    private long partitionChangeVersion = -1;
+    private Set<MvId> relatedMvIds = null;
 
     public PrepareStmtContext(PrepareStmt stmt, ConnectContext connectContext, ExecPlan execPlan) {
         this.stmt = stmt;
@@ -63,6 +71,13 @@ public class PrepareStmtContext {
         OlapTable table = (OlapTable) queryAnalyzer.resolveTable(tableRelation);
         this.lastSchemaUpdateTime = table.lastSchemaUpdateTime.get();
         this.tableId = table.getId();
+        this.partitionChangeVersion = table.getPartitionChangeVersion();
+        this.relatedMvIds = getRelatedMvIds(table);
+    }
+
+    private static Set<MvId> getRelatedMvIds(OlapTable table) {
+        Set<MvId> mvIds = table.getRelatedMaterializedViews();
+        return mvIds == null ? Sets.newHashSet() : Sets.newHashSet(mvIds);
     }
 
     public void cachePlan(ExecPlan execPlan) {
@@ -83,6 +98,12 @@ public class PrepareStmtContext {
         if (tableId != this.tableId) {
             return true;
         }
+        if (partitionChangeVersion != table.getPartitionChangeVersion()) {
+            return true;
+        }
+        if (relatedMvIds == null || !relatedMvIds.equals(getRelatedMvIds(table))) {
+            return true;
+        }
         return false;
     }
 
@@ -90,6 +111,8 @@ public class PrepareStmtContext {
         this.isCached = false;
         this.lastSchemaUpdateTime = -1;
         this.tableId = -1;
+        this.partitionChangeVersion = -1;
+        this.relatedMvIds = null;
         this.execPlan = null;
     }
 }
@@ -34,6 +34,7 @@
 
 package com.starrocks.qe;
 
+import com.starrocks.common.Config;
 import com.starrocks.common.Status;
 import com.starrocks.common.util.DebugUtil;
 import com.starrocks.metric.MetricRepo;
@@ -66,6 +67,9 @@ public class ResultReceiver {
     private final PUniqueId finstId;
     private final Long backendId;
     private Thread currentThread;
+    // the fetch of the next batch issued before the current batch is consumed
+    private PFetchDataRequest prefetchRequest;
+    private Future<PFetchDataResult> prefetchFuture;
 
     public ResultReceiver(TUniqueId tid, Long backendId, TNetworkAddress address, int timeoutMs) {
         this.finstId = new PUniqueId();
@@ -83,10 +87,18 @@ public class ResultReceiver {
         final RowBatch rowBatch = new RowBatch();
         try {
             while (!isDone && !isCancel) {
-                PFetchDataRequest request = new PFetchDataRequest(finstId);
-
                 currentThread = Thread.currentThread();
-                Future<PFetchDataResult> future = BackendServiceClient.getInstance().fetchDataAsync(address, request);
+                PFetchDataRequest request;
+                Future<PFetchDataResult> future;
+                if (prefetchFuture != null) {
+                    request = prefetchRequest;
+                    future = prefetchFuture;
+                    prefetchRequest = null;
+                    prefetchFuture = null;
+                } else {
+                    request = new PFetchDataRequest(finstId);
+                    future = BackendServiceClient.getInstance().fetchDataAsync(address, request);
+                }
                 PFetchDataResult pResult = null;
                 while (pResult == null) {
                     long currentTs = System.currentTimeMillis();
@@ -120,6 +132,9 @@ public class ResultReceiver {
 
                 packetIdx++;
                 isDone = pResult.eos;
+                if (!isDone && Config.enable_result_prefetch) {
+                    prefetch();
+                }
 
                 byte[] serialResult = request.getSerializedResult();
                 if (serialResult != null && serialResult.length > 0) {
@@ -165,6 +180,17 @@ public class ResultReceiver {
         return rowBatch;
     }
 
+    private void prefetch() {
+        PFetchDataRequest request = new PFetchDataRequest(finstId);
+        try {
+            prefetchFuture = BackendServiceClient.getInstance().fetchDataAsync(address, request);
+            prefetchRequest = request;
+        } catch (RpcException e) {
+            // the error will be reported by the next fetch
+            LOG.warn("prefetch result rpc exception, finstId={}", DebugUtil.printId(finstId), e);
+        }
+    }
+
     public void cancel() {
         isCancel = true;
         synchronized (this) {
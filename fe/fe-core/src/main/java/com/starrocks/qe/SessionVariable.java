@@ -598,6 +598,9 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
 
     public static final String ENABLE_MATERIALIZED_VIEW_PLAN_CACHE = "enable_materialized_view_plan_cache";
 
+    public static final String ENABLE_MATERIALIZED_VIEW_PLAN_PARALLEL_LOAD =
+            "enable_materialized_view_plan_parallel_load";
+
     public static final String ENABLE_VIEW_BASED_MV_REWRITE = "enable_view_based_mv_rewrite";
 
     public static final String ENABLE_CBO_VIEW_BASED_MV_REWRITE = "enable_cbo_view_based_mv_rewrite";
@@ -1792,6 +1795,11 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
     @VarAttr(name = ENABLE_MATERIALIZED_VIEW_PLAN_CACHE, flag = VariableMgr.INVISIBLE)
     private boolean enableMaterializedViewPlanCache = true;
 
+    // whether to build the plans of related mvs concurrently when preparing mv rewrite, it helps
+    // complex queries with many related mvs whose plans are not in the mv plan cache yet
+    @VarAttr(name = ENABLE_MATERIALIZED_VIEW_PLAN_PARALLEL_LOAD)
+    private boolean enableMaterializedViewPlanParallelLoad = false;
+
     @VarAttr(name = ENABLE_VIEW_BASED_MV_REWRITE)
     private boolean enableViewBasedMvRewrite = true;
 
@@ -3487,6 +3495,14 @@ public class SessionVariable implements Serializable, Writable, Cloneable {
         return this.enableMaterializedViewPlanCache;
     }
 
+    public void setEnableMaterializedViewPlanParallelLoad(boolean enableMaterializedViewPlanParallelLoad) {
+        this.enableMaterializedViewPlanParallelLoad = enableMaterializedViewPlanParallelLoad;
+    }
+
+    public boolean isEnableMaterializedViewPlanParallelLoad() {
+        return this.enableMaterializedViewPlanParallelLoad;
+    }
+
     public void setEnableViewBasedMvRewrite(boolean enableViewBasedMvRewrite) {
         this.enableViewBasedMvRewrite = enableViewBasedMvRewrite;
     }
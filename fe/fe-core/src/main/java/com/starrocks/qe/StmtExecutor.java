@@ -1133,12 +1133,10 @@ public class StmtExecutor {
                         channel.initBuffer(bufferSize + 8);
                     }
 
-                    for (ByteBuffer row : batch.getBatch().getRows()) {
-                        if (isProxy) {
-                            proxyResultBuffer.add(row);
-                        } else {
-                            channel.sendOnePacket(row);
-                        }
+                    if (isProxy) {
+                        proxyResultBuffer.addAll(batch.getBatch().getRows());
+                    } else {
+                        channel.sendPackets(batch.getBatch().getRows());
                     }
                     context.updateReturnRows(batch.getBatch().getRows().size());
                 }
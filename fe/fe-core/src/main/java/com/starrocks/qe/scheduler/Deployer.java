@@ -15,9 +15,13 @@
 package com.starrocks.qe.scheduler;
 
 import com.google.api.client.util.Sets;
+import com.google.common.annotations.VisibleForTesting;
 import com.google.common.base.Preconditions;
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableList;
+import com.starrocks.common.Config;
 import com.starrocks.common.Status;
+import com.starrocks.common.ThreadPoolManager;
 import com.starrocks.common.UserException;
 import com.starrocks.common.profile.Timer;
 import com.starrocks.common.profile.Tracers;
@@ -39,9 +43,13 @@ import org.apache.logging.log4j.Logger;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.stream.Collectors;
 
 import static com.starrocks.qe.scheduler.dag.FragmentInstanceExecState.DeploymentResult;
@@ -52,6 +60,10 @@ import static com.starrocks.qe.scheduler.dag.FragmentInstanceExecState.Deploymen
 public class Deployer {
     private static final Logger LOG = LogManager.getLogger(Deployer.class);
 
+    private static final ThreadPoolExecutor DEPLOY_EXECUTOR =
+            ThreadPoolManager.newDaemonFixedThreadPool(Config.deploy_concurrency_threads_num, Integer.MAX_VALUE,
+                    "fragment-deployer", true);
+
     private final JobSpec jobSpec;
     private final ExecutionDAG executionDAG;
 
@@ -93,23 +105,22 @@ public class Deployer {
         List<List<FragmentInstanceExecState>> threeStageExecutionsToDeploy =
                 ImmutableList.of(new ArrayList<>(), new ArrayList<>(), new ArrayList<>());
 
-        concurrentFragments.forEach(fragment -> this.createFragmentInstanceExecStates(fragment, threeStageExecutionsToDeploy));
+        try (Timer ignored = Tracers.watchScope(Tracers.Module.SCHEDULER, "DeployCreateRequestTime")) {
+            concurrentFragments.forEach(
+                    fragment -> this.createFragmentInstanceExecStates(fragment, threeStageExecutionsToDeploy));
+        }
 
         if (!needDeploy) {
             return;
         }
 
-        if (enablePlanSerializeConcurrently) {
-            try (Timer ignored = Tracers.watchScope(Tracers.Module.SCHEDULER, "DeploySerializeConcurrencyTime")) {
-                threeStageExecutionsToDeploy.stream().parallel().forEach(
-                        executions -> executions.stream().parallel()
-                                .forEach(FragmentInstanceExecState::serializeRequest));
-            }
-        }
-
         for (List<FragmentInstanceExecState> executions : threeStageExecutionsToDeploy) {
             try (Timer ignored = Tracers.watchScope(Tracers.Module.SCHEDULER, "DeployStageByStageTime")) {
-                executions.forEach(FragmentInstanceExecState::deployAsync);
+                if (enablePlanSerializeConcurrently) {
+                    deployConcurrently(executions);
+                } else {
+                    executions.forEach(FragmentInstanceExecState::deployAsync);
+                }
             }
             try (Timer ignored = Tracers.watchScope(Tracers.Module.SCHEDULER, "DeployWaitTime")) {
                 waitForDeploymentCompletion(executions);
@@ -117,6 +128,71 @@ public class Deployer {
         }
     }
 
+    /**
+     * Serialize and send the requests of different workers concurrently in {@link #DEPLOY_EXECUTOR},
+     * while the requests to the same worker are still sent in order.
+     * The requests to the first worker are sent by the calling thread, so that every query makes progress
+     * even if the shared executor is busy with the other queries.
+     */
+    @VisibleForTesting
+    static void deployConcurrently(List<FragmentInstanceExecState> executions) throws UserException {
+        Map<Long, List<FragmentInstanceExecState>> workerIdToExecutions = executions.stream()
+                .collect(Collectors.groupingBy(execution -> execution.getWorker().getId(),
+                        LinkedHashMap::new, Collectors.toList()));
+        if (workerIdToExecutions.size() <= 1) {
+            executions.forEach(Deployer::serializeAndDeploy);
+            return;
+        }
+
+        adjustDeployExecutorSize();
+        List<List<FragmentInstanceExecState>> workerExecutionsList = new ArrayList<>(workerIdToExecutions.values());
+        List<Future<?>> futures = new ArrayList<>(workerExecutionsList.size() - 1);
+        for (List<FragmentInstanceExecState> workerExecutions : workerExecutionsList.subList(1, workerExecutionsList.size())) {
+            futures.add(DEPLOY_EXECUTOR.submit(() -> workerExecutions.forEach(Deployer::serializeAndDeploy)));
+        }
+        RuntimeException failure = null;
+        try {
+            workerExecutionsList.get(0).forEach(Deployer::serializeAndDeploy);
+        } catch (RuntimeException e) {
+            // still wait for the other workers, so that the failure is handled after all the requests are sent
+            failure = e;
+        }
+        try {
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UserException("interrupted when deploying fragment instances", e);
+        } catch (ExecutionException e) {
+            Throwables.throwIfUnchecked(e.getCause());
+            throw new UserException(e.getCause());
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static synchronized void adjustDeployExecutorSize() {
+        int newNumThreads = Config.deploy_concurrency_threads_num;
+        int oldNumThreads = DEPLOY_EXECUTOR.getMaximumPoolSize();
+        if (newNumThreads <= 0 || newNumThreads == oldNumThreads) {
+            return;
+        }
+        if (newNumThreads < oldNumThreads) {
+            DEPLOY_EXECUTOR.setCorePoolSize(newNumThreads);
+            DEPLOY_EXECUTOR.setMaximumPoolSize(newNumThreads);
+        } else {
+            DEPLOY_EXECUTOR.setMaximumPoolSize(newNumThreads);
+            DEPLOY_EXECUTOR.setCorePoolSize(newNumThreads);
+        }
+    }
+
+    private static void serializeAndDeploy(FragmentInstanceExecState execution) {
+        execution.serializeRequest();
+        execution.deployAsync();
+    }
+
     public interface FailureHandler {
         void apply(Status status, FragmentInstanceExecState execution, Throwable failure) throws RpcException, UserException;
     }
@@ -19,6 +19,7 @@ import com.google.common.collect.Lists;
 import com.starrocks.planner.ExportSink;
 import com.starrocks.planner.MultiCastPlanFragment;
 import com.starrocks.planner.PlanFragment;
+import com.starrocks.planner.PlanFragmentId;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.qe.SessionVariable;
 import com.starrocks.qe.scheduler.dag.ExecutionDAG;
@@ -31,6 +32,7 @@ import com.starrocks.thrift.TDescriptorTable;
 import com.starrocks.thrift.TExecPlanFragmentParams;
 import com.starrocks.thrift.TFunctionVersion;
 import com.starrocks.thrift.TNetworkAddress;
+import com.starrocks.thrift.TPlanFragment;
 import com.starrocks.thrift.TPlanFragmentDestination;
 import com.starrocks.thrift.TPlanFragmentExecParams;
 import com.starrocks.thrift.TPredicateTreeParams;
@@ -39,7 +41,9 @@ import com.starrocks.thrift.TQueryQueueOptions;
 
 import java.util.ArrayList;
 import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 public class TFragmentInstanceFactory {
     private final ConnectContext context;
@@ -47,6 +51,10 @@ public class TFragmentInstanceFactory {
     private final ExecutionDAG executionDAG;
     private final TNetworkAddress coordAddress;
 
+    // Converting the plan tree to thrift is the most expensive part of creating a request,
+    // so the thrift plan fragment is created once and shared by all the instances of the fragment.
+    private final Map<PlanFragmentId, TPlanFragment> fragmentIdToTPlanFragment = new HashMap<>();
+
     public TFragmentInstanceFactory(ConnectContext context,
                                     JobSpec jobSpec,
                                     ExecutionDAG executionDAG,
@@ -103,7 +111,7 @@ public class TFragmentInstanceFactory {
         boolean isEnablePipelineTableSinkDop = isEnablePipeline && fragment.hasTableSink();
 
         result.setProtocol_version(InternalServiceVersion.V1);
-        result.setFragment(fragment.toThrift());
+        result.setFragment(toThriftPlanFragment(fragment));
         result.setDesc_tbl(descTable);
         result.setFunc_version(TFunctionVersion.RUNTIME_FILTER_SERIALIZE_VERSION_2.getValue());
         result.setCoord(coordAddress);
@@ -168,6 +176,14 @@ public class TFragmentInstanceFactory {
         }
     }
 
+    private TPlanFragment toThriftPlanFragment(PlanFragment fragment) {
+        // The output sink of these fragments is modified for each instance.
+        if (fragment instanceof MultiCastPlanFragment || fragment.getSink() instanceof ExportSink) {
+            return fragment.toThrift();
+        }
+        return fragmentIdToTPlanFragment.computeIfAbsent(fragment.getFragmentId(), id -> fragment.toThrift());
+    }
+
     private void toThriftForUniqueParams(TExecPlanFragmentParams result,
                                          FragmentInstance instance,
                                          int accTabletSinkDop) {
@@ -40,6 +40,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.io.CountingInputStream;
 import com.starrocks.alter.AlterJobMgr;
 import com.starrocks.alter.CompactionHandler;
 import com.starrocks.alter.MaterializedViewHandler;
@@ -159,11 +160,13 @@ import com.starrocks.persist.ImageHeader;
 import com.starrocks.persist.OperationType;
 import com.starrocks.persist.Storage;
 import com.starrocks.persist.gson.GsonUtils;
+import com.starrocks.persist.metablock.SRMetaBlockDirtyTracker;
 import com.starrocks.persist.metablock.SRMetaBlockEOFException;
 import com.starrocks.persist.metablock.SRMetaBlockException;
 import com.starrocks.persist.metablock.SRMetaBlockID;
 import com.starrocks.persist.metablock.SRMetaBlockLoader;
 import com.starrocks.persist.metablock.SRMetaBlockReader;
+import com.starrocks.persist.metablock.SRMetaBlockSaver;
 import com.starrocks.plugin.PluginMgr;
 import com.starrocks.privilege.AccessControlProvider;
 import com.starrocks.privilege.AuthorizationMgr;
@@ -201,6 +204,7 @@ import com.starrocks.sql.parser.AstBuilder;
 import com.starrocks.sql.parser.SqlParser;
 import com.starrocks.statistic.AnalyzeMgr;
 import com.starrocks.statistic.StatisticAutoCollector;
+import com.starrocks.statistic.StatisticsCacheSnapshotDaemon;
 import com.starrocks.statistic.StatisticsMetaManager;
 import com.starrocks.system.Backend;
 import com.starrocks.system.ComputeNode;
@@ -241,6 +245,7 @@ import java.util.Optional;
 import java.util.Set;
 import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Future;
 import java.util.concurrent.FutureTask;
 import java.util.concurrent.TimeUnit;
@@ -256,6 +261,8 @@ public class GlobalStateMgr {
     // will break the loop and refresh in-memory data after at most 10w logs or at most 1 seconds
     private static final long REPLAYER_MAX_MS_PER_LOOP = 1000L;
     private static final long REPLAYER_MAX_LOGS_PER_LOOP = 100000L;
+    // how many json each image parser thread may parse ahead of the meta block loader
+    private static final int IMAGE_LOAD_PREFETCH_PER_THREAD = 64;
 
     /**
      * Meta and Image context
@@ -329,6 +336,11 @@ public class GlobalStateMgr {
     // replica and observer use this value to decide provide read service or not
     private long synchronizedTimeMs;
 
+    // Only used by checkpoint thread to save an incremental image, in which the meta blocks
+    // not modified since the loaded image are copied from it instead of being serialized again.
+    private boolean trackImageDirtyBlocks = false;
+    private SRMetaBlockDirtyTracker imageDirtyTracker;
+
     private final CatalogIdGenerator idGenerator = new CatalogIdGenerator(NEXT_ID_INIT_VALUE);
 
     private EditLog editLog;
@@ -396,6 +408,7 @@ public class GlobalStateMgr {
     private final StatisticsMetaManager statisticsMetaManager;
 
     private final StatisticAutoCollector statisticAutoCollector;
+    private final StatisticsCacheSnapshotDaemon statisticsCacheSnapshotDaemon;
 
     private final SafeModeChecker safeModeChecker;
 
@@ -613,6 +626,7 @@ public class GlobalStateMgr {
         this.updateDbUsedDataQuotaDaemon = new UpdateDbUsedDataQuotaDaemon();
         this.statisticsMetaManager = new StatisticsMetaManager();
         this.statisticAutoCollector = new StatisticAutoCollector();
+        this.statisticsCacheSnapshotDaemon = new StatisticsCacheSnapshotDaemon();
         this.safeModeChecker = new SafeModeChecker();
         this.statisticStorage = new CachedStatisticStorage();
 
@@ -1374,6 +1388,8 @@ public class GlobalStateMgr {
 
         lockChecker.start();
 
+        statisticsCacheSnapshotDaemon.start();
+
         refreshDictionaryCacheTaskDaemon.start();
 
         // The memory tracker should be placed at the end
@@ -1422,6 +1438,7 @@ public class GlobalStateMgr {
         replayedJournalId.set(storage.getImageJournalId());
         LOG.info("start load image from {}. is ckpt: {}", curFile.getAbsolutePath(),
                 GlobalStateMgr.isCheckpointThread());
+        imageDirtyTracker = trackImageDirtyBlocks ? new SRMetaBlockDirtyTracker(curFile) : null;
         long loadImageStartTime = System.currentTimeMillis();
 
         Map<SRMetaBlockID, SRMetaBlockLoader> loadImages = ImmutableMap.<SRMetaBlockID, SRMetaBlockLoader>builder()
@@ -1457,11 +1474,22 @@ public class GlobalStateMgr {
                 .build();
 
         Set<SRMetaBlockID> metaMgrMustExists = new HashSet<>(loadImages.keySet());
-        try (DataInputStream dis = new DataInputStream(new BufferedInputStream(Files.newInputStream(curFile.toPath())))) {
+        // Json of a meta block is parsed on this pool ahead of the loader, loaders are still applied
+        // in image order on this thread because they may depend on each other.
+        int parallelism = Config.image_load_parallelism;
+        ExecutorService parseExecutor = parallelism > 1 ?
+                ThreadPoolManager.newDaemonFixedThreadPool(parallelism, parallelism * IMAGE_LOAD_PREFETCH_PER_THREAD,
+                        "image-load-parser", false) : null;
+        int prefetchDepth = parallelism > 1 ? parallelism * IMAGE_LOAD_PREFETCH_PER_THREAD : 0;
+        CountingInputStream countingInputStream =
+                new CountingInputStream(new BufferedInputStream(Files.newInputStream(curFile.toPath())));
+        try (DataInputStream dis = new DataInputStream(countingInputStream)) {
             loadHeader(dis);
             while (true) {
-                SRMetaBlockReader reader = new SRMetaBlockReader(dis);
+                long blockOffset = countingInputStream.getCount();
+                SRMetaBlockReader reader = new SRMetaBlockReader(dis, parseExecutor, prefetchDepth);
                 SRMetaBlockID srMetaBlockID = reader.getHeader().getSrMetaBlockID();
+                boolean fullyLoaded = false;
 
                 try {
                     SRMetaBlockLoader imageLoader = loadImages.get(srMetaBlockID);
@@ -1479,6 +1507,7 @@ public class GlobalStateMgr {
                     }
 
                     imageLoader.apply(reader);
+                    fullyLoaded = true;
                     metaMgrMustExists.remove(srMetaBlockID);
                     LOG.info("Success load StarRocks meta block " + srMetaBlockID + " from image");
                 } catch (SRMetaBlockEOFException srMetaBlockEOFException) {
@@ -1489,6 +1518,10 @@ public class GlobalStateMgr {
                     LOG.warn("Got EOF exception, ignore, ", srMetaBlockEOFException);
                 } finally {
                     reader.close();
+                    if (imageDirtyTracker != null) {
+                        imageDirtyTracker.recordBlock(reader.getHeader(), blockOffset,
+                                countingInputStream.getCount() - blockOffset, fullyLoaded);
+                    }
                 }
             }
         } catch (EOFException exception) {
@@ -1502,6 +1535,10 @@ public class GlobalStateMgr {
         } catch (SRMetaBlockException e) {
             LOG.error("load meta block failed ", e);
             throw new IOException("load meta block failed ", e);
+        } finally {
+            if (parseExecutor != null) {
+                parseExecutor.shutdownNow();
+            }
         }
 
         try {
@@ -1592,35 +1629,13 @@ public class GlobalStateMgr {
         try (DataOutputStream dos = new DataOutputStream(Files.newOutputStream(curFile.toPath()))) {
             try {
                 saveHeader(dos);
-                nodeMgr.save(dos);
-                localMetastore.save(dos);
-                alterJobMgr.save(dos);
-                recycleBin.save(dos);
-                VariableMgr.save(dos);
-                resourceMgr.saveResourcesV2(dos);
-                exportMgr.saveExportJobV2(dos);
-                backupHandler.saveBackupHandlerV2(dos);
-                globalTransactionMgr.saveTransactionStateV2(dos);
-                colocateTableIndex.saveColocateTableIndexV2(dos);
-                routineLoadMgr.saveRoutineLoadJobsV2(dos);
-                loadMgr.saveLoadJobsV2JsonFormat(dos);
-                smallFileMgr.saveSmallFilesV2(dos);
-                pluginMgr.save(dos);
-                deleteMgr.save(dos);
-                analyzeMgr.save(dos);
-                resourceGroupMgr.save(dos);
-                authenticationMgr.saveV2(dos);
-                authorizationMgr.saveV2(dos);
-                taskManager.saveTasksV2(dos);
-                catalogMgr.save(dos);
-                insertOverwriteJobMgr.save(dos);
-                compactionMgr.save(dos);
-                streamLoadMgr.save(dos);
-                MaterializedViewMgr.getInstance().save(dos);
-                globalFunctionMgr.save(dos);
-                storageVolumeMgr.save(dos);
-                dictionaryMgr.save(dos);
-                replicationMgr.save(dos);
+                for (Map.Entry<SRMetaBlockID, SRMetaBlockSaver> entry : getImageSavers().entrySet()) {
+                    if (imageDirtyTracker != null && imageDirtyTracker.canReuse(entry.getKey())) {
+                        imageDirtyTracker.copyBlock(entry.getKey(), dos);
+                    } else {
+                        entry.getValue().save(dos);
+                    }
+                }
             } catch (SRMetaBlockException e) {
                 LOG.error("Save meta block failed ", e);
                 throw new IOException("Save meta block failed ", e);
@@ -1632,6 +1647,53 @@ public class GlobalStateMgr {
         }
     }
 
+    // the order of meta blocks in image
+    @VisibleForTesting
+    public Map<SRMetaBlockID, SRMetaBlockSaver> getImageSavers() {
+        return ImmutableMap.<SRMetaBlockID, SRMetaBlockSaver>builder()
+                .put(SRMetaBlockID.NODE_MGR, nodeMgr::save)
+                .put(SRMetaBlockID.LOCAL_META_STORE, localMetastore::save)
+                .put(SRMetaBlockID.ALTER_MGR, alterJobMgr::save)
+                .put(SRMetaBlockID.CATALOG_RECYCLE_BIN, recycleBin::save)
+                .put(SRMetaBlockID.VARIABLE_MGR, VariableMgr::save)
+                .put(SRMetaBlockID.RESOURCE_MGR, resourceMgr::saveResourcesV2)
+                .put(SRMetaBlockID.EXPORT_MGR, exportMgr::saveExportJobV2)
+                .put(SRMetaBlockID.BACKUP_MGR, backupHandler::saveBackupHandlerV2)
+                .put(SRMetaBlockID.GLOBAL_TRANSACTION_MGR, globalTransactionMgr::saveTransactionStateV2)
+                .put(SRMetaBlockID.COLOCATE_TABLE_INDEX, colocateTableIndex::saveColocateTableIndexV2)
+                .put(SRMetaBlockID.ROUTINE_LOAD_MGR, routineLoadMgr::saveRoutineLoadJobsV2)
+                .put(SRMetaBlockID.LOAD_MGR, loadMgr::saveLoadJobsV2JsonFormat)
+                .put(SRMetaBlockID.SMALL_FILE_MGR, smallFileMgr::saveSmallFilesV2)
+                .put(SRMetaBlockID.PLUGIN_MGR, pluginMgr::save)
+                .put(SRMetaBlockID.DELETE_MGR, deleteMgr::save)
+                .put(SRMetaBlockID.ANALYZE_MGR, analyzeMgr::save)
+                .put(SRMetaBlockID.RESOURCE_GROUP_MGR, resourceGroupMgr::save)
+                .put(SRMetaBlockID.AUTHENTICATION_MGR, authenticationMgr::saveV2)
+                .put(SRMetaBlockID.AUTHORIZATION_MGR, authorizationMgr::saveV2)
+                .put(SRMetaBlockID.TASK_MGR, taskManager::saveTasksV2)
+                .put(SRMetaBlockID.CATALOG_MGR, catalogMgr::save)
+                .put(SRMetaBlockID.INSERT_OVERWRITE_JOB_MGR, insertOverwriteJobMgr::save)
+                .put(SRMetaBlockID.COMPACTION_MGR, compactionMgr::save)
+                .put(SRMetaBlockID.STREAM_LOAD_MGR, streamLoadMgr::save)
+                .put(SRMetaBlockID.MATERIALIZED_VIEW_MGR, MaterializedViewMgr.getInstance()::save)
+                .put(SRMetaBlockID.GLOBAL_FUNCTION_MGR, globalFunctionMgr::save)
+                .put(SRMetaBlockID.STORAGE_VOLUME_MGR, storageVolumeMgr::save)
+                .put(SRMetaBlockID.DICTIONARY_MGR, dictionaryMgr::save)
+                .put(SRMetaBlockID.REPLICATION_MGR, replicationMgr::save)
+                .build();
+    }
+
+    /**
+     * Only called by checkpoint thread before loading image, see SRMetaBlockDirtyTracker.
+     */
+    public void setTrackImageDirtyBlocks(boolean trackImageDirtyBlocks) {
+        this.trackImageDirtyBlocks = trackImageDirtyBlocks;
+    }
+
+    public int getNumReusedImageBlocks() {
+        return imageDirtyTracker == null ? 0 : imageDirtyTracker.getReusableBlocks().size();
+    }
+
     public void saveHeader(DataOutputStream dos) throws IOException {
         dos.writeInt(FeConstants.STARROCKS_META_VERSION);
         ImageHeader header = new ImageHeader();
@@ -1840,7 +1902,13 @@ public class GlobalStateMgr {
 
                 // apply
                 editLog.loadJournal(this, entity);
+                if (imageDirtyTracker != null) {
+                    imageDirtyTracker.markJournal(entity.getOpCode());
+                }
             } catch (Throwable e) {
+                if (imageDirtyTracker != null) {
+                    imageDirtyTracker.markAllDirty();
+                }
                 if (canSkipBadReplayedJournal(e)) {
                     LOG.error("!!! DANGER: SKIP JOURNAL, id: {}, data: {} !!!",
                             replayedJournalId.incrementAndGet(), journalEntityToReadableString(entity), e);
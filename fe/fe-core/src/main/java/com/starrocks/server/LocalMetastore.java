@@ -3812,6 +3812,8 @@ public class LocalMetastore implements ConnectorMetadata {
                         new ModifyTablePropertyOperationLog(db.getId(), table.getId(),
                                 ImmutableMap.of(key, propertiesToPersist.get(key)));
                 GlobalStateMgr.getCurrentState().getEditLog().logAlterTableProperties(info);
+                // the replicas may be mismatched with the new location
+                GlobalStateMgr.getCurrentState().getTabletChecker().requestFullCheck();
             }
         }
     }
@@ -3911,6 +3913,7 @@ public class LocalMetastore implements ConnectorMetadata {
         ModifyPartitionInfo info = new ModifyPartitionInfo(db.getId(), table.getId(), partition.getId(),
                 newDataProperty, replicationNum, isInMemory);
         GlobalStateMgr.getCurrentState().getEditLog().logModifyPartition(info);
+        GlobalStateMgr.getCurrentState().getTabletChecker().requestFullCheck();
         LOG.info("modify partition[{}-{}-{}] replication num to {}", db.getOriginName(), table.getName(),
                 partition.getName(), replicationNum);
     }
@@ -3964,6 +3967,7 @@ public class LocalMetastore implements ConnectorMetadata {
         ModifyTablePropertyOperationLog info =
                 new ModifyTablePropertyOperationLog(db.getId(), table.getId(), properties);
         GlobalStateMgr.getCurrentState().getEditLog().logModifyReplicationNum(info);
+        GlobalStateMgr.getCurrentState().getTabletChecker().requestFullCheck();
         LOG.info("modify table[{}] replication num to {}", table.getName(),
                 properties.get(PropertyAnalyzer.PROPERTIES_REPLICATION_NUM));
     }
@@ -4652,6 +4656,7 @@ public class LocalMetastore implements ConnectorMetadata {
                 Replica replica = tablet.getReplicaById(info.getReplicaId());
                 if (replica != null) {
                     replica.setBad(true);
+                    stateMgr.getTabletChecker().markTabletDirty(tablet.getId());
                     LOG.debug("get replica {} of tablet {} on backend {} to bad when replaying",
                             info.getReplicaId(), info.getTabletId(), info.getBackendId());
                 }
@@ -4809,6 +4814,7 @@ public class LocalMetastore implements ConnectorMetadata {
             }
             if (status == Replica.ReplicaStatus.BAD || status == Replica.ReplicaStatus.OK) {
                 if (replica.setBadForce(status == Replica.ReplicaStatus.BAD)) {
+                    stateMgr.getTabletChecker().markTabletDirty(tabletId);
                     if (!isReplay) {
                         // Put this tablet into urgent table so that it can be repaired ASAP.
                         stateMgr.getTabletChecker().setTabletForUrgentRepair(dbId, meta.getTableId(),
@@ -4876,6 +4882,7 @@ public class LocalMetastore implements ConnectorMetadata {
                     for (Replica replica : localTablet.getAllReplicas()) {
                         if (replica.getVersion() > stmt.getVersion() && localTablet.getAllReplicas().size() > 1) {
                             replica.setBad(true);
+                            stateMgr.getTabletChecker().markTabletDirty(tablet.getId());
                             LOG.warn("set tablet: {} on backend: {} to bad, " +
                                             "because its version: {} is higher than partition visible version: {}",
                                     tablet.getId(), replica.getBackendId(), replica.getVersion(), stmt.getVersion());
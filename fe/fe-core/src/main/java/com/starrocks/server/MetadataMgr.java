@@ -52,6 +52,8 @@ import com.starrocks.connector.ConnectorTblMetaInfoMgr;
 import com.starrocks.connector.MetaPreparationItem;
 import com.starrocks.connector.PartitionInfo;
 import com.starrocks.connector.RemoteFileInfo;
+import com.starrocks.connector.RemoteFileInfoDefaultSource;
+import com.starrocks.connector.RemoteFileInfoSource;
 import com.starrocks.connector.SerializedMetaSpec;
 import com.starrocks.connector.exception.StarRocksConnectorException;
 import com.starrocks.connector.statistics.ConnectorTableColumnStats;
@@ -769,6 +771,22 @@ public class MetadataMgr {
         return ImmutableList.copyOf(files.build());
     }
 
+    public RemoteFileInfoSource getRemoteFileInfoSource(String catalogName, Table table, List<PartitionKey> partitionKeys,
+                                                        long snapshotId, ScalarOperator predicate,
+                                                        List<String> fieldNames, long limit) {
+        Optional<ConnectorMetadata> connectorMetadata = getOptionalMetadata(catalogName);
+        if (connectorMetadata.isEmpty()) {
+            return new RemoteFileInfoDefaultSource(Lists.newArrayList());
+        }
+        try {
+            return connectorMetadata.get().getRemoteFileInfoSource(table, partitionKeys, snapshotId, predicate,
+                    fieldNames, limit);
+        } catch (Exception e) {
+            LOG.error("Failed to list remote file's metadata on catalog [{}], table [{}]", catalogName, table, e);
+            throw e;
+        }
+    }
+
     public List<PartitionInfo> getPartitions(String catalogName, Table table, List<String> partitionNames) {
         Optional<ConnectorMetadata> connectorMetadata = getOptionalMetadata(catalogName);
         ImmutableList.Builder<PartitionInfo> partitions = ImmutableList.builder();
@@ -14,7 +14,10 @@
 
 package com.starrocks.sql;
 
+import com.starrocks.analysis.Expr;
+import com.starrocks.analysis.LiteralExpr;
 import com.starrocks.http.HttpConnectContext;
+import com.starrocks.metric.MetricRepo;
 import com.starrocks.qe.ConnectContext;
 import com.starrocks.qe.PrepareStmtContext;
 import com.starrocks.sql.ast.ExecuteStmt;
@@ -22,11 +25,16 @@ import com.starrocks.sql.ast.QueryRelation;
 import com.starrocks.sql.ast.QueryStatement;
 import com.starrocks.sql.ast.StatementBase;
 import com.starrocks.sql.optimizer.OptExpression;
+import com.starrocks.sql.optimizer.Utils;
 import com.starrocks.sql.optimizer.base.ColumnRefFactory;
 import com.starrocks.sql.optimizer.operator.Operator;
 import com.starrocks.sql.optimizer.operator.logical.LogicalFilterOperator;
 import com.starrocks.sql.optimizer.operator.logical.LogicalOlapScanOperator;
 import com.starrocks.sql.optimizer.operator.physical.PhysicalOlapScanOperator;
+import com.starrocks.sql.optimizer.operator.scalar.BinaryPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.CastOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ConstantOperator;
 import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
 import com.starrocks.sql.optimizer.rewrite.OptDistributionPruner;
 import com.starrocks.sql.optimizer.rewrite.OptOlapPartitionPruner;
@@ -36,6 +44,8 @@ import com.starrocks.sql.plan.PlanFragmentBuilder;
 import com.starrocks.thrift.TResultSinkType;
 
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
 
 public class PrepareStmtPlanner {
 
@@ -49,38 +59,41 @@ public class PrepareStmtPlanner {
         }
 
         PrepareStmtContext prepareStmtContext = session.getPreparedStmt(executeStmt.getStmtName());
-        if (!prepareStmtContext.isCached()) {
+        if (!prepareStmtContext.isCached() || prepareStmtContext.needReAnalyze(queryStmt, session)) {
+            return planAndCacheExecPlan(stmt, session, prepareStmtContext);
+        }
+
+        ExecPlan execPlan = prepareStmtContext.getExecPlan();
+        // use cache and rebuild physical plan
+        if (!rePlan(queryStmt, execPlan.getLogicalPlan(), execPlan.getPhysicalPlan())) {
             return planAndCacheExecPlan(stmt, session, prepareStmtContext);
-        } else {
-            if (prepareStmtContext.needReAnalyze(queryStmt, session)) {
-                return planAndCacheExecPlan(stmt, session, prepareStmtContext);
-            } else {
-                ExecPlan execPlan = prepareStmtContext.getExecPlan();
-
-                // use cache and rebuild physical plan
-                rePlan(executeStmt, execPlan.getLogicalPlan(), execPlan.getPhysicalPlan());
-
-                TResultSinkType resultSinkType = session instanceof HttpConnectContext ? TResultSinkType.HTTP_PROTOCAL :
-                        TResultSinkType.MYSQL_PROTOCAL;
-                resultSinkType = queryStmt.hasOutFileClause() ? TResultSinkType.FILE : resultSinkType;
-
-                OptExpression physicalPlan = execPlan.getPhysicalPlan();
-                LogicalPlan logicalPlan = execPlan.getLogicalPlan();
-                ColumnRefFactory columnRefFactory = execPlan.getColumnRefFactory();
-                QueryRelation query = queryStmt.getQueryRelation();
-                List<String> colNames = query.getColumnOutputNames();
-
-                return PlanFragmentBuilder.createPhysicalPlan(
-                        physicalPlan, session, logicalPlan.getOutputColumn(), columnRefFactory,
-                        colNames,
-                        resultSinkType,
-                        !session.getSessionVariable().isSingleNodeExecPlan());
-            }
         }
+        if (MetricRepo.hasInit) {
+            MetricRepo.COUNTER_PREPARED_PLAN_CACHE_HIT.increase(1L);
+        }
+
+        TResultSinkType resultSinkType = session instanceof HttpConnectContext ? TResultSinkType.HTTP_PROTOCAL :
+                TResultSinkType.MYSQL_PROTOCAL;
+        resultSinkType = queryStmt.hasOutFileClause() ? TResultSinkType.FILE : resultSinkType;
+
+        OptExpression physicalPlan = execPlan.getPhysicalPlan();
+        LogicalPlan logicalPlan = execPlan.getLogicalPlan();
+        ColumnRefFactory columnRefFactory = execPlan.getColumnRefFactory();
+        QueryRelation query = queryStmt.getQueryRelation();
+        List<String> colNames = query.getColumnOutputNames();
+
+        return PlanFragmentBuilder.createPhysicalPlan(
+                physicalPlan, session, logicalPlan.getOutputColumn(), columnRefFactory,
+                colNames,
+                resultSinkType,
+                !session.getSessionVariable().isSingleNodeExecPlan());
     }
 
     private static ExecPlan planAndCacheExecPlan(StatementBase stmt, ConnectContext session,
                                                  PrepareStmtContext prepareStmtContext) {
+        if (MetricRepo.hasInit) {
+            MetricRepo.COUNTER_PREPARED_PLAN_CACHE_MISS.increase(1L);
+        }
         ExecPlan execPlan = StatementPlanner.plan(stmt, session);
         if (execPlan == null) {
             return null;
@@ -92,16 +105,51 @@ public class PrepareStmtPlanner {
         return execPlan;
     }
 
-    private static void rePlan(ExecuteStmt executeStmt,
-                               LogicalPlan logicalPlan,
-                               OptExpression optimizedPlan) {
-
+    /**
+     * Bind the literals of the query to the cached plan by column, so the order of parameters does not
+     * need to match the order of the predicates in the plan.
+     * Return false if some predicate of the cached plan can not be bound, then the query should be planned again.
+     */
+    private static boolean rePlan(QueryStatement queryStmt,
+                                  LogicalPlan logicalPlan,
+                                  OptExpression optimizedPlan) {
         Operator operator = logicalPlan.getRoot().getInputs().get(0).getOp();
         if (operator instanceof LogicalFilterOperator) {
-            ScalarOperator.updateLiteralPredicates(operator.getPredicate(), executeStmt.getParamsExpr());
+            Map<String, Expr> literals = queryStmt.getPointQueryLiterals();
+            for (ScalarOperator conjunct : Utils.extractConjuncts(operator.getPredicate())) {
+                if (!updateLiteralPredicate(conjunct, literals)) {
+                    return false;
+                }
+            }
         }
 
         rePlanOptimizedPlan(logicalPlan, optimizedPlan);
+        return true;
+    }
+
+    private static boolean updateLiteralPredicate(ScalarOperator predicate, Map<String, Expr> literals) {
+        if (!(predicate instanceof BinaryPredicateOperator)) {
+            return false;
+        }
+        ScalarOperator column = predicate.getChild(0);
+        if (column instanceof CastOperator) {
+            column = column.getChild(0);
+        }
+        if (!(column instanceof ColumnRefOperator)) {
+            return false;
+        }
+        Expr literal = literals.get(((ColumnRefOperator) column).getName().toLowerCase());
+        if (!(literal instanceof LiteralExpr)) {
+            return false;
+        }
+        Optional<ConstantOperator> constantOperator =
+                new ConstantOperator(((LiteralExpr) literal).getRealObjectValue(), literal.getType())
+                        .castTo(predicate.getChild(1).getType());
+        if (!constantOperator.isPresent()) {
+            return false;
+        }
+        predicate.setChild(1, constantOperator.get());
+        return true;
     }
 
     private static void rePlanOptimizedPlan(LogicalPlan logicalPlan, OptExpression optimizedPlan) {
@@ -55,7 +55,6 @@ import com.starrocks.common.ErrorReport;
 import com.starrocks.common.Pair;
 import com.starrocks.common.profile.Timer;
 import com.starrocks.common.profile.Tracers;
-import com.starrocks.common.util.concurrent.lock.LockType;
 import com.starrocks.common.util.concurrent.lock.Locker;
 import com.starrocks.privilege.SecurityPolicyRewriteRule;
 import com.starrocks.qe.ConnectContext;
@@ -1231,17 +1230,14 @@ public class QueryAnalyzer {
                         Table mvTable = materializedIndex.first;
                         Preconditions.checkState(mvTable != null);
                         Preconditions.checkState(mvTable instanceof OlapTable);
-                        try {
-                            // Add read lock to avoid concurrent problems.
-                            locker.lockDatabase(db, LockType.READ);
+                        // Read optimistically and retry with the table read lock if the table is modified concurrently.
+                        table = locker.readWithOptimisticLock(db, Lists.newArrayList(mvTable.getId()), () -> {
                             OlapTable mvOlapTable = new OlapTable();
                             ((OlapTable) mvTable).copyOnlyForQuery(mvOlapTable);
                             // Copy the necessary olap table meta to avoid changing original meta;
                             mvOlapTable.setBaseIndexId(materializedIndex.second.getIndexId());
-                            table = mvOlapTable;
-                        } finally {
-                            locker.unLockDatabase(db, LockType.READ);
-                        }
+                            return mvOlapTable;
+                        });
                     }
                 }
             } else {
@@ -118,6 +118,23 @@ public class QueryStatement extends StatementBase {
         return true;
     }
 
+    // only for prepare execute query, return the literal compared with each column by lower case column name
+    public Map<String, Expr> getPointQueryLiterals() {
+        Map<String, Expr> literals = new HashMap<>();
+        if (!(queryRelation instanceof SelectRelation)) {
+            return literals;
+        }
+        Map<SlotRef, Expr> eqPredicates = getEQBinaryPredicates(new HashMap<>(),
+                ((SelectRelation) queryRelation).getPredicate(), TExprOpcode.EQ);
+        if (eqPredicates == null) {
+            return literals;
+        }
+        for (Map.Entry<SlotRef, Expr> entry : eqPredicates.entrySet()) {
+            literals.put(entry.getKey().getColumnName().toLowerCase(), entry.getValue());
+        }
+        return literals;
+    }
+
     private static Map<SlotRef, Expr> getEQBinaryPredicates(Map<SlotRef, Expr> result, Expr expr,
                                                             TExprOpcode eqOpcode) {
         if (expr == null) {
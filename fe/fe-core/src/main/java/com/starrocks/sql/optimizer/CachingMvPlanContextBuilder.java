@@ -24,25 +24,77 @@ import com.starrocks.analysis.ParseNode;
 import com.starrocks.catalog.MaterializedView;
 import com.starrocks.catalog.MvPlanContext;
 import com.starrocks.common.Config;
+import com.starrocks.common.ThreadPoolManager;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.qe.SessionVariable;
 import com.starrocks.sql.analyzer.AstToSQLBuilder;
+import com.starrocks.sql.optimizer.operator.logical.LogicalAggregationOperator;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.util.Collection;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 public class CachingMvPlanContextBuilder {
 
     private static final Logger LOG = LogManager.getLogger(CachingMvPlanContextBuilder.class);
     private static final CachingMvPlanContextBuilder INSTANCE = new CachingMvPlanContextBuilder();
+    private static final int MV_PLAN_LOAD_QUEUE_SIZE = 1024;
+    // reject the task instead of blocking when the queue is full, so the caller builds the plan itself
+    private static final ExecutorService MV_PLAN_LOAD_EXECUTOR = ThreadPoolManager.newDaemonThreadPool(
+            Config.mv_plan_cache_load_thread_num, Config.mv_plan_cache_load_thread_num, 0L, TimeUnit.SECONDS,
+            new LinkedBlockingQueue<>(MV_PLAN_LOAD_QUEUE_SIZE), new ThreadPoolExecutor.AbortPolicy(),
+            "mv-plan-cache-loader", false);
     private Cache<MaterializedView, List<MvPlanContext>> mvPlanContextCache = buildCache();
 
     // store the ast of mv's define query to mvs
     private Map<AstKey, Set<MaterializedView>> astToMvsMap = Maps.newConcurrentMap();
 
+    // store the plan signature of mv id, which is kept after the plan contexts expire from the plan cache,
+    // so the mvs can be filtered before their plan contexts are built again
+    private final Map<Long, MvPlanSignature> mvPlanSignatures = Maps.newConcurrentMap();
+
+    /**
+     * A compact summary of the plan contexts of a mv, which is enough to filter the mvs which can not be used to
+     * rewrite the query, or to rank the candidate mvs, without building or loading the plan contexts.
+     */
+    public static class MvPlanSignature {
+        // whether all the valid plans of the mv are aggregations
+        private final boolean aggregateOnly;
+        // the scan operator num of each plan context
+        private final List<Integer> scanOpNums;
+
+        public MvPlanSignature(List<MvPlanContext> planContexts) {
+            List<MvPlanContext> validPlanContexts = planContexts.stream()
+                    .filter(MvPlanContext::isValidMvPlan)
+                    .collect(Collectors.toList());
+            this.aggregateOnly = !validPlanContexts.isEmpty() && validPlanContexts.stream()
+                    .allMatch(planContext -> planContext.getLogicalPlan().getOp() instanceof LogicalAggregationOperator);
+            this.scanOpNums = planContexts.stream()
+                    .map(MvPlanContext::getMvScanOpNum)
+                    .collect(Collectors.toList());
+        }
+
+        public boolean isAggregateOnly() {
+            return aggregateOnly;
+        }
+
+        public List<Integer> getScanOpNums() {
+            return scanOpNums;
+        }
+    }
+
     public static class AstKey {
         private final String sql;
         public AstKey(ParseNode parseNode) {
@@ -98,6 +150,7 @@ public class CachingMvPlanContextBuilder {
     @VisibleForTesting
     public void rebuildCache() {
         mvPlanContextCache = buildCache();
+        mvPlanSignatures.clear();
     }
 
     public List<MvPlanContext> getPlanContext(MaterializedView mv, boolean useCache) {
@@ -108,6 +161,46 @@ public class CachingMvPlanContextBuilder {
         }
     }
 
+    /**
+     * Build the plan contexts of the mvs concurrently, each mv in its own connect context copied from
+     * the caller's. Mvs whose plan contexts are cached already are skipped and mvs whose plans fail to
+     * build are mapped to an empty list, so the caller only needs to fall back to {@link #getPlanContext}
+     * for the mvs absent from the result.
+     */
+    public Map<MaterializedView, List<MvPlanContext>> getPlanContexts(Collection<MaterializedView> mvs,
+                                                                      boolean useCache,
+                                                                      ConnectContext connectContext) {
+        Map<MaterializedView, List<MvPlanContext>> result = Maps.newConcurrentMap();
+        List<MaterializedView> mvsToLoad = mvs.stream()
+                .filter(mv -> !useCache || mvPlanContextCache.getIfPresent(mv) == null)
+                .collect(Collectors.toList());
+        // nothing to gain from the thread pool if there is at most one plan to build
+        if (mvsToLoad.size() <= 1) {
+            return result;
+        }
+
+        List<CompletableFuture<Void>> futures = Lists.newArrayList();
+        for (MaterializedView mv : mvsToLoad) {
+            Runnable task = () -> {
+                ConnectContext context = new ConnectContext();
+                context.setGlobalStateMgr(connectContext.getGlobalStateMgr());
+                context.setSessionVariable((SessionVariable) connectContext.getSessionVariable().clone());
+                try (var guard = context.bindScope()) {
+                    List<MvPlanContext> planContexts = getPlanContext(mv, useCache);
+                    result.put(mv, planContexts == null ? Collections.emptyList() : planContexts);
+                }
+            };
+            try {
+                futures.add(CompletableFuture.runAsync(task, MV_PLAN_LOAD_EXECUTOR));
+            } catch (RejectedExecutionException e) {
+                LOG.warn("mv plan cache loader is busy, build plan of mv {} in current thread", mv.getName());
+                task.run();
+            }
+        }
+        CompletableFuture.allOf(futures.toArray(new CompletableFuture[0])).join();
+        return result;
+    }
+
     /**
      * Get plan cache only if mv is present in the plan cache, otherwise null is returned.
      */
@@ -115,9 +208,25 @@ public class CachingMvPlanContextBuilder {
         return mvPlanContextCache.getIfPresent(mv);
     }
 
+    /**
+     * Get the plan signature of the mv if its plan contexts have been built, otherwise null is returned.
+     */
+    public MvPlanSignature getPlanSignature(MaterializedView mv) {
+        return mvPlanSignatures.get(mv.getId());
+    }
+
+    @VisibleForTesting
+    public void putPlanSignature(MaterializedView mv, List<MvPlanContext> planContexts) {
+        mvPlanSignatures.put(mv.getId(), new MvPlanSignature(planContexts));
+    }
+
     private List<MvPlanContext> loadMvPlanContext(MaterializedView mv) {
         try {
-            return MvPlanContextBuilder.getPlanContext(mv);
+            List<MvPlanContext> planContexts = MvPlanContextBuilder.getPlanContext(mv);
+            if (planContexts != null) {
+                putPlanSignature(mv, planContexts);
+            }
+            return planContexts;
         } catch (Throwable e) {
             LOG.warn("load mv plan cache failed: {}", mv.getName(), e);
             return null;
@@ -131,6 +240,7 @@ public class CachingMvPlanContextBuilder {
 
     public void invalidateFromCache(MaterializedView mv, boolean isActive) {
         mvPlanContextCache.invalidate(mv);
+        mvPlanSignatures.remove(mv.getId());
         invalidateAstFromCache(mv);
 
         // if transfer to active, put it into cache
@@ -61,6 +61,7 @@ import com.starrocks.sql.optimizer.base.PhysicalPropertySet;
 import com.starrocks.sql.optimizer.operator.Operator;
 import com.starrocks.sql.optimizer.operator.OperatorBuilderFactory;
 import com.starrocks.sql.optimizer.operator.Projection;
+import com.starrocks.sql.optimizer.operator.logical.LogicalAggregationOperator;
 import com.starrocks.sql.optimizer.operator.logical.LogicalOlapScanOperator;
 import com.starrocks.sql.optimizer.operator.logical.LogicalProjectOperator;
 import com.starrocks.sql.optimizer.operator.logical.LogicalViewScanOperator;
@@ -189,12 +190,19 @@ public class MvRewritePreprocessor {
         public static int getMvQueryScanOpDiff(List<MvPlanContext> planContexts,
                                                int mvBaseTableSize,
                                                int queryScanOpNum) {
+            List<Integer> mvScanOpNums = planContexts == null ? null :
+                    planContexts.stream().map(MvPlanContext::getMvScanOpNum).collect(Collectors.toList());
+            return getMvQueryScanOpNumDiff(mvScanOpNums, mvBaseTableSize, queryScanOpNum);
+        }
+
+        public static int getMvQueryScanOpNumDiff(List<Integer> mvScanOpNums,
+                                                  int mvBaseTableSize,
+                                                  int queryScanOpNum) {
             int diff = Math.abs(queryScanOpNum - mvBaseTableSize);
-            if (planContexts == null || planContexts.isEmpty()) {
+            if (mvScanOpNums == null || mvScanOpNums.isEmpty()) {
                 return diff;
             }
-            return planContexts.stream()
-                    .map(mvPlanContext -> mvPlanContext.getMvScanOpNum())
+            return mvScanOpNums.stream()
                     .map(num -> Math.abs(queryScanOpNum - num))
                     .min(Comparator.comparing(Integer::intValue))
                     .orElse(diff);
@@ -468,14 +476,33 @@ public class MvRewritePreprocessor {
                 .collect(Collectors.toSet());
     }
 
-    private List<MvWithPlanContext> getMVWithContext(MaterializedView mv) {
+    private Map<MaterializedView, List<MvPlanContext>> loadMvPlanContextsInParallel(Set<MaterializedView> validMVs) {
+        SessionVariable sessionVariable = connectContext.getSessionVariable();
+        if (!sessionVariable.isEnableMaterializedViewPlanParallelLoad()) {
+            return Collections.emptyMap();
+        }
+        List<MaterializedView> activeMVs = validMVs.stream()
+                .filter(MaterializedView::isActive)
+                .collect(Collectors.toList());
+        try (Timer ignored = Tracers.watchScope("MVPreprocessLoadPlanContexts")) {
+            return CachingMvPlanContextBuilder.getInstance().getPlanContexts(activeMVs,
+                    sessionVariable.isEnableMaterializedViewPlanCache(), connectContext);
+        } catch (Exception e) {
+            logMVPrepare(connectContext, "Load mv plan contexts in parallel failed:{}", e.getMessage());
+            LOG.warn("load mv plan contexts in parallel failed", e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private List<MvWithPlanContext> getMVWithContext(MaterializedView mv, List<MvPlanContext> loadedPlanContexts) {
         if (!mv.isActive()) {
             OptimizerTraceUtil.logMVRewriteFailReason(mv.getName(), "inactive");
             return null;
         }
 
-        List<MvPlanContext> mvPlanContexts = CachingMvPlanContextBuilder.getInstance().getPlanContext(mv,
-                connectContext.getSessionVariable().isEnableMaterializedViewPlanCache());
+        List<MvPlanContext> mvPlanContexts = loadedPlanContexts != null ? loadedPlanContexts :
+                CachingMvPlanContextBuilder.getInstance().getPlanContext(mv,
+                        connectContext.getSessionVariable().isEnableMaterializedViewPlanCache());
         if (CollectionUtils.isEmpty(mvPlanContexts)) {
             OptimizerTraceUtil.logMVRewriteFailReason(mv.getName(), "invalid query plan");
             return null;
@@ -574,7 +601,17 @@ public class MvRewritePreprocessor {
             long mvQueryInteractedTableNum = MVCorrelation.getMvQueryIntersectedTableNum(baseTableInfos, queryTableNames);
             List<MvPlanContext> planContexts =
                     CachingMvPlanContextBuilder.getInstance().getPlanContextFromCacheIfPresent(mv);
-            int mvQueryScanOpDiff = MVCorrelation.getMvQueryScanOpDiff(planContexts, baseTableInfos.size(), queryScanOpNum);
+            int mvQueryScanOpDiff;
+            CachingMvPlanContextBuilder.MvPlanSignature signature =
+                    CachingMvPlanContextBuilder.getInstance().getPlanSignature(mv);
+            if (planContexts == null && signature != null) {
+                // the plan contexts have expired from the plan cache, use the kept signature instead
+                mvQueryScanOpDiff = MVCorrelation.getMvQueryScanOpNumDiff(signature.getScanOpNums(),
+                        baseTableInfos.size(), queryScanOpNum);
+            } else {
+                mvQueryScanOpDiff = MVCorrelation.getMvQueryScanOpDiff(planContexts, baseTableInfos.size(),
+                        queryScanOpNum);
+            }
             MVCorrelation mvCorrelation = new MVCorrelation(mv, mvQueryInteractedTableNum,
                     mvQueryScanOpDiff, mv.getLastRefreshTime());
             if (bestRelatedMVs.size() < maxRelatedMVsLimit) {
@@ -599,14 +636,19 @@ public class MvRewritePreprocessor {
         Set<MaterializedView> validMVs = getRelatedMVsByConfig(relatedMVs);
         logMVPrepare(connectContext, "Choose {}/{} mvs after user config", validMVs.size(), relatedMVs.size());
 
-        // 2. choose all valid mvs and filter mvs that cannot be rewritten for the query
+        // 2. filter mvs that cannot be rewritten for the query by their plan signatures
+        validMVs = filterMVsByPlanSignature(validMVs, queryOptExpression);
+        logMVPrepare(connectContext, "Choose {}/{} mvs after checking plan signature",
+                validMVs.size(), relatedMVs.size());
+
+        // 3. choose all valid mvs and filter mvs that cannot be rewritten for the query
         validMVs = validMVs.stream()
                 .filter(mv -> isMVValidToRewriteQuery(connectContext, mv, false, queryTables).first)
                 .collect(Collectors.toSet());
         logMVPrepare(connectContext, "Choose {}/{} valid mvs after checking valid",
                 validMVs.size(), relatedMVs.size());
 
-        // 3. choose max config related mvs for mv rewrite to avoid too much optimize time
+        // 4. choose max config related mvs for mv rewrite to avoid too much optimize time
         int maxRelatedMVsLimit = connectContext.getSessionVariable().getCboMaterializedViewRewriteRelatedMVsLimit();
         if (validMVs.size() <= maxRelatedMVsLimit) {
             return validMVs;
@@ -614,13 +656,53 @@ public class MvRewritePreprocessor {
         return chooseBestRelatedMVsByCorrelations(queryTables, validMVs, queryOptExpression, maxRelatedMVsLimit);
     }
 
+    /**
+     * Filter mvs by the plan signatures kept by {@link CachingMvPlanContextBuilder}, which is much cheaper than
+     * checking the mvs one by one with their plan contexts. Mvs without signatures are kept.
+     */
+    private Set<MaterializedView> filterMVsByPlanSignature(Set<MaterializedView> mvs,
+                                                           OptExpression queryOptExpression) {
+        // mvs with only aggregation plans can be used by the aggregate rewrite rules only, which need the query
+        // to contain an aggregation
+        if (containsAggregation(queryOptExpression)) {
+            return mvs;
+        }
+        CachingMvPlanContextBuilder planContextBuilder = CachingMvPlanContextBuilder.getInstance();
+        return mvs.stream()
+                .filter(mv -> {
+                    CachingMvPlanContextBuilder.MvPlanSignature signature = planContextBuilder.getPlanSignature(mv);
+                    if (signature != null && signature.isAggregateOnly()) {
+                        OptimizerTraceUtil.logMVRewriteFailReason(mv.getName(),
+                                "aggregate mv can not rewrite query without aggregation");
+                        return false;
+                    }
+                    return true;
+                })
+                .collect(Collectors.toSet());
+    }
+
+    // views may contain aggregations which are only visible after the view based rewrite inlines them
+    private static boolean containsAggregation(OptExpression root) {
+        Operator operator = root.getOp();
+        if (operator instanceof LogicalAggregationOperator || operator instanceof LogicalViewScanOperator) {
+            return true;
+        }
+        for (OptExpression child : root.getInputs()) {
+            if (containsAggregation(child)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @VisibleForTesting
     public Set<MvWithPlanContext> getMvWithPlanContext(Set<MaterializedView> validMVs) {
         // filter mvs which are active and have valid plans
         Set<MvWithPlanContext> mvWithPlanContexts = Sets.newHashSet();
+        Map<MaterializedView, List<MvPlanContext>> loadedPlanContexts = loadMvPlanContextsInParallel(validMVs);
         for (MaterializedView mv : validMVs) {
             try {
-                List<MvWithPlanContext> mvWithPlanContext = getMVWithContext(mv);
+                List<MvWithPlanContext> mvWithPlanContext = getMVWithContext(mv, loadedPlanContexts.get(mv));
                 if (mvWithPlanContext != null) {
                     mvWithPlanContexts.addAll(mvWithPlanContext);
                 }
@@ -0,0 +1,216 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.sql.optimizer.rewrite;
+
+import com.google.common.collect.BoundType;
+import com.google.common.collect.Range;
+import com.starrocks.analysis.DateLiteral;
+import com.starrocks.analysis.IntLiteral;
+import com.starrocks.analysis.LiteralExpr;
+import com.starrocks.analysis.MaxLiteral;
+import com.starrocks.catalog.PartitionKey;
+
+import java.util.BitSet;
+import java.util.List;
+
+/**
+ * The ranges of the partitions on a single integer or date column, with the bounds stored in primitive arrays, so
+ * that a predicate range is evaluated against all the partitions in one loop over the arrays, instead of comparing
+ * {@link PartitionKey}s and building the intersections of the {@link Range}s for each partition.
+ * <p>
+ * The result is the same as checking that the intersection of the predicate range and the partition range is not
+ * empty, and for the discrete types, that the intersection still contains a value after canonicalized.
+ */
+public class ColumnarPartitionRanges {
+
+    private enum ValueKind {
+        INT,
+        DATE
+    }
+
+    private final int size;
+    private final ValueKind kind;
+    private final boolean discrete;
+
+    // unbounded lower bounds are Long.MIN_VALUE and unbounded upper bounds are Long.MAX_VALUE, both closed
+    private final long[] lowers;
+    private final long[] uppers;
+    private final boolean[] lowerClosed;
+    private final boolean[] upperClosed;
+
+    private ColumnarPartitionRanges(int size, ValueKind kind, boolean discrete) {
+        this.size = size;
+        this.kind = kind;
+        this.discrete = discrete;
+        this.lowers = new long[size];
+        this.uppers = new long[size];
+        this.lowerClosed = new boolean[size];
+        this.upperClosed = new boolean[size];
+    }
+
+    /**
+     * @param ranges the ranges of the partitions, each partition key has only one column
+     * @param discrete whether the values of the column are discrete
+     * @return the columnar ranges, or null if some bound is not an integer or date value
+     */
+    public static ColumnarPartitionRanges create(List<Range<PartitionKey>> ranges, boolean discrete) {
+        ValueKind kind = null;
+        for (Range<PartitionKey> range : ranges) {
+            for (LiteralExpr bound : getBoundValues(range)) {
+                ValueKind boundKind = kindOf(bound);
+                if (boundKind == null || (kind != null && kind != boundKind)) {
+                    return null;
+                }
+                kind = boundKind;
+            }
+        }
+        if (kind == null) {
+            // no bounded range, treat the values as integers
+            kind = ValueKind.INT;
+        }
+
+        ColumnarPartitionRanges columnar = new ColumnarPartitionRanges(ranges.size(), kind, discrete);
+        for (int i = 0; i < ranges.size(); i++) {
+            Range<PartitionKey> range = ranges.get(i);
+            columnar.lowers[i] = lowerValue(range);
+            columnar.lowerClosed[i] = isLowerClosed(range);
+            columnar.uppers[i] = upperValue(range);
+            columnar.upperClosed[i] = isUpperClosed(range);
+        }
+        return columnar;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return the partitions whose range intersects with the predicate range, or null if the bounds of the predicate
+     * range can not be compared with the partition ranges
+     */
+    public BitSet evaluate(Range<PartitionKey> predicateRange) {
+        for (LiteralExpr bound : getBoundValues(predicateRange)) {
+            if (kindOf(bound) != kind) {
+                return null;
+            }
+        }
+        long predicateLower = lowerValue(predicateRange);
+        boolean predicateLowerClosed = isLowerClosed(predicateRange);
+        long predicateUpper = upperValue(predicateRange);
+        boolean predicateUpperClosed = isUpperClosed(predicateRange);
+
+        long[] words = new long[(size + 63) >>> 6];
+        for (int i = 0; i < size; i++) {
+            // the bounds of the intersection
+            long lower;
+            boolean lowerInclusive;
+            if (lowers[i] > predicateLower) {
+                lower = lowers[i];
+                lowerInclusive = lowerClosed[i];
+            } else if (lowers[i] < predicateLower) {
+                lower = predicateLower;
+                lowerInclusive = predicateLowerClosed;
+            } else {
+                lower = lowers[i];
+                lowerInclusive = lowerClosed[i] & predicateLowerClosed;
+            }
+            long upper;
+            boolean upperInclusive;
+            if (uppers[i] < predicateUpper) {
+                upper = uppers[i];
+                upperInclusive = upperClosed[i];
+            } else if (uppers[i] > predicateUpper) {
+                upper = predicateUpper;
+                upperInclusive = predicateUpperClosed;
+            } else {
+                upper = uppers[i];
+                upperInclusive = upperClosed[i] & predicateUpperClosed;
+            }
+
+            boolean hit;
+            if (lower > upper) {
+                hit = false;
+            } else if (lower == upper) {
+                hit = lowerInclusive & upperInclusive;
+            } else if (discrete && !lowerInclusive && !upperInclusive) {
+                // (lower, upper) contains an integer only if upper - lower > 1
+                hit = Long.compareUnsigned(upper - lower, 1) > 0;
+            } else {
+                hit = true;
+            }
+            words[i >>> 6] |= (hit ? 1L : 0L) << i;
+        }
+        return BitSet.valueOf(words);
+    }
+
+    private static LiteralExpr[] getBoundValues(Range<PartitionKey> range) {
+        LiteralExpr lower = range.hasLowerBound() ? range.lowerEndpoint().getKeys().get(0) : null;
+        LiteralExpr upper = range.hasUpperBound() && !isMaxValue(range.upperEndpoint()) ?
+                range.upperEndpoint().getKeys().get(0) : null;
+        if (lower == null && upper == null) {
+            return new LiteralExpr[0];
+        } else if (lower == null) {
+            return new LiteralExpr[] {upper};
+        } else if (upper == null) {
+            return new LiteralExpr[] {lower};
+        }
+        return new LiteralExpr[] {lower, upper};
+    }
+
+    private static boolean isMaxValue(PartitionKey key) {
+        return key.getKeys().get(0) instanceof MaxLiteral;
+    }
+
+    private static long lowerValue(Range<PartitionKey> range) {
+        return range.hasLowerBound() ? encode(range.lowerEndpoint().getKeys().get(0)) : Long.MIN_VALUE;
+    }
+
+    private static boolean isLowerClosed(Range<PartitionKey> range) {
+        return !range.hasLowerBound() || range.lowerBoundType() == BoundType.CLOSED;
+    }
+
+    // the upper bound of MAXVALUE is larger than all the values, the same as unbounded
+    private static long upperValue(Range<PartitionKey> range) {
+        if (!range.hasUpperBound() || isMaxValue(range.upperEndpoint())) {
+            return Long.MAX_VALUE;
+        }
+        return encode(range.upperEndpoint().getKeys().get(0));
+    }
+
+    private static boolean isUpperClosed(Range<PartitionKey> range) {
+        return !range.hasUpperBound() || isMaxValue(range.upperEndpoint())
+                || range.upperBoundType() == BoundType.CLOSED;
+    }
+
+    private static ValueKind kindOf(LiteralExpr literal) {
+        if (literal instanceof IntLiteral) {
+            return ValueKind.INT;
+        } else if (literal instanceof DateLiteral) {
+            return ValueKind.DATE;
+        }
+        return null;
+    }
+
+    // dates are compared as datetimes at 00:00:00, the same as PartitionKey#compareLiteralExpr
+    private static long encode(LiteralExpr literal) {
+        if (literal instanceof IntLiteral) {
+            return ((IntLiteral) literal).getValue();
+        }
+        DateLiteral date = (DateLiteral) literal;
+        long days = (date.getYear() * 13 + date.getMonth()) * 32 + date.getDay();
+        long seconds = days * 86400 + date.getHour() * 3600 + date.getMinute() * 60 + date.getSecond();
+        return seconds * 1000000 + date.getMicrosecond();
+    }
+}
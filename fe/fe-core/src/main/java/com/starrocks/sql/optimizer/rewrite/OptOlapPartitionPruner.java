@@ -27,6 +27,7 @@ import com.starrocks.catalog.ExpressionRangePartitionInfo;
 import com.starrocks.catalog.ExpressionRangePartitionInfoV2;
 import com.starrocks.catalog.FunctionSet;
 import com.starrocks.catalog.ListPartitionInfo;
+import com.starrocks.catalog.ListPartitionValueIndex;
 import com.starrocks.catalog.OlapTable;
 import com.starrocks.catalog.Partition;
 import com.starrocks.catalog.PartitionInfo;
@@ -274,6 +275,8 @@ public class OptOlapPartitionPruner {
         // where two partitions are checked at the same time
         boolean isTemporaryPartitionPrune = false;
         List<Long> specifyPartitionIds = null;
+        // the value index of all formal partitions is shared across queries, use it if no partition is specified
+        ListPartitionValueIndex valueIndex = null;
         // single item list partition has only one column mapper
         Map<Long, List<LiteralExpr>> literalExprValuesMap = listPartitionInfo.getLiteralExprValues();
         Set<Long> partitionIds = Sets.newHashSet();
@@ -291,22 +294,27 @@ public class OptOlapPartitionPruner {
             }
             specifyPartitionIds = Lists.newArrayList(partitionIds);
         } else {
-            partitionIds = Sets.newHashSet(listPartitionInfo.getPartitionIds(false));
+            valueIndex = listPartitionInfo.getValueIndex();
         }
 
         List<Column> partitionColumns = listPartitionInfo.getPartitionColumns(olapTable.getIdToColumn());
         if (literalExprValuesMap != null && literalExprValuesMap.size() > 0) {
-            ConcurrentNavigableMap<LiteralExpr, Set<Long>> partitionValueToIds = new ConcurrentSkipListMap<>();
-            for (Map.Entry<Long, List<LiteralExpr>> entry : literalExprValuesMap.entrySet()) {
-                Long partitionId = entry.getKey();
-                if (!partitionIds.contains(partitionId)) {
-                    continue;
-                }
-                List<LiteralExpr> values = entry.getValue();
-                if (values == null || values.isEmpty()) {
-                    continue;
+            ConcurrentNavigableMap<LiteralExpr, Set<Long>> partitionValueToIds;
+            if (valueIndex != null) {
+                partitionValueToIds = valueIndex.getValueToPartitionIds();
+            } else {
+                partitionValueToIds = new ConcurrentSkipListMap<>();
+                for (Map.Entry<Long, List<LiteralExpr>> entry : literalExprValuesMap.entrySet()) {
+                    Long partitionId = entry.getKey();
+                    if (!partitionIds.contains(partitionId)) {
+                        continue;
+                    }
+                    List<LiteralExpr> values = entry.getValue();
+                    if (values == null || values.isEmpty()) {
+                        continue;
+                    }
+                    values.forEach(value -> putValueMapItem(partitionValueToIds, partitionId, value));
                 }
-                values.forEach(value -> putValueMapItem(partitionValueToIds, partitionId, value));
             }
             // single item list partition has only one column
             Column column = partitionColumns.get(0);
@@ -319,19 +327,24 @@ public class OptOlapPartitionPruner {
         Map<Long, List<List<LiteralExpr>>> multiLiteralExprValues = listPartitionInfo.getMultiLiteralExprValues();
         if (multiLiteralExprValues != null && multiLiteralExprValues.size() > 0) {
             for (int i = 0; i < partitionColumns.size(); i++) {
-                ConcurrentNavigableMap<LiteralExpr, Set<Long>> partitionValueToIds = new ConcurrentSkipListMap<>();
-                for (Map.Entry<Long, List<List<LiteralExpr>>> entry : multiLiteralExprValues.entrySet()) {
-                    Long partitionId = entry.getKey();
-                    if (!partitionIds.contains(partitionId)) {
-                        continue;
-                    }
-                    List<List<LiteralExpr>> multiValues = entry.getValue();
-                    if (multiValues == null || multiValues.isEmpty()) {
-                        continue;
-                    }
-                    for (List<LiteralExpr> values : multiValues) {
-                        LiteralExpr value = values.get(i);
-                        putValueMapItem(partitionValueToIds, partitionId, value);
+                ConcurrentNavigableMap<LiteralExpr, Set<Long>> partitionValueToIds;
+                if (valueIndex != null) {
+                    partitionValueToIds = valueIndex.getMultiValueToPartitionIds(i);
+                } else {
+                    partitionValueToIds = new ConcurrentSkipListMap<>();
+                    for (Map.Entry<Long, List<List<LiteralExpr>>> entry : multiLiteralExprValues.entrySet()) {
+                        Long partitionId = entry.getKey();
+                        if (!partitionIds.contains(partitionId)) {
+                            continue;
+                        }
+                        List<List<LiteralExpr>> multiValues = entry.getValue();
+                        if (multiValues == null || multiValues.isEmpty()) {
+                            continue;
+                        }
+                        for (List<LiteralExpr> values : multiValues) {
+                            LiteralExpr value = values.get(i);
+                            putValueMapItem(partitionValueToIds, partitionId, value);
+                        }
                     }
                 }
                 Column column = partitionColumns.get(i);
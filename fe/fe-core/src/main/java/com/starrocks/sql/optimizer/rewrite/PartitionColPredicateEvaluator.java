@@ -66,6 +66,9 @@ public class PartitionColPredicateEvaluator {
 
     private final Map<ScalarOperator, List<Range<PartitionKey>>> exprToCandidateRanges;
 
+    // columnar layout of exprToCandidateRanges, empty if the ranges can not be stored in columns
+    private final Map<ScalarOperator, Optional<ColumnarPartitionRanges>> exprToColumnarRanges;
+
     private final int candidateNum;
 
     private final Column partitionColumn;
@@ -80,6 +83,7 @@ public class PartitionColPredicateEvaluator {
             candidateRanges.add(rangePartitionInfo.getIdToRange(false).get(id));
         }
         exprToCandidateRanges = Maps.newHashMap();
+        exprToColumnarRanges = Maps.newHashMap();
     }
 
     public List<Long> prunePartitions(PartitionColPredicateExtractor extractor, ScalarOperator predicates) {
@@ -118,20 +122,32 @@ public class PartitionColPredicateEvaluator {
         @Override
         public BitSet visitCall(CallOperator call, Void context) {
             if (!exprToCandidateRanges.containsKey(call)) {
+                // the bounds of all the ranges are mapped at once by the compiled call if possible
+                ScalarOperatorCompiler.CompiledOperator compiledCall = ScalarOperatorCompiler.compile(call, true);
+                List<Optional<LiteralExpr>> mappingBounds = null;
+                if (compiledCall != null) {
+                    mappingBounds = mapRangeBoundValues(compiledCall);
+                }
+
                 List<Range<PartitionKey>> mappingRanges = Lists.newArrayList();
                 PrimitiveType returnType = call.getType().getPrimitiveType();
-                for (Range<PartitionKey> range : candidateRanges) {
+                for (int i = 0; i < candidateRanges.size(); i++) {
+                    Range<PartitionKey> range = candidateRanges.get(i);
                     Range<PartitionKey> newRange;
                     if (!range.hasUpperBound() || range.upperEndpoint().getKeys().get(0) instanceof MaxLiteral) {
                         newRange = createFullScopeRange(returnType);
                     } else {
                         PartitionKey lowerKey = new PartitionKey();
                         PartitionKey upperKey = new PartitionKey();
-                        LiteralExpr lowerBound = range.hasLowerBound() ? range.lowerEndpoint().getKeys().get(0)
-                                : createInfinity(partitionColumn.getType(), false);
-                        LiteralExpr upperBound = range.upperEndpoint().getKeys().get(0);
-                        Optional<LiteralExpr> mappingLowerBound = mapRangeBoundValue(call, lowerBound);
-                        Optional<LiteralExpr> mappingUpperBound = mapRangeBoundValue(call, upperBound);
+                        Optional<LiteralExpr> mappingLowerBound;
+                        Optional<LiteralExpr> mappingUpperBound;
+                        if (mappingBounds != null) {
+                            mappingLowerBound = mappingBounds.get(2 * i);
+                            mappingUpperBound = mappingBounds.get(2 * i + 1);
+                        } else {
+                            mappingLowerBound = mapRangeBoundValue(call, getLowerBound(range));
+                            mappingUpperBound = mapRangeBoundValue(call, range.upperEndpoint().getKeys().get(0));
+                        }
                         if (mappingLowerBound.isPresent() && mappingUpperBound.isPresent()) {
                             LiteralExpr newLowerBound = mappingLowerBound.get();
                             LiteralExpr newUpperBound = mappingUpperBound.get();
@@ -300,6 +316,17 @@ public class PartitionColPredicateEvaluator {
                 return createAllTrueBitSet();
             }
             List<Range<PartitionKey>> ranges = exprToCandidateRanges.get(scalarOperator);
+
+            Optional<ColumnarPartitionRanges> columnarRanges = exprToColumnarRanges.computeIfAbsent(scalarOperator,
+                    k -> Optional.ofNullable(
+                            ColumnarPartitionRanges.create(ranges, isCanonicalType(scalarOperator.getType()))));
+            if (columnarRanges.isPresent()) {
+                BitSet res = columnarRanges.get().evaluate(predicateRange);
+                if (res != null) {
+                    return res;
+                }
+            }
+
             for (int i = 0; i < candidateNum; i++) {
                 Range<PartitionKey> range = ranges.get(i);
                 if (range.isConnected(predicateRange) && !range.intersection(predicateRange).isEmpty()) {
@@ -349,6 +376,55 @@ public class PartitionColPredicateEvaluator {
             }
         }
 
+        private LiteralExpr getLowerBound(Range<PartitionKey> range) {
+            return range.hasLowerBound() ? range.lowerEndpoint().getKeys().get(0)
+                    : createInfinity(partitionColumn.getType(), false);
+        }
+
+        /**
+         * Map the lower and upper bounds of all the candidate ranges by the compiled call in one batch.
+         *
+         * @return the mapped lower and upper bounds of the i-th range at 2 * i and 2 * i + 1
+         */
+        private List<Optional<LiteralExpr>> mapRangeBoundValues(ScalarOperatorCompiler.CompiledOperator compiledCall) {
+            ConstantOperator[] values = new ConstantOperator[2 * candidateNum];
+            for (int i = 0; i < candidateNum; i++) {
+                Range<PartitionKey> range = candidateRanges.get(i);
+                if (!range.hasUpperBound() || range.upperEndpoint().getKeys().get(0) instanceof MaxLiteral) {
+                    // the range is not mapped
+                    continue;
+                }
+                values[2 * i] = toConstantOperator(getLowerBound(range));
+                values[2 * i + 1] = toConstantOperator(range.upperEndpoint().getKeys().get(0));
+            }
+
+            ConstantOperator[] results = compiledCall.evaluate(values);
+            List<Optional<LiteralExpr>> mappingBounds = Lists.newArrayListWithCapacity(results.length);
+            for (ConstantOperator result : results) {
+                if (result == null) {
+                    mappingBounds.add(Optional.empty());
+                    continue;
+                }
+                try {
+                    mappingBounds.add(Optional.of(ColumnFilterConverter.convertLiteral(result)));
+                } catch (Exception e) {
+                    mappingBounds.add(Optional.empty());
+                }
+            }
+            return mappingBounds;
+        }
+
+        // the same as ColumnRefReplacer, null if the value is unknown
+        private ConstantOperator toConstantOperator(LiteralExpr literalExpr) {
+            if (literalExpr instanceof NullLiteral) {
+                return ConstantOperator.createNull(literalExpr.getType());
+            } else if (literalExpr instanceof MaxLiteral) {
+                return null;
+            } else {
+                return ConstantOperator.createObject(literalExpr.getRealObjectValue(), literalExpr.getType());
+            }
+        }
+
         private Optional<LiteralExpr> mapRangeBoundValue(CallOperator callOperator, LiteralExpr literalExpr) {
             ColumnRefReplacer refReplacer = new ColumnRefReplacer(literalExpr);
             CallOperator newCall = (CallOperator) callOperator.accept(refReplacer, null);
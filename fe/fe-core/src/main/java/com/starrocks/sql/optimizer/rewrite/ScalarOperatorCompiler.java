@@ -0,0 +1,177 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.sql.optimizer.rewrite;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.starrocks.catalog.FunctionSet;
+import com.starrocks.catalog.Type;
+import com.starrocks.common.Pair;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.sql.optimizer.operator.scalar.CallOperator;
+import com.starrocks.sql.optimizer.operator.scalar.CastOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ConstantOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+/**
+ * Compile a scalar operator over one column to a closure, which folds the operator for a batch of values of the
+ * column at once, the same as rewriting the operator with the column replaced by each value and then
+ * {@link com.starrocks.sql.optimizer.rewrite.scalar.FoldConstantsRule}, but the functions are resolved only once and
+ * the operator tree is not copied or rewritten for each value.
+ * <p>
+ * Only column refs, constants, casts and function calls are supported. The compiled closures are cached by the
+ * operator, since the same expressions are evaluated for partition pruning again and again.
+ */
+public class ScalarOperatorCompiler {
+
+    /**
+     * A compiled scalar operator.
+     */
+    public interface CompiledOperator {
+        /**
+         * @param values the values of the column, an element is null if the value is unknown
+         * @return the results for each value, an element is null if the result can not be folded to a constant
+         */
+        ConstantOperator[] evaluate(ConstantOperator[] values);
+    }
+
+    private static final Cache<Pair<ScalarOperator, Boolean>, Optional<CompiledOperator>> CACHE =
+            Caffeine.newBuilder().maximumSize(4096).build();
+
+    /**
+     * @param needMonotonic only fold the monotonic functions, see {@link ScalarOperatorEvaluator#evaluation}
+     * @return the compiled operator, or null if the operator is not supported
+     */
+    public static CompiledOperator compile(ScalarOperator operator, boolean needMonotonic) {
+        if (ConnectContext.get() != null
+                && ConnectContext.get().getSessionVariable().isDisableFunctionFoldConstants()) {
+            return null;
+        }
+        if (operator.getUsedColumns().cardinality() > 1) {
+            return null;
+        }
+        Pair<ScalarOperator, Boolean> key = Pair.create(operator, needMonotonic);
+        Optional<CompiledOperator> compiled = CACHE.getIfPresent(key);
+        if (compiled == null) {
+            // the operator may be modified later by its owner
+            ScalarOperator copied = operator.clone();
+            compiled = Optional.ofNullable(compileInternal(copied, needMonotonic));
+            CACHE.put(Pair.create(copied, needMonotonic), compiled);
+        }
+        return compiled.orElse(null);
+    }
+
+    private static CompiledOperator compileInternal(ScalarOperator operator, boolean needMonotonic) {
+        if (operator instanceof ColumnRefOperator) {
+            return ConstantOperator[]::clone;
+        } else if (operator instanceof ConstantOperator) {
+            ConstantOperator constant = (ConstantOperator) operator;
+            return values -> {
+                ConstantOperator[] results = new ConstantOperator[values.length];
+                Arrays.fill(results, constant);
+                return results;
+            };
+        } else if (operator instanceof CastOperator) {
+            return compileCast((CastOperator) operator, needMonotonic);
+        } else if (operator instanceof CallOperator) {
+            return compileCall((CallOperator) operator, needMonotonic);
+        }
+        return null;
+    }
+
+    private static CompiledOperator compileCast(CastOperator cast, boolean needMonotonic) {
+        Type type = cast.getType();
+        // cast null_type to any type
+        if (cast.getChild(0).getType().isNull()) {
+            return values -> {
+                ConstantOperator[] results = new ConstantOperator[values.length];
+                for (int i = 0; i < values.length; i++) {
+                    results[i] = ConstantOperator.createNull(type);
+                }
+                return results;
+            };
+        }
+
+        CompiledOperator child = compileInternal(cast.getChild(0), needMonotonic);
+        if (child == null) {
+            return null;
+        }
+        return values -> {
+            ConstantOperator[] results = child.evaluate(values);
+            for (int i = 0; i < results.length; i++) {
+                if (results[i] == null) {
+                    continue;
+                }
+                if (results[i].isNull()) {
+                    results[i] = ConstantOperator.createNull(type);
+                } else {
+                    results[i] = results[i].castTo(type).orElse(null);
+                }
+            }
+            return results;
+        };
+    }
+
+    private static CompiledOperator compileCall(CallOperator call, boolean needMonotonic) {
+        if (call.isAggregate()) {
+            return null;
+        }
+        // the monotonicity of date_format depends on the format
+        if (needMonotonic && FunctionSet.DATE_FORMAT.equalsIgnoreCase(call.getFnName())
+                && !call.getChild(1).isConstantRef()) {
+            return null;
+        }
+        ScalarOperatorEvaluator.CompiledCall compiledCall = ScalarOperatorEvaluator.INSTANCE.compile(call, needMonotonic);
+        if (compiledCall == null) {
+            return null;
+        }
+        List<CompiledOperator> children = new ArrayList<>(call.getChildren().size());
+        for (ScalarOperator child : call.getChildren()) {
+            CompiledOperator compiledChild = compileInternal(child, needMonotonic);
+            if (compiledChild == null) {
+                return null;
+            }
+            children.add(compiledChild);
+        }
+
+        return values -> {
+            List<ConstantOperator[]> childResults = new ArrayList<>(children.size());
+            for (CompiledOperator child : children) {
+                childResults.add(child.evaluate(values));
+            }
+            ConstantOperator[] results = new ConstantOperator[values.length];
+            List<ConstantOperator> args = new ArrayList<>(children.size());
+            for (int i = 0; i < values.length; i++) {
+                args.clear();
+                for (ConstantOperator[] childResult : childResults) {
+                    if (childResult[i] == null) {
+                        break;
+                    }
+                    args.add(childResult[i]);
+                }
+                if (args.size() == children.size()) {
+                    results[i] = compiledCall.evaluate(args);
+                }
+            }
+            return results;
+        };
+    }
+}
@@ -142,35 +142,45 @@ public enum ScalarOperatorEvaluator {
             }
         }
 
-        Function fn = root.getFunction();
-        if (fn == null) {
+        CompiledCall compiledCall = compile(root, needMonotonic);
+        if (compiledCall == null) {
             return root;
         }
 
+        List<ConstantOperator> args = new ArrayList<>(root.getChildren().size());
+        for (ScalarOperator child : root.getChildren()) {
+            args.add((ConstantOperator) child);
+        }
+        ConstantOperator result = compiledCall.evaluate(args);
+        return result == null ? root : result;
+    }
+
+    /**
+     * Resolve the function of the call once, so that the call can be evaluated repeatedly over different constant
+     * arguments without looking up the function again. The children of the call don't need to be constants.
+     *
+     * @return null if the function of the call is unknown
+     */
+    public CompiledCall compile(CallOperator call, boolean needMonotonic) {
+        Function fn = call.getFunction();
+        if (fn == null) {
+            return null;
+        }
+
         // return Null directly iff:
         // 1. Not UDF
         // 2. Not in isNotAlwaysNullResultWithNullParamFunctions
         // 3. Has null parameter
         // 4. Not assert_true
-        if (!GlobalStateMgr.getCurrentState()
+        boolean nullResultWithNullParam = !GlobalStateMgr.getCurrentState()
                 .isNotAlwaysNullResultWithNullParamFunction(fn.getFunctionName().getFunction())
                 && !fn.isUdf()
-                && !FunctionSet.ASSERT_TRUE.equals(fn.getFunctionName().getFunction())) {
-            for (ScalarOperator op : root.getChildren()) {
-                if (((ConstantOperator) op).isNull()) {
-                    // Should return ConstantOperator.createNull(fn.getReturnType()),
-                    // but for keep same with old StarRocks
-                    // types in decimalv3-typed function instances are wild types(both precision and scale are -1)
-                    // the wild types should never escaped outside of function instance resolution.
-                    Type type = fn.getReturnType();
-                    if (type.isDecimalV3()) {
-                        return ConstantOperator.createNull(root.getType());
-                    } else {
-                        return ConstantOperator.createNull(fn.getReturnType());
-                    }
-                }
-            }
-        }
+                && !FunctionSet.ASSERT_TRUE.equals(fn.getFunctionName().getFunction());
+        // Should return ConstantOperator.createNull(fn.getReturnType()),
+        // but for keep same with old StarRocks
+        // types in decimalv3-typed function instances are wild types(both precision and scale are -1)
+        // the wild types should never escaped outside of function instance resolution.
+        Type nullResultType = fn.getReturnType().isDecimalV3() ? call.getType() : fn.getReturnType();
 
         List<Type> argTypes = new ArrayList<>(Arrays.asList(fn.getArgs()));
 
@@ -179,33 +189,64 @@ public enum ScalarOperatorEvaluator {
 
         FunctionInvoker invoker = functions.get(signature);
 
-        if (invoker == null) {
-            return root;
+        if (invoker != null && needMonotonic && !isMonotonicFunc(invoker, call)) {
+            invoker = null;
         }
+        return new CompiledCall(invoker, fn.getReturnType(), nullResultType, nullResultWithNullParam);
+    }
 
-        if (needMonotonic && !isMonotonicFunc(invoker, root)) {
-            return root;
+    /**
+     * A call whose function has been resolved, see {@link #compile}.
+     */
+    public static class CompiledCall {
+        private final FunctionInvoker invoker;
+        private final Type returnType;
+        private final Type nullResultType;
+        private final boolean nullResultWithNullParam;
+
+        private CompiledCall(FunctionInvoker invoker, Type returnType, Type nullResultType,
+                             boolean nullResultWithNullParam) {
+            this.invoker = invoker;
+            this.returnType = returnType;
+            this.nullResultType = nullResultType;
+            this.nullResultWithNullParam = nullResultWithNullParam;
         }
 
-        try {
-            ConstantOperator operator = invoker.invoke(root.getChildren());
-            // check return result type, decimal will change return type
-            if (operator.getType().getPrimitiveType() != fn.getReturnType().getPrimitiveType()) {
-                Preconditions.checkState(operator.getType().isDecimalOfAnyVersion());
-                Preconditions.checkState(fn.getReturnType().isDecimalOfAnyVersion());
-                operator.setType(fn.getReturnType());
+        /**
+         * @return the result of the call over the arguments, or null if it can not be evaluated in FE
+         */
+        public ConstantOperator evaluate(List<ConstantOperator> args) {
+            if (nullResultWithNullParam) {
+                for (ConstantOperator arg : args) {
+                    if (arg.isNull()) {
+                        return ConstantOperator.createNull(nullResultType);
+                    }
+                }
+            }
+
+            if (invoker == null) {
+                return null;
             }
-            return operator;
-        } catch (Exception e) {
-            LOG.debug("failed to invoke", e);
-            if (invoker.isMetaFunction) {
-                throw new StarRocksPlannerException(ErrorType.USER_ERROR, ExceptionUtils.getRootCauseMessage(e));
+
+            try {
+                ConstantOperator operator = invoker.invoke(args);
+                // check return result type, decimal will change return type
+                if (operator.getType().getPrimitiveType() != returnType.getPrimitiveType()) {
+                    Preconditions.checkState(operator.getType().isDecimalOfAnyVersion());
+                    Preconditions.checkState(returnType.isDecimalOfAnyVersion());
+                    operator.setType(returnType);
+                }
+                return operator;
+            } catch (Exception e) {
+                LOG.debug("failed to invoke", e);
+                if (invoker.isMetaFunction) {
+                    throw new StarRocksPlannerException(ErrorType.USER_ERROR, ExceptionUtils.getRootCauseMessage(e));
+                }
             }
+            return null;
         }
-        return root;
     }
 
-
     private boolean isMonotonicFunc(FunctionInvoker invoker, CallOperator operator) {
         if (!invoker.isMonotonic) {
             return false;
@@ -281,10 +322,13 @@ public enum ScalarOperatorEvaluator {
 
         private final boolean isMonotonic;
         private final Method method;
+        // Method.getParameterTypes() copies the array for each call
+        private final Class<?>[] parameterTypes;
         private final FunctionSignature signature;
 
         public FunctionInvoker(Method method, FunctionSignature signature, boolean isMetaFunction, boolean isMonotonic) {
             this.method = method;
+            this.parameterTypes = method.getParameterTypes();
             this.signature = signature;
             this.isMetaFunction = isMetaFunction;
             this.isMonotonic = isMonotonic;
@@ -299,18 +343,19 @@ public enum ScalarOperatorEvaluator {
         }
 
         // Function doesn't support array type
-        public ConstantOperator invoke(List<ScalarOperator> args) throws IllegalAccessException, InvocationTargetException {
+        public ConstantOperator invoke(List<? extends ScalarOperator> args)
+                throws IllegalAccessException, InvocationTargetException {
             final List<Object> invokeArgs = createInvokeArgs(args);
             return (ConstantOperator) method.invoke(null, invokeArgs.toArray());
         }
 
-        private List<Object> createInvokeArgs(List<ScalarOperator> args) {
+        private List<Object> createInvokeArgs(List<? extends ScalarOperator> args) {
             final List<Object> invokeArgs = Lists.newArrayList();
-            for (int index = 0; index < method.getParameterTypes().length; index++) {
-                final Class<?> argType = method.getParameterTypes()[index];
+            for (int index = 0; index < parameterTypes.length; index++) {
+                final Class<?> argType = parameterTypes[index];
 
                 if (argType.isArray()) {
-                    Preconditions.checkArgument(method.getParameterTypes().length == index + 1);
+                    Preconditions.checkArgument(parameterTypes.length == index + 1);
                     final List<ConstantOperator> variableArgs = Lists.newArrayList();
                     Set<PrimitiveType> checkSet = Sets.newHashSet();
 
@@ -341,11 +386,14 @@ public enum ScalarOperatorEvaluator {
         private final String name;
         private final List<Type> argTypes;
         private final Type returnType;
+        // functions are looked up by the primitive types of the arguments
+        private final List<PrimitiveType> argPrimitiveTypes;
 
         public FunctionSignature(String name, List<Type> argTypes, Type returnType) {
             this.name = name;
             this.argTypes = argTypes;
             this.returnType = returnType;
+            this.argPrimitiveTypes = argTypes.stream().map(Type::getPrimitiveType).collect(Collectors.toList());
         }
 
         public List<Type> getArgTypes() {
@@ -378,20 +426,14 @@ public enum ScalarOperatorEvaluator {
 
             ScalarOperatorEvaluator.FunctionSignature signature = (ScalarOperatorEvaluator.FunctionSignature) o;
 
-            List<PrimitiveType> primitiveTypes =
-                    argTypes.stream().map(Type::getPrimitiveType).collect(Collectors.toList());
-            List<PrimitiveType> sigPrimitiveTypes =
-                    signature.argTypes.stream().map(Type::getPrimitiveType).collect(Collectors.toList());
             return Objects.equals(name, signature.name) &&
-                    primitiveTypes.equals(sigPrimitiveTypes) &&
+                    argPrimitiveTypes.equals(signature.argPrimitiveTypes) &&
                     returnType.matchesType(signature.returnType);
         }
 
         @Override
         public int hashCode() {
-            List<PrimitiveType> primitiveTypes =
-                    argTypes.stream().map(Type::getPrimitiveType).collect(Collectors.toList());
-            return Objects.hash(name, primitiveTypes, returnType.getPrimitiveType());
+            return Objects.hash(name, argPrimitiveTypes, returnType.getPrimitiveType());
         }
     }
 }
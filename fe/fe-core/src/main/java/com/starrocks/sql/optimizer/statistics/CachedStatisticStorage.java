@@ -30,10 +30,12 @@ import com.starrocks.connector.statistics.ConnectorHistogramColumnStatsCacheLoad
 import com.starrocks.connector.statistics.ConnectorTableColumnKey;
 import com.starrocks.connector.statistics.ConnectorTableColumnStats;
 import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.statistic.BasicStatsMeta;
 import com.starrocks.statistic.StatisticUtils;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+import java.time.ZoneOffset;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.HashMap;
@@ -468,6 +470,64 @@ public class CachedStatisticStorage implements StatisticStorage {
         connectorHistogramCache.synchronous().invalidateAll(allKeys);
     }
 
+    /**
+     * Take a snapshot of the loaded table and column statistics of the tables in basicStatsMetaMap.
+     */
+    public StatisticsCacheSnapshot takeSnapshot(Map<Long, BasicStatsMeta> basicStatsMetaMap) {
+        StatisticsCacheSnapshot snapshot = new StatisticsCacheSnapshot();
+        tableStatsCache.asMap().forEach((key, future) -> {
+            BasicStatsMeta meta = basicStatsMetaMap.get(key.getTableId());
+            Optional<TableStatistic> statistic = getIfLoaded(future);
+            if (meta != null && statistic.isPresent()) {
+                snapshot.tableEntries.add(new StatisticsCacheSnapshot.TableEntry(key.getTableId(), key.getPartitionId(),
+                        statistic.get().getRowCount(), meta.getUpdateTime().toEpochSecond(ZoneOffset.UTC)));
+            }
+        });
+        cachedStatistics.asMap().forEach((key, future) -> {
+            BasicStatsMeta meta = basicStatsMetaMap.get(key.tableId);
+            Optional<ColumnStatistic> statistic = getIfLoaded(future);
+            if (meta != null && statistic.isPresent() && !statistic.get().isUnknown()) {
+                snapshot.columnEntries.add(new StatisticsCacheSnapshot.ColumnEntry(key.tableId, key.column,
+                        statistic.get(), meta.getUpdateTime().toEpochSecond(ZoneOffset.UTC)));
+            }
+        });
+        return snapshot;
+    }
+
+    /**
+     * Restore the entries of the snapshot whose tables are not analyzed again after the snapshot is taken,
+     * the statistics already loaded are not overwritten.
+     *
+     * @return the number of entries restored
+     */
+    public int restoreSnapshot(StatisticsCacheSnapshot snapshot, Map<Long, BasicStatsMeta> basicStatsMetaMap) {
+        int restored = 0;
+        for (StatisticsCacheSnapshot.TableEntry entry : snapshot.tableEntries) {
+            if (isSnapshotValid(basicStatsMetaMap.get(entry.tableId), entry.updateTime) &&
+                    tableStatsCache.asMap().putIfAbsent(new TableStatsCacheKey(entry.tableId, entry.partitionId),
+                            CompletableFuture.completedFuture(Optional.of(
+                                    new TableStatistic(entry.tableId, entry.partitionId, entry.rowCount)))) == null) {
+                restored++;
+            }
+        }
+        for (StatisticsCacheSnapshot.ColumnEntry entry : snapshot.columnEntries) {
+            if (isSnapshotValid(basicStatsMetaMap.get(entry.tableId), entry.updateTime) &&
+                    cachedStatistics.asMap().putIfAbsent(new ColumnStatsCacheKey(entry.tableId, entry.column),
+                            CompletableFuture.completedFuture(Optional.of(entry.toColumnStatistic()))) == null) {
+                restored++;
+            }
+        }
+        return restored;
+    }
+
+    private static boolean isSnapshotValid(BasicStatsMeta meta, long updateTime) {
+        return meta != null && meta.getUpdateTime().toEpochSecond(ZoneOffset.UTC) == updateTime;
+    }
+
+    private static <V> Optional<V> getIfLoaded(CompletableFuture<Optional<V>> future) {
+        return future.isDone() && !future.isCompletedExceptionally() ? future.join() : Optional.empty();
+    }
+
     private List<ColumnStatistic> getDefaultColumnStatisticList(List<String> columns) {
         List<ColumnStatistic> columnStatisticList = new ArrayList<>();
         for (int i = 0; i < columns.size(); ++i) {
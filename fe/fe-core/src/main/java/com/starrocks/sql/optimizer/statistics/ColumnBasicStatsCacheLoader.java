@@ -37,6 +37,7 @@ import org.checkerframework.checker.nullness.qual.NonNull;
 
 import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
@@ -81,16 +82,14 @@ public class ColumnBasicStatsCacheLoader implements AsyncCacheLoader<ColumnStats
         return CompletableFuture.supplyAsync(() -> {
 
             try {
-                long tableId = -1;
-                List<String> columns = new ArrayList<>();
+                // load the columns of the same table by one query
+                Map<Long, List<String>> tableColumns = new LinkedHashMap<>();
                 for (ColumnStatsCacheKey key : keys) {
-                    tableId = key.tableId;
-                    columns.add(key.column);
+                    tableColumns.computeIfAbsent(key.tableId, k -> new ArrayList<>()).add(key.column);
                 }
 
                 ConnectContext statsConnectCtx = StatisticUtils.buildConnectContext();
                 statsConnectCtx.setThreadLocalInfo();
-                List<TStatisticData> statisticData = queryStatisticsData(statsConnectCtx, tableId, columns);
                 Map<ColumnStatsCacheKey, Optional<ColumnStatistic>> result = new HashMap<>();
                 // There may be no statistics for the column in BE
                 // Complete the list of statistics information, otherwise the columns without statistics may be called repeatedly
@@ -98,10 +97,13 @@ public class ColumnBasicStatsCacheLoader implements AsyncCacheLoader<ColumnStats
                     result.put(cacheKey, Optional.empty());
                 }
 
-                for (TStatisticData data : statisticData) {
-                    ColumnStatistic columnStatistic = convert2ColumnStatistics(data);
-                    result.put(new ColumnStatsCacheKey(data.tableId, data.columnName),
-                            Optional.of(columnStatistic));
+                for (Map.Entry<Long, List<String>> entry : tableColumns.entrySet()) {
+                    List<TStatisticData> statisticData = queryStatisticsData(statsConnectCtx, entry.getKey(), entry.getValue());
+                    for (TStatisticData data : statisticData) {
+                        ColumnStatistic columnStatistic = convert2ColumnStatistics(data);
+                        result.put(new ColumnStatsCacheKey(data.tableId, data.columnName),
+                                Optional.of(columnStatistic));
+                    }
                 }
                 return result;
             } catch (RuntimeException e) {
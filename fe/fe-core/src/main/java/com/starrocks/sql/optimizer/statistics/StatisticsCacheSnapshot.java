@@ -0,0 +1,132 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.sql.optimizer.statistics;
+
+import com.google.gson.Gson;
+import com.google.gson.annotations.SerializedName;
+import com.starrocks.persist.gson.GsonUtils;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Snapshot of the table and column statistics loaded by {@link CachedStatisticStorage}, which is saved to local
+ * disk periodically and restored after FE restarts, so that the queries right after restart do not need to wait
+ * for the statistics to be loaded from the statistics tables.
+ * <p>
+ * Each entry is versioned by the update time in seconds of the {@link com.starrocks.statistic.BasicStatsMeta}
+ * of its table, the entries of the tables analyzed again after the snapshot are not restored.
+ */
+public class StatisticsCacheSnapshot {
+    // min and max values may be infinite
+    private static final Gson GSON = GsonUtils.GSON.newBuilder().serializeSpecialFloatingPointValues().create();
+
+    public static class TableEntry {
+        @SerializedName("tableId")
+        long tableId;
+        @SerializedName("partitionId")
+        long partitionId;
+        @SerializedName("rowCount")
+        long rowCount;
+        @SerializedName("updateTime")
+        long updateTime;
+
+        TableEntry(long tableId, long partitionId, long rowCount, long updateTime) {
+            this.tableId = tableId;
+            this.partitionId = partitionId;
+            this.rowCount = rowCount;
+            this.updateTime = updateTime;
+        }
+    }
+
+    public static class ColumnEntry {
+        @SerializedName("tableId")
+        long tableId;
+        @SerializedName("column")
+        String column;
+        @SerializedName("minValue")
+        double minValue;
+        @SerializedName("maxValue")
+        double maxValue;
+        @SerializedName("nullsFraction")
+        double nullsFraction;
+        @SerializedName("averageRowSize")
+        double averageRowSize;
+        @SerializedName("distinctValuesCount")
+        double distinctValuesCount;
+        @SerializedName("updateTime")
+        long updateTime;
+
+        ColumnEntry(long tableId, String column, ColumnStatistic statistic, long updateTime) {
+            this.tableId = tableId;
+            this.column = column;
+            this.minValue = statistic.getMinValue();
+            this.maxValue = statistic.getMaxValue();
+            this.nullsFraction = statistic.getNullsFraction();
+            this.averageRowSize = statistic.getAverageRowSize();
+            this.distinctValuesCount = statistic.getDistinctValuesCount();
+            this.updateTime = updateTime;
+        }
+
+        ColumnStatistic toColumnStatistic() {
+            return ColumnStatistic.builder().setMinValue(minValue).setMaxValue(maxValue)
+                    .setNullsFraction(nullsFraction).setAverageRowSize(averageRowSize)
+                    .setDistinctValuesCount(distinctValuesCount).build();
+        }
+    }
+
+    @SerializedName("tableEntries")
+    List<TableEntry> tableEntries = new ArrayList<>();
+    @SerializedName("columnEntries")
+    List<ColumnEntry> columnEntries = new ArrayList<>();
+
+    public int getTableEntryNum() {
+        return tableEntries.size();
+    }
+
+    public int getColumnEntryNum() {
+        return columnEntries.size();
+    }
+
+    /**
+     * Write the snapshot to a temporary file then rename it, so a crash during the write never leaves
+     * a broken snapshot.
+     */
+    public void save(File file) throws IOException {
+        File dir = file.getAbsoluteFile().getParentFile();
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("failed to create dir " + dir);
+        }
+        File tmpFile = new File(dir, file.getName() + ".tmp");
+        Files.writeString(tmpFile.toPath(), GSON.toJson(this), StandardCharsets.UTF_8);
+        Files.move(tmpFile.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * @return the snapshot saved in the file, or null if the file does not exist
+     */
+    public static StatisticsCacheSnapshot load(File file) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        String json = Files.readString(file.toPath(), StandardCharsets.UTF_8);
+        return GSON.fromJson(json, StatisticsCacheSnapshot.class);
+    }
+}
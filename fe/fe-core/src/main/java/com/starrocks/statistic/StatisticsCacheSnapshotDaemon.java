@@ -0,0 +1,82 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.statistic;
+
+import com.starrocks.common.Config;
+import com.starrocks.common.util.FrontendDaemon;
+import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.sql.optimizer.statistics.CachedStatisticStorage;
+import com.starrocks.sql.optimizer.statistics.StatisticStorage;
+import com.starrocks.sql.optimizer.statistics.StatisticsCacheSnapshot;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.Map;
+
+/**
+ * Restores the statistics cache from the local snapshot when FE starts, then saves the snapshot periodically.
+ */
+public class StatisticsCacheSnapshotDaemon extends FrontendDaemon {
+    private static final Logger LOG = LogManager.getLogger(StatisticsCacheSnapshotDaemon.class);
+
+    private static final String SNAPSHOT_FILE_NAME = "statistic_cache.json";
+
+    private boolean restored = false;
+
+    public StatisticsCacheSnapshotDaemon() {
+        super("statistics cache snapshot", Math.max(Config.statistic_cache_snapshot_interval_sec, 1) * 1000L);
+    }
+
+    @Override
+    protected void runAfterCatalogReady() {
+        setInterval(Math.max(Config.statistic_cache_snapshot_interval_sec, 1) * 1000L);
+        if (Config.statistic_cache_snapshot_interval_sec <= 0) {
+            return;
+        }
+        StatisticStorage storage = GlobalStateMgr.getCurrentState().getStatisticStorage();
+        if (!(storage instanceof CachedStatisticStorage)) {
+            return;
+        }
+        CachedStatisticStorage cachedStorage = (CachedStatisticStorage) storage;
+        Map<Long, BasicStatsMeta> basicStatsMetaMap = GlobalStateMgr.getCurrentState().getAnalyzeMgr().getBasicStatsMetaMap();
+        File file = new File(Config.statistic_cache_snapshot_dir, SNAPSHOT_FILE_NAME);
+
+        if (!restored) {
+            restored = true;
+            try {
+                StatisticsCacheSnapshot snapshot = StatisticsCacheSnapshot.load(file);
+                if (snapshot != null) {
+                    int num = cachedStorage.restoreSnapshot(snapshot, basicStatsMetaMap);
+                    LOG.info("restored {} of {} entries from statistics cache snapshot {}", num,
+                            snapshot.getTableEntryNum() + snapshot.getColumnEntryNum(), file);
+                }
+            } catch (Exception e) {
+                LOG.warn("failed to restore statistics cache snapshot {}", file, e);
+            }
+            return;
+        }
+
+        try {
+            StatisticsCacheSnapshot snapshot = cachedStorage.takeSnapshot(basicStatsMetaMap);
+            snapshot.save(file);
+            LOG.debug("saved {} table entries and {} column entries to statistics cache snapshot {}",
+                    snapshot.getTableEntryNum(), snapshot.getColumnEntryNum(), file);
+        } catch (IOException e) {
+            LOG.warn("failed to save statistics cache snapshot {}", file, e);
+        }
+    }
+}
@@ -34,92 +34,155 @@
 
 package com.starrocks.task;
 
-import com.google.common.collect.HashBasedTable;
 import com.google.common.collect.HashMultimap;
 import com.google.common.collect.Lists;
-import com.google.common.collect.Maps;
 import com.google.common.collect.Multimap;
-import com.google.common.collect.Table;
 import com.starrocks.thrift.TPushType;
 import com.starrocks.thrift.TTaskType;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.util.ArrayList;
-import java.util.HashSet;
+import java.util.Collections;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
 
 /**
  * Task queue
+ * <p>
+ * Tasks are sharded by backend, and each backend keeps its tasks in concurrent maps by task type and signature,
+ * so adding, removing and getting a task are lock free and do not block the tasks of other backends.
+ * The push tasks are also indexed by transaction id, to remove the tasks of a transaction without scanning
+ * all the push tasks of the backend.
  */
 public class AgentTaskQueue {
     private static final Logger LOG = LogManager.getLogger(AgentTaskQueue.class);
 
-    // backend id -> (task type -> (signature -> agent task))
-    public static Table<Long, TTaskType, Map<Long, AgentTask>> tasks = HashBasedTable.create();
-    private static int taskNum = 0;
+    public static class BackendTasks {
+        // task type -> (signature -> agent task)
+        final Map<TTaskType, Map<Long, AgentTask>> typeToTasks = new ConcurrentHashMap<>();
+        // transaction id -> signatures of the push tasks
+        final Map<Long, Set<Long>> transactionIdToSignatures = new ConcurrentHashMap<>();
 
-    public static synchronized void addBatchTask(AgentBatchTask batchTask) {
+        Map<Long, AgentTask> getTasks(TTaskType type) {
+            return typeToTasks.computeIfAbsent(type, k -> new ConcurrentHashMap<>());
+        }
+
+        void indexTask(AgentTask task) {
+            if (task instanceof PushTask) {
+                transactionIdToSignatures.compute(((PushTask) task).getTransactionId(), (k, signatures) -> {
+                    if (signatures == null) {
+                        signatures = ConcurrentHashMap.newKeySet();
+                    }
+                    signatures.add(task.getSignature());
+                    return signatures;
+                });
+            }
+        }
+
+        void unindexTask(AgentTask task) {
+            if (task instanceof PushTask) {
+                transactionIdToSignatures.computeIfPresent(((PushTask) task).getTransactionId(), (k, signatures) -> {
+                    signatures.remove(task.getSignature());
+                    return signatures.isEmpty() ? null : signatures;
+                });
+            }
+        }
+    }
+
+    // backend id -> tasks of the backend
+    public static final Map<Long, BackendTasks> tasks = new ConcurrentHashMap<>();
+    private static final AtomicInteger taskNum = new AtomicInteger(0);
+
+    private static Map<Long, AgentTask> getTasks(long backendId, TTaskType type) {
+        BackendTasks backendTasks = tasks.get(backendId);
+        return backendTasks == null ? null : backendTasks.typeToTasks.get(type);
+    }
+
+    private static boolean removeTask(BackendTasks backendTasks, Map<Long, AgentTask> signatureMap, AgentTask task) {
+        boolean[] removed = {false};
+        // unindex the task while holding its entry, so that it can't interleave with the indexing in addTask
+        signatureMap.computeIfPresent(task.getSignature(), (k, existing) -> {
+            if (existing != task) {
+                return existing;
+            }
+            backendTasks.unindexTask(task);
+            removed[0] = true;
+            return null;
+        });
+        if (!removed[0]) {
+            return false;
+        }
+        taskNum.decrementAndGet();
+        return true;
+    }
+
+    public static void addBatchTask(AgentBatchTask batchTask) {
         for (AgentTask task : batchTask.getAllTasks()) {
             addTask(task);
         }
     }
 
-    public static synchronized boolean addTask(AgentTask task) {
+    public static boolean addTask(AgentTask task) {
         long backendId = task.getBackendId();
         TTaskType type = task.getTaskType();
 
-        Map<Long, AgentTask> signatureMap = tasks.get(backendId, type);
-        if (signatureMap == null) {
-            signatureMap = Maps.newHashMap();
-            tasks.put(backendId, type, signatureMap);
-        }
-
+        BackendTasks backendTasks = tasks.computeIfAbsent(backendId, k -> new BackendTasks());
         long signature = task.getSignature();
-        if (signatureMap.containsKey(signature)) {
+        // index the task while holding its entry, the task is not visible to removeTask before it is indexed
+        AgentTask current = backendTasks.getTasks(type).computeIfAbsent(signature, k -> {
+            backendTasks.indexTask(task);
+            return task;
+        });
+        if (current != task) {
             return false;
         }
-        signatureMap.put(signature, task);
-        ++taskNum;
+        taskNum.incrementAndGet();
         LOG.debug("add task: type[{}], backend[{}], signature[{}]", type, backendId, signature);
         return true;
     }
 
     // remove all task in AgentBatchTask.
     // the caller should make sure all tasks in AgentBatchTask is type of 'type'
-    public static synchronized void removeBatchTask(AgentBatchTask batchTask, TTaskType type) {
+    public static void removeBatchTask(AgentBatchTask batchTask, TTaskType type) {
         for (AgentTask task : batchTask.getAllTasks()) {
             removeTask(task.getBackendId(), type, task.getSignature());
         }
     }
 
-    public static synchronized void removeTask(long backendId, TTaskType type, long signature) {
-        Map<Long, AgentTask> signatureMap = tasks.get(backendId, type);
-        if (signatureMap == null) {
+    public static void removeTask(long backendId, TTaskType type, long signature) {
+        BackendTasks backendTasks = tasks.get(backendId);
+        if (backendTasks == null) {
             return;
         }
-        if (!signatureMap.containsKey(signature)) {
+        Map<Long, AgentTask> signatureMap = backendTasks.typeToTasks.get(type);
+        if (signatureMap == null) {
             return;
         }
-        signatureMap.remove(signature);
-        LOG.debug("remove task: type[{}], backend[{}], signature[{}]", type, backendId, signature);
-        --taskNum;
+        AgentTask task = signatureMap.get(signature);
+        if (task != null && removeTask(backendTasks, signatureMap, task)) {
+            LOG.debug("remove task: type[{}], backend[{}], signature[{}]", type, backendId, signature);
+        }
     }
 
     /*
      * we cannot define a push task with only 'backendId', 'signature' and 'TTaskType'
      * add version, and TPushType to help
      */
-    public static synchronized void removePushTask(long backendId, long signature, long version,
-                                                   TPushType pushType, TTaskType taskType) {
-        if (!tasks.contains(backendId, taskType)) {
+    public static void removePushTask(long backendId, long signature, long version,
+                                      TPushType pushType, TTaskType taskType) {
+        BackendTasks backendTasks = tasks.get(backendId);
+        if (backendTasks == null) {
+            return;
+        }
+        Map<Long, AgentTask> signatureMap = backendTasks.typeToTasks.get(taskType);
+        if (signatureMap == null) {
             return;
         }
-
-        Map<Long, AgentTask> signatureMap = tasks.get(backendId, taskType);
         AgentTask task = signatureMap.get(signature);
         if (task == null) {
             return;
@@ -130,36 +193,34 @@ public class AgentTaskQueue {
             return;
         }
 
-        signatureMap.remove(signature);
-        LOG.debug("remove task: type[{}], backend[{}], signature[{}]", taskType, backendId, signature);
-        --taskNum;
+        if (removeTask(backendTasks, signatureMap, task)) {
+            LOG.debug("remove task: type[{}], backend[{}], signature[{}]", taskType, backendId, signature);
+        }
     }
 
     /*
      * we cannot define a push task with only 'backendId', 'signature' and 'TTaskType'
      * add version, and TPushType to help
      */
-    public static synchronized void removePushTaskByTransactionId(long backendId, long transactionId,
-                                                                  TPushType pushType, TTaskType taskType) {
-        if (!tasks.contains(backendId, taskType)) {
+    public static void removePushTaskByTransactionId(long backendId, long transactionId,
+                                                     TPushType pushType, TTaskType taskType) {
+        BackendTasks backendTasks = tasks.get(backendId);
+        if (backendTasks == null) {
             return;
         }
-
-        Map<Long, AgentTask> signatureMap = tasks.get(backendId, taskType);
-        if (signatureMap == null) {
+        Map<Long, AgentTask> signatureMap = backendTasks.typeToTasks.get(taskType);
+        Set<Long> signatures = backendTasks.transactionIdToSignatures.get(transactionId);
+        if (signatureMap == null || signatures == null) {
             return;
         }
 
         int numOfRemove = 0;
-        Iterator<Long> signatureIt = signatureMap.keySet().iterator();
-        while (signatureIt.hasNext()) {
-            Long signature = signatureIt.next();
+        for (Long signature : Lists.newArrayList(signatures)) {
             AgentTask agentTask = signatureMap.get(signature);
             if (agentTask instanceof PushTask) {
                 PushTask pushTask = (PushTask) agentTask;
-                if (pushTask.getPushType() == pushType && pushTask.getTransactionId() == transactionId) {
-                    signatureIt.remove();
-                    --taskNum;
+                if (pushTask.getPushType() == pushType && pushTask.getTransactionId() == transactionId
+                        && removeTask(backendTasks, signatureMap, agentTask)) {
                     ++numOfRemove;
                 }
             }
@@ -170,16 +231,20 @@ public class AgentTaskQueue {
 
     }
 
-    public static synchronized void removeTaskOfType(TTaskType type, long signature) {
-        // be id -> (signature -> task)
-        Map<Long, Map<Long, AgentTask>> map = tasks.column(type);
-        for (Map<Long, AgentTask> innerMap : map.values()) {
-            innerMap.remove(signature);
+    public static void removeTaskOfType(TTaskType type, long signature) {
+        for (BackendTasks backendTasks : tasks.values()) {
+            Map<Long, AgentTask> signatureMap = backendTasks.typeToTasks.get(type);
+            if (signatureMap != null) {
+                AgentTask task = signatureMap.get(signature);
+                if (task != null) {
+                    removeTask(backendTasks, signatureMap, task);
+                }
+            }
         }
     }
 
-    public static synchronized AgentTask getTask(long backendId, TTaskType type, long signature) {
-        Map<Long, AgentTask> signatureMap = tasks.get(backendId, type);
+    public static AgentTask getTask(long backendId, TTaskType type, long signature) {
+        Map<Long, AgentTask> signatureMap = getTasks(backendId, type);
         if (signatureMap == null) {
             return null;
         }
@@ -187,30 +252,26 @@ public class AgentTaskQueue {
     }
 
     // this is just for unit test
-    public static synchronized List<AgentTask> getTask(TTaskType type) {
+    public static List<AgentTask> getTask(TTaskType type) {
         List<AgentTask> res = Lists.newArrayList();
-        for (Map<Long, AgentTask> agentTasks : tasks.column(TTaskType.ALTER).values()) {
-            res.addAll(agentTasks.values());
+        for (BackendTasks backendTasks : tasks.values()) {
+            res.addAll(backendTasks.typeToTasks.getOrDefault(type, Collections.emptyMap()).values());
         }
         return res;
     }
 
-    public static synchronized List<AgentTask> getDiffTasks(long backendId, Map<TTaskType, Set<Long>> runningTasks) {
+    public static List<AgentTask> getDiffTasks(long backendId, Map<TTaskType, Set<Long>> runningTasks) {
         List<AgentTask> diffTasks = new ArrayList<AgentTask>();
-        if (!tasks.containsRow(backendId)) {
+        BackendTasks backendTasks = tasks.get(backendId);
+        if (backendTasks == null) {
             return diffTasks;
         }
 
-        Map<TTaskType, Map<Long, AgentTask>> backendAllTasks = tasks.row(backendId);
-        for (Map.Entry<TTaskType, Map<Long, AgentTask>> entry : backendAllTasks.entrySet()) {
+        for (Map.Entry<TTaskType, Map<Long, AgentTask>> entry : backendTasks.typeToTasks.entrySet()) {
             TTaskType taskType = entry.getKey();
-            Map<Long, AgentTask> tasks = entry.getValue();
-            Set<Long> excludeSignatures = new HashSet<Long>();
-            if (runningTasks.containsKey(taskType)) {
-                excludeSignatures = runningTasks.get(taskType);
-            }
+            Set<Long> excludeSignatures = runningTasks.getOrDefault(taskType, Collections.emptySet());
 
-            for (Map.Entry<Long, AgentTask> taskEntry : tasks.entrySet()) {
+            for (Map.Entry<Long, AgentTask> taskEntry : entry.getValue().entrySet()) {
                 long signature = taskEntry.getKey();
                 AgentTask task = taskEntry.getValue();
                 if (!excludeSignatures.contains(signature)) {
@@ -222,49 +283,47 @@ public class AgentTaskQueue {
         return diffTasks;
     }
 
-    public static synchronized void removeReplicaRelatedTasks(long backendId, long tabletId) {
-        if (!tasks.containsRow(backendId)) {
+    public static void removeReplicaRelatedTasks(long backendId, long tabletId) {
+        BackendTasks backendTasks = tasks.get(backendId);
+        if (backendTasks == null) {
             return;
         }
 
-        Map<TTaskType, Map<Long, AgentTask>> backendTasks = tasks.row(backendId);
-        for (TTaskType type : TTaskType.values()) {
-            if (backendTasks.containsKey(type)) {
-                Map<Long, AgentTask> typeTasks = backendTasks.get(type);
-                if (type == TTaskType.REALTIME_PUSH) {
-                    Iterator<AgentTask> taskIterator = typeTasks.values().iterator();
-                    while (taskIterator.hasNext()) {
-                        PushTask realTimePushTask = (PushTask) taskIterator.next();
-                        if (tabletId == realTimePushTask.getTabletId()) {
-                            taskIterator.remove();
-                        }
-                    }
-                } else {
-                    if (typeTasks.containsKey(tabletId)) {
-                        typeTasks.remove(tabletId);
-                        LOG.debug("remove task: type[{}], backend[{}], signature[{}]", type, backendId, tabletId);
-                        --taskNum;
+        for (Map.Entry<TTaskType, Map<Long, AgentTask>> entry : backendTasks.typeToTasks.entrySet()) {
+            TTaskType type = entry.getKey();
+            Map<Long, AgentTask> typeTasks = entry.getValue();
+            if (type == TTaskType.REALTIME_PUSH) {
+                Iterator<AgentTask> taskIterator = typeTasks.values().iterator();
+                while (taskIterator.hasNext()) {
+                    PushTask realTimePushTask = (PushTask) taskIterator.next();
+                    if (tabletId == realTimePushTask.getTabletId()) {
+                        removeTask(backendTasks, typeTasks, realTimePushTask);
                     }
                 }
+            } else {
+                AgentTask task = typeTasks.get(tabletId);
+                if (task != null && removeTask(backendTasks, typeTasks, task)) {
+                    LOG.debug("remove task: type[{}], backend[{}], signature[{}]", type, backendId, tabletId);
+                }
             }
         } // end for types
     }
 
     // only for test now
-    public static synchronized void clearAllTasks() {
+    public static void clearAllTasks() {
         tasks.clear();
-        taskNum = 0;
+        taskNum.set(0);
     }
 
-    public static synchronized int getTaskNum() {
-        return taskNum;
+    public static int getTaskNum() {
+        return taskNum.get();
     }
 
-    public static synchronized Multimap<Long, Long> getTabletIdsByType(TTaskType type) {
+    public static Multimap<Long, Long> getTabletIdsByType(TTaskType type) {
         Multimap<Long, Long> tabletIds = HashMultimap.create();
-        Map<Long, Map<Long, AgentTask>> taskMap = tasks.column(type);
-        if (taskMap != null) {
-            for (Map<Long, AgentTask> signatureMap : taskMap.values()) {
+        for (BackendTasks backendTasks : tasks.values()) {
+            Map<Long, AgentTask> signatureMap = backendTasks.typeToTasks.get(type);
+            if (signatureMap != null) {
                 for (AgentTask task : signatureMap.values()) {
                     tabletIds.put(task.getDbId(), task.getTabletId());
                 }
@@ -273,35 +332,31 @@ public class AgentTaskQueue {
         return tabletIds;
     }
 
-    public static synchronized int getTaskNum(long backendId, TTaskType type, boolean isFailed) {
+    public static int getTaskNum(long backendId, TTaskType type, boolean isFailed) {
         int taskNum = 0;
+        List<Map<Long, AgentTask>> taskMaps = Lists.newArrayList();
         if (backendId != -1) {
-            Map<Long, AgentTask> taskMap = tasks.get(backendId, type);
+            Map<Long, AgentTask> taskMap = getTasks(backendId, type);
             if (taskMap != null) {
-                if (isFailed) {
-                    for (AgentTask task : taskMap.values()) {
-                        if (task.getFailedTimes() > 0) {
-                            ++taskNum;
-                        }
-                    }
-                } else {
-                    taskNum += taskMap.size();
-                }
+                taskMaps.add(taskMap);
             }
         } else {
-            Map<Long, Map<Long, AgentTask>> taskMap = tasks.column(type);
-            if (taskMap != null) {
-                for (Map<Long, AgentTask> signatureMap : taskMap.values()) {
-                    if (isFailed) {
-                        for (AgentTask task : signatureMap.values()) {
-                            if (task.getFailedTimes() > 0) {
-                                ++taskNum;
-                            }
-                        }
-                    } else {
-                        taskNum += signatureMap.size();
+            for (BackendTasks backendTasks : tasks.values()) {
+                Map<Long, AgentTask> taskMap = backendTasks.typeToTasks.get(type);
+                if (taskMap != null) {
+                    taskMaps.add(taskMap);
+                }
+            }
+        }
+        for (Map<Long, AgentTask> taskMap : taskMaps) {
+            if (isFailed) {
+                for (AgentTask task : taskMap.values()) {
+                    if (task.getFailedTimes() > 0) {
+                        ++taskNum;
                     }
                 }
+            } else {
+                taskNum += taskMap.size();
             }
         }
 
@@ -310,8 +365,8 @@ public class AgentTaskQueue {
         return taskNum;
     }
 
-    public static synchronized List<AgentTask> getFailedTask(long backendId, TTaskType type) {
-        Map<Long, AgentTask> taskMap = tasks.get(backendId, type);
+    public static List<AgentTask> getFailedTask(long backendId, TTaskType type) {
+        Map<Long, AgentTask> taskMap = getTasks(backendId, type);
         List<AgentTask> tasks = Lists.newArrayList();
         if (taskMap != null) {
             for (AgentTask task : taskMap.values()) {
@@ -323,4 +378,3 @@ public class AgentTaskQueue {
         return tasks;
     }
 }
-
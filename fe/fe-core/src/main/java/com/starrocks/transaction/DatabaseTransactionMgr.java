@@ -1124,6 +1124,8 @@ public class DatabaseTransactionMgr {
                                             replica.updateVersionInfo(replica.getVersion(),
                                                     partition.getVisibleVersion(),
                                                     partitionCommitInfo.getVersion());
+                                            GlobalStateMgr.getCurrentState().getTabletChecker()
+                                                    .markTabletDirty(tablet.getId());
                                             LOG.warn("transaction state {} has error, the replica [{}] not appeared " +
                                                             "in error replica list and its version not equal to partition " +
                                                             "commit version or commit version - 1 if it's not a upgrade " +
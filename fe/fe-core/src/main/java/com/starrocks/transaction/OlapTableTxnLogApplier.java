@@ -59,6 +59,7 @@ public class OlapTableTxnLogApplier implements TransactionLogApplier {
                         if (errorReplicaIds.contains(replica.getId())) {
                             // should get from transaction state
                             replica.updateLastFailedVersion(partitionCommitInfo.getVersion());
+                            GlobalStateMgr.getCurrentState().getTabletChecker().markTabletDirty(tablet.getId());
                         }
                     }
                 }
@@ -109,10 +110,11 @@ public class OlapTableTxnLogApplier implements TransactionLogApplier {
             for (MaterializedIndex index : allIndices) {
                 for (Tablet tablet : index.getTablets()) {
                     boolean hasFailedVersion = false;
+                    boolean lastFailedVersionUpdated = false;
                     List<Replica> replicas = ((LocalTablet) tablet).getImmutableReplicas();
                     for (Replica replica : replicas) {
                         if (txnState.isNewFinish()) {
-                            updateReplicaVersion(version, replica, txnState.getFinishState());
+                            lastFailedVersionUpdated |= updateReplicaVersion(version, replica, txnState.getFinishState());
                             continue;
                         }
                         long lastFailedVersion = replica.getLastFailedVersion();
@@ -164,6 +166,9 @@ public class OlapTableTxnLogApplier implements TransactionLogApplier {
                     if (hasFailedVersion && replicationNum == 1) {
                         TabletScheduler.resetDecommStatForSingleReplicaTabletUnlocked(tablet.getId(), replicas);
                     }
+                    if (hasFailedVersion || lastFailedVersionUpdated) {
+                        GlobalStateMgr.getCurrentState().getTabletChecker().markTabletDirty(tablet.getId());
+                    }
                 } // end for tablets
             } // end for indices
             long versionTime = partitionCommitInfo.getVersionTime();
@@ -198,7 +203,10 @@ public class OlapTableTxnLogApplier implements TransactionLogApplier {
         }
     }
 
-    private void updateReplicaVersion(long version, Replica replica, TxnFinishState finishState) {
+    /**
+     * @return true if the last failed version of the replica is set
+     */
+    private boolean updateReplicaVersion(long version, Replica replica, TxnFinishState finishState) {
         if (finishState.normalReplicas.contains(replica.getId())) {
             replica.updateVersion(version);
         } else {
@@ -209,7 +217,9 @@ public class OlapTableTxnLogApplier implements TransactionLogApplier {
             if (replica.getVersion() < version && replica.getState() != Replica.ReplicaState.ALTER) {
                 // update replica's last failed version, to be compatible with existing code
                 replica.updateVersionInfo(replica.getVersion(), version, replica.getLastSuccessVersion());
+                return true;
             }
         }
+        return false;
     }
 }
@@ -19,6 +19,7 @@ import com.starrocks.qe.ConnectContext;
 import com.starrocks.qe.PrepareStmtContext;
 import com.starrocks.qe.StmtExecutor;
 import com.starrocks.sql.ast.PrepareStmt;
+import com.starrocks.sql.ast.QueryStatement;
 import com.starrocks.sql.ast.StatementBase;
 import com.starrocks.sql.common.StarRocksPlannerException;
 import com.starrocks.sql.parser.SqlParser;
@@ -28,6 +29,9 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.util.List;
+import java.util.Map;
+
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
@@ -102,4 +106,19 @@ public class PreparedStmtTest{
         assertEquals("Getting analyzing error. Detail message: This command is not supported in the " +
                 "prepared statement protocol yet.", e.getMessage());
     }
+
+    @Test
+    public void testPointQueryLiterals() throws Exception {
+        String sql = "PREPARE stmt5 FROM select * from demo.prepare_stmt where c0 = ?;";
+        PrepareStmt stmt = (PrepareStmt) UtFrameUtils.parseStmtWithNewParser(sql, ctx);
+        QueryStatement query = (QueryStatement) stmt.assignValues(List.of(new StringLiteral("a")));
+        Assert.assertTrue(query.isPointQuery());
+        Map<String, Expr> literals = query.getPointQueryLiterals();
+        Assert.assertEquals(1, literals.size());
+        Assert.assertEquals("a", ((StringLiteral) literals.get("c0")).getStringValue());
+
+        query = (QueryStatement) stmt.assignValues(List.of(new StringLiteral("b")));
+        literals = query.getPointQueryLiterals();
+        Assert.assertEquals("b", ((StringLiteral) literals.get("c0")).getStringValue());
+    }
 }
@@ -0,0 +1,118 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.benchmark;
+
+import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
+import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.google.common.collect.Lists;
+import com.starrocks.common.FeConstants;
+import com.starrocks.planner.MaterializedViewTestBase;
+import com.starrocks.sql.optimizer.CachingMvPlanContextBuilder;
+import com.starrocks.sql.plan.PlanTestBase;
+import org.junit.AfterClass;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Ignore;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TestRule;
+
+/**
+ * Compare the optimize time of a multi-join query with many related mvs whose plans are not in the
+ * mv plan cache, with and without building the mv plans in parallel.
+ */
+@Ignore
+public class MvPlanContextParallelLoadBench extends MaterializedViewTestBase {
+
+    private static final int MV_NUMS = 64;
+    private static final int BENCHMARK_RUNS = 10;
+
+    private static final String QUERY = "select d_year, c_nation, sum(lo_revenue - lo_supplycost) as profit\n" +
+            "from lineorder\n" +
+            "join dates on lo_orderdate = d_datekey\n" +
+            "join customer on lo_custkey = c_custkey\n" +
+            "join supplier on lo_suppkey = s_suppkey\n" +
+            "join part on lo_partkey = p_partkey\n" +
+            "where c_region = 'AMERICA' and s_region = 'AMERICA' and (p_mfgr = 'MFGR#1' or p_mfgr = 'MFGR#2')\n" +
+            "group by d_year, c_nation;";
+
+    @Rule
+    public TestRule mvPlanContextParallelLoadBench = new BenchmarkRule();
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        FeConstants.USE_MOCK_DICT_MANAGER = true;
+        MaterializedViewTestBase.beforeClass();
+
+        starRocksAssert.useDatabase(MATERIALIZED_DB_NAME);
+
+        // put lineorder last because it depends on other tables for foreign key constraints
+        createTables("sql/ssb/", Lists.newArrayList("customer", "dates", "supplier", "part", "lineorder"));
+
+        for (int i = 0; i < MV_NUMS; i++) {
+            String mv = String.format("CREATE MATERIALIZED VIEW lineorder_join_mv_%s\n" +
+                    "DISTRIBUTED BY RANDOM\n" +
+                    "REFRESH DEFERRED MANUAL\n" +
+                    "AS SELECT d_year, c_nation, c_region, s_region, p_mfgr,\n" +
+                    "       sum(lo_revenue) AS lo_revenue, sum(lo_supplycost) AS lo_supplycost\n" +
+                    "   FROM lineorder\n" +
+                    "            INNER JOIN dates ON lo_orderdate = d_datekey\n" +
+                    "            INNER JOIN customer ON lo_custkey = c_custkey\n" +
+                    "            INNER JOIN supplier ON lo_suppkey = s_suppkey\n" +
+                    "            INNER JOIN part ON lo_partkey = p_partkey\n" +
+                    "   WHERE lo_quantity > %s\n" +
+                    "   GROUP BY d_year, c_nation, c_region, s_region, p_mfgr;\n", i, i);
+            starRocksAssert.withMaterializedView(mv);
+        }
+        connectContext.getSessionVariable().setCboMaterializedViewRewriteRelatedMVsLimit(MV_NUMS);
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        for (int i = 0; i < MV_NUMS; i++) {
+            try {
+                starRocksAssert.dropMaterializedView(String.format("lineorder_join_mv_%s", i));
+            } catch (Exception e) {
+                // ignore exception
+            }
+        }
+    }
+
+    @Before
+    public void before() {
+        // every round starts with a cold mv plan cache
+        CachingMvPlanContextBuilder.getInstance().rebuildCache();
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 1, benchmarkRounds = BENCHMARK_RUNS)
+    public void testSerialLoad() throws Exception {
+        connectContext.getSessionVariable().setEnableMaterializedViewPlanParallelLoad(false);
+        String plan = getFragmentPlan(QUERY);
+        PlanTestBase.assertContains(plan, "lineorder");
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 1, benchmarkRounds = BENCHMARK_RUNS)
+    public void testParallelLoad() throws Exception {
+        connectContext.getSessionVariable().setEnableMaterializedViewPlanParallelLoad(true);
+        try {
+            String plan = getFragmentPlan(QUERY);
+            PlanTestBase.assertContains(plan, "lineorder");
+        } finally {
+            connectContext.getSessionVariable().setEnableMaterializedViewPlanParallelLoad(false);
+        }
+    }
+}
@@ -16,20 +16,48 @@ package com.starrocks.benchmark;
 
 import com.carrotsearch.junitbenchmarks.BenchmarkOptions;
 import com.carrotsearch.junitbenchmarks.BenchmarkRule;
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.starrocks.catalog.MaterializedView;
+import com.starrocks.catalog.MvPlanContext;
+import com.starrocks.catalog.Table;
 import com.starrocks.common.Config;
 import com.starrocks.qe.SessionVariable;
+import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.sql.ast.QueryStatement;
 import com.starrocks.sql.optimizer.CachingMvPlanContextBuilder;
+import com.starrocks.sql.optimizer.Memo;
+import com.starrocks.sql.optimizer.MvRewritePreprocessor;
+import com.starrocks.sql.optimizer.OptExpression;
+import com.starrocks.sql.optimizer.OptimizerConfig;
+import com.starrocks.sql.optimizer.OptimizerContext;
+import com.starrocks.sql.optimizer.base.ColumnRefFactory;
+import com.starrocks.sql.optimizer.base.ColumnRefSet;
 import com.starrocks.sql.optimizer.rule.transformation.materialization.MvRewriteTestBase;
+import com.starrocks.sql.optimizer.rule.transformation.materialization.MvUtils;
+import com.starrocks.sql.optimizer.transformer.LogicalPlan;
+import com.starrocks.sql.optimizer.transformer.RelationTransformer;
+import com.starrocks.utframe.UtFrameUtils;
+import org.junit.Assert;
 import org.junit.Before;
 import org.junit.BeforeClass;
 import org.junit.Rule;
 import org.junit.Test;
 import org.junit.rules.TestRule;
 
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
 public class MvRewritePerfTest extends MvRewriteTestBase {
 
     private static final int MV_NUM = 40;
 
+    // the number of related mvs when testing the scaling of choosing candidate mvs
+    private static final int SCALED_MV_NUM = 5000;
+
+    private static Set<MaterializedView> scaledMVs;
+
     @Rule
     public TestRule benchRun = new BenchmarkRule();
 
@@ -139,4 +167,52 @@ public class MvRewritePerfTest extends MvRewriteTestBase {
         starRocksAssert.getCtx().getSessionVariable().setCboMaterializedViewRewriteRuleOutputLimit(1000);
         starRocksAssert.query(sql).explainContains("mv_candidate_agg");
     }
+
+    // Copies of the prepared mvs with distinct ids, whose plan contexts are not in the plan cache but whose plan
+    // signatures have been kept, just like the mvs whose plan contexts have expired in a warehouse with many mvs.
+    private Set<MaterializedView> getScaledMVs() throws Exception {
+        if (scaledMVs != null) {
+            return scaledMVs;
+        }
+        List<MaterializedView> mvs = Lists.newArrayList();
+        for (int i = 0; i < MV_NUM; i++) {
+            mvs.add(getMv("test", "mv_candidate_join_" + i));
+            mvs.add(getMv("test", "mv_candidate_agg_" + i));
+        }
+        Set<MaterializedView> result = Sets.newHashSet();
+        for (int i = 0; i < SCALED_MV_NUM; i++) {
+            MaterializedView mv = mvs.get(i % mvs.size());
+            List<MvPlanContext> planContexts = CachingMvPlanContextBuilder.getInstance().getPlanContext(mv, true);
+            MaterializedView copied = new MaterializedView();
+            mv.copyOnlyForQuery(copied);
+            copied.setId(GlobalStateMgr.getCurrentState().getNextId());
+            CachingMvPlanContextBuilder.getInstance().putPlanSignature(copied, planContexts);
+            result.add(copied);
+        }
+        scaledMVs = result;
+        return scaledMVs;
+    }
+
+    @Test
+    @BenchmarkOptions(warmupRounds = 3, benchmarkRounds = 20)
+    public void testManyRelatedMV_ChooseCandidates() throws Exception {
+        final String sql = " select t0.v1, t0.v2, t0.v3, t1.k1 from t0 left join t1 on t0.v1 = t1.v1";
+        Set<MaterializedView> relatedMVs = getScaledMVs();
+
+        ColumnRefFactory columnRefFactory = new ColumnRefFactory();
+        OptimizerContext context = new OptimizerContext(new Memo(), columnRefFactory, connectContext,
+                new OptimizerConfig());
+        QueryStatement queryStatement = (QueryStatement) UtFrameUtils.parseStmtWithNewParser(sql, connectContext);
+        LogicalPlan logicalPlan = new RelationTransformer(columnRefFactory, connectContext)
+                .transformWithSelectLimit(queryStatement.getQueryRelation());
+        OptExpression logicalTree = logicalPlan.getRoot();
+        MvRewritePreprocessor preprocessor = new MvRewritePreprocessor(connectContext, columnRefFactory,
+                context, new ColumnRefSet(logicalPlan.getOutputColumn()));
+
+        Set<Table> queryTables = MvUtils.getAllTables(logicalTree).stream().collect(Collectors.toSet());
+        Set<MaterializedView> candidateMVs = preprocessor.chooseBestRelatedMVs(queryTables, relatedMVs, logicalTree);
+        // the aggregate mvs can not rewrite the query without aggregation
+        Assert.assertFalse(candidateMVs.isEmpty());
+        Assert.assertTrue(candidateMVs.stream().allMatch(mv -> mv.getName().startsWith("mv_candidate_join")));
+    }
 }
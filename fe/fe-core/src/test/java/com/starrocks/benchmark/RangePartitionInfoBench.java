@@ -0,0 +1,111 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.benchmark;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
+import com.starrocks.catalog.Column;
+import com.starrocks.catalog.ColumnId;
+import com.starrocks.catalog.PartitionKey;
+import com.starrocks.catalog.PrimitiveType;
+import com.starrocks.catalog.RangePartitionInfo;
+import com.starrocks.catalog.ScalarType;
+import com.starrocks.common.AnalysisException;
+import com.starrocks.common.DdlException;
+import com.starrocks.sql.ast.PartitionKeyDesc;
+import com.starrocks.sql.ast.PartitionValue;
+import com.starrocks.sql.ast.SingleRangePartitionDesc;
+import com.starrocks.sql.common.MetaUtils;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark adding partitions to and getting sorted ranges from a range partitioned table with many partitions
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 1)
+@Measurement(time = 1, timeUnit = TimeUnit.SECONDS)
+public class RangePartitionInfoBench {
+
+    @Param({"1000", "30000", "100000"})
+    private int partitionNum;
+
+    private List<Column> partitionColumns;
+    private Map<ColumnId, Column> schema;
+    private RangePartitionInfo partitionInfo;
+    // partition [partitionNum * 10, partitionNum * 10 + 10) after all the existing partitions
+    private SingleRangePartitionDesc nextPartitionDesc;
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(RangePartitionInfoBench.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setup() throws AnalysisException {
+        partitionColumns = Lists.newArrayList(new Column("k1", new ScalarType(PrimitiveType.BIGINT), true, null, "", ""));
+        schema = MetaUtils.buildIdToColumn(partitionColumns);
+        partitionInfo = new RangePartitionInfo(partitionColumns);
+        for (int i = 0; i < partitionNum; i++) {
+            Range<PartitionKey> range = Range.closedOpen(
+                    PartitionKey.createPartitionKey(Lists.newArrayList(new PartitionValue(String.valueOf(i * 10))),
+                            partitionColumns),
+                    PartitionKey.createPartitionKey(Lists.newArrayList(new PartitionValue(String.valueOf(i * 10 + 10))),
+                            partitionColumns));
+            partitionInfo.addPartition(i, false, range, null, (short) 1, false);
+        }
+        nextPartitionDesc = new SingleRangePartitionDesc(false, "p_next", new PartitionKeyDesc(
+                Lists.newArrayList(new PartitionValue(String.valueOf(partitionNum * 10L + 10)))), null);
+        nextPartitionDesc.analyze(1, null);
+    }
+
+    @Benchmark
+    public Range<PartitionKey> bench_CheckAndCreateRange() throws DdlException {
+        return partitionInfo.checkAndCreateRange(schema, nextPartitionDesc, false);
+    }
+
+    @Benchmark
+    public void bench_AddAndDropPartition() throws DdlException {
+        partitionInfo.handleNewSinglePartitionDesc(schema, nextPartitionDesc, partitionNum, false);
+        partitionInfo.dropPartition(partitionNum);
+    }
+
+    @Benchmark
+    public List<Map.Entry<Long, Range<PartitionKey>>> bench_GetSortedRangeMap() {
+        return partitionInfo.getSortedRangeMap(false);
+    }
+}
@@ -0,0 +1,111 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.benchmark;
+
+import com.google.common.collect.Lists;
+import com.starrocks.analysis.FunctionName;
+import com.starrocks.catalog.Function;
+import com.starrocks.catalog.Type;
+import com.starrocks.sql.optimizer.operator.scalar.CallOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ConstantOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+import com.starrocks.sql.optimizer.rewrite.ReplaceColumnRefRewriter;
+import com.starrocks.sql.optimizer.rewrite.ScalarOperatorCompiler;
+import com.starrocks.sql.optimizer.rewrite.ScalarOperatorRewriter;
+import com.starrocks.sql.optimizer.rewrite.scalar.FoldConstantsRule;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Benchmark folding date_trunc('month', years_add(k1, 1)) for the partition bounds, by rewriting the expression
+ * for each bound as partition pruning did before and by the closure compiled by {@link ScalarOperatorCompiler}.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Fork(value = 1)
+@Warmup(iterations = 1)
+@Measurement(time = 1, timeUnit = TimeUnit.SECONDS)
+public class ScalarOperatorCompilerBench {
+
+    @Param({"100", "10000"})
+    private int valueNum;
+
+    private ColumnRefOperator column;
+    private CallOperator call;
+    private ConstantOperator[] values;
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(ScalarOperatorCompilerBench.class.getSimpleName())
+                .build();
+        new Runner(opt).run();
+    }
+
+    @Setup
+    public void setup() {
+        column = new ColumnRefOperator(1, Type.DATETIME, "k1", true);
+        Function yearsAdd = new Function(new FunctionName("years_add"), new Type[] {Type.DATETIME, Type.INT},
+                Type.DATETIME, false);
+        Function dateTrunc = new Function(new FunctionName("date_trunc"), new Type[] {Type.VARCHAR, Type.DATETIME},
+                Type.DATETIME, false);
+        CallOperator add = new CallOperator("years_add", Type.DATETIME,
+                Lists.newArrayList(column, ConstantOperator.createInt(1)), yearsAdd);
+        call = new CallOperator("date_trunc", Type.DATETIME,
+                Lists.newArrayList(ConstantOperator.createVarchar("month"), add), dateTrunc);
+
+        values = new ConstantOperator[valueNum];
+        LocalDateTime start = LocalDateTime.of(2000, 1, 1, 0, 0);
+        for (int i = 0; i < valueNum; i++) {
+            values[i] = ConstantOperator.createDatetime(start.plusDays(i));
+        }
+    }
+
+    @Benchmark
+    public ScalarOperator[] bench_RewriteEachValue() {
+        ScalarOperatorRewriter rewriter = new ScalarOperatorRewriter();
+        ScalarOperator[] results = new ScalarOperator[valueNum];
+        for (int i = 0; i < valueNum; i++) {
+            Map<ColumnRefOperator, ScalarOperator> replaceMap = Collections.singletonMap(column, values[i]);
+            ScalarOperator replaced = new ReplaceColumnRefRewriter(replaceMap).rewrite(call);
+            results[i] = rewriter.rewrite(replaced, Collections.singletonList(new FoldConstantsRule(true)));
+        }
+        return results;
+    }
+
+    @Benchmark
+    public ConstantOperator[] bench_CompiledBatch() {
+        return ScalarOperatorCompiler.compile(call, true).evaluate(values);
+    }
+}
@@ -17,8 +17,11 @@ package com.starrocks.catalog;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.collect.Sets;
 import com.starrocks.analysis.DescriptorTable;
+import com.starrocks.analysis.LiteralExpr;
 import com.starrocks.analysis.SlotDescriptor;
+import com.starrocks.analysis.StringLiteral;
 import com.starrocks.analysis.TupleDescriptor;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.common.DdlException;
@@ -31,6 +34,7 @@ import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.ast.StatementBase;
 import com.starrocks.sql.ast.TruncateTableStmt;
 import com.starrocks.thrift.TDataSink;
+import com.starrocks.thrift.TStorageMedium;
 import com.starrocks.thrift.TUniqueId;
 import com.starrocks.thrift.TWriteQuorumType;
 import com.starrocks.utframe.StarRocksAssert;
@@ -46,6 +50,8 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentNavigableMap;
 
 public class ListPartitionInfoTest {
 
@@ -188,6 +194,66 @@ public class ListPartitionInfoTest {
         Assert.assertEquals(sql, target);
     }
 
+    @Test
+    public void testValueIndex() throws AnalysisException {
+        ListPartitionValueIndex index = listPartitionInfo.getValueIndex();
+        Assert.assertSame(index, listPartitionInfo.getValueIndex());
+        Assert.assertEquals(2, index.getPartitionNum());
+        ConcurrentNavigableMap<LiteralExpr, Set<Long>> valueToIds = index.getValueToPartitionIds();
+        Assert.assertEquals(Sets.newHashSet(10001L), valueToIds.get(new StringLiteral("guangdong")));
+        Assert.assertEquals(Sets.newHashSet(10002L), valueToIds.get(new StringLiteral("beijing")));
+
+        // the clone for query shares the index until it is modified
+        ListPartitionInfo copied = (ListPartitionInfo) listPartitionInfo.clone();
+        Assert.assertSame(index, copied.getValueIndex());
+
+        Map<ColumnId, Column> idToColumn = Maps.newHashMap();
+        idToColumn.put(ColumnId.create("province"), new Column("province", Type.VARCHAR));
+        listPartitionInfo.addPartition(idToColumn, 10003L, new DataProperty(TStorageMedium.HDD), (short) 1,
+                false, null, Lists.newArrayList("beijing", "chongqing"), null);
+        ListPartitionValueIndex newIndex = listPartitionInfo.getValueIndex();
+        Assert.assertNotSame(index, newIndex);
+        Assert.assertEquals(3, newIndex.getPartitionNum());
+        Assert.assertEquals(Sets.newHashSet(10002L, 10003L),
+                newIndex.getValueToPartitionIds().get(new StringLiteral("beijing")));
+        Assert.assertEquals(Sets.newHashSet(10003L),
+                newIndex.getValueToPartitionIds().get(new StringLiteral("chongqing")));
+        // the index got before is not changed
+        Assert.assertEquals(Sets.newHashSet(10002L), valueToIds.get(new StringLiteral("beijing")));
+        Assert.assertSame(index, copied.getValueIndex());
+
+        listPartitionInfo.dropPartition(10002L);
+        newIndex = listPartitionInfo.getValueIndex();
+        Assert.assertEquals(2, newIndex.getPartitionNum());
+        Assert.assertEquals(Sets.newHashSet(10003L),
+                newIndex.getValueToPartitionIds().get(new StringLiteral("beijing")));
+        Assert.assertNull(newIndex.getValueToPartitionIds().get(new StringLiteral("shanghai")));
+
+        // temp partitions are not in the index
+        listPartitionInfo.setIdToIsTempPartition(10003L, true);
+        Assert.assertEquals(1, listPartitionInfo.getValueIndex().getPartitionNum());
+        Assert.assertNull(listPartitionInfo.getValueIndex().getValueToPartitionIds().get(new StringLiteral("beijing")));
+        listPartitionInfo.moveRangeFromTempToFormal(10003L);
+        Assert.assertEquals(2, listPartitionInfo.getValueIndex().getPartitionNum());
+    }
+
+    @Test
+    public void testValueIndexForMulti() {
+        ListPartitionValueIndex index = listPartitionInfoForMulti.getValueIndex();
+        Assert.assertEquals(2, index.getPartitionNum());
+        Assert.assertEquals(Sets.newHashSet(10001L),
+                index.getMultiValueToPartitionIds(1).get(new StringLiteral("guangdong")));
+        Assert.assertEquals(2, index.getMultiValueToPartitionIds(0).size());
+
+        listPartitionInfoForMulti.dropPartition(10001L);
+        index = listPartitionInfoForMulti.getValueIndex();
+        Assert.assertEquals(1, index.getPartitionNum());
+        Assert.assertEquals(1, index.getMultiValueToPartitionIds(0).size());
+        Assert.assertNull(index.getMultiValueToPartitionIds(1).get(new StringLiteral("guangdong")));
+        Assert.assertEquals(Sets.newHashSet(10002L),
+                index.getMultiValueToPartitionIds(1).get(new StringLiteral("beijing")));
+    }
+
     public OlapTable findTableForSingleListPartition() {
         long id = 1000L;
         String tableName = "testTbl";
@@ -259,6 +259,25 @@ public class OlapTableTest {
         Assert.assertFalse(olapTable.isEnableFillDataCache(partition1));
     }
 
+    @Test
+    public void testPartitionChangeVersion() {
+        Column k1 = new Column("k1", new ScalarType(PrimitiveType.VARCHAR), true, null, "", "");
+        List<Column> partitionColumns = new LinkedList<Column>();
+        partitionColumns.add(k1);
+        ListPartitionInfo listPartitionInfo = new ListPartitionInfo(PartitionType.LIST, partitionColumns);
+        OlapTable olapTable = new OlapTable(1L, "tb1", partitionColumns, null, (PartitionInfo) listPartitionInfo, null);
+        long version = olapTable.getPartitionChangeVersion();
+
+        olapTable.addPartition(new Partition(1L, "p1", null, null));
+        Assert.assertEquals(version + 1, olapTable.getPartitionChangeVersion());
+
+        olapTable.dropPartitionAndReserveTablet("not_exist");
+        Assert.assertEquals(version + 1, olapTable.getPartitionChangeVersion());
+
+        olapTable.dropPartitionAndReserveTablet("p1");
+        Assert.assertEquals(version + 2, olapTable.getPartitionChangeVersion());
+    }
+
     @Test
     public void testListPartitionSupportPeriodDurationTestSingleDateColumn() throws AnalysisException {
         Column k1 = new Column("k1", new ScalarType(PrimitiveType.DATE), true, null, "", "");
@@ -19,8 +19,10 @@ package com.starrocks.catalog;
 
 import com.google.common.collect.Lists;
 import com.google.common.collect.Range;
+import com.google.common.collect.Sets;
 import com.starrocks.common.AnalysisException;
 import com.starrocks.common.DdlException;
+import com.starrocks.common.Pair;
 import com.starrocks.sql.ast.PartitionKeyDesc;
 import com.starrocks.sql.ast.PartitionKeyDesc.PartitionRangeType;
 import com.starrocks.sql.ast.PartitionValue;
@@ -33,6 +35,8 @@ import org.junit.Test;
 import java.util.ArrayList;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
 
 public class RangePartitionInfoTest {
 
@@ -372,4 +376,62 @@ public class RangePartitionInfoTest {
         Assert.assertTrue(rangePartitionInfo.getRange(123L) == null);
     }
 
+    @Test
+    public void testSortedRangeIndex() throws DdlException, AnalysisException {
+        Column k1 = new Column("k1", new ScalarType(PrimitiveType.INT), true, null, "", "");
+        partitionColumns.add(k1);
+        partitionInfo = new RangePartitionInfo(partitionColumns);
+
+        // [10, 20), [30, 40), then less than partitions fill the gaps and extend the ranges at both ends
+        List<Pair<Long, PartitionKeyDesc>> partitions = Lists.newArrayList(
+                Pair.create(10L, new PartitionKeyDesc(Lists.newArrayList(new PartitionValue("10")),
+                        Lists.newArrayList(new PartitionValue("20")))),
+                Pair.create(30L, new PartitionKeyDesc(Lists.newArrayList(new PartitionValue("30")),
+                        Lists.newArrayList(new PartitionValue("40")))),
+                Pair.create(20L, new PartitionKeyDesc(Lists.newArrayList(new PartitionValue("30")))),
+                Pair.create(40L, new PartitionKeyDesc(Lists.newArrayList(new PartitionValue("50")))),
+                Pair.create(5L, new PartitionKeyDesc(Lists.newArrayList(new PartitionValue("5")))));
+        for (Pair<Long, PartitionKeyDesc> partition : partitions) {
+            SingleRangePartitionDesc desc = new SingleRangePartitionDesc(false, "p" + partition.first,
+                    partition.second, null);
+            desc.analyze(1, null);
+            partitionInfo.handleNewSinglePartitionDesc(MetaUtils.buildIdToColumn(partitionColumns), desc,
+                    partition.first, false);
+        }
+
+        List<Map.Entry<Long, Range<PartitionKey>>> sortedRanges = partitionInfo.getSortedRangeMap(false);
+        Assert.assertEquals(Lists.newArrayList(5L, 10L, 20L, 30L, 40L),
+                sortedRanges.stream().map(Map.Entry::getKey).collect(Collectors.toList()));
+        Assert.assertEquals("20", partitionInfo.getRange(20L).lowerEndpoint().getKeys().get(0).getStringValue());
+        Assert.assertEquals("40", partitionInfo.getRange(40L).lowerEndpoint().getKeys().get(0).getStringValue());
+        Assert.assertTrue(partitionInfo.getRange(5L).lowerEndpoint().isMinValue());
+        Assert.assertEquals(Lists.newArrayList(20L, 40L),
+                partitionInfo.getSortedRangeMap(Sets.newHashSet(40L, 20L)).stream().map(Map.Entry::getKey)
+                        .collect(Collectors.toList()));
+        Assert.assertEquals(Lists.newArrayList(5L, 10L, 30L, 40L),
+                partitionInfo.getSortedRangeMap(Sets.newHashSet(40L, 30L, 10L, 5L)).stream().map(Map.Entry::getKey)
+                        .collect(Collectors.toList()));
+
+        // [15, 25) is overlapped with [10, 20) and [20, 30)
+        SingleRangePartitionDesc overlapped = new SingleRangePartitionDesc(false, "p_overlapped",
+                new PartitionKeyDesc(Lists.newArrayList(new PartitionValue("15")),
+                        Lists.newArrayList(new PartitionValue("25"))), null);
+        overlapped.analyze(1, null);
+        Assert.assertThrows(DdlException.class, () -> partitionInfo.handleNewSinglePartitionDesc(
+                MetaUtils.buildIdToColumn(partitionColumns), overlapped, 100L, false));
+
+        RangePartitionInfo copyInfo = (RangePartitionInfo) partitionInfo.clone();
+        partitionInfo.dropPartition(20L);
+        Assert.assertEquals(Lists.newArrayList(5L, 10L, 30L, 40L),
+                partitionInfo.getSortedRangeMap(false).stream().map(Map.Entry::getKey).collect(Collectors.toList()));
+        Assert.assertEquals(5, copyInfo.getSortedRangeMap(false).size());
+
+        // the dropped range can be added again
+        SingleRangePartitionDesc readded = new SingleRangePartitionDesc(false, "p20",
+                new PartitionKeyDesc(Lists.newArrayList(new PartitionValue("30"))), null);
+        readded.analyze(1, null);
+        Range<PartitionKey> range = partitionInfo.handleNewSinglePartitionDesc(
+                MetaUtils.buildIdToColumn(partitionColumns), readded, 20L, false);
+        Assert.assertEquals(copyInfo.getRange(20L), range);
+    }
 }
@@ -0,0 +1,116 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.catalog;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Sets;
+import com.starrocks.thrift.TStorageMedium;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+public class TabletInvertedIndexTest {
+
+    private static TabletMeta newTabletMeta() {
+        return new TabletMeta(1L, 2L, 3L, 4L, 0, TStorageMedium.HDD);
+    }
+
+    @Test
+    public void testAddAndDelete() {
+        TabletInvertedIndex invertedIndex = new TabletInvertedIndex();
+        invertedIndex.addTablet(100L, newTabletMeta());
+        invertedIndex.addReplica(100L, new Replica(1000L, 10001L, Replica.ReplicaState.NORMAL, 1, 0));
+        invertedIndex.addReplica(100L, new Replica(1001L, 10002L, Replica.ReplicaState.NORMAL, 1, 0));
+        invertedIndex.addTablet(101L, newTabletMeta());
+        invertedIndex.addReplica(101L, new Replica(1002L, 10001L, Replica.ReplicaState.NORMAL, 1, 0));
+
+        Assert.assertEquals(2, invertedIndex.getTabletCount());
+        Assert.assertEquals(3, invertedIndex.getReplicaCount());
+        Assert.assertEquals(1001L, invertedIndex.getReplica(100L, 10002L).getId());
+        Assert.assertNull(invertedIndex.getReplica(101L, 10002L));
+        Assert.assertEquals(100L, (long) invertedIndex.getTabletIdByReplica(1001L));
+        Assert.assertEquals(2, invertedIndex.getReplicasByTabletId(100L).size());
+        Assert.assertEquals(Sets.newHashSet(100L, 101L),
+                Sets.newHashSet(invertedIndex.getTabletIdsByBackendId(10001L)));
+        Assert.assertEquals(2, invertedIndex.getTabletIdsByBackendIdAndStorageMedium(10001L, TStorageMedium.HDD).size());
+        Assert.assertEquals(2L, (long) invertedIndex.getReplicaNumByBeIdAndStorageMedium(10001L).get(TStorageMedium.HDD));
+        Assert.assertEquals(3, invertedIndex.getReplicaMetaTable().size());
+
+        List<Replica> replicas = invertedIndex.getReplicasOnBackendByTabletIds(Lists.newArrayList(100L, 101L), 10002L);
+        Assert.assertEquals(1001L, replicas.get(0).getId());
+        Assert.assertNull(replicas.get(1));
+        Assert.assertNull(invertedIndex.getReplicasOnBackendByTabletIds(Lists.newArrayList(100L), 10003L));
+
+        invertedIndex.deleteReplica(100L, 10001L);
+        Assert.assertNull(invertedIndex.getReplica(100L, 10001L));
+        Assert.assertNull(invertedIndex.getTabletIdByReplica(1000L));
+        Assert.assertEquals(1, invertedIndex.getReplicasByTabletId(100L).size());
+        Assert.assertEquals(Lists.newArrayList(101L), invertedIndex.getTabletIdsByBackendId(10001L));
+
+        invertedIndex.deleteTablet(100L);
+        Assert.assertNull(invertedIndex.getTabletMeta(100L));
+        Assert.assertTrue(invertedIndex.getReplicasByTabletId(100L).isEmpty());
+        Assert.assertEquals(0, invertedIndex.getTabletNumByBackendId(10002L));
+        Assert.assertEquals(1, invertedIndex.getReplicaCount());
+    }
+
+    @Test
+    public void testForceDelete() {
+        TabletInvertedIndex invertedIndex = new TabletInvertedIndex();
+        invertedIndex.markTabletForceDelete(100L, 10001L);
+        invertedIndex.markTabletForceDelete(100L, 10002L);
+        Assert.assertTrue(invertedIndex.tabletForceDelete(100L, 10002L));
+        Assert.assertFalse(invertedIndex.tabletForceDelete(100L, 10003L));
+
+        invertedIndex.eraseTabletForceDelete(100L, 10001L);
+        invertedIndex.eraseTabletForceDelete(100L, 10002L);
+        Assert.assertTrue(invertedIndex.getForceDeleteTablets().isEmpty());
+    }
+
+    @Test
+    public void testConcurrentModify() throws InterruptedException {
+        TabletInvertedIndex invertedIndex = new TabletInvertedIndex();
+        int threadNum = 8;
+        int tabletNumPerThread = 1000;
+        List<Thread> threads = new ArrayList<>();
+        for (int i = 0; i < threadNum; i++) {
+            long start = (long) i * tabletNumPerThread;
+            threads.add(new Thread(() -> {
+                for (long tabletId = start; tabletId < start + tabletNumPerThread; tabletId++) {
+                    invertedIndex.addTablet(tabletId, newTabletMeta());
+                    for (long backendId = 1; backendId <= 3; backendId++) {
+                        invertedIndex.addReplica(tabletId,
+                                new Replica(tabletId * 10 + backendId, backendId, Replica.ReplicaState.NORMAL, 1, 0));
+                    }
+                    if (tabletId % 2 == 0) {
+                        invertedIndex.deleteReplica(tabletId, 3L);
+                    }
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        int tabletNum = threadNum * tabletNumPerThread;
+        Assert.assertEquals(tabletNum, invertedIndex.getTabletCount());
+        Assert.assertEquals(tabletNum * 3 - tabletNum / 2, invertedIndex.getReplicaCount());
+        Assert.assertEquals(tabletNum, invertedIndex.getTabletNumByBackendId(1L));
+        Assert.assertEquals(tabletNum / 2, invertedIndex.getTabletNumByBackendId(3L));
+    }
+}
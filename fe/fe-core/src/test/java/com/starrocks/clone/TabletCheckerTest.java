@@ -0,0 +1,145 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.clone;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Sets;
+import com.starrocks.catalog.Replica;
+import com.starrocks.catalog.TabletInvertedIndex;
+import com.starrocks.catalog.TabletMeta;
+import com.starrocks.common.jmockit.Deencapsulation;
+import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.server.NodeMgr;
+import com.starrocks.system.Backend;
+import com.starrocks.system.SystemInfoService;
+import com.starrocks.thrift.TStorageMedium;
+import mockit.Delegate;
+import mockit.Expectations;
+import mockit.Mocked;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+public class TabletCheckerTest {
+    @Mocked
+    GlobalStateMgr globalStateMgr;
+
+    @Mocked
+    private NodeMgr nodeMgr;
+
+    SystemInfoService systemInfoService;
+    TabletInvertedIndex tabletInvertedIndex;
+    TabletChecker tabletChecker;
+    boolean isLeader = true;
+
+    @Before
+    public void setup() {
+        systemInfoService = new SystemInfoService();
+        tabletInvertedIndex = new TabletInvertedIndex();
+        TabletSchedulerStat stat = new TabletSchedulerStat();
+        tabletChecker = new TabletChecker(new TabletScheduler(stat), stat);
+
+        new Expectations() {
+            {
+                GlobalStateMgr.getCurrentState();
+                result = globalStateMgr;
+                minTimes = 0;
+
+                globalStateMgr.getTabletInvertedIndex();
+                minTimes = 0;
+                result = tabletInvertedIndex;
+
+                globalStateMgr.isLeader();
+                minTimes = 0;
+                result = new Delegate() {
+                    boolean isLeader() {
+                        return isLeader;
+                    }
+                };
+
+                globalStateMgr.getNodeMgr();
+                minTimes = 0;
+                result = nodeMgr;
+
+                nodeMgr.getClusterInfo();
+                minTimes = 0;
+                result = systemInfoService;
+            }
+        };
+    }
+
+    private void addTablet(long tabletId, long... backendIds) {
+        tabletInvertedIndex.addTablet(tabletId, new TabletMeta(1, 2, 3, 4, 0, TStorageMedium.HDD));
+        for (long backendId : backendIds) {
+            tabletInvertedIndex.addReplica(tabletId,
+                    new Replica(tabletId * 10 + backendId, backendId, 0, Replica.ReplicaState.NORMAL));
+        }
+    }
+
+    @Test
+    public void testMarkDirty() {
+        addTablet(100, 1, 2);
+        addTablet(101, 2, 3);
+        addTablet(102, 3);
+
+        tabletChecker.markTabletDirty(100);
+        Assert.assertEquals(Sets.newHashSet(100L), tabletChecker.getDirtyTabletIds());
+
+        tabletChecker.markBackendDirty(2);
+        Assert.assertEquals(Sets.newHashSet(100L, 101L), tabletChecker.getDirtyTabletIds());
+    }
+
+    @Test
+    public void testNotMarkDirtyOnFollower() {
+        isLeader = false;
+        addTablet(100, 1, 2);
+
+        tabletChecker.markTabletDirty(100);
+        tabletChecker.markBackendDirty(1);
+        Assert.assertTrue(tabletChecker.getDirtyTabletIds().isEmpty());
+    }
+
+    @Test
+    public void testMarkTabletsOfChangedBackendsDirty() {
+        addTablet(100, 1, 2);
+        addTablet(101, 2, 3);
+        Backend be1 = new Backend(1, "192.168.0.1", 9050);
+        Backend be2 = new Backend(2, "192.168.0.2", 9050);
+        be1.setAlive(true);
+        be2.setAlive(true);
+        systemInfoService.addBackend(be1);
+        systemInfoService.addBackend(be2);
+
+        // the first round only records the states of backends
+        Deencapsulation.invoke(tabletChecker, "markTabletsOfChangedBackendsDirty");
+        Assert.assertTrue(tabletChecker.getDirtyTabletIds().isEmpty());
+        Deencapsulation.invoke(tabletChecker, "markTabletsOfChangedBackendsDirty");
+        Assert.assertTrue(tabletChecker.getDirtyTabletIds().isEmpty());
+
+        be2.setDecommissioned(true);
+        Deencapsulation.invoke(tabletChecker, "markTabletsOfChangedBackendsDirty");
+        Assert.assertEquals(Sets.newHashSet(100L, 101L), tabletChecker.getDirtyTabletIds());
+        Assert.assertFalse((boolean) Deencapsulation.getField(tabletChecker, "fullCheckRequested"));
+
+        tabletChecker.getDirtyTabletIds().clear();
+        be1.setLocation(ImmutableMap.of("rack", "r1"));
+        Deencapsulation.invoke(tabletChecker, "markTabletsOfChangedBackendsDirty");
+        Assert.assertEquals(Sets.newHashSet(100L), tabletChecker.getDirtyTabletIds());
+
+        systemInfoService.dropBackend(be1);
+        Deencapsulation.invoke(tabletChecker, "markTabletsOfChangedBackendsDirty");
+        Assert.assertTrue((boolean) Deencapsulation.getField(tabletChecker, "fullCheckRequested"));
+    }
+}
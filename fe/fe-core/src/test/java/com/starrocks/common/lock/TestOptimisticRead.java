@@ -0,0 +1,92 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.common.lock;
+
+import com.google.common.collect.Lists;
+import com.starrocks.catalog.Database;
+import com.starrocks.common.util.concurrent.lock.LockManager;
+import com.starrocks.common.util.concurrent.lock.LockType;
+import com.starrocks.common.util.concurrent.lock.Locker;
+import com.starrocks.server.GlobalStateMgr;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class TestOptimisticRead {
+    private LockManager lockManager;
+
+    @Before
+    public void setUp() {
+        lockManager = new LockManager();
+        GlobalStateMgr.getCurrentState().setLockManager(lockManager);
+    }
+
+    @Test
+    public void testValidate() {
+        long rid = 1L;
+        long stamp = lockManager.tryOptimisticRead(rid);
+        Assert.assertTrue(stamp >= 0);
+        Assert.assertTrue(lockManager.validate(rid, stamp));
+
+        // read lock does not invalidate the stamp
+        TestLocker testLocker1 = new TestLocker();
+        LockTestUtils.assertLockSuccess(testLocker1.lock(rid, LockType.READ));
+        LockTestUtils.assertLockSuccess(testLocker1.release(rid, LockType.READ));
+        Assert.assertTrue(lockManager.validate(rid, stamp));
+
+        TestLocker testLocker2 = new TestLocker();
+        LockTestUtils.assertLockSuccess(testLocker2.lock(rid, LockType.WRITE));
+        Assert.assertEquals(-1, lockManager.tryOptimisticRead(rid));
+        Assert.assertFalse(lockManager.validate(rid, stamp));
+        Assert.assertTrue(lockManager.validate(2L, lockManager.tryOptimisticRead(2L)));
+
+        LockTestUtils.assertLockSuccess(testLocker2.release(rid, LockType.WRITE));
+        Assert.assertFalse(lockManager.validate(rid, stamp));
+        stamp = lockManager.tryOptimisticRead(rid);
+        Assert.assertTrue(stamp >= 0);
+        Assert.assertTrue(lockManager.validate(rid, stamp));
+    }
+
+    @Test
+    public void testReadWithOptimisticLock() {
+        Database database = new Database(1L, "db");
+        long tableId = 2L;
+        Locker locker = new Locker();
+        AtomicInteger runs = new AtomicInteger();
+
+        Assert.assertEquals("v1", locker.readWithOptimisticLock(database, Lists.newArrayList(tableId), () -> {
+            runs.incrementAndGet();
+            return "v1";
+        }));
+        Assert.assertEquals(1, runs.get());
+
+        // the table is modified during the first run, so the reader runs again holding the lock
+        runs.set(0);
+        TestLocker writer = new TestLocker();
+        Assert.assertEquals("v2", locker.readWithOptimisticLock(database, Lists.newArrayList(tableId), () -> {
+            if (runs.incrementAndGet() == 1) {
+                LockTestUtils.assertLockSuccess(writer.lock(tableId, LockType.WRITE));
+                LockTestUtils.assertLockSuccess(writer.release(tableId, LockType.WRITE));
+                return "v1";
+            }
+            Assert.assertTrue(lockManager.isOwner(tableId, locker, LockType.READ));
+            return "v2";
+        }));
+        Assert.assertEquals(2, runs.get());
+        Assert.assertTrue(lockManager.dumpLockManager().isEmpty());
+    }
+}
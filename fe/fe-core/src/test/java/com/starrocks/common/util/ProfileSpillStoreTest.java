@@ -0,0 +1,168 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+package com.starrocks.common.util;
+
+import com.google.common.base.Strings;
+import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.Lists;
+import mockit.Mock;
+import mockit.MockUp;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ProfileSpillStoreTest {
+
+    @TempDir
+    File spillDir;
+
+    private static Map<String, String> infoStrings(String queryId) {
+        return ImmutableMap.of(ProfileManager.QUERY_ID, queryId, ProfileManager.SQL_STATEMENT, "select " + queryId);
+    }
+
+    private static byte[] content(String queryId) throws Exception {
+        return CompressionUtils.gzipCompressString("profile of " + queryId);
+    }
+
+    @Test
+    public void testPutAndGet() throws Exception {
+        ProfileSpillStore store = new ProfileSpillStore(spillDir.getPath(), 1024 * 1024, 1024, Runnable::run);
+        for (int i = 0; i < 10; i++) {
+            store.put("q" + i, infoStrings("q" + i), content("q" + i));
+        }
+        assertEquals(10, store.size());
+        assertTrue(store.contains("q3"));
+        assertEquals("select q3", store.getInfoStrings("q3").get(ProfileManager.SQL_STATEMENT));
+        assertEquals("profile of q3", CompressionUtils.gzipDecompressString(store.getProfileContent("q3")));
+        assertEquals("q0", store.getAllInfoStrings().get(0).get(ProfileManager.QUERY_ID));
+
+        store.remove("q3");
+        assertFalse(store.contains("q3"));
+        assertNull(store.getProfileContent("q3"));
+
+        store.clear();
+        assertEquals(0, store.size());
+        assertEquals(0, store.getTotalBytes());
+        store.close();
+    }
+
+    @Test
+    public void testEvictOldestSegment() throws Exception {
+        ProfileSpillStore store = new ProfileSpillStore(spillDir.getPath(), 1024, 256, Runnable::run);
+        for (int i = 0; i < 100; i++) {
+            store.put("q" + i, infoStrings("q" + i), content("q" + i));
+        }
+        assertTrue(store.getTotalBytes() <= 1024);
+        assertFalse(store.contains("q0"));
+        assertTrue(store.contains("q99"));
+        assertEquals("profile of q99", CompressionUtils.gzipDecompressString(store.getProfileContent("q99")));
+        store.close();
+    }
+
+    @Test
+    public void testReload() throws Exception {
+        ProfileSpillStore store = new ProfileSpillStore(spillDir.getPath(), 1024 * 1024, 256, Runnable::run);
+        for (int i = 0; i < 10; i++) {
+            store.put("q" + i, infoStrings("q" + i), content("q" + i));
+        }
+        long totalBytes = store.getTotalBytes();
+        store.close();
+
+        store = new ProfileSpillStore(spillDir.getPath(), 1024 * 1024, 256, Runnable::run);
+        assertEquals(10, store.size());
+        assertEquals(totalBytes, store.getTotalBytes());
+        assertEquals("q0", store.getAllInfoStrings().get(0).get(ProfileManager.QUERY_ID));
+        assertEquals("profile of q5", CompressionUtils.gzipDecompressString(store.getProfileContent("q5")));
+
+        // new profiles go to a new segment
+        store.put("q10", infoStrings("q10"), content("q10"));
+        assertEquals("profile of q10", CompressionUtils.gzipDecompressString(store.getProfileContent("q10")));
+        assertEquals("q10", store.getAllInfoStrings().get(10).get(ProfileManager.QUERY_ID));
+        store.close();
+    }
+
+    @Test
+    public void testSpillAsync() throws Exception {
+        List<Runnable> tasks = Lists.newArrayList();
+        ProfileSpillStore store = new ProfileSpillStore(spillDir.getPath(), 1024 * 1024, 1024, tasks::add);
+        String statement = "select " + Strings.repeat("k1, ", 100) + "k2 from t";
+        for (int i = 0; i < 3; i++) {
+            store.put("q" + i, ImmutableMap.of(ProfileManager.QUERY_ID, "q" + i, ProfileManager.SQL_STATEMENT, statement),
+                    content("q" + i));
+        }
+        // only one spill task is scheduled, the profiles are served from heap until it runs
+        assertEquals(1, tasks.size());
+        assertEquals(3, store.size());
+        assertEquals(0, store.getTotalBytes());
+        assertEquals("profile of q1", CompressionUtils.gzipDecompressString(store.getProfileContent("q1")));
+        store.remove("q1");
+
+        tasks.remove(0).run();
+        assertTrue(tasks.isEmpty());
+        assertEquals(2, store.size());
+        assertFalse(store.contains("q1"));
+        assertTrue(store.getTotalBytes() > 0);
+        assertEquals("profile of q2", CompressionUtils.gzipDecompressString(store.getProfileContent("q2")));
+        // only the trimmed info strings are kept in heap once spilled
+        String trimmed = store.getInfoStrings("q2").get(ProfileManager.SQL_STATEMENT);
+        assertEquals(128, trimmed.length());
+        assertTrue(statement.startsWith(trimmed.substring(0, 124)));
+
+        store.put("q3", infoStrings("q3"), content("q3"));
+        assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+        assertEquals("q3", store.getAllInfoStrings().get(2).get(ProfileManager.QUERY_ID));
+        store.close();
+    }
+
+    @Test
+    public void testSpillFailure() throws Exception {
+        List<Runnable> tasks = Lists.newArrayList();
+        // every spilled profile exceeds the limit and is evicted at once
+        ProfileSpillStore store = new ProfileSpillStore(spillDir.getPath(), 1, 1024, tasks::add);
+        store.put("q0", infoStrings("q0"), content("q0"));
+        store.put("q1", infoStrings("q1"), content("q1"));
+        assertEquals(1, tasks.size());
+
+        MockUp<File> fileMockUp = new MockUp<File>() {
+            @Mock
+            public boolean delete() {
+                throw new SecurityException("delete is denied");
+            }
+        };
+        assertThrows(SecurityException.class, () -> tasks.remove(0).run());
+        fileMockUp.tearDown();
+        // the profile not spilled yet is still served from heap
+        assertTrue(store.contains("q1"));
+        assertEquals("profile of q1", CompressionUtils.gzipDecompressString(store.getProfileContent("q1")));
+
+        // the failed spill does not prevent the later ones
+        store.put("q2", infoStrings("q2"), content("q2"));
+        assertEquals(1, tasks.size());
+        tasks.remove(0).run();
+        assertTrue(tasks.isEmpty());
+        assertFalse(store.contains("q1"));
+        assertFalse(store.contains("q2"));
+        store.close();
+    }
+}
@@ -299,6 +299,41 @@ public class CachingHiveMetastoreTest {
         Assert.assertEquals("hdfs://127.0.0.1:10000/hive.db/hive_tbl/part1=3/part2=4", partition2.getFullPath());
     }
 
+    @Test
+    public void testPartitionCacheMemoryLimit() {
+        CachingHiveMetastore cachingHiveMetastore = new CachingHiveMetastore(
+                metastore, executor, expireAfterWriteSec, refreshAfterWriteSec, 1000, 1024L * 1024L, false);
+        List<String> partitionNames = Lists.newArrayList("part1=1/part2=2", "part1=3/part2=4");
+        Map<String, Partition> partitions =
+                cachingHiveMetastore.getPartitionsByNames("db1", "table1", partitionNames);
+        Assert.assertEquals(2, partitions.size());
+        cachingHiveMetastore.getPartitionsByNames("db1", "table1", partitionNames);
+
+        // partitions of a table share the storage format
+        Assert.assertSame(partitions.get("part1=1/part2=2").getTextFileFormatDesc(),
+                partitions.get("part1=3/part2=4").getTextFileFormatDesc());
+
+        long expectedSize = 0;
+        for (String partitionName : partitionNames) {
+            expectedSize += HiveMetastoreCacheWeigher.weighPartition(
+                    HivePartitionName.of("db1", "table1", partitionName), partitions.get(partitionName));
+        }
+        Assert.assertEquals(expectedSize, cachingHiveMetastore.estimateSize());
+        Map<String, Long> counter = cachingHiveMetastore.estimateCount();
+        Assert.assertEquals(2L, (long) counter.get("Partition"));
+        Assert.assertEquals(expectedSize, (long) cachingHiveMetastore.estimatePartitionCacheSizes().get("partition"));
+        // 2 misses, then 2 hits
+        Assert.assertEquals(0.5, cachingHiveMetastore.getPartitionCacheHitRates().get("partition"), 0.0001);
+
+        // the partitions heavier than the limit are not kept in the cache
+        cachingHiveMetastore = new CachingHiveMetastore(
+                metastore, executor, expireAfterWriteSec, refreshAfterWriteSec, 1000, 1, false);
+        partitions = cachingHiveMetastore.getPartitionsByNames("db1", "table1", partitionNames);
+        Assert.assertEquals(2, partitions.size());
+        Assert.assertEquals(0L, (long) cachingHiveMetastore.estimateCount().get("Partition"));
+        Assert.assertEquals(0, cachingHiveMetastore.estimateSize());
+    }
+
     @Test
     public void testGetTableStatistics() {
         CachingHiveMetastore cachingHiveMetastore = new CachingHiveMetastore(
@@ -43,6 +43,7 @@ import com.starrocks.connector.PartitionInfo;
 import com.starrocks.connector.PlanMode;
 import com.starrocks.connector.PredicateSearchKey;
 import com.starrocks.connector.RemoteFileInfo;
+import com.starrocks.connector.RemoteFileInfoSource;
 import com.starrocks.connector.RemoteMetaSplit;
 import com.starrocks.connector.SerializedMetaSpec;
 import com.starrocks.connector.exception.StarRocksConnectorException;
@@ -769,6 +770,70 @@ public class IcebergMetadataTest extends TableTestBase {
                 filter.toString());
     }
 
+    @Test
+    public void testGetRemoteFileInfoSource() {
+        IcebergHiveCatalog icebergHiveCatalog = new IcebergHiveCatalog(CATALOG_NAME, new Configuration(), DEFAULT_CONFIG);
+        List<Column> columns = Lists.newArrayList(new Column("k1", INT), new Column("k2", INT));
+        IcebergMetadata metadata = new IcebergMetadata(CATALOG_NAME, HDFS_ENVIRONMENT, icebergHiveCatalog,
+                Executors.newSingleThreadExecutor(), Executors.newSingleThreadExecutor(), null);
+        IcebergTable icebergTable = new IcebergTable(1, "srTableName", CATALOG_NAME, "resource_name", "iceberg_db",
+                "iceberg_table", "", columns, mockedNativeTableB, Maps.newHashMap());
+
+        mockedNativeTableB.newAppend().appendFile(FILE_B_1).appendFile(FILE_B_2).commit();
+        mockedNativeTableB.refresh();
+        long snapshotId = mockedNativeTableB.currentSnapshot().snapshotId();
+
+        int batchSize = Config.iceberg_scan_task_batch_size;
+        Config.iceberg_scan_task_batch_size = 1;
+        try {
+            // planned lazily
+            List<Integer> batchSizes = Lists.newArrayList();
+            try (RemoteFileInfoSource source = metadata.getRemoteFileInfoSource(
+                    icebergTable, null, snapshotId, null, Lists.newArrayList(), -1)) {
+                while (source.hasMoreOutput()) {
+                    IcebergRemoteFileDesc fileDesc = (IcebergRemoteFileDesc) source.getOutput().getFiles().get(0);
+                    batchSizes.add(fileDesc.getIcebergScanTasks().size());
+                }
+            }
+            Assert.assertEquals(Lists.newArrayList(1, 1), batchSizes);
+
+            // planned for the statistics before, only the summary of the files is kept
+            Map<ColumnRefOperator, Column> colRefToColumnMetaMap = new HashMap<>();
+            colRefToColumnMetaMap.put(new ColumnRefOperator(3, Type.INT, "k1", true), new Column("k1", Type.INT));
+            OptimizerContext context = new OptimizerContext(new Memo(), new ColumnRefFactory());
+            Statistics statistics = metadata.getTableStatistics(context, icebergTable, colRefToColumnMetaMap,
+                    null, null, -1);
+            Assert.assertEquals(FILE_B_1.recordCount() + FILE_B_2.recordCount(), statistics.getOutputRowCount(), 0.001);
+            PredicateSearchKey key = PredicateSearchKey.of("iceberg_db", "iceberg_table", snapshotId, null);
+            Assert.assertFalse(metadata.isSplitTasksCached(key));
+            batchSizes.clear();
+            try (RemoteFileInfoSource source = metadata.getRemoteFileInfoSource(
+                    icebergTable, null, snapshotId, null, Lists.newArrayList(), -1)) {
+                while (source.hasMoreOutput()) {
+                    IcebergRemoteFileDesc fileDesc = (IcebergRemoteFileDesc) source.getOutput().getFiles().get(0);
+                    batchSizes.add(fileDesc.getIcebergScanTasks().size());
+                }
+            }
+            Assert.assertEquals(Lists.newArrayList(1, 1), batchSizes);
+            Assert.assertFalse(metadata.isSplitTasksCached(key));
+
+            // listed before
+            metadata.getRemoteFileInfos(icebergTable, null, snapshotId, null, Lists.newArrayList(), -1);
+            Assert.assertTrue(metadata.isSplitTasksCached(key));
+            batchSizes.clear();
+            try (RemoteFileInfoSource source = metadata.getRemoteFileInfoSource(
+                    icebergTable, null, snapshotId, null, Lists.newArrayList(), -1)) {
+                while (source.hasMoreOutput()) {
+                    IcebergRemoteFileDesc fileDesc = (IcebergRemoteFileDesc) source.getOutput().getFiles().get(0);
+                    batchSizes.add(fileDesc.getIcebergScanTasks().size());
+                }
+            }
+            Assert.assertEquals(Lists.newArrayList(1, 1), batchSizes);
+        } finally {
+            Config.iceberg_scan_task_batch_size = batchSize;
+        }
+    }
+
     @Test
     public void testGetTableStatistics() {
         IcebergHiveCatalog icebergHiveCatalog = new IcebergHiveCatalog(CATALOG_NAME, new Configuration(), DEFAULT_CONFIG);
@@ -84,6 +84,42 @@ public class CompactionMgrTest {
         Assert.assertSame(partition2, compactionList.get(0));
     }
 
+    @Test
+    public void testChoosePartitionsToCompactByScore() {
+        Config.lake_compaction_selector = "ScoreSelector";
+        Config.lake_compaction_sorter = "ScoreSorter";
+        CompactionMgr compactionManager = new CompactionMgr();
+
+        PartitionIdentifier partition1 = new PartitionIdentifier(1, 2, 3);
+        PartitionIdentifier partition2 = new PartitionIdentifier(1, 2, 4);
+        Set<Long> excludeTables = new HashSet<>();
+
+        compactionManager.handleLoadingFinished(partition1, 2, System.currentTimeMillis(),
+                Quantiles.compute(Lists.newArrayList(Config.lake_compaction_score_selector_min_score + 1)));
+        compactionManager.handleLoadingFinished(partition2, 2, System.currentTimeMillis(),
+                Quantiles.compute(Lists.newArrayList(Config.lake_compaction_score_selector_min_score - 1)));
+        Assert.assertEquals(Lists.newArrayList(partition1), compactionManager.choosePartitionsToCompact(excludeTables));
+
+        compactionManager.triggerManualCompaction(partition2);
+        Assert.assertEquals(Lists.newArrayList(partition2, partition1),
+                compactionManager.choosePartitionsToCompact(excludeTables));
+        compactionManager.resetPriority(partition2);
+        Assert.assertEquals(Lists.newArrayList(partition1), compactionManager.choosePartitionsToCompact(excludeTables));
+
+        compactionManager.enableCompactionAfter(partition1, 5000);
+        Assert.assertEquals(0, compactionManager.choosePartitionsToCompact(excludeTables).size());
+        compactionManager.enableCompactionAfter(partition1, 0);
+        Assert.assertEquals(Lists.newArrayList(partition1), compactionManager.choosePartitionsToCompact(excludeTables));
+
+        compactionManager.handleCompactionFinished(partition1, 3, System.currentTimeMillis(),
+                Quantiles.compute(Lists.newArrayList(0d)));
+        Assert.assertEquals(0, compactionManager.choosePartitionsToCompact(excludeTables).size());
+
+        compactionManager.triggerManualCompaction(partition1);
+        compactionManager.removePartition(partition1);
+        Assert.assertEquals(0, compactionManager.choosePartitionsToCompact(excludeTables).size());
+    }
+
     @Test
     public void testGetMaxCompactionScore() {
         double delta = 0.001;
@@ -0,0 +1,117 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.lake.compaction;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+public class PartitionScoreIndexTest {
+
+    // the result of ScoreSelector and ScoreSorter
+    private static List<PartitionIdentifier> selectAndSort(Map<PartitionIdentifier, PartitionStatistics> statistics,
+                                                           Set<Long> excludeTables) {
+        return new ScoreSorter().sort(new ScoreSelector().select(statistics.values(), excludeTables)).stream()
+                .map(PartitionStatistics::getPartition)
+                .collect(Collectors.toList());
+    }
+
+    @Test
+    public void testSelect() {
+        PartitionScoreIndex index = new PartitionScoreIndex(10);
+        long now = System.currentTimeMillis();
+
+        PartitionStatistics low = new PartitionStatistics(new PartitionIdentifier(1, 2, 3));
+        low.setCompactionScore(Quantiles.compute(Arrays.asList(1.0, 2.0)));
+        index.update(low);
+        PartitionStatistics high = new PartitionStatistics(new PartitionIdentifier(1, 2, 4));
+        high.setCompactionScore(Quantiles.compute(Arrays.asList(20.0, 30.0)));
+        index.update(high);
+        PartitionStatistics noScore = new PartitionStatistics(new PartitionIdentifier(1, 2, 5));
+        index.update(noScore);
+        Assert.assertEquals(2, index.size());
+        Assert.assertEquals(Collections.singletonList(high.getPartition()), index.select(10, now, Collections.emptySet()));
+
+        // lower min score
+        Assert.assertEquals(Arrays.asList(high.getPartition(), low.getPartition()),
+                index.select(1, now, Collections.emptySet()));
+        Assert.assertEquals(Collections.emptyList(), index.select(1, now, Collections.singleton(2L)));
+
+        // manual compaction skips min score and time check
+        low.setPriority(PartitionStatistics.CompactionPriority.MANUAL_COMPACT);
+        low.setNextCompactionTime(now + 10000);
+        index.update(low);
+        Assert.assertEquals(Arrays.asList(low.getPartition(), high.getPartition()),
+                index.select(10, now, Collections.emptySet()));
+
+        // wait for the next compaction time
+        high.setNextCompactionTime(now + 10000);
+        index.update(high);
+        Assert.assertEquals(Collections.singletonList(low.getPartition()), index.select(10, now, Collections.emptySet()));
+        Assert.assertEquals(Arrays.asList(low.getPartition(), high.getPartition()),
+                index.select(10, now + 10000, Collections.emptySet()));
+
+        index.remove(low.getPartition());
+        Assert.assertEquals(Collections.singletonList(high.getPartition()),
+                index.select(10, now + 10000, Collections.emptySet()));
+    }
+
+    @Test
+    public void testSameAsScoreSelectorAndSorter() {
+        Random random = new Random(0);
+        Map<PartitionIdentifier, PartitionStatistics> statistics = new HashMap<>();
+        PartitionScoreIndex index = new PartitionScoreIndex(10);
+        List<PartitionIdentifier> partitions = new ArrayList<>();
+        for (int i = 0; i < 1000; i++) {
+            PartitionIdentifier partition = new PartitionIdentifier(1, random.nextInt(10), i);
+            partitions.add(partition);
+            statistics.put(partition, new PartitionStatistics(partition));
+        }
+
+        long now = System.currentTimeMillis();
+        for (int round = 0; round < 20; round++) {
+            for (int i = 0; i < 200; i++) {
+                PartitionStatistics stat = statistics.get(partitions.get(random.nextInt(partitions.size())));
+                switch (random.nextInt(4)) {
+                    case 0:
+                        // far enough from now, so that ScoreSelector sees the same due partitions
+                        stat.setNextCompactionTime(random.nextBoolean() ? now - 3600 * 1000L : now + 3600 * 1000L);
+                        break;
+                    case 1:
+                        stat.setPriority(random.nextBoolean() ? PartitionStatistics.CompactionPriority.MANUAL_COMPACT :
+                                PartitionStatistics.CompactionPriority.DEFAULT);
+                        break;
+                    default:
+                        stat.setCompactionScore(Quantiles.compute(
+                                Arrays.asList(random.nextDouble() * 20, random.nextDouble() * 20)));
+                        break;
+                }
+                index.update(stat);
+            }
+            Set<Long> excludeTables = Collections.singleton((long) random.nextInt(10));
+            Assert.assertEquals(selectAndSort(statistics, excludeTables),
+                    index.select(10, now, excludeTables));
+        }
+    }
+}
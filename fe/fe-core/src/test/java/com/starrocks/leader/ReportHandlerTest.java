@@ -354,6 +354,37 @@ public class ReportHandlerTest {
         }
     }
 
+    @Test
+    public void testHandleReportOfMultiBackends() throws TException {
+        List<Backend> backends = Lists.newArrayList(new Backend(10011, "host11", 8000),
+                new Backend(10012, "host12", 8000), new Backend(10013, "host13", 8000));
+
+        new MockUp<SystemInfoService>() {
+            @Mock
+            public Backend getBackendWithBePort(String host, int bePort) {
+                return backends.stream().filter(be -> be.getHost().equals(host) && be.getBePort() == bePort)
+                        .findFirst().orElse(null);
+            }
+        };
+
+        ReportHandler handler = new ReportHandler();
+        for (int i = 0; i < 2; i++) {
+            for (Backend be : backends) {
+                TReportRequest req = new TReportRequest();
+                req.setResource_usage(genResourceUsage(1, 2L, 3L, 100));
+                TBackend tbe = new TBackend();
+                tbe.setHost(be.getHost());
+                tbe.setBe_port(be.getBePort());
+                req.setBackend(tbe);
+
+                TMasterResult res = handler.handleReport(req);
+                Assert.assertEquals(TStatusCode.OK, res.getStatus().getStatus_code());
+            }
+        }
+        // the reports of the same backend are merged no matter which queue they are put into
+        Assert.assertEquals(backends.size(), handler.getReportQueueSize());
+    }
+
     @Test
     public void testHandleMigration() throws TException {
         List<Long> tabletIds = GlobalStateMgr.getCurrentState().getTabletInvertedIndex().getTabletIdsByBackendId(10001);
@@ -17,6 +17,7 @@
 
 package com.starrocks.mysql;
 
+import com.google.common.collect.Lists;
 import mockit.Delegate;
 import mockit.Expectations;
 import mockit.Mocked;
@@ -24,10 +25,12 @@ import org.junit.Assert;
 import org.junit.Before;
 import org.junit.Test;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.net.InetSocketAddress;
 import java.nio.ByteBuffer;
 import java.nio.channels.SocketChannel;
+import java.util.List;
 
 public class MysqlChannelTest {
     int packetId = 0;
@@ -333,4 +336,52 @@ public class MysqlChannelTest {
         channel1.sendOnePacket(buf);
     }
 
+    @Test
+    public void testSendPackets() throws IOException {
+        ByteArrayOutputStream written = new ByteArrayOutputStream();
+        new Expectations() {
+            {
+                channel.write((ByteBuffer[]) any);
+                minTimes = 0;
+                result = new Delegate() {
+                    // write at most 3 buffers a time, like a gathering write limited by IOV_MAX
+                    long fakeWrite(ByteBuffer[] buffers) {
+                        long writeLen = 0;
+                        int writeBuffers = 0;
+                        for (ByteBuffer buffer : buffers) {
+                            if (!buffer.hasRemaining()) {
+                                continue;
+                            }
+                            if (writeBuffers++ == 3) {
+                                break;
+                            }
+                            writeLen += buffer.remaining();
+                            byte[] bytes = new byte[buffer.remaining()];
+                            buffer.get(bytes);
+                            written.write(bytes, 0, bytes.length);
+                        }
+                        return writeLen;
+                    }
+                };
+            }
+        };
+
+        MysqlChannel channel1 = new MysqlChannel(channel);
+        List<ByteBuffer> packets = Lists.newArrayList();
+        for (int i = 0; i < 5; i++) {
+            packets.add(ByteBuffer.wrap(("row" + i).getBytes()));
+        }
+        channel1.sendPackets(packets);
+        Assert.assertTrue(channel1.isSend());
+
+        ByteBuffer result = ByteBuffer.wrap(written.toByteArray());
+        Assert.assertEquals(5 * (4 + 4), result.remaining());
+        for (int i = 0; i < 5; i++) {
+            Assert.assertEquals(4, result.get() & 0xff | (result.get() & 0xff) << 8 | (result.get() & 0xff) << 16);
+            Assert.assertEquals(i, result.get());
+            byte[] row = new byte[4];
+            result.get(row);
+            Assert.assertEquals("row" + i, new String(row));
+        }
+    }
 }
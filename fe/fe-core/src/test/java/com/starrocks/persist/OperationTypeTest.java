@@ -284,4 +284,13 @@ public class OperationTypeTest {
         Assert.assertFalse(OperationType.IGNORABLE_OPERATIONS.contains(OperationType.OP_UPSERT_TRANSACTION_STATE_BATCH));
         Assert.assertFalse(OperationType.IGNORABLE_OPERATIONS.contains(OperationType.OP_UPSERT_TRANSACTION_STATE_V2));
     }
+
+    @Test
+    public void testGetOpName() {
+        Assert.assertEquals("save_nextid", OperationType.getOpName(OperationType.OP_SAVE_NEXTID));
+        Assert.assertEquals("upsert_transaction_state_v2",
+                OperationType.getOpName(OperationType.OP_UPSERT_TRANSACTION_STATE_V2));
+        Assert.assertEquals("invalid", OperationType.getOpName(OperationType.OP_INVALID));
+        Assert.assertEquals(String.valueOf(Short.MIN_VALUE), OperationType.getOpName(Short.MIN_VALUE));
+    }
 }
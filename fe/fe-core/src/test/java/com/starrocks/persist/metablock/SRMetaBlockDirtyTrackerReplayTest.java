@@ -0,0 +1,274 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.persist.metablock;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.catalog.Database;
+import com.starrocks.catalog.OlapTable;
+import com.starrocks.catalog.Partition;
+import com.starrocks.catalog.Type;
+import com.starrocks.common.Config;
+import com.starrocks.common.io.Text;
+import com.starrocks.common.io.Writable;
+import com.starrocks.ha.LeaderInfo;
+import com.starrocks.journal.JournalEntity;
+import com.starrocks.journal.bdbje.Timestamp;
+import com.starrocks.load.EtlStatus;
+import com.starrocks.load.loadv2.InsertLoadJob;
+import com.starrocks.load.loadv2.JobState;
+import com.starrocks.load.loadv2.LoadJob;
+import com.starrocks.load.loadv2.LoadJobFinalOperation;
+import com.starrocks.load.streamload.StreamLoadTask;
+import com.starrocks.persist.HbPackage;
+import com.starrocks.persist.OperationType;
+import com.starrocks.persist.TransactionIdInfo;
+import com.starrocks.qe.ConnectContext;
+import com.starrocks.server.GlobalStateMgr;
+import com.starrocks.server.WarehouseManager;
+import com.starrocks.statistic.BasicStatsMeta;
+import com.starrocks.statistic.ExternalAnalyzeJob;
+import com.starrocks.statistic.ExternalAnalyzeStatus;
+import com.starrocks.statistic.ExternalBasicStatsMeta;
+import com.starrocks.statistic.ExternalHistogramStatsMeta;
+import com.starrocks.statistic.HistogramStatsMeta;
+import com.starrocks.statistic.NativeAnalyzeJob;
+import com.starrocks.statistic.NativeAnalyzeStatus;
+import com.starrocks.statistic.StatsConstants;
+import com.starrocks.system.FrontendHbResponse;
+import com.starrocks.thrift.TLoadJobType;
+import com.starrocks.transaction.PartitionCommitInfo;
+import com.starrocks.transaction.TableCommitInfo;
+import com.starrocks.transaction.TransactionState;
+import com.starrocks.transaction.TransactionStateBatch;
+import com.starrocks.transaction.TransactionStatus;
+import com.starrocks.utframe.StarRocksAssert;
+import com.starrocks.utframe.UtFrameUtils;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Replays a journal of every operation type mapped by SRMetaBlockDirtyTracker, and checks that the blocks
+ * the tracker still considers reusable serialize to exactly the same bytes as before the replay.
+ */
+public class SRMetaBlockDirtyTrackerReplayTest {
+    private static final String CATALOG = "hive0";
+    private static final String EXTERNAL_DB = "hive_db";
+    private static final String EXTERNAL_TABLE = "hive_tbl";
+
+    private static Database db;
+    private static OlapTable table;
+    private final Set<Short> replayedOpCodes = new HashSet<>();
+
+    @BeforeClass
+    public static void beforeClass() throws Exception {
+        UtFrameUtils.createMinStarRocksCluster();
+        UtFrameUtils.setUpForPersistTest();
+        ConnectContext connectContext = UtFrameUtils.createDefaultCtx();
+        StarRocksAssert starRocksAssert = new StarRocksAssert(connectContext);
+        starRocksAssert.withDatabase("test").useDatabase("test")
+                .withTable("CREATE TABLE test.t0 (k1 int, v1 int) DUPLICATE KEY(k1) " +
+                        "DISTRIBUTED BY HASH(k1) BUCKETS 1 PROPERTIES('replication_num' = '1')");
+        db = GlobalStateMgr.getCurrentState().getDb("test");
+        table = (OlapTable) db.getTable("t0");
+    }
+
+    @AfterClass
+    public static void afterClass() {
+        UtFrameUtils.tearDownForPersisTest();
+    }
+
+    private static Map<SRMetaBlockID, byte[]> saveBlocks() throws Exception {
+        Map<SRMetaBlockID, byte[]> blocks = new HashMap<>();
+        for (Map.Entry<SRMetaBlockID, SRMetaBlockSaver> entry :
+                GlobalStateMgr.getCurrentState().getImageSavers().entrySet()) {
+            ByteArrayOutputStream out = new ByteArrayOutputStream();
+            entry.getValue().save(new DataOutputStream(out));
+            blocks.put(entry.getKey(), out.toByteArray());
+        }
+        return blocks;
+    }
+
+    private void replayAndVerify(short opCode, Writable data) throws Exception {
+        Map<SRMetaBlockID, byte[]> before = saveBlocks();
+        JournalEntity journal = new JournalEntity();
+        journal.setOpCode(opCode);
+        journal.setData(data);
+        GlobalStateMgr.getCurrentState().getEditLog().loadJournal(GlobalStateMgr.getCurrentState(), journal);
+        Map<SRMetaBlockID, byte[]> after = saveBlocks();
+
+        SRMetaBlockDirtyTracker tracker = new SRMetaBlockDirtyTracker(null);
+        for (Map.Entry<SRMetaBlockID, byte[]> entry : before.entrySet()) {
+            tracker.recordBlock(new SRMetaBlockHeader(entry.getKey(), 1), 0, entry.getValue().length, true);
+        }
+        tracker.markJournal(opCode);
+        Assert.assertFalse(tracker.getReusableBlocks().isEmpty());
+        for (SRMetaBlockID id : tracker.getReusableBlocks()) {
+            Assert.assertArrayEquals("op " + opCode + " modified reusable block " + id, before.get(id), after.get(id));
+        }
+        replayedOpCodes.add(opCode);
+    }
+
+    private static TransactionState createTxnState(long txnId, long callbackId, TransactionStatus status) {
+        TransactionState txnState = new TransactionState(db.getId(), Lists.newArrayList(table.getId()), txnId,
+                "label_" + txnId, null, TransactionState.LoadJobSourceType.FRONTEND,
+                new TransactionState.TxnCoordinator(TransactionState.TxnSourceType.FE, "127.0.0.1"), callbackId, 60000);
+        txnState.setTransactionStatus(status);
+        if (status == TransactionStatus.COMMITTED || status == TransactionStatus.VISIBLE) {
+            Partition partition = table.getPartitions().iterator().next();
+            TableCommitInfo tableCommitInfo = new TableCommitInfo(table.getId());
+            tableCommitInfo.addPartitionCommitInfo(new PartitionCommitInfo(partition.getId(),
+                    partition.getVisibleVersion() + 1, System.currentTimeMillis()));
+            txnState.putIdToTableCommitInfo(table.getId(), tableCommitInfo);
+            txnState.setCommitTime(System.currentTimeMillis());
+        }
+        if (status.isFinalStatus()) {
+            txnState.setFinishTime(System.currentTimeMillis());
+        }
+        return txnState;
+    }
+
+    private void replayLoadAndTransactionJournals() throws Exception {
+        replayAndVerify(OperationType.OP_SAVE_NEXTID, new Text(Long.toString(GlobalStateMgr.getCurrentState().getNextId())));
+        replayAndVerify(OperationType.OP_SAVE_TRANSACTION_ID_V2, new TransactionIdInfo(1000000L));
+
+        long now = System.currentTimeMillis();
+        LoadJob loadJob = new InsertLoadJob("insert_label", db.getId(), table.getId(), now,
+                TLoadJobType.INSERT_QUERY, 3600, null);
+        replayAndVerify(OperationType.OP_CREATE_LOAD_JOB_V2, loadJob);
+        replayAndVerify(OperationType.OP_UPDATE_LOAD_JOB,
+                new LoadJob.LoadJobStateUpdateInfo(loadJob.getId(), JobState.LOADING, 1000001L, now));
+
+        // the transaction states call back the load job as well
+        replayAndVerify(OperationType.OP_UPSERT_TRANSACTION_STATE_V2,
+                createTxnState(1000001L, loadJob.getId(), TransactionStatus.PREPARE));
+        replayAndVerify(OperationType.OP_UPSERT_TRANSACTION_STATE_V2,
+                createTxnState(1000001L, loadJob.getId(), TransactionStatus.COMMITTED));
+        replayAndVerify(OperationType.OP_UPSERT_TRANSACTION_STATE_V2,
+                createTxnState(1000001L, loadJob.getId(), TransactionStatus.VISIBLE));
+        replayAndVerify(OperationType.OP_END_LOAD_JOB_V2, new LoadJobFinalOperation(loadJob.getId(), new EtlStatus(),
+                100, now, System.currentTimeMillis(), JobState.FINISHED, null));
+
+        LoadJob oldLoadJob = new InsertLoadJob("old_insert_label", db.getId(), table.getId(), now,
+                TLoadJobType.INSERT_QUERY, 3600, null);
+        replayAndVerify(OperationType.OP_CREATE_LOAD_JOB, oldLoadJob);
+        replayAndVerify(OperationType.OP_END_LOAD_JOB, new LoadJobFinalOperation(oldLoadJob.getId(), new EtlStatus(),
+                0, now, System.currentTimeMillis(), JobState.CANCELLED, null));
+
+        // batches are only used by lake tables, so the table of the batch is not found in the shared-nothing cluster
+        TransactionState batchTxnState = new TransactionState(db.getId(), Lists.newArrayList(-1L), 1000002L,
+                "batch_label", null, TransactionState.LoadJobSourceType.BACKEND_STREAMING,
+                new TransactionState.TxnCoordinator(TransactionState.TxnSourceType.BE, "127.0.0.1"), -1, 60000);
+        batchTxnState.setTransactionStatus(TransactionStatus.VISIBLE);
+        batchTxnState.setFinishTime(System.currentTimeMillis());
+        replayAndVerify(OperationType.OP_UPSERT_TRANSACTION_STATE_BATCH,
+                new TransactionStateBatch(Lists.newArrayList(batchTxnState)));
+
+        long warehouseId = WarehouseManager.DEFAULT_WAREHOUSE_ID;
+        replayAndVerify(OperationType.OP_CREATE_STREAM_LOAD_TASK, new StreamLoadTask(
+                GlobalStateMgr.getCurrentState().getNextId(), db, table, "stream_label", 60000, 1, 0, now, warehouseId));
+        replayAndVerify(OperationType.OP_CREATE_STREAM_LOAD_TASK_V2, new StreamLoadTask(
+                GlobalStateMgr.getCurrentState().getNextId(), db, table, "stream_label_v2", 60000, 1, 0, now, warehouseId));
+    }
+
+    private void replayNodeJournals() throws Exception {
+        replayAndVerify(OperationType.OP_TIMESTAMP, new Timestamp());
+        replayAndVerify(OperationType.OP_TIMESTAMP_V2, new Timestamp());
+
+        String selfHost = GlobalStateMgr.getCurrentState().getNodeMgr().getSelfNode().first;
+        replayAndVerify(OperationType.OP_LEADER_INFO_CHANGE, new LeaderInfo(selfHost, Config.http_port, Config.rpc_port));
+        replayAndVerify(OperationType.OP_LEADER_INFO_CHANGE_V2,
+                new LeaderInfo(selfHost, Config.http_port, Config.rpc_port));
+
+        String nodeName = GlobalStateMgr.getCurrentState().getNodeMgr().getNodeName();
+        for (short opCode : new short[] {OperationType.OP_HEARTBEAT, OperationType.OP_HEARTBEAT_V2}) {
+            HbPackage hbPackage = new HbPackage();
+            hbPackage.addHbResponse(new FrontendHbResponse(nodeName, Config.query_port, Config.rpc_port,
+                    1L, System.currentTimeMillis(), System.currentTimeMillis(), "version"));
+            replayAndVerify(opCode, hbPackage);
+        }
+    }
+
+    private void replayAnalyzeJournals() throws Exception {
+        List<String> columns = Lists.newArrayList("k1");
+        LocalDateTime now = LocalDateTime.now();
+
+        NativeAnalyzeJob nativeJob = new NativeAnalyzeJob(db.getId(), table.getId(), columns,
+                Lists.newArrayList(Type.INT), StatsConstants.AnalyzeType.FULL, StatsConstants.ScheduleType.SCHEDULE,
+                Maps.newHashMap(), StatsConstants.ScheduleStatus.PENDING, LocalDateTime.MIN);
+        nativeJob.setId(GlobalStateMgr.getCurrentState().getNextId());
+        replayAndVerify(OperationType.OP_ADD_ANALYZER_JOB, nativeJob);
+        replayAndVerify(OperationType.OP_REMOVE_ANALYZER_JOB, nativeJob);
+
+        ExternalAnalyzeJob externalJob = new ExternalAnalyzeJob(CATALOG, EXTERNAL_DB, EXTERNAL_TABLE, columns,
+                Lists.newArrayList(Type.INT), StatsConstants.AnalyzeType.FULL, StatsConstants.ScheduleType.SCHEDULE,
+                Maps.newHashMap(), StatsConstants.ScheduleStatus.PENDING, LocalDateTime.MIN);
+        externalJob.setId(GlobalStateMgr.getCurrentState().getNextId());
+        replayAndVerify(OperationType.OP_ADD_EXTERNAL_ANALYZER_JOB, externalJob);
+        replayAndVerify(OperationType.OP_REMOVE_EXTERNAL_ANALYZER_JOB, externalJob);
+
+        NativeAnalyzeStatus nativeStatus = new NativeAnalyzeStatus(GlobalStateMgr.getCurrentState().getNextId(),
+                db.getId(), table.getId(), columns, StatsConstants.AnalyzeType.FULL,
+                StatsConstants.ScheduleType.ONCE, Maps.newHashMap(), now);
+        replayAndVerify(OperationType.OP_ADD_ANALYZE_STATUS, nativeStatus);
+        replayAndVerify(OperationType.OP_REMOVE_ANALYZE_STATUS, nativeStatus);
+
+        ExternalAnalyzeStatus externalStatus = new ExternalAnalyzeStatus(GlobalStateMgr.getCurrentState().getNextId(),
+                CATALOG, EXTERNAL_DB, EXTERNAL_TABLE, "uuid", columns, StatsConstants.AnalyzeType.FULL,
+                StatsConstants.ScheduleType.ONCE, Maps.newHashMap(), now);
+        replayAndVerify(OperationType.OP_ADD_EXTERNAL_ANALYZE_STATUS, externalStatus);
+        replayAndVerify(OperationType.OP_REMOVE_EXTERNAL_ANALYZE_STATUS, externalStatus);
+
+        BasicStatsMeta basicStatsMeta = new BasicStatsMeta(db.getId(), table.getId(), columns,
+                StatsConstants.AnalyzeType.FULL, now, Maps.newHashMap());
+        replayAndVerify(OperationType.OP_ADD_BASIC_STATS_META, basicStatsMeta);
+        replayAndVerify(OperationType.OP_REMOVE_BASIC_STATS_META, basicStatsMeta);
+
+        HistogramStatsMeta histogramStatsMeta = new HistogramStatsMeta(db.getId(), table.getId(), "k1",
+                StatsConstants.AnalyzeType.HISTOGRAM, now, Maps.newHashMap());
+        replayAndVerify(OperationType.OP_ADD_HISTOGRAM_STATS_META, histogramStatsMeta);
+        replayAndVerify(OperationType.OP_REMOVE_HISTOGRAM_STATS_META, histogramStatsMeta);
+
+        ExternalBasicStatsMeta externalBasicStatsMeta = new ExternalBasicStatsMeta(CATALOG, EXTERNAL_DB,
+                EXTERNAL_TABLE, columns, StatsConstants.AnalyzeType.FULL, now, Maps.newHashMap());
+        replayAndVerify(OperationType.OP_ADD_EXTERNAL_BASIC_STATS_META, externalBasicStatsMeta);
+        replayAndVerify(OperationType.OP_REMOVE_EXTERNAL_BASIC_STATS_META, externalBasicStatsMeta);
+
+        ExternalHistogramStatsMeta externalHistogramStatsMeta = new ExternalHistogramStatsMeta(CATALOG,
+                EXTERNAL_DB, EXTERNAL_TABLE, "k1", StatsConstants.AnalyzeType.HISTOGRAM, now, Maps.newHashMap());
+        replayAndVerify(OperationType.OP_ADD_EXTERNAL_HISTOGRAM_STATS_META, externalHistogramStatsMeta);
+        replayAndVerify(OperationType.OP_REMOVE_EXTERNAL_HISTOGRAM_STATS_META, externalHistogramStatsMeta);
+    }
+
+    @Test
+    public void testReplayKeepsReusableBlocks() throws Exception {
+        replayLoadAndTransactionJournals();
+        replayNodeJournals();
+        replayAnalyzeJournals();
+        // every operation type that leaves some blocks reusable must be verified here
+        Assert.assertEquals(SRMetaBlockDirtyTracker.getTrackedOpCodes(), replayedOpCodes);
+    }
+}
@@ -0,0 +1,135 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package com.starrocks.persist.metablock;
+
+import com.starrocks.persist.OperationType;
+import org.apache.commons.io.FileUtils;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+
+public class SRMetaBlockDirtyTrackerTest {
+    private Path tmpDir;
+    private File image;
+    private long nodeMgrLength;
+
+    @Before
+    public void setUp() throws Exception {
+        tmpDir = Files.createTempDirectory(Paths.get("."), "SRMetaBlockDirtyTrackerTest");
+        image = new File(tmpDir.toFile(), "image.1");
+        try (DataOutputStream dos = new DataOutputStream(Files.newOutputStream(image.toPath()))) {
+            writeBlock(dos, SRMetaBlockID.NODE_MGR, "node");
+            nodeMgrLength = dos.size();
+            writeBlock(dos, SRMetaBlockID.LOCAL_META_STORE, "db");
+            writeBlock(dos, SRMetaBlockID.ANALYZE_MGR, "stats");
+        }
+    }
+
+    @After
+    public void tearDown() throws Exception {
+        FileUtils.deleteDirectory(tmpDir.toFile());
+    }
+
+    private static void writeBlock(DataOutputStream dos, SRMetaBlockID id, String value) throws Exception {
+        SRMetaBlockWriter writer = new SRMetaBlockWriter(dos, id, 1);
+        writer.writeJson(value);
+        writer.close();
+    }
+
+    private SRMetaBlockDirtyTracker createTracker() {
+        SRMetaBlockDirtyTracker tracker = new SRMetaBlockDirtyTracker(image);
+        long length = image.length();
+        tracker.recordBlock(new SRMetaBlockHeader(SRMetaBlockID.NODE_MGR, 1), 0, nodeMgrLength, true);
+        // only the location of NODE_MGR is accurate, enough for the test
+        tracker.recordBlock(new SRMetaBlockHeader(SRMetaBlockID.LOCAL_META_STORE, 1), nodeMgrLength,
+                length - nodeMgrLength, true);
+        tracker.recordBlock(new SRMetaBlockHeader(SRMetaBlockID.ANALYZE_MGR, 1), 0, 0, false);
+        tracker.recordBlock(new SRMetaBlockHeader(SRMetaBlockID.LOAD_MGR, 1), 0, 0, true);
+        return tracker;
+    }
+
+    @Test
+    public void testRecordBlock() {
+        SRMetaBlockDirtyTracker tracker = createTracker();
+        Assert.assertTrue(tracker.canReuse(SRMetaBlockID.NODE_MGR));
+        Assert.assertTrue(tracker.canReuse(SRMetaBlockID.LOCAL_META_STORE));
+        // partially loaded
+        Assert.assertFalse(tracker.canReuse(SRMetaBlockID.ANALYZE_MGR));
+        // modified by checkpoint itself
+        Assert.assertFalse(tracker.canReuse(SRMetaBlockID.LOAD_MGR));
+        // not in previous image
+        Assert.assertFalse(tracker.canReuse(SRMetaBlockID.CATALOG_MGR));
+    }
+
+    @Test
+    public void testMarkJournal() {
+        SRMetaBlockDirtyTracker tracker = createTracker();
+        tracker.markJournal(OperationType.OP_SAVE_NEXTID);
+        tracker.markJournal(OperationType.OP_TIMESTAMP_V2);
+        Assert.assertTrue(tracker.canReuse(SRMetaBlockID.NODE_MGR));
+        Assert.assertTrue(tracker.canReuse(SRMetaBlockID.LOCAL_META_STORE));
+
+        tracker.markJournal(OperationType.OP_HEARTBEAT_V2);
+        Assert.assertFalse(tracker.canReuse(SRMetaBlockID.NODE_MGR));
+        Assert.assertTrue(tracker.canReuse(SRMetaBlockID.LOCAL_META_STORE));
+
+        tracker = createTracker();
+        tracker.recordBlock(new SRMetaBlockHeader(SRMetaBlockID.ANALYZE_MGR, 1), 0, 0, true);
+        Assert.assertTrue(tracker.canReuse(SRMetaBlockID.ANALYZE_MGR));
+        tracker.markJournal(OperationType.OP_UPSERT_TRANSACTION_STATE_V2);
+        Assert.assertTrue(tracker.canReuse(SRMetaBlockID.NODE_MGR));
+        Assert.assertFalse(tracker.canReuse(SRMetaBlockID.LOCAL_META_STORE));
+        // basic stats meta are updated by visible transactions
+        Assert.assertFalse(tracker.canReuse(SRMetaBlockID.ANALYZE_MGR));
+
+        // unknown operation makes everything dirty
+        tracker = createTracker();
+        tracker.markJournal(OperationType.OP_CREATE_DB_V2);
+        Assert.assertTrue(tracker.getReusableBlocks().isEmpty());
+    }
+
+    @Test
+    public void testCopyBlock() throws Exception {
+        SRMetaBlockDirtyTracker tracker = createTracker();
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        DataOutputStream dos = new DataOutputStream(out);
+        tracker.copyBlock(SRMetaBlockID.NODE_MGR, dos);
+        dos.flush();
+        Assert.assertEquals(nodeMgrLength, out.size());
+
+        SRMetaBlockReader reader = new SRMetaBlockReader(new DataInputStream(new ByteArrayInputStream(out.toByteArray())));
+        Assert.assertEquals(SRMetaBlockID.NODE_MGR, reader.getHeader().getSrMetaBlockID());
+        Assert.assertEquals("node", reader.readJson(String.class));
+        reader.close();
+
+        try {
+            tracker.copyBlock(SRMetaBlockID.CATALOG_MGR, dos);
+            Assert.fail();
+        } catch (Exception e) {
+            Assert.assertTrue(e.getMessage().contains("is not found in previous image"));
+        }
+    }
+}
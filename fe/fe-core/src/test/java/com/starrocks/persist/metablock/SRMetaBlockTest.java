@@ -16,6 +16,7 @@ package com.starrocks.persist.metablock;
 
 import com.google.gson.annotations.SerializedName;
 import com.google.gson.reflect.TypeToken;
+import com.starrocks.common.Config;
 import org.apache.commons.io.FileUtils;
 import org.junit.AfterClass;
 import org.junit.Assert;
@@ -36,6 +37,8 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 public class SRMetaBlockTest {
     private static Path tmpDir;
@@ -365,4 +368,180 @@ public class SRMetaBlockTest {
         }
         dis.close();
     }
+
+    @Test
+    public void testBinaryFormat() throws Exception {
+        SimpleStruct simpleStruct = new SimpleStruct();
+        simpleStruct.str = "lalala";
+        simpleStruct.num = -10;
+        simpleStruct.list = Arrays.asList("petals", "on", "a", "black", "wet", "bough", "on");
+        simpleStruct.map = new HashMap<>();
+        simpleStruct.map.put("uno", 1);
+        simpleStruct.map.put("dos", Integer.MAX_VALUE);
+
+        String name = "binary";
+        DataOutputStream dos = openOutput(name);
+        // json block followed by binary block, both should be readable
+        SRMetaBlockWriter writer = new SRMetaBlockWriter(dos, SRMetaBlockID.CATALOG_MGR, 1,
+                SRMetaBlockHeader.FORMAT_JSON);
+        writer.writeJson(simpleStruct);
+        writer.close();
+        writer = new SRMetaBlockWriter(dos, SRMetaBlockID.LOCAL_META_STORE, 4, SRMetaBlockHeader.FORMAT_BINARY);
+        writer.writeJson(simpleStruct);
+        writer.writeJson(simpleStruct);
+        writer.writeJson(Long.MIN_VALUE);
+        writer.writeJson(3.25);
+        writer.close();
+        dos.close();
+
+        DataInputStream dis = openInput(name);
+        SRMetaBlockReader reader = new SRMetaBlockReader(dis);
+        Assert.assertFalse(reader.getHeader().isBinaryFormat());
+        SimpleStruct ret = reader.readJson(SimpleStruct.class);
+        Assert.assertEquals(simpleStruct.str, ret.str);
+        reader.close();
+
+        reader = new SRMetaBlockReader(dis);
+        Assert.assertTrue(reader.getHeader().isBinaryFormat());
+        Assert.assertEquals(SRMetaBlockID.LOCAL_META_STORE, reader.getHeader().getSrMetaBlockID());
+        // every object has its own string dictionary
+        for (int i = 0; i < 2; i++) {
+            ret = reader.readJson(SimpleStruct.class);
+            Assert.assertEquals(simpleStruct.str, ret.str);
+            Assert.assertEquals(simpleStruct.num, ret.num);
+            Assert.assertEquals(simpleStruct.list, ret.list);
+            Assert.assertEquals(simpleStruct.map, ret.map);
+        }
+        Assert.assertEquals(Long.MIN_VALUE, reader.readJson(Long.class).longValue());
+        Assert.assertEquals(3.25, reader.readJson(Double.class), 0);
+        reader.close();
+        dis.close();
+    }
+
+    @Test
+    public void testBinaryFormatSkipRest() throws Exception {
+        String name = "binarySkip";
+        DataOutputStream dos = openOutput(name);
+        SRMetaBlockWriter writer = new SRMetaBlockWriter(dos, SRMetaBlockID.CATALOG_MGR, 3,
+                SRMetaBlockHeader.FORMAT_BINARY);
+        writer.writeJson("Muchos años después");
+        writer.writeJson("frente al pelotón de fusilamiento");
+        writer.writeJson("Muchos años después");
+        writer.close();
+        writer = new SRMetaBlockWriter(dos, SRMetaBlockID.LOAD_MGR, 1, SRMetaBlockHeader.FORMAT_BINARY);
+        writer.writeJson("el coronel Aureliano Buendía");
+        writer.close();
+        dos.close();
+
+        DataInputStream dis = openInput(name);
+        SRMetaBlockReader reader = new SRMetaBlockReader(dis);
+        Assert.assertEquals("Muchos años después", reader.readJson(String.class));
+        // skip the rest, checksum should still match
+        reader.close();
+        reader = new SRMetaBlockReader(dis);
+        Assert.assertEquals("el coronel Aureliano Buendía", reader.readJson(String.class));
+        reader.close();
+        dis.close();
+    }
+
+    @Test
+    public void testBinaryFormatSmallerThanJson() throws Exception {
+        Map<String, Long> map = new HashMap<>();
+        for (long i = 0; i < 1000; i++) {
+            map.put("replica_" + i, 10000000L + i);
+        }
+        List<Map<String, Long>> objects = Arrays.asList(map, map, map);
+
+        DataOutputStream dos = openOutput("jsonSize");
+        SRMetaBlockWriter writer = new SRMetaBlockWriter(dos, SRMetaBlockID.CATALOG_MGR, 1,
+                SRMetaBlockHeader.FORMAT_JSON);
+        writer.writeJson(objects);
+        writer.close();
+        dos.close();
+
+        dos = openOutput("binarySize");
+        writer = new SRMetaBlockWriter(dos, SRMetaBlockID.CATALOG_MGR, 1, SRMetaBlockHeader.FORMAT_BINARY);
+        writer.writeJson(objects);
+        writer.close();
+        dos.close();
+
+        long jsonSize = Paths.get(tmpDir.toFile().getAbsolutePath(), "jsonSize").toFile().length();
+        long binarySize = Paths.get(tmpDir.toFile().getAbsolutePath(), "binarySize").toFile().length();
+        Assert.assertTrue(jsonSize + " vs " + binarySize, binarySize * 2 < jsonSize);
+    }
+
+    @Test
+    public void testBinaryFormatEnabledByConfig() throws Exception {
+        int[] oldIds = Config.image_binary_meta_block_ids;
+        try {
+            Config.image_binary_meta_block_ids = new int[] {SRMetaBlockID.LOAD_MGR.getId()};
+            Assert.assertTrue(SRMetaBlockWriter.isBinaryFormatEnabled(SRMetaBlockID.LOAD_MGR));
+            Assert.assertFalse(SRMetaBlockWriter.isBinaryFormatEnabled(SRMetaBlockID.CATALOG_MGR));
+
+            DataOutputStream dos = openOutput("binaryConfig");
+            SRMetaBlockWriter writer = new SRMetaBlockWriter(dos, SRMetaBlockID.LOAD_MGR, 1);
+            writer.writeJson("xxx");
+            writer.close();
+            dos.close();
+
+            DataInputStream dis = openInput("binaryConfig");
+            SRMetaBlockReader reader = new SRMetaBlockReader(dis);
+            Assert.assertTrue(reader.getHeader().isBinaryFormat());
+            Assert.assertEquals("xxx", reader.readJson(String.class));
+            reader.close();
+            dis.close();
+        } finally {
+            Config.image_binary_meta_block_ids = oldIds;
+        }
+    }
+
+    @Test
+    public void testPrefetchRead() throws Exception {
+        String name = "prefetch";
+        int numJson = 100;
+        DataOutputStream dos = openOutput(name);
+        for (int format : new int[] {SRMetaBlockHeader.FORMAT_JSON, SRMetaBlockHeader.FORMAT_BINARY}) {
+            // fully read block
+            SRMetaBlockWriter writer = new SRMetaBlockWriter(dos, SRMetaBlockID.CATALOG_MGR, numJson, format);
+            for (int i = 0; i < numJson; i++) {
+                writer.writeJson(Arrays.asList("db", "tbl" + i, String.valueOf(i)));
+            }
+            writer.close();
+            // partially read block, the rest should be skipped
+            writer = new SRMetaBlockWriter(dos, SRMetaBlockID.LOAD_MGR, numJson, format);
+            for (int i = 0; i < numJson; i++) {
+                writer.writeJson(i);
+            }
+            writer.close();
+        }
+        dos.close();
+
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            DataInputStream dis = openInput(name);
+            for (int round = 0; round < 2; round++) {
+                SRMetaBlockReader reader = new SRMetaBlockReader(dis, executor, 8);
+                for (int i = 0; i < numJson; i++) {
+                    List<String> ret = (List<String>) reader.readJson(SimpleStruct.LIST_TYPE);
+                    Assert.assertEquals(Arrays.asList("db", "tbl" + i, String.valueOf(i)), ret);
+                }
+                try {
+                    reader.readJson(String.class);
+                    Assert.fail();
+                } catch (SRMetaBlockEOFException e) {
+                    Assert.assertTrue(e.getMessage().contains("Read json more than expect"));
+                }
+                reader.close();
+
+                reader = new SRMetaBlockReader(dis, executor, 8);
+                for (int i = 0; i < 10; i++) {
+                    Assert.assertEquals(i, reader.readInt());
+                }
+                reader.close();
+            }
+            dis.close();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
 }
@@ -0,0 +1,78 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.qe.scheduler;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Maps;
+import com.starrocks.qe.scheduler.dag.FragmentInstanceExecState;
+import com.starrocks.system.ComputeNode;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class DeployerTest {
+
+    @Test
+    public void testDeployConcurrentlyKeepsOrderOfEachWorker() throws Exception {
+        int numWorkers = 4;
+        int numExecutionsPerWorker = 50;
+        List<ComputeNode> workers = Lists.newArrayList();
+        for (int i = 0; i < numWorkers; i++) {
+            workers.add(new ComputeNode(i, "host" + i, 9050));
+        }
+
+        // worker id -> indexes of the executions in the order of sending
+        Map<Long, List<Integer>> workerIdToSentIndexes = new ConcurrentHashMap<>();
+        Set<String> sendingThreads = ConcurrentHashMap.newKeySet();
+        List<FragmentInstanceExecState> executions = Lists.newArrayList();
+        // the executions of different workers are interleaved
+        for (int i = 0; i < numWorkers * numExecutionsPerWorker; i++) {
+            ComputeNode worker = workers.get(i % numWorkers);
+            int index = i;
+            FragmentInstanceExecState execution = mock(FragmentInstanceExecState.class);
+            when(execution.getWorker()).thenReturn(worker);
+            doAnswer(invocation -> {
+                sendingThreads.add(Thread.currentThread().getName());
+                workerIdToSentIndexes.computeIfAbsent(worker.getId(),
+                        k -> Collections.synchronizedList(Lists.newArrayList())).add(index);
+                return null;
+            }).when(execution).deployAsync();
+            executions.add(execution);
+        }
+
+        Deployer.deployConcurrently(executions);
+
+        Assert.assertEquals(numWorkers, workerIdToSentIndexes.size());
+        Map<Long, List<Integer>> expected = Maps.newHashMap();
+        for (int i = 0; i < executions.size(); i++) {
+            expected.computeIfAbsent((long) (i % numWorkers), k -> Lists.newArrayList()).add(i);
+        }
+        for (Map.Entry<Long, List<Integer>> entry : expected.entrySet()) {
+            Assert.assertEquals(entry.getValue(), workerIdToSentIndexes.get(entry.getKey()));
+        }
+        // the requests to the first worker are sent by the calling thread
+        Assert.assertTrue(sendingThreads.contains(Thread.currentThread().getName()));
+        Assert.assertTrue(sendingThreads.size() > 1);
+    }
+}
@@ -87,9 +87,10 @@ public class StartSchedulingTest extends SchedulerTestBase {
 
     @Test
     public void testDeploySuccess() throws Exception {
-        Map<TNetworkAddress, Integer> backendToNumInstances = Maps.newHashMap();
-        Map<TNetworkAddress, List<TExecPlanFragmentParams>> backendToRequests = Maps.newHashMap();
-        Map<Integer, List<TExecPlanFragmentParams>> fragmentToRequest = Maps.newHashMap();
+        // The requests to different backends are sent concurrently.
+        Map<TNetworkAddress, Integer> backendToNumInstances = Maps.newConcurrentMap();
+        Map<TNetworkAddress, List<TExecPlanFragmentParams>> backendToRequests = Maps.newConcurrentMap();
+        Map<Integer, List<TExecPlanFragmentParams>> fragmentToRequest = Maps.newConcurrentMap();
         setBackendService(address -> new MockPBackendService() {
             @Override
             public Future<PExecPlanFragmentResult> execPlanFragmentAsync(PExecPlanFragmentRequest request) {
@@ -99,10 +100,12 @@ public class StartSchedulingTest extends SchedulerTestBase {
                 } catch (TException e) {
                     throw new RuntimeException(e);
                 }
-                backendToRequests.computeIfAbsent(address, (k) -> Lists.newArrayList()).add(tRequest);
+                backendToRequests.computeIfAbsent(address, (k) -> Collections.synchronizedList(Lists.newArrayList()))
+                        .add(tRequest);
 
                 int rootNodeId = tRequest.getFragment().getPlan().getNodes().get(0).getNode_id();
-                fragmentToRequest.computeIfAbsent(rootNodeId, (k) -> Lists.newArrayList()).add(tRequest);
+                fragmentToRequest.computeIfAbsent(rootNodeId, (k) -> Collections.synchronizedList(Lists.newArrayList()))
+                        .add(tRequest);
 
                 // Check cache desc table.
                 backendToNumInstances.compute(address, (k, v) -> {
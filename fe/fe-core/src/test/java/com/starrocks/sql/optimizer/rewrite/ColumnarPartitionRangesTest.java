@@ -0,0 +1,138 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.sql.optimizer.rewrite;
+
+import com.google.common.collect.Lists;
+import com.google.common.collect.Range;
+import com.starrocks.analysis.DateLiteral;
+import com.starrocks.analysis.IntLiteral;
+import com.starrocks.analysis.LiteralExpr;
+import com.starrocks.analysis.MaxLiteral;
+import com.starrocks.analysis.StringLiteral;
+import com.starrocks.catalog.PartitionKey;
+import com.starrocks.catalog.PartitionKeyDiscreteDomain;
+import com.starrocks.catalog.PrimitiveType;
+import com.starrocks.catalog.Type;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.BitSet;
+import java.util.List;
+
+public class ColumnarPartitionRangesTest {
+
+    private static PartitionKey intKey(long value) {
+        PartitionKey key = new PartitionKey();
+        key.pushColumn(new IntLiteral(value, Type.BIGINT), PrimitiveType.BIGINT);
+        return key;
+    }
+
+    private static PartitionKey dateKey(int year, int month, int day) {
+        PartitionKey key = new PartitionKey();
+        key.pushColumn(new DateLiteral(year, month, day), PrimitiveType.DATE);
+        return key;
+    }
+
+    private static PartitionKey maxKey() {
+        PartitionKey key = new PartitionKey();
+        key.pushColumn(MaxLiteral.MAX_VALUE, PrimitiveType.BIGINT);
+        return key;
+    }
+
+    // the same as PartitionColPredicateEvaluator before the ranges are stored in columns
+    private static BitSet evaluateByRanges(List<Range<PartitionKey>> ranges, Range<PartitionKey> predicateRange,
+                                           boolean discrete) {
+        BitSet bitSet = new BitSet();
+        for (int i = 0; i < ranges.size(); i++) {
+            Range<PartitionKey> range = ranges.get(i);
+            if (range.isConnected(predicateRange) && !range.intersection(predicateRange).isEmpty()) {
+                if (!discrete || !range.intersection(predicateRange).canonical(new PartitionKeyDiscreteDomain()).isEmpty()) {
+                    bitSet.set(i);
+                }
+            }
+        }
+        return bitSet;
+    }
+
+    @Test
+    public void testIntRanges() {
+        List<Range<PartitionKey>> ranges = Lists.newArrayList();
+        for (int i = 0; i < 100; i++) {
+            ranges.add(Range.closedOpen(intKey(i * 10), intKey(i * 10 + 10)));
+        }
+        ranges.add(Range.closed(intKey(5), intKey(5)));
+        ranges.add(Range.closedOpen(intKey(-1000), maxKey()));
+        ranges.add(Range.atLeast(intKey(990)));
+
+        List<Range<PartitionKey>> predicateRanges = Lists.newArrayList(
+                Range.closed(intKey(15), intKey(15)),
+                Range.closed(intKey(10), intKey(10)),
+                Range.atLeast(intKey(500)),
+                Range.greaterThan(intKey(499)),
+                Range.atMost(intKey(20)),
+                Range.lessThan(intKey(20)),
+                Range.closed(intKey(-100), intKey(-1)),
+                Range.open(intKey(9), intKey(10)),
+                Range.open(intKey(8), intKey(10)),
+                Range.all());
+
+        for (boolean discrete : new boolean[] {true, false}) {
+            ColumnarPartitionRanges columnar = ColumnarPartitionRanges.create(ranges, discrete);
+            Assert.assertNotNull(columnar);
+            Assert.assertEquals(ranges.size(), columnar.size());
+            for (Range<PartitionKey> predicateRange : predicateRanges) {
+                Assert.assertEquals(predicateRange.toString(), evaluateByRanges(ranges, predicateRange, discrete),
+                        columnar.evaluate(predicateRange));
+            }
+        }
+    }
+
+    @Test
+    public void testDateRanges() {
+        List<Range<PartitionKey>> ranges = Lists.newArrayList();
+        for (int month = 1; month < 12; month++) {
+            ranges.add(Range.closedOpen(dateKey(2024, month, 1), dateKey(2024, month + 1, 1)));
+        }
+        ColumnarPartitionRanges columnar = ColumnarPartitionRanges.create(ranges, false);
+        Assert.assertNotNull(columnar);
+
+        PartitionKey datetimeKey = new PartitionKey();
+        datetimeKey.pushColumn(new DateLiteral(2024, 3, 1, 0, 0, 0, 1), PrimitiveType.DATETIME);
+        List<Range<PartitionKey>> predicateRanges = Lists.newArrayList(
+                Range.closed(dateKey(2024, 3, 1), dateKey(2024, 3, 1)),
+                Range.lessThan(dateKey(2024, 3, 1)),
+                Range.atMost(dateKey(2024, 3, 1)),
+                Range.closed(dateKey(2024, 2, 29), dateKey(2024, 5, 31)),
+                Range.closed(datetimeKey, datetimeKey),
+                Range.greaterThan(dateKey(2025, 1, 1)));
+        for (Range<PartitionKey> predicateRange : predicateRanges) {
+            Assert.assertEquals(predicateRange.toString(), evaluateByRanges(ranges, predicateRange, false),
+                    columnar.evaluate(predicateRange));
+        }
+
+        // int values can not be compared with dates
+        Assert.assertNull(columnar.evaluate(Range.atLeast(intKey(1))));
+    }
+
+    @Test
+    public void testNotSupported() {
+        PartitionKey stringKey = new PartitionKey();
+        LiteralExpr literal = new StringLiteral("a");
+        stringKey.pushColumn(literal, PrimitiveType.VARCHAR);
+        Assert.assertNull(ColumnarPartitionRanges.create(Lists.newArrayList(Range.atLeast(stringKey)), false));
+        Assert.assertNull(ColumnarPartitionRanges.create(
+                Lists.newArrayList(Range.atLeast(intKey(1)), Range.atLeast(dateKey(2024, 1, 1))), false));
+    }
+}
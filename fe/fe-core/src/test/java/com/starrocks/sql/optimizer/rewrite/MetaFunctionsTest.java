@@ -128,7 +128,7 @@ public class MetaFunctionsTest {
                 new ConstantOperator("reportHandler", Type.VARCHAR));
         MetaFunctions.inspectMemoryDetail(
                 new ConstantOperator("report", Type.VARCHAR),
-                new ConstantOperator("reportHandler.reportQueue", Type.VARCHAR));
+                new ConstantOperator("reportHandler.reportQueues", Type.VARCHAR));
     }
 
     private UserIdentity testUser = UserIdentity.createAnalyzedUserIdentWithIp("test_user", "%");
@@ -0,0 +1,85 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package com.starrocks.sql.optimizer.rewrite;
+
+import com.google.common.collect.Lists;
+import com.starrocks.analysis.BinaryType;
+import com.starrocks.analysis.FunctionName;
+import com.starrocks.catalog.Function;
+import com.starrocks.catalog.Type;
+import com.starrocks.sql.optimizer.operator.scalar.BinaryPredicateOperator;
+import com.starrocks.sql.optimizer.operator.scalar.CallOperator;
+import com.starrocks.sql.optimizer.operator.scalar.CastOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ColumnRefOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ConstantOperator;
+import com.starrocks.sql.optimizer.operator.scalar.ScalarOperator;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+
+public class ScalarOperatorCompilerTest {
+
+    private static CallOperator dateTrunc(ScalarOperator child) {
+        Function fn = new Function(new FunctionName("date_trunc"), new Type[] {Type.VARCHAR, Type.DATETIME},
+                Type.DATETIME, false);
+        return new CallOperator("date_trunc", Type.DATETIME,
+                Lists.newArrayList(ConstantOperator.createVarchar("month"), child), fn);
+    }
+
+    @Test
+    public void testEvaluate() {
+        ColumnRefOperator column = new ColumnRefOperator(1, Type.VARCHAR, "k1", true);
+        CallOperator call = dateTrunc(new CastOperator(Type.DATETIME, column));
+
+        ScalarOperatorCompiler.CompiledOperator compiled = ScalarOperatorCompiler.compile(call, true);
+        Assert.assertNotNull(compiled);
+        Assert.assertSame(compiled, ScalarOperatorCompiler.compile(call.clone(), true));
+
+        ConstantOperator[] values = {
+                ConstantOperator.createVarchar("2024-02-15 10:00:00"),
+                ConstantOperator.createVarchar("2024-03-01 00:00:00"),
+                ConstantOperator.createNull(Type.VARCHAR),
+                ConstantOperator.createVarchar("not a date"),
+                null
+        };
+        ConstantOperator[] results = compiled.evaluate(values);
+        Assert.assertEquals(values.length, results.length);
+        Assert.assertEquals(LocalDateTime.of(2024, 2, 1, 0, 0), results[0].getDatetime());
+        Assert.assertEquals(LocalDateTime.of(2024, 3, 1, 0, 0), results[1].getDatetime());
+        Assert.assertTrue(results[2].isNull());
+        Assert.assertNull(results[3]);
+        Assert.assertNull(results[4]);
+        // the input values are not modified
+        Assert.assertEquals("2024-02-15 10:00:00", values[0].getVarchar());
+
+        // the same as folding the call over each value
+        for (int i = 0; i < 2; i++) {
+            ScalarOperator folded = ScalarOperatorEvaluator.INSTANCE.evaluation(
+                    dateTrunc(values[i].castTo(Type.DATETIME).orElseThrow()), true);
+            Assert.assertEquals(folded, results[i]);
+        }
+    }
+
+    @Test
+    public void testNotSupported() {
+        ColumnRefOperator k1 = new ColumnRefOperator(1, Type.DATETIME, "k1", true);
+        ColumnRefOperator k2 = new ColumnRefOperator(2, Type.DATETIME, "k2", true);
+        Assert.assertNull(ScalarOperatorCompiler.compile(
+                new BinaryPredicateOperator(BinaryType.EQ, k1, ConstantOperator.createInt(1)), true));
+        Assert.assertNull(ScalarOperatorCompiler.compile(
+                new CallOperator("date_diff", Type.BIGINT, Lists.newArrayList(k1, k2)), true));
+    }
+}
@@ -642,6 +642,96 @@ public class MvRewritePreprocessorTest extends MvRewriteTestBase {
         connectContext.getSessionVariable().setCboMaterializedViewRewriteRelatedMVsLimit(oldVal);
     }
 
+    @Test
+    public void testGetMvWithPlanContextInParallel() {
+        int mvNum = 8;
+        List<String> mvs = Lists.newArrayList();
+        for (int i = 0; i < mvNum; i++) {
+            mvs.add(String.format("create materialized view mv_%s distributed by random as " +
+                    "select k1, v1, v2 from t1 where k1 > %s", i, i));
+        }
+
+        starRocksAssert.withMaterializedViews(mvs, (obj) -> {
+            String query = "select k1, v1, v2 from t1 where k1 > 3";
+            Pair<MvRewritePreprocessor, OptExpression> result = buildMvProcessor(query);
+            MvRewritePreprocessor preprocessor = result.first;
+            Set<MaterializedView> validMVs = Sets.newHashSet();
+            for (int i = 0; i < mvNum; i++) {
+                validMVs.add(getMv(DB_NAME, String.format("mv_%s", i)));
+            }
+
+            connectContext.getSessionVariable().setEnableMaterializedViewPlanParallelLoad(true);
+            try {
+                // without plan cache, all plans are built in parallel for this query only
+                connectContext.getSessionVariable().setEnableMaterializedViewPlanCache(false);
+                CachingMvPlanContextBuilder.getInstance().rebuildCache();
+                Set<MvRewritePreprocessor.MvWithPlanContext> mvWithPlanContexts =
+                        preprocessor.getMvWithPlanContext(validMVs);
+                Assert.assertEquals(mvNum, mvWithPlanContexts.size());
+                for (MaterializedView mv : validMVs) {
+                    Assert.assertFalse(CachingMvPlanContextBuilder.getInstance().contains(mv));
+                }
+
+                // with plan cache, plans built in parallel are put into the cache
+                connectContext.getSessionVariable().setEnableMaterializedViewPlanCache(true);
+                mvWithPlanContexts = preprocessor.getMvWithPlanContext(validMVs);
+                Assert.assertEquals(mvNum, mvWithPlanContexts.size());
+                for (MaterializedView mv : validMVs) {
+                    Assert.assertTrue(CachingMvPlanContextBuilder.getInstance().contains(mv));
+                }
+            } finally {
+                connectContext.getSessionVariable().setEnableMaterializedViewPlanParallelLoad(false);
+                connectContext.getSessionVariable().setEnableMaterializedViewPlanCache(true);
+            }
+        });
+    }
+
+    @Test
+    public void testChooseBestRelatedMVsByPlanSignature() {
+        List<String> mvs = ImmutableList.of(
+                "create materialized view mv_1 distributed by random as select k1, v1, v2 from t1;",
+                "create materialized view mv_2 distributed by random as select k1, sum(v1) from t1 group by k1;"
+        );
+
+        starRocksAssert.withMaterializedViews(mvs, (obj) -> {
+            CachingMvPlanContextBuilder.getInstance().rebuildCache();
+            MaterializedView mv2 = getMv(DB_NAME, "mv_2");
+
+            String query = "select k1, v1, v2 from t1";
+            Pair<MvRewritePreprocessor, OptExpression> result = buildMvProcessor(query);
+            MvRewritePreprocessor preprocessor = result.first;
+            OptExpression logicalTree = result.second;
+            Set<Table> queryTables = MvUtils.getAllTables(logicalTree).stream().collect(Collectors.toSet());
+            Set<MaterializedView> relatedMVs = preprocessor.getRelatedMVs(queryTables, false);
+            Assert.assertTrue(containsMV(relatedMVs, "mv_1", "mv_2"));
+
+            // without the plan signature, the aggregate mv is kept
+            Assert.assertNull(CachingMvPlanContextBuilder.getInstance().getPlanSignature(mv2));
+            Set<MaterializedView> validMVs = preprocessor.chooseBestRelatedMVs(queryTables, relatedMVs, logicalTree);
+            Assert.assertTrue(containsMV(validMVs, "mv_1", "mv_2"));
+
+            // the signature is kept after the plan contexts expire
+            CachingMvPlanContextBuilder.getInstance().getPlanContext(mv2, false);
+            CachingMvPlanContextBuilder.MvPlanSignature signature =
+                    CachingMvPlanContextBuilder.getInstance().getPlanSignature(mv2);
+            Assert.assertNotNull(signature);
+            Assert.assertTrue(signature.isAggregateOnly());
+            Assert.assertFalse(CachingMvPlanContextBuilder.getInstance().contains(mv2));
+            validMVs = preprocessor.chooseBestRelatedMVs(queryTables, relatedMVs, logicalTree);
+            Assert.assertEquals(1, validMVs.size());
+            Assert.assertTrue(containsMV(validMVs, "mv_1"));
+
+            // the aggregate mv is kept for the query with aggregation
+            result = buildMvProcessor("select k1, sum(v1) from t1 group by k1");
+            validMVs = result.first.chooseBestRelatedMVs(queryTables, relatedMVs, result.second);
+            Assert.assertTrue(containsMV(validMVs, "mv_1", "mv_2"));
+
+            // the signature is removed once the mv is invalidated
+            CachingMvPlanContextBuilder.getInstance().invalidateFromCache(mv2, true);
+            Assert.assertNull(CachingMvPlanContextBuilder.getInstance().getPlanSignature(mv2));
+        });
+    }
+
     private boolean containsMV(Set<MaterializedView> mvs, String... expects) {
         Set<String> mvNames = mvs.stream().map(mv -> mv.getName()).collect(Collectors.toSet());
         if (mvNames.size() != Arrays.stream(expects).count()) {
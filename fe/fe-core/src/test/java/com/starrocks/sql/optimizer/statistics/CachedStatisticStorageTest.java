@@ -35,6 +35,7 @@ import com.starrocks.server.GlobalStateMgr;
 import com.starrocks.sql.ast.CreateDbStmt;
 import com.starrocks.sql.optimizer.Utils;
 import com.starrocks.sql.plan.ConnectorPlanTestBase;
+import com.starrocks.statistic.BasicStatsMeta;
 import com.starrocks.statistic.StatisticExecutor;
 import com.starrocks.statistic.StatisticUtils;
 import com.starrocks.statistic.StatsConstants;
@@ -49,6 +50,8 @@ import org.junit.Assert;
 import org.junit.BeforeClass;
 import org.junit.Test;
 
+import java.io.File;
+import java.nio.file.Files;
 import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
@@ -445,4 +448,40 @@ public class CachedStatisticStorageTest {
         Assert.assertEquals(0, columnStatistic.getAverageRowSize(), 0.001);
         Assert.assertEquals(0, columnStatistic.getNullsFraction(), 0.001);
     }
+
+    @Test
+    public void testSnapshot() throws Exception {
+        Database db = connectContext.getGlobalStateMgr().getDb("test");
+        OlapTable table = (OlapTable) db.getTable("t0");
+        long partitionId = table.getPartitions().iterator().next().getId();
+        LocalDateTime updateTime = LocalDateTime.of(2024, 1, 1, 0, 0, 0);
+        Map<Long, BasicStatsMeta> basicStatsMetaMap = ImmutableMap.of(table.getId(), new BasicStatsMeta(db.getId(),
+                table.getId(), null, StatsConstants.AnalyzeType.FULL, updateTime, Maps.newHashMap()));
+
+        CachedStatisticStorage storage = new CachedStatisticStorage();
+        storage.addColumnStatistic(table, "v1", ColumnStatistic.builder().setMinValue(Double.NEGATIVE_INFINITY)
+                .setMaxValue(100).setNullsFraction(0.1).setAverageRowSize(8).setDistinctValuesCount(50).build());
+        storage.tableStatsCache.synchronous().put(new TableStatsCacheKey(table.getId(), partitionId),
+                Optional.of(new TableStatistic(table.getId(), partitionId, 1000L)));
+
+        File file = new File(Files.createTempDirectory("statistic_cache").toFile(), "snapshot.json");
+        storage.takeSnapshot(basicStatsMetaMap).save(file);
+        StatisticsCacheSnapshot snapshot = StatisticsCacheSnapshot.load(file);
+        Assert.assertEquals(1, snapshot.getTableEntryNum());
+        Assert.assertEquals(1, snapshot.getColumnEntryNum());
+
+        CachedStatisticStorage restoredStorage = new CachedStatisticStorage();
+        Assert.assertEquals(2, restoredStorage.restoreSnapshot(snapshot, basicStatsMetaMap));
+        ColumnStatistic columnStatistic = restoredStorage.cachedStatistics.synchronous()
+                .getIfPresent(new ColumnStatsCacheKey(table.getId(), "v1")).get();
+        Assert.assertEquals(Double.NEGATIVE_INFINITY, columnStatistic.getMinValue(), 0.001);
+        Assert.assertEquals(50, columnStatistic.getDistinctValuesCount(), 0.001);
+        Assert.assertEquals(1000L, (long) restoredStorage.tableStatsCache.synchronous()
+                .getIfPresent(new TableStatsCacheKey(table.getId(), partitionId)).get().getRowCount());
+
+        // the table is analyzed again after the snapshot
+        Map<Long, BasicStatsMeta> newBasicStatsMetaMap = ImmutableMap.of(table.getId(), new BasicStatsMeta(db.getId(),
+                table.getId(), null, StatsConstants.AnalyzeType.FULL, updateTime.plusHours(1), Maps.newHashMap()));
+        Assert.assertEquals(0, new CachedStatisticStorage().restoreSnapshot(snapshot, newBasicStatsMetaMap));
+    }
 }
@@ -49,6 +49,8 @@ import com.starrocks.sql.ast.PartitionValue;
 import com.starrocks.thrift.TAgentTaskRequest;
 import com.starrocks.thrift.TBackend;
 import com.starrocks.thrift.TCompressionType;
+import com.starrocks.thrift.TPriority;
+import com.starrocks.thrift.TPushType;
 import com.starrocks.thrift.TStorageMedium;
 import com.starrocks.thrift.TStorageType;
 import com.starrocks.thrift.TTabletSchema;
@@ -59,6 +61,7 @@ import org.junit.Before;
 import org.junit.Test;
 
 import java.lang.reflect.Method;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashMap;
 import java.util.HashSet;
@@ -279,6 +282,73 @@ public class AgentTaskTest {
         Assert.assertEquals(0, AgentTaskQueue.getTaskNum());
     }
 
+    @Test
+    public void agentTaskQueueRemoveByTransactionTest() throws InterruptedException {
+        AgentTaskQueue.clearAllTasks();
+
+        // add the push tasks of 2 transactions to 2 backends concurrently
+        List<Thread> threads = new ArrayList<>();
+        for (long backendId : Arrays.asList(backendId1, backendId2)) {
+            threads.add(new Thread(() -> {
+                for (long signature = 0; signature < 1000; signature++) {
+                    AgentTaskQueue.addTask(new PushTask(backendId, TPushType.DELETE, TPriority.NORMAL,
+                            TTaskType.REALTIME_PUSH, signature % 2, signature));
+                }
+            }));
+        }
+        threads.forEach(Thread::start);
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        Assert.assertEquals(2000, AgentTaskQueue.getTaskNum());
+        Assert.assertEquals(1000, AgentTaskQueue.getTaskNum(backendId1, TTaskType.REALTIME_PUSH, false));
+
+        // push type mismatch
+        AgentTaskQueue.removePushTaskByTransactionId(backendId1, 0, TPushType.CANCEL_DELETE, TTaskType.REALTIME_PUSH);
+        Assert.assertEquals(2000, AgentTaskQueue.getTaskNum());
+
+        AgentTaskQueue.removePushTaskByTransactionId(backendId1, 0, TPushType.DELETE, TTaskType.REALTIME_PUSH);
+        Assert.assertEquals(1500, AgentTaskQueue.getTaskNum());
+        Assert.assertNull(AgentTaskQueue.getTask(backendId1, TTaskType.REALTIME_PUSH, 0));
+        Assert.assertNotNull(AgentTaskQueue.getTask(backendId1, TTaskType.REALTIME_PUSH, 1));
+        Assert.assertNotNull(AgentTaskQueue.getTask(backendId2, TTaskType.REALTIME_PUSH, 0));
+
+        AgentTaskQueue.removeTaskOfType(TTaskType.REALTIME_PUSH, 1);
+        Assert.assertEquals(1498, AgentTaskQueue.getTaskNum());
+        Assert.assertEquals(499, AgentTaskQueue.getTaskNum(backendId1, TTaskType.REALTIME_PUSH, false));
+        AgentTaskQueue.clearAllTasks();
+    }
+
+    @Test
+    public void agentTaskQueueConcurrentAddAndRemoveTest() throws InterruptedException {
+        AgentTaskQueue.clearAllTasks();
+
+        // remove every push task as soon as it is visible, while it is being added
+        Thread adder = new Thread(() -> {
+            for (long signature = 0; signature < 1000; signature++) {
+                AgentTaskQueue.addTask(new PushTask(backendId1, TPushType.DELETE, TPriority.NORMAL,
+                        TTaskType.REALTIME_PUSH, signature % 2, signature));
+            }
+        });
+        Thread remover = new Thread(() -> {
+            for (long signature = 0; signature < 1000; signature++) {
+                while (AgentTaskQueue.getTask(backendId1, TTaskType.REALTIME_PUSH, signature) == null) {
+                    Thread.yield();
+                }
+                AgentTaskQueue.removeTask(backendId1, TTaskType.REALTIME_PUSH, signature);
+            }
+        });
+        adder.start();
+        remover.start();
+        adder.join();
+        remover.join();
+
+        Assert.assertEquals(0, AgentTaskQueue.getTaskNum());
+        // no signature is left in the transaction index
+        Assert.assertTrue(AgentTaskQueue.tasks.get(backendId1).transactionIdToSignatures.isEmpty());
+        AgentTaskQueue.clearAllTasks();
+    }
+
     @Test
     public void failedAgentTaskTest() {
         AgentTaskQueue.clearAllTasks();
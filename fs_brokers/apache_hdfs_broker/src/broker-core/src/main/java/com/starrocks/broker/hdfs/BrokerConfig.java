@@ -28,6 +28,21 @@ public class BrokerConfig extends ConfigBase {
     @ConfField
     public static int hdfs_write_buffer_size_kb = 1024;
     
+    /**
+     * If true, when a file is read sequentially, broker fetches the next range of the file asynchronously
+     * after each pread, so that the next pread of the client can be served from memory.
+     * It costs one more read buffer of at most hdfs_read_buffer_size_kb for each file being read.
+     */
+    @ConfField
+    public static boolean enable_hdfs_read_ahead = true;
+
+    /**
+     * Number of threads to fetch file ranges ahead, read ahead is skipped for the files
+     * exceeding the capacity of the threads and their queue.
+     */
+    @ConfField
+    public static int hdfs_read_ahead_thread_num = 16;
+
     @ConfField
     public static int client_expire_seconds = 300;
     
@@ -67,12 +67,17 @@ public class ClientContextManager {
     
     public synchronized void putNewInputStream(String clientId, TBrokerFD fd, FSDataInputStream fsDataInputStream, 
             BrokerFileSystem brokerFileSystem) {
+        putNewInputStream(clientId, fd, fsDataInputStream, null, brokerFileSystem);
+    }
+
+    public synchronized void putNewInputStream(String clientId, TBrokerFD fd, FSDataInputStream fsDataInputStream,
+            ReadAheadBuffer readAheadBuffer, BrokerFileSystem brokerFileSystem) {
         if (!clientContexts.containsKey(clientId)) {
             clientContexts.putIfAbsent(clientId, new ClientResourceContext(clientId));
         }
         ClientResourceContext clientContext = clientContexts.get(clientId);
         clientContext.updateClientLastPingTime();
-        clientContext.putInputStream(fd, fsDataInputStream, brokerFileSystem);
+        clientContext.putInputStream(fd, fsDataInputStream, readAheadBuffer, brokerFileSystem);
         fdToClientMap.putIfAbsent(fd, clientId);
     }
     
@@ -88,6 +93,17 @@ public class ClientContextManager {
         return fsDataInputStream;
     }
     
+    /**
+     * @return the read-ahead buffer of the input stream, null if read-ahead is not enabled for it
+     */
+    public synchronized ReadAheadBuffer getReadAheadBuffer(TBrokerFD fd) {
+        String clientId = fdToClientMap.get(fd);
+        if (clientId == null) {
+            return null;
+        }
+        return clientContexts.get(clientId).getReadAheadBuffer(fd);
+    }
+
     public synchronized FSDataOutputStream getFsDataOutputStream(TBrokerFD fd) {
         String clientId = fdToClientMap.get(fd);
         if (clientId == null) {
@@ -109,6 +125,9 @@ public class ClientContextManager {
         BrokerInputStream brokerInputStream = clientContext.inputStreams.remove(fd);
         try {
             if (brokerInputStream != null) {
+                if (brokerInputStream.readAheadBuffer != null) {
+                    brokerInputStream.readAheadBuffer.close();
+                }
                 brokerInputStream.inputStream.close();
             }
         } catch (Exception e) {
@@ -180,10 +199,13 @@ public class ClientContextManager {
     private static class BrokerInputStream {
         
         private final FSDataInputStream inputStream;
+        private final ReadAheadBuffer readAheadBuffer;
         private final BrokerFileSystem brokerFileSystem;
         
-        public BrokerInputStream(FSDataInputStream inputStream, BrokerFileSystem brokerFileSystem) {
+        public BrokerInputStream(FSDataInputStream inputStream, ReadAheadBuffer readAheadBuffer,
+                BrokerFileSystem brokerFileSystem) {
             this.inputStream = inputStream;
+            this.readAheadBuffer = readAheadBuffer;
             this.brokerFileSystem = brokerFileSystem;
             this.brokerFileSystem.updateLastUpdateAccessTime();
         }
@@ -212,8 +234,9 @@ public class ClientContextManager {
             this.lastPingTimestamp = System.currentTimeMillis();
         }
         
-        public void putInputStream(TBrokerFD fd, FSDataInputStream inputStream, BrokerFileSystem fileSystem) {
-            inputStreams.putIfAbsent(fd, new BrokerInputStream(inputStream, fileSystem));
+        public void putInputStream(TBrokerFD fd, FSDataInputStream inputStream, ReadAheadBuffer readAheadBuffer,
+                BrokerFileSystem fileSystem) {
+            inputStreams.putIfAbsent(fd, new BrokerInputStream(inputStream, readAheadBuffer, fileSystem));
         }
         
         public void putOutputStream(TBrokerFD fd, FSDataOutputStream outputStream, BrokerFileSystem fileSystem) {
@@ -228,6 +251,14 @@ public class ClientContextManager {
             return null;
         }
         
+        public ReadAheadBuffer getReadAheadBuffer(TBrokerFD fd) {
+            BrokerInputStream brokerInputStream = inputStreams.get(fd);
+            if (brokerInputStream != null) {
+                return brokerInputStream.readAheadBuffer;
+            }
+            return null;
+        }
+        
         public FSDataOutputStream getOutputStream(TBrokerFD fd) {
             BrokerOutputStream brokerOutputStream = outputStreams.get(fd);
             if (brokerOutputStream != null) {
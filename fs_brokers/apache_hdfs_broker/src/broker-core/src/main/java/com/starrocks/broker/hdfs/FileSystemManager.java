@@ -75,9 +75,12 @@ import java.util.List;
 import java.util.Map;
 import java.util.Random;
 import java.util.UUID;
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
 public class FileSystemManager {
@@ -174,6 +177,9 @@ public class FileSystemManager {
 
     private ScheduledExecutorService handleManagementPool = Executors.newScheduledThreadPool(2);
 
+    // fetch file ranges ahead for sequential preads, null if read ahead is disabled
+    private ExecutorService readAheadPool;
+
     private int readBufferSize = 128 << 10; // 128k
     private int writeBufferSize = 128 << 10; // 128k
 
@@ -187,6 +193,17 @@ public class FileSystemManager {
         clientContextManager = new ClientContextManager(handleManagementPool);
         readBufferSize = BrokerConfig.hdfs_read_buffer_size_kb << 10;
         writeBufferSize = BrokerConfig.hdfs_write_buffer_size_kb << 10;
+        if (BrokerConfig.enable_hdfs_read_ahead) {
+            int threadNum = Math.max(1, BrokerConfig.hdfs_read_ahead_thread_num);
+            ThreadPoolExecutor pool = new ThreadPoolExecutor(threadNum, threadNum, 60, TimeUnit.SECONDS,
+                    new ArrayBlockingQueue<>(threadNum * 4), r -> {
+                        Thread t = new Thread(r, "read-ahead");
+                        t.setDaemon(true);
+                        return t;
+                    });
+            pool.allowCoreThreadTimeOut(true);
+            readAheadPool = pool;
+        }
         handleManagementPool.schedule(new FileSystemExpirationChecker(), 0, TimeUnit.SECONDS);
     }
 
@@ -1027,7 +1044,11 @@ public class FileSystemManager {
             fsDataInputStream.seek(startOffset);
             UUID uuid = UUID.randomUUID();
             TBrokerFD fd = parseUUIDToFD(uuid);
-            clientContextManager.putNewInputStream(clientId, fd, fsDataInputStream, fileSystem);
+            ReadAheadBuffer readAheadBuffer = null;
+            if (readAheadPool != null) {
+                readAheadBuffer = new ReadAheadBuffer(fsDataInputStream, readAheadPool);
+            }
+            clientContextManager.putNewInputStream(clientId, fd, fsDataInputStream, readAheadBuffer, fileSystem);
             return fd;
         } catch (IOException e) {
             logger.error("errors while open path", e);
@@ -1038,51 +1059,64 @@ public class FileSystemManager {
 
     public ByteBuffer pread(TBrokerFD fd, long offset, long length) {
         FSDataInputStream fsDataInputStream = clientContextManager.getFsDataInputStream(fd);
+        ReadAheadBuffer readAheadBuffer = clientContextManager.getReadAheadBuffer(fd);
         synchronized (fsDataInputStream) {
-            long currentStreamOffset;
-            try {
-                currentStreamOffset = fsDataInputStream.getPos();
-            } catch (IOException e) {
-                logger.error("errors while get file pos from output stream", e);
-                throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
-                        "errors while get file pos from output stream");
-            }
-            if (currentStreamOffset != offset) {
-                // it's ok, when reading some format like parquet, it is not a sequential read
-                logger.debug("invalid offset, current read offset is "
-                        + currentStreamOffset + " is not equal to request offset "
-                        + offset + " seek to it");
-                try {
-                    fsDataInputStream.seek(offset);
-                } catch (IOException e) {
-                    throw new BrokerException(TBrokerOperationStatusCode.INVALID_INPUT_OFFSET,
-                            e, "current read offset {} is not equal to {}, and could not seek to it",
-                            currentStreamOffset, offset);
-                }
+            if (readAheadBuffer == null) {
+                return readAt(fsDataInputStream, offset, length);
             }
-            byte[] buf;
-            if (length > readBufferSize) {
-                buf = new byte[readBufferSize];
-            } else {
-                buf = new byte[(int) length];
+            ByteBuffer result = readAheadBuffer.take(offset, (int) Math.min(length, readBufferSize));
+            if (result == null) {
+                result = readAt(fsDataInputStream, offset, length);
             }
+            readAheadBuffer.onRead(offset, result.remaining());
+            return result;
+        }
+    }
+
+    private ByteBuffer readAt(FSDataInputStream fsDataInputStream, long offset, long length) {
+        long currentStreamOffset;
+        try {
+            currentStreamOffset = fsDataInputStream.getPos();
+        } catch (IOException e) {
+            logger.error("errors while get file pos from output stream", e);
+            throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
+                    "errors while get file pos from output stream");
+        }
+        if (currentStreamOffset != offset) {
+            // it's ok, when reading some format like parquet, it is not a sequential read
+            logger.debug("invalid offset, current read offset is "
+                    + currentStreamOffset + " is not equal to request offset "
+                    + offset + " seek to it");
             try {
-                int readLength = readByteArrayFully(fsDataInputStream, buf);
-                if (readLength < 0) {
-                    throw new BrokerException(TBrokerOperationStatusCode.END_OF_FILE,
-                            "end of file reached");
-                }
-                if (logger.isDebugEnabled()) {
-                    logger.debug(
-                            "read buffer from input stream, buffer size:" + buf.length + ", read length:" + readLength);
-                }
-                return ByteBuffer.wrap(buf, 0, readLength);
+                fsDataInputStream.seek(offset);
             } catch (IOException e) {
-                logger.error("errors while read data from stream", e);
-                throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
-                        e, "errors while read data from stream");
+                throw new BrokerException(TBrokerOperationStatusCode.INVALID_INPUT_OFFSET,
+                        e, "current read offset {} is not equal to {}, and could not seek to it",
+                        currentStreamOffset, offset);
             }
         }
+        byte[] buf;
+        if (length > readBufferSize) {
+            buf = new byte[readBufferSize];
+        } else {
+            buf = new byte[(int) length];
+        }
+        try {
+            int readLength = readByteArrayFully(fsDataInputStream, buf);
+            if (readLength < 0) {
+                throw new BrokerException(TBrokerOperationStatusCode.END_OF_FILE,
+                        "end of file reached");
+            }
+            if (logger.isDebugEnabled()) {
+                logger.debug(
+                        "read buffer from input stream, buffer size:" + buf.length + ", read length:" + readLength);
+            }
+            return ByteBuffer.wrap(buf, 0, readLength);
+        } catch (IOException e) {
+            logger.error("errors while read data from stream", e);
+            throw new BrokerException(TBrokerOperationStatusCode.TARGET_STORAGE_SERVICE_ERROR,
+                    e, "errors while read data from stream");
+        }
     }
 
     public void seek(TBrokerFD fd, long offset) {
@@ -0,0 +1,128 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.starrocks.broker.hdfs;
+
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.log4j.Logger;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Read-ahead buffer of a broker input stream.
+ * Broker loads read a file by a sequence of pread calls at contiguous offsets, and the client only sends
+ * the next call after it has processed the previous data. Once such sequential access is detected, the range
+ * right after the last read is fetched asynchronously with positional read, so the next pread can be served
+ * from memory instead of waiting for the remote storage.
+ * Not thread safe, callers should synchronize on the input stream as the pread path does.
+ */
+public class ReadAheadBuffer {
+
+    private static Logger logger = Logger.getLogger(ReadAheadBuffer.class.getName());
+
+    private final FSDataInputStream inputStream;
+    private final ExecutorService executor;
+
+    // end offset of the last read, used to detect sequential access
+    private long lastReadEnd = -1;
+    // offset and pending result of the range being fetched ahead
+    private long prefetchOffset = -1;
+    private Future<byte[]> prefetchFuture = null;
+
+    public ReadAheadBuffer(FSDataInputStream inputStream, ExecutorService executor) {
+        this.inputStream = inputStream;
+        this.executor = executor;
+    }
+
+    /**
+     * Take the data fetched ahead if it starts at the offset.
+     *
+     * @return at most length bytes starting at the offset, or null if the range is not fetched ahead or
+     * the fetch failed, then the caller should read it from the input stream by itself.
+     */
+    public ByteBuffer take(long offset, int length) {
+        Future<byte[]> future = prefetchFuture;
+        long futureOffset = prefetchOffset;
+        prefetchFuture = null;
+        prefetchOffset = -1;
+        if (future == null) {
+            return null;
+        }
+        if (futureOffset != offset) {
+            // random access, drop the prefetched data
+            future.cancel(false);
+            return null;
+        }
+        try {
+            byte[] data = future.get();
+            return ByteBuffer.wrap(data, 0, Math.min(data.length, length));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return null;
+        } catch (ExecutionException e) {
+            logger.warn("failed to read ahead at offset " + offset + ", will read it again", e.getCause());
+            return null;
+        }
+    }
+
+    /**
+     * Record a finished read of readLength bytes at the offset, and start fetching the next range
+     * of the same length if the reads are sequential.
+     */
+    public void onRead(long offset, int readLength) {
+        boolean sequential = offset == lastReadEnd;
+        lastReadEnd = offset + readLength;
+        // readLength is 0 at the end of file
+        if (!sequential || readLength <= 0) {
+            return;
+        }
+        final long nextOffset = lastReadEnd;
+        try {
+            prefetchFuture = executor.submit(() -> readAt(nextOffset, readLength));
+            prefetchOffset = nextOffset;
+        } catch (RejectedExecutionException e) {
+            // too many files are being read ahead, just read the next range on demand
+            logger.debug("skip read ahead at offset " + nextOffset + " because the read ahead pool is full");
+        }
+    }
+
+    public void close() {
+        if (prefetchFuture != null) {
+            prefetchFuture.cancel(false);
+            prefetchFuture = null;
+        }
+    }
+
+    private byte[] readAt(long position, int length) throws IOException {
+        byte[] buf = new byte[length];
+        int readLength = 0;
+        while (readLength < length) {
+            int n = inputStream.read(position + readLength, buf, readLength, length - readLength);
+            if (n <= 0) {
+                break;
+            }
+            readLength += n;
+        }
+        return readLength == length ? buf : Arrays.copyOf(buf, readLength);
+    }
+}
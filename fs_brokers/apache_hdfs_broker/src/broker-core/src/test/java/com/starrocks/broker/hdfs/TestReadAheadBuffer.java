@@ -0,0 +1,113 @@
+// Licensed to the Apache Software Foundation (ASF) under one
+// or more contributor license agreements.  See the NOTICE file
+// distributed with this work for additional information
+// regarding copyright ownership.  The ASF licenses this file
+// to you under the Apache License, Version 2.0 (the
+// "License"); you may not use this file except in compliance
+// with the License.  You may obtain a copy of the License at
+//
+//   http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing,
+// software distributed under the License is distributed on an
+// "AS IS" BASIS, WITHOUT WARRANTIES OR CONDITIONS OF ANY
+// KIND, either express or implied.  See the License for the
+// specific language governing permissions and limitations
+// under the License.
+
+package com.starrocks.broker.hdfs;
+
+import junit.framework.TestCase;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.fs.FSDataInputStream;
+import org.apache.hadoop.fs.FileSystem;
+import org.apache.hadoop.fs.Path;
+import org.junit.Test;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+public class TestReadAheadBuffer extends TestCase {
+
+    private File file;
+    private byte[] content;
+    private ExecutorService executor;
+
+    protected void setUp() throws Exception {
+        content = new byte[1000];
+        for (int i = 0; i < content.length; i++) {
+            content[i] = (byte) i;
+        }
+        file = File.createTempFile("read_ahead", ".dat");
+        try (FileOutputStream out = new FileOutputStream(file)) {
+            out.write(content);
+        }
+        executor = Executors.newFixedThreadPool(1);
+    }
+
+    protected void tearDown() throws Exception {
+        executor.shutdownNow();
+        file.delete();
+    }
+
+    private FSDataInputStream open() throws IOException {
+        return FileSystem.getLocal(new Configuration()).open(new Path(file.getAbsolutePath()));
+    }
+
+    private void assertContent(ByteBuffer buffer, long offset, int length) {
+        assertEquals(length, buffer.remaining());
+        for (int i = 0; i < length; i++) {
+            assertEquals(content[(int) offset + i], buffer.get(buffer.position() + i));
+        }
+    }
+
+    @Test
+    public void testSequentialRead() throws IOException {
+        try (FSDataInputStream in = open()) {
+            ReadAheadBuffer readAheadBuffer = new ReadAheadBuffer(in, executor);
+            // nothing is fetched ahead for the first read
+            assertNull(readAheadBuffer.take(0, 300));
+            readAheadBuffer.onRead(0, 300);
+            assertNull(readAheadBuffer.take(300, 300));
+            readAheadBuffer.onRead(300, 300);
+
+            // the range after the second read is fetched ahead
+            ByteBuffer buffer = readAheadBuffer.take(600, 300);
+            assertNotNull(buffer);
+            assertContent(buffer, 600, 300);
+            readAheadBuffer.onRead(600, buffer.remaining());
+
+            // only 100 bytes left
+            buffer = readAheadBuffer.take(900, 300);
+            assertNotNull(buffer);
+            assertContent(buffer, 900, 100);
+            readAheadBuffer.onRead(900, buffer.remaining());
+
+            // end of file
+            buffer = readAheadBuffer.take(1000, 300);
+            assertNotNull(buffer);
+            assertEquals(0, buffer.remaining());
+            readAheadBuffer.onRead(1000, 0);
+            assertNull(readAheadBuffer.take(1000, 300));
+            readAheadBuffer.close();
+        }
+    }
+
+    @Test
+    public void testRandomRead() throws IOException {
+        try (FSDataInputStream in = open()) {
+            ReadAheadBuffer readAheadBuffer = new ReadAheadBuffer(in, executor);
+            readAheadBuffer.onRead(0, 100);
+            readAheadBuffer.onRead(100, 100);
+            // the data fetched ahead at 200 is dropped
+            assertNull(readAheadBuffer.take(500, 100));
+            readAheadBuffer.onRead(500, 100);
+            assertNull(readAheadBuffer.take(600, 100));
+            readAheadBuffer.close();
+        }
+    }
+}
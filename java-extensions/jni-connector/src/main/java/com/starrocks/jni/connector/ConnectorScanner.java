@@ -40,12 +40,23 @@ import java.io.IOException;
  * }
  * } while (true);
  * close();
+ * <p>
+ * The off-heap table is reused across chunks: after BE has consumed a chunk, its column vectors are kept and
+ * reset for the next chunk instead of being freed and allocated again. The off-heap memory is freed once the scan
+ * reaches the end, or when BE calls {@link ConnectorScanner#releaseOffHeapBuffers()} before
+ * {@link ConnectorScanner#close()}.
  */
 public abstract class ConnectorScanner {
     private OffHeapTable offHeapTable;
     private String[] fields;
     private ColumnType[] types;
     private int tableSize;
+    private boolean reuseOffHeapTable = true;
+    // off-heap bytes allocated for and reused by the chunks of this scanner, reported to the profile by BE
+    private long offHeapAllocatedBytes = 0;
+    private long offHeapReusedBytes = 0;
+    // off-heap bytes held by the table before filling the current chunk
+    private long offHeapBytesBeforeChunk = 0;
 
     /**
      * Initialize the reader with parameters passed by the class constructor and allocate necessary resources.
@@ -86,6 +97,13 @@ public abstract class ConnectorScanner {
         offHeapTable.appendData(index, value);
     }
 
+    /**
+     * Whether to reuse the off-heap memory of the previous chunk to fill the next chunk, true by default.
+     */
+    protected void setReuseOffHeapTable(boolean reuseOffHeapTable) {
+        this.reuseOffHeapTable = reuseOffHeapTable;
+    }
+
     protected int getTableSize() {
         return tableSize;
     }
@@ -107,19 +125,58 @@ public abstract class ConnectorScanner {
     }
 
     private void initOffHeapTable() {
+        if (offHeapTable != null) {
+            if (reuseOffHeapTable && offHeapTable.reuse()) {
+                offHeapBytesBeforeChunk = offHeapTable.getAllocatedBytes();
+                offHeapReusedBytes += offHeapBytesBeforeChunk;
+                return;
+            }
+            offHeapTable.close();
+        }
         offHeapTable = new OffHeapTable(types, fields, tableSize);
+        offHeapBytesBeforeChunk = 0;
     }
 
     private long finishOffHeapTable(int numRows) {
         offHeapTable.setNumRows(numRows);
-        return offHeapTable.getMetaNativeAddress();
+        long metaAddress = offHeapTable.getMetaNativeAddress();
+        offHeapAllocatedBytes += offHeapTable.getAllocatedBytes() - offHeapBytesBeforeChunk;
+        return metaAddress;
     }
 
     protected void releaseOffHeapColumnVector(int fieldId) {
-        offHeapTable.releaseOffHeapColumnVector(fieldId);
+        // keep the column vector to be reused by the next chunk
+        if (!reuseOffHeapTable) {
+            offHeapTable.releaseOffHeapColumnVector(fieldId);
+        }
     }
 
     protected void releaseOffHeapTable() {
+        // an empty chunk means the end of scan, nothing to reuse anymore
+        if (offHeapTable != null && (!reuseOffHeapTable || offHeapTable.getNumRows() == 0)) {
+            offHeapTable.close();
+        }
+    }
+
+    /**
+     * @return the off-heap bytes allocated to fill the chunks of this scanner
+     */
+    public long getOffHeapAllocatedBytes() {
+        return offHeapAllocatedBytes;
+    }
+
+    /**
+     * @return the off-heap bytes kept from the previous chunks and reused to fill the chunks of this scanner
+     */
+    public long getOffHeapReusedBytes() {
+        return offHeapReusedBytes;
+    }
+
+    /**
+     * Free the off-heap memory kept for reuse, BE calls it before {@link ConnectorScanner#close()}
+     * in case the scan is finished before reaching the end.
+     */
+    public void releaseOffHeapBuffers() {
         if (offHeapTable != null) {
             offHeapTable.close();
         }
@@ -68,6 +68,9 @@ public class OffHeapColumnVector {
     // Only for test，record the size of the NULL indicator
     private int nullsLength = 0;
 
+    // Off-heap bytes held by this column vector, not including the child columns.
+    private long allocatedBytes = 0;
+
     public OffHeapColumnVector(int capacity, ColumnType type) {
         this.capacity = capacity;
         this.type = type;
@@ -109,6 +112,20 @@ public class OffHeapColumnVector {
         nulls = 0;
         data = 0;
         offsetData = 0;
+        allocatedBytes = 0;
+    }
+
+    /**
+     * @return the off-heap bytes held by this column vector and its child columns
+     */
+    public long getAllocatedBytes() {
+        long bytes = allocatedBytes;
+        if (childColumns != null) {
+            for (OffHeapColumnVector c : childColumns) {
+                bytes += c.getAllocatedBytes();
+            }
+        }
+        return bytes;
     }
 
     private void throwUnsupportedException(int requiredCapacity, Throwable cause) {
@@ -139,12 +156,15 @@ public class OffHeapColumnVector {
         long oldOffsetSize = (nulls == 0) ? 0 : (capacity + 1) * 4L;
         long newOffsetSize = (newCapacity + 1) * 4L;
         int typeSize = type.getPrimitiveTypeValueSize();
+        long newBytes = newCapacity - oldCapacity;
         if (type.isUnknown()) {
             // don't do anything.
         } else if (typeSize != -1) {
             this.data = Platform.reallocateMemory(data, oldCapacity * typeSize, newCapacity * typeSize);
+            newBytes += (long) (newCapacity - oldCapacity) * typeSize;
         } else if (type.isByteStorageType()) {
             this.offsetData = Platform.reallocateMemory(offsetData, oldOffsetSize, newOffsetSize);
+            newBytes += newOffsetSize - oldOffsetSize;
             // Just create a new object at the first time, otherwise the data will be lost during expansion,
             // and because the OFFSET record is continuous, the new offset address starts from 0 during the 
             // expansion, which will cause the offset records to be negatively numbered. After being passed
@@ -162,6 +182,7 @@ public class OffHeapColumnVector {
         } else if (type.isArray() || type.isMap() || type.isStruct()) {
             if (type.isArray() || type.isMap()) {
                 this.offsetData = Platform.reallocateMemory(offsetData, oldOffsetSize, newOffsetSize);
+                newBytes += newOffsetSize - oldOffsetSize;
             }
             // Same as the above
             if (this.childColumns == null) {
@@ -178,6 +199,7 @@ public class OffHeapColumnVector {
         Platform.setMemory(nulls + oldCapacity, (byte) 0, newCapacity - oldCapacity);
         capacity = newCapacity;
         this.nullsLength = capacity;
+        allocatedBytes += newBytes;
         if (offsetData != 0) {
             // offsetData[0] == 0 always.
             // we have to set it explicitly otherwise it's undefined value here.
@@ -185,17 +207,22 @@ public class OffHeapColumnVector {
         }
     }
 
-    private void reset() {
+    /**
+     * Reset the write cursor so that the allocated off-heap memory can be reused to append a new chunk.
+     * Only the null indicators of the appended rows need to be cleared,
+     * the ones after them have never been set since they were allocated.
+     */
+    void reset() {
         if (childColumns != null) {
             for (OffHeapColumnVector c : childColumns) {
                 c.reset();
             }
         }
-        elementsAppended = 0;
         if (numNulls > 0) {
-            putNotNulls(0, capacity);
+            Platform.setMemory(nulls, (byte) 0, Math.min(elementsAppended, capacity));
             numNulls = 0;
         }
+        elementsAppended = 0;
     }
 
     private OffHeapColumnVector arrayData() {
@@ -210,16 +237,6 @@ public class OffHeapColumnVector {
         return numNulls > 0;
     }
 
-    private void putNotNulls(int rowId, int count) {
-        if (!hasNull()) {
-            return;
-        }
-        long offset = nulls + rowId;
-        for (int i = 0; i < count; ++i, ++offset) {
-            Platform.putByte(null, offset, (byte) 0);
-        }
-    }
-
     public int appendNull() {
         reserve(elementsAppended + 1);
         putNull(elementsAppended);
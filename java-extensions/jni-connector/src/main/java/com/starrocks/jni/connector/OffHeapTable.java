@@ -76,6 +76,7 @@ public class OffHeapTable {
     public OffHeapColumnVector meta;
     public int numRows;
     public boolean[] released;
+    private boolean closed;
 
     public OffHeapTable(ColumnType[] types, String[] fields, int capacity) {
         this.fields = fields;
@@ -118,11 +119,46 @@ public class OffHeapTable {
         return meta.valuesNativeAddress();
     }
 
+    /**
+     * Reuse the off-heap memory of this table to fill the next chunk, the column vectors keep the
+     * capacity grown by previous chunks so variable length columns need not to be reallocated again.
+     *
+     * @return false if the table or any of its column vectors has been released, the table can't be reused then.
+     */
+    public boolean reuse() {
+        if (closed) {
+            return false;
+        }
+        for (boolean r : released) {
+            if (r) {
+                return false;
+            }
+        }
+        for (OffHeapColumnVector v : vectors) {
+            v.reset();
+        }
+        meta.reset();
+        numRows = 0;
+        return true;
+    }
+
+    public long getAllocatedBytes() {
+        long bytes = meta.getAllocatedBytes();
+        for (OffHeapColumnVector v : vectors) {
+            bytes += v.getAllocatedBytes();
+        }
+        return bytes;
+    }
+
     public void close() {
+        if (closed) {
+            return;
+        }
         for (int i = 0; i < vectors.length; i++) {
             releaseOffHeapColumnVector(i);
         }
         meta.close();
+        closed = true;
     }
 
     // for test only.
@@ -0,0 +1,206 @@
+// Copyright 2021-present StarRocks, Inc. All rights reserved.
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//     https://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+import com.starrocks.jni.connector.ColumnType;
+import com.starrocks.jni.connector.ColumnValue;
+import com.starrocks.jni.connector.ConnectorScanner;
+import com.starrocks.jni.connector.OffHeapTable;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+
+public class TestConnectorScanner {
+
+    private static class StringValue implements ColumnValue {
+        private final String value;
+
+        StringValue(String value) {
+            this.value = value;
+        }
+
+        @Override
+        public boolean getBoolean() {
+            return false;
+        }
+
+        @Override
+        public short getShort() {
+            return 0;
+        }
+
+        @Override
+        public int getInt() {
+            return value.length();
+        }
+
+        @Override
+        public float getFloat() {
+            return 0;
+        }
+
+        @Override
+        public long getLong() {
+            return 0;
+        }
+
+        @Override
+        public double getDouble() {
+            return 0;
+        }
+
+        @Override
+        public String getString(ColumnType.TypeValue type) {
+            return value;
+        }
+
+        @Override
+        public LocalDate getDate() {
+            return null;
+        }
+
+        @Override
+        public LocalDateTime getDateTime(ColumnType.TypeValue type) {
+            return null;
+        }
+
+        @Override
+        public byte[] getBytes() {
+            return value.getBytes();
+        }
+
+        @Override
+        public void unpackArray(List<ColumnValue> values) {
+        }
+
+        @Override
+        public void unpackMap(List<ColumnValue> keys, List<ColumnValue> values) {
+        }
+
+        @Override
+        public void unpackStruct(List<Integer> structFieldIndex, List<ColumnValue> values) {
+        }
+
+        @Override
+        public byte getByte() {
+            return 0;
+        }
+
+        @Override
+        public BigDecimal getDecimal() {
+            return null;
+        }
+    }
+
+    // produce `numChunks` chunks of `chunkSize` rows, every third row is null
+    private static class MockScanner extends ConnectorScanner {
+        private final int chunkSize;
+        private final int numChunks;
+        private int chunkIndex = 0;
+
+        MockScanner(int chunkSize, int numChunks) {
+            this.chunkSize = chunkSize;
+            this.numChunks = numChunks;
+        }
+
+        @Override
+        public void open() {
+            initOffHeapTableWriter(new ColumnType[] {new ColumnType("c0", "int"), new ColumnType("c1", "string")},
+                    new String[] {"c0", "c1"}, chunkSize);
+        }
+
+        @Override
+        public void close() {
+        }
+
+        @Override
+        public int getNext() throws IOException {
+            if (chunkIndex >= numChunks) {
+                return 0;
+            }
+            for (int i = 0; i < chunkSize; i++) {
+                StringValue value = (i % 3 == 0) ? null : new StringValue("chunk" + chunkIndex + "_row" + i);
+                appendData(0, value);
+                appendData(1, value);
+            }
+            chunkIndex++;
+            return chunkSize;
+        }
+
+        // what BE does after consuming a chunk
+        void consumeChunk() {
+            for (int i = 0; i < 2; i++) {
+                releaseOffHeapColumnVector(i);
+            }
+            releaseOffHeapTable();
+        }
+    }
+
+    @Test
+    public void testReuseOffHeapTable() throws IOException {
+        MockScanner scanner = new MockScanner(16, 3);
+        scanner.open();
+
+        scanner.getNextOffHeapChunk();
+        OffHeapTable table = scanner.getOffHeapTable();
+        Assert.assertEquals(16, table.getNumRows());
+        table.checkTableMeta(false);
+        long allocatedBytes = table.getAllocatedBytes();
+        Assert.assertEquals(allocatedBytes, scanner.getOffHeapAllocatedBytes());
+        Assert.assertEquals(0, scanner.getOffHeapReusedBytes());
+
+        for (int chunk = 1; chunk < 3; chunk++) {
+            scanner.consumeChunk();
+            scanner.getNextOffHeapChunk();
+            Assert.assertSame(table, scanner.getOffHeapTable());
+            Assert.assertEquals(16, table.getNumRows());
+            table.checkTableMeta(false);
+            Assert.assertTrue(table.vectors[0].isNullAt(0));
+            Assert.assertFalse(table.vectors[0].isNullAt(1));
+            Assert.assertEquals("chunk" + chunk + "_row1", table.vectors[1].getUTF8String(1));
+            Assert.assertEquals(allocatedBytes, table.getAllocatedBytes());
+        }
+        // the kept memory is enough for the next chunks
+        Assert.assertEquals(allocatedBytes, scanner.getOffHeapAllocatedBytes());
+        Assert.assertEquals(2 * allocatedBytes, scanner.getOffHeapReusedBytes());
+
+        // reach the end of scan, the table is freed
+        scanner.consumeChunk();
+        scanner.getNextOffHeapChunk();
+        Assert.assertEquals(0, table.getNumRows());
+        scanner.consumeChunk();
+        Assert.assertFalse(table.reuse());
+        scanner.releaseOffHeapBuffers();
+        scanner.close();
+    }
+
+    @Test
+    public void testNotReuseClosedOffHeapTable() throws IOException {
+        MockScanner scanner = new MockScanner(8, 2);
+        scanner.open();
+        scanner.getNextOffHeapChunk();
+        OffHeapTable table = scanner.getOffHeapTable();
+        table.close();
+
+        scanner.getNextOffHeapChunk();
+        Assert.assertNotSame(table, scanner.getOffHeapTable());
+        Assert.assertEquals("chunk1_row2", scanner.getOffHeapTable().vectors[1].getUTF8String(2));
+        scanner.releaseOffHeapBuffers();
+        scanner.close();
+    }
+}